@@ -10,6 +10,7 @@ import org.springframework.web.WebApplicationInitializer;
 import org.springframework.web.context.ContextLoaderListener;
 import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
 import org.springframework.web.filter.CharacterEncodingFilter;
+import org.springframework.web.filter.DelegatingFilterProxy;
 import org.springframework.web.servlet.DispatcherServlet;
 
 /**
@@ -30,8 +31,9 @@ public class MainWebAppInitializer implements WebApplicationInitializer {
    * Creates and registers:
    * - Root application context with {@link RootConfig}
    * - Development profile as default
-   * - Dispatcher servlet with {@link WebConfig}
+   * - Dispatcher servlet with {@link WebConfig}, with async support for streamed responses
    * - URL mapping for all requests to the dispatcher
+   * - Character encoding filter and the audit response size filter, delegating to its root context bean
    *
    * @param servletContext The servlet context to be initialized
    * @throws ServletException if any error occurs during initialization
@@ -47,11 +49,17 @@ public class MainWebAppInitializer implements WebApplicationInitializer {
     ServletRegistration.Dynamic dispatcher = servletContext.addServlet(
       "dispatcher", new DispatcherServlet(dispatcherContext));
     dispatcher.setLoadOnStartup(1);
+    dispatcher.setAsyncSupported(true);
     dispatcher.addMapping("/");
     FilterRegistration.Dynamic characterEncodingFilter = servletContext.addFilter(
       "characterEncodingFilter", new CharacterEncodingFilter());
     characterEncodingFilter.setInitParameter("encoding", "UTF-8");
     characterEncodingFilter.setInitParameter("forceEncoding", "true");
+    characterEncodingFilter.setAsyncSupported(true);
     characterEncodingFilter.addMappingForUrlPatterns(null, true, "/*");
+    FilterRegistration.Dynamic auditResponseSizeFilter = servletContext.addFilter(
+      "auditResponseSizeFilter", new DelegatingFilterProxy("auditResponseSizeFilter"));
+    auditResponseSizeFilter.setAsyncSupported(true);
+    auditResponseSizeFilter.addMappingForUrlPatterns(null, true, "/api/*");
   }
 }
@@ -2,8 +2,10 @@ package com.mkhabibullin.application.mapper;
 
 import com.mkhabibullin.domain.model.AuditLog;
 import com.mkhabibullin.domain.model.AuditStatistics;
+import com.mkhabibullin.domain.model.OperationTelemetry;
 import com.mkhabibullin.presentation.dto.audit.AuditLogResponseDTO;
 import com.mkhabibullin.presentation.dto.audit.AuditStatisticsDTO;
+import com.mkhabibullin.presentation.dto.audit.OperationTelemetryDTO;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -30,6 +32,8 @@ public interface AuditMapper {
   @Mapping(target = "executionTimeMs", source = "executionTimeMs")
   @Mapping(target = "requestUri", source = "requestUri")
   @Mapping(target = "requestMethod", source = "requestMethod")
+  @Mapping(target = "status", source = "status")
+  @Mapping(target = "errorClass", source = "errorClass")
   AuditLogResponseDTO auditLogToResponseDto(AuditLog auditLog);
   
   /**
@@ -53,7 +57,16 @@ public interface AuditMapper {
   @Mapping(target = "averageTimeByOperation", source = "averageTimeByOperation")
   @Mapping(target = "mostActiveUser", source = "mostActiveUser")
   @Mapping(target = "mostCommonOperation", source = "mostCommonOperation")
+  @Mapping(target = "telemetryByOperation", source = "telemetryByOperation")
   @Mapping(target = "periodStart", source = "periodStart")
   @Mapping(target = "periodEnd", source = "periodEnd")
   AuditStatisticsDTO statisticsToDto(AuditStatistics statistics);
+  
+  /**
+   * Converts the average resource usage of an operation to DTO.
+   *
+   * @param telemetry the operation telemetry
+   * @return the mapped operation telemetry DTO
+   */
+  OperationTelemetryDTO telemetryToDto(OperationTelemetry telemetry);
 }
\ No newline at end of file
@@ -1,10 +1,15 @@
 package com.mkhabibullin.application.mapper;
 
+import com.mkhabibullin.domain.model.HabitDashboard;
 import com.mkhabibullin.domain.model.HabitExecution;
+import com.mkhabibullin.domain.model.StreakSummary;
+import com.mkhabibullin.presentation.dto.habitExecution.BatchExecutionItemDTO;
+import com.mkhabibullin.presentation.dto.habitExecution.HabitDashboardDTO;
 import com.mkhabibullin.presentation.dto.habitExecution.HabitExecutionRequestDTO;
 import com.mkhabibullin.presentation.dto.habitExecution.HabitExecutionResponseDTO;
 import com.mkhabibullin.presentation.dto.habitExecution.HabitProgressReportDTO;
 import com.mkhabibullin.presentation.dto.habitExecution.HabitStatisticsDTO;
+import com.mkhabibullin.presentation.dto.habitExecution.StreakSummaryDTO;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -31,6 +36,24 @@ public interface HabitExecutionMapper {
   @Mapping(target = "id", ignore = true)
   HabitExecution requestDtoToExecution(HabitExecutionRequestDTO dto, Long habitId);
   
+  /**
+   * Converts a batch item DTO to a HabitExecution entity.
+   * The ID field is ignored during mapping as it will be generated.
+   *
+   * @param dto the batch item DTO to convert
+   * @return the mapped HabitExecution entity
+   */
+  @Mapping(target = "id", ignore = true)
+  HabitExecution batchItemDtoToExecution(BatchExecutionItemDTO dto);
+  
+  /**
+   * Converts a HabitExecution entity to a response DTO.
+   *
+   * @param execution the habit execution entity to convert
+   * @return the mapped habit execution response DTO
+   */
+  HabitExecutionResponseDTO executionToResponseDto(HabitExecution execution);
+  
   /**
    * Converts a list of HabitExecution entities to response DTOs.
    *
@@ -70,4 +93,20 @@ public interface HabitExecutionMapper {
     int longestStreak,
     List<String> suggestions
   );
-}
\ No newline at end of file
+  
+  /**
+   * Converts a streak summary to its DTO representation.
+   *
+   * @param streakSummary the streak summary to convert
+   * @return the mapped streak summary DTO
+   */
+  StreakSummaryDTO streakSummaryToDto(StreakSummary streakSummary);
+  
+  /**
+   * Converts a user's dashboard to its DTO representation.
+   *
+   * @param dashboard the dashboard to convert
+   * @return the mapped dashboard DTO
+   */
+  HabitDashboardDTO dashboardToDto(HabitDashboard dashboard);
+}
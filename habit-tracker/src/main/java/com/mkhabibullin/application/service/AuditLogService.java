@@ -1,11 +1,17 @@
 package com.mkhabibullin.application.service;
 
 import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.domain.model.AuditLogCursor;
+import com.mkhabibullin.domain.model.AuditLogFilter;
+import com.mkhabibullin.domain.model.AuditLogPage;
 import com.mkhabibullin.domain.model.AuditStatistics;
+import com.mkhabibullin.domain.model.AuditStatus;
+import com.mkhabibullin.infrastructure.audit.AuditTailSubscription;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing audit log operations.
@@ -29,6 +35,15 @@ public interface AuditLogService {
    */
   List<AuditLog> getOperationLogs(String operation) throws IOException;
   
+  /**
+   * Retrieves audit logs for a specific operation with the given status.
+   *
+   * @param operation the operation type to query
+   * @param status    the status of the logs, such as {@link AuditStatus#FAILURE}
+   * @return list of audit logs
+   */
+  List<AuditLog> getOperationLogs(String operation, AuditStatus status) throws IOException;
+  
   /**
    * Retrieves the most recent audit logs.
    *
@@ -46,6 +61,34 @@ public interface AuditLogService {
    */
   List<AuditLog> getLogsByDateRange(LocalDateTime startDateTime, LocalDateTime endDateTime) throws IOException;
   
+  /**
+   * Passes every audit log matching the filter to the given action, oldest first,
+   * without loading the matching logs into memory together.
+   *
+   * @param filter criteria the audit logs must match
+   * @param action action applied to each matching audit log
+   */
+  void exportLogs(AuditLogFilter filter, Consumer<AuditLog> action) throws IOException;
+  
+  /**
+   * Searches the audit logs matching the filter one page at a time, newest first.
+   *
+   * @param filter criteria the audit logs must match
+   * @param after  cursor returned with the previous page, or null for the first page
+   * @param limit  maximum number of logs on the page
+   * @return the page of audit logs with the cursor of the next page
+   */
+  AuditLogPage searchLogs(AuditLogFilter filter, AuditLogCursor after, int limit);
+  
+  /**
+   * Subscribes to audit logs as they are written. The consumer is called on a background
+   * thread with the entries written since its previous call.
+   *
+   * @param consumer receiver of newly written audit logs
+   * @return the subscription, to be cancelled when the subscriber goes away
+   */
+  AuditTailSubscription subscribe(Consumer<List<AuditLog>> consumer);
+  
   /**
    * Records a new audit log entry.
    *
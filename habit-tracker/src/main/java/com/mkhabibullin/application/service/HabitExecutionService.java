@@ -1,11 +1,16 @@
 package com.mkhabibullin.application.service;
 
+import com.mkhabibullin.domain.model.ExecutionBatchItemResult;
 import com.mkhabibullin.domain.model.Habit;
+import com.mkhabibullin.domain.model.HabitDashboard;
 import com.mkhabibullin.domain.model.HabitExecution;
+import com.mkhabibullin.domain.model.HabitExecutionSummary;
+import com.mkhabibullin.domain.model.StreakSummary;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Service interface for managing habit executions in a habit tracking application.
@@ -22,6 +27,17 @@ public interface HabitExecutionService {
    */
   void markHabitExecution(Long habitId, LocalDate date, boolean completed);
   
+  /**
+   * Records many habit executions of a user, possibly across habits, in one transaction.
+   * Executions for habits the user does not own are rejected; for the same habit and date
+   * only the last execution is recorded and earlier ones are reported as superseded.
+   *
+   * @param userId     the ID of the user the habits must belong to
+   * @param executions the executions to record, in client order
+   * @return the outcome of each execution, in the same order
+   */
+  List<ExecutionBatchItemResult> markHabitExecutions(Long userId, List<HabitExecution> executions);
+  
   /**
    * Retrieves the execution history for a specific habit.
    *
@@ -30,6 +46,35 @@ public interface HabitExecutionService {
    */
   List<HabitExecution> getAll(Long habitId);
   
+  /**
+   * Retrieves one page of the execution history of a habit in date order.
+   *
+   * @param habitId the ID of the habit
+   * @param after   the date of the last execution of the previous page, or null for the first page
+   * @param limit   the maximum number of executions to return
+   * @return a list of at most {@code limit} HabitExecution objects
+   */
+  List<HabitExecution> getHistoryPage(Long habitId, LocalDate after, int limit);
+  
+  /**
+   * Passes the complete execution history of a habit, in date order, to the given action
+   * without loading it into memory at once.
+   *
+   * @param habitId the ID of the habit
+   * @param action  the action invoked for each execution
+   */
+  void streamHistory(Long habitId, Consumer<HabitExecution> action);
+  
+  /**
+   * Retrieves the execution history for a specific habit within a date range.
+   *
+   * @param habitId   the ID of the habit
+   * @param startDate the start date of the range (inclusive)
+   * @param endDate   the end date of the range (inclusive)
+   * @return a list of HabitExecution objects ordered by date
+   */
+  List<HabitExecution> getByDateRange(Long habitId, LocalDate startDate, LocalDate endDate);
+  
   /**
    * Calculates the current streak (consecutive days of completion) for a habit.
    *
@@ -40,6 +85,11 @@ public interface HabitExecutionService {
   
   /**
    * Calculates the success percentage of a habit within a specified date range.
+   * The success percentage is the number of completed executions in the range divided by the number
+   * of executions in the range. A habit has at most one execution per day, so this is the share of
+   * tracked days that were completed; days without an execution are not counted. A range without
+   * executions has a success percentage of 0.0. The statistics, progress report and dashboard success
+   * rates use the same definition through {@link HabitExecutionSummary#successPercentage(long, long)}.
    *
    * @param habitId   the ID of the habit
    * @param startDate the start date of the range
@@ -48,6 +98,48 @@ public interface HabitExecutionService {
    */
   double getSuccessPercentage(Long habitId, LocalDate startDate, LocalDate endDate);
   
+  /**
+   * Calculates the longest run of consecutive completed days of a habit within a date range.
+   *
+   * @param habitId   the ID of the habit
+   * @param startDate the start date of the range (inclusive)
+   * @param endDate   the end date of the range (inclusive)
+   * @return the longest streak in days
+   */
+  int getLongestStreak(Long habitId, LocalDate startDate, LocalDate endDate);
+  
+  /**
+   * Computes the current streak, the longest streak and the longest streak intervals
+   * of a habit within a date range.
+   *
+   * @param habitId   the ID of the habit
+   * @param startDate the start date of the range (inclusive)
+   * @param endDate   the end date of the range (inclusive)
+   * @param limit     maximum number of streak intervals to return
+   * @return the streak summary for the range
+   */
+  StreakSummary getStreakSummary(Long habitId, LocalDate startDate, LocalDate endDate, int limit);
+  
+  /**
+   * Builds the dashboard of a user: the current streak, today's status and the
+   * 7 and 30-day success rates of each of the user's habits.
+   *
+   * @param userId the ID of the user
+   * @return the user's dashboard
+   */
+  HabitDashboard getDashboard(Long userId);
+  
+  /**
+   * Aggregates completed, missed and total execution counts of a habit within a date range,
+   * together with completions grouped by day of week.
+   *
+   * @param habitId   the ID of the habit
+   * @param startDate the start date of the range
+   * @param endDate   the end date of the range
+   * @return the execution summary for the range
+   */
+  HabitExecutionSummary getExecutionSummary(Long habitId, LocalDate startDate, LocalDate endDate);
+  
   /**
    * Generates a detailed progress report for a habit within a specified date range.
    *
@@ -69,10 +161,10 @@ public interface HabitExecutionService {
   boolean isImprovingTrend(List<HabitExecution> history);
   
   /**
-   * Calculates the longest streak of consecutive completed executions in the habit history.
+   * Calculates the longest streak of consecutive completed calendar days in the habit history.
    *
    * @param history A list of HabitExecution objects representing the execution history
-   * @return The length of the longest streak of consecutive completed executions
+   * @return The length of the longest streak of consecutive completed days
    */
   int calculateLongestStreak(List<HabitExecution> history);
   
@@ -86,4 +178,13 @@ public interface HabitExecutionService {
    * @return A list of String suggestions for improving the habit
    */
   List<String> generateSuggestions(Habit habit, List<HabitExecution> history);
-}
\ No newline at end of file
+  
+  /**
+   * Generates personalized suggestions for improving a habit based on an already computed completion rate.
+   *
+   * @param habit The Habit object for which suggestions are being generated
+   * @param completionRate The share of completed executions, between 0 and 1
+   * @return A list of String suggestions for improving the habit
+   */
+  List<String> generateSuggestions(Habit habit, double completionRate);
+}
@@ -0,0 +1,99 @@
+package com.mkhabibullin.application.service;
+
+import com.mkhabibullin.common.MessageConstants;
+import com.mkhabibullin.domain.exception.HabitNotFoundException;
+import com.mkhabibullin.domain.model.ExecutionTimeline;
+import com.mkhabibullin.domain.model.Habit;
+import com.mkhabibullin.domain.model.HabitExecutionSummary;
+import com.mkhabibullin.domain.model.HabitProgressReport;
+import com.mkhabibullin.domain.model.HabitStatistics;
+import com.mkhabibullin.infrastructure.persistence.repository.HabitExecutionRepository;
+import com.mkhabibullin.infrastructure.persistence.repository.HabitRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds habit progress reports from a single snapshot of the execution history.
+ * Each report costs one habit lookup and one execution query; the report details,
+ * trend, longest streak and suggestions are all derived from the same {@link ExecutionTimeline}.
+ * The current streak ends today, so it is only taken from the timeline when the range ends today
+ * and the streak starts inside it. Otherwise the streak is read from the habit's completion bitmaps
+ * through {@link HabitExecutionService#getCurrentStreak(Long)}, which costs one more query.
+ */
+@Component
+@Transactional(readOnly = true)
+public class HabitProgressReportEngine {
+  private static final int HISTORY_LINE_LENGTH = 26;
+  private final HabitRepository habitRepository;
+  private final HabitExecutionRepository executionRepository;
+  private final HabitStatisticsCalculator statisticsCalculator;
+  private final HabitExecutionService executionService;
+  
+  /**
+   * Constructs a new HabitProgressReportEngine with the required dependencies.
+   *
+   * @param habitRepository      repository used to look up the reported habit
+   * @param executionRepository  repository used to fetch execution timelines
+   * @param statisticsCalculator calculator deriving streaks, counts and trend from a timeline
+   * @param executionService     service providing improvement suggestions
+   */
+  public HabitProgressReportEngine(HabitRepository habitRepository,
+                                   HabitExecutionRepository executionRepository,
+                                   HabitStatisticsCalculator statisticsCalculator,
+                                   HabitExecutionService executionService) {
+    this.habitRepository = habitRepository;
+    this.executionRepository = executionRepository;
+    this.statisticsCalculator = statisticsCalculator;
+    this.executionService = executionService;
+  }
+  
+  /**
+   * Generates a progress report for a habit within a date range.
+   * Reads the habit and the range's timeline, plus the completion bitmaps when the current streak
+   * is not covered by the range.
+   *
+   * @param habitId   the ID of the habit
+   * @param startDate the start date of the range (inclusive)
+   * @param endDate   the end date of the range (inclusive)
+   * @return the generated progress report
+   * @throws HabitNotFoundException if the habit does not exist
+   */
+  public HabitProgressReport generate(Long habitId, LocalDate startDate, LocalDate endDate) {
+    Habit habit = habitRepository.getById(habitId);
+    if (habit == null) {
+      throw new HabitNotFoundException(String.format(MessageConstants.HABIT_NOT_FOUND, habitId));
+    }
+    ExecutionTimeline timeline = executionRepository.getTimelineByHabitAndDateRange(habitId, startDate, endDate);
+    HabitStatistics statistics = statisticsCalculator.calculate(timeline, LocalDate.now());
+    HabitExecutionSummary summary = statistics.getSummary();
+    Map<String, String> reportData = new LinkedHashMap<>();
+    reportData.put("habitName", habit.getName());
+    reportData.put("startDate", startDate.toString());
+    reportData.put("endDate", endDate.toString());
+    reportData.put("currentStreak", statistics.getCurrentStreak() + " days");
+    reportData.put("successRate", String.format("%.2f%%", summary.getSuccessPercentage()));
+    reportData.put("executionHistory", formatHistory(timeline));
+    double completionRate = summary.getSuccessPercentage() / 100;
+    List<String> suggestions = executionService.generateSuggestions(habit, completionRate);
+    return new HabitProgressReport(
+      reportData,
+      statistics.isImprovingTrend(),
+      statistics.getLongestStreak(),
+      suggestions
+    );
+  }
+  
+  private static String formatHistory(ExecutionTimeline timeline) {
+    StringBuilder history = new StringBuilder(timeline.size() * HISTORY_LINE_LENGTH);
+    for (int i = 0; i < timeline.size(); i++) {
+      history.append(timeline.dateAt(i)).append(": ")
+        .append(timeline.isCompletedAt(i) ? "Completed" : "Not completed").append("\n");
+    }
+    return history.toString();
+  }
+}
@@ -0,0 +1,120 @@
+package com.mkhabibullin.application.service;
+
+import com.mkhabibullin.domain.model.ExecutionTimeline;
+import com.mkhabibullin.domain.model.HabitExecutionSummary;
+import com.mkhabibullin.domain.model.HabitStatistics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Computes habit analytics from a single snapshot of the execution history.
+ * The counts, day-of-week histogram, success rate, streaks and trend are derived in one pass
+ * over the primitive arrays of an already fetched {@link ExecutionTimeline}.
+ */
+@Component
+@Transactional(readOnly = true)
+public class HabitStatisticsCalculator {
+  private final HabitExecutionService executionService;
+  
+  /**
+   * Constructs a new HabitStatisticsCalculator with the required dependencies.
+   *
+   * @param executionService service used when the current streak extends beyond the fetched range
+   */
+  public HabitStatisticsCalculator(HabitExecutionService executionService) {
+    this.executionService = executionService;
+  }
+  
+  /**
+   * Calculates statistics from an already fetched timeline in a single pass.
+   * A day counts as completed if at least one of its executions is completed.
+   * The current streak is taken from the timeline when it covers the whole streak;
+   * otherwise it is requested from {@link HabitExecutionService#getCurrentStreak(Long)}.
+   *
+   * @param timeline the execution timeline to analyze
+   * @param today    the date the current streak must end on
+   * @return the calculated statistics
+   */
+  public HabitStatistics calculate(ExecutionTimeline timeline, LocalDate today) {
+    int size = timeline.size();
+    int midpoint = size / 2;
+    long[] completionsByDay = new long[DayOfWeek.values().length];
+    long completed = 0;
+    int firstHalfCompleted = 0;
+    int secondHalfCompleted = 0;
+    long currentDay = Long.MIN_VALUE;
+    boolean currentDayCompleted = false;
+    int runBeforeCurrentDay = 0;
+    int run = 0;
+    int longestRun = 0;
+    for (int i = 0; i < size; i++) {
+      long day = timeline.epochDayAt(i);
+      boolean done = timeline.isCompletedAt(i);
+      if (day != currentDay) {
+        runBeforeCurrentDay = currentDayCompleted && day == currentDay + 1 ? run : 0;
+        currentDay = day;
+        currentDayCompleted = false;
+        run = 0;
+      }
+      if (!done) {
+        continue;
+      }
+      completed++;
+      completionsByDay[dayOfWeekIndex(day)]++;
+      if (i < midpoint) {
+        firstHalfCompleted++;
+      } else {
+        secondHalfCompleted++;
+      }
+      if (!currentDayCompleted) {
+        currentDayCompleted = true;
+        run = runBeforeCurrentDay + 1;
+        longestRun = Math.max(longestRun, run);
+      }
+    }
+    int currentStreak = resolveCurrentStreak(timeline, today, currentDay, currentDayCompleted ? run : 0);
+    HabitExecutionSummary summary = new HabitExecutionSummary(
+      timeline.getHabitId(),
+      timeline.getStartDate(),
+      timeline.getEndDate(),
+      size,
+      completed,
+      size - completed,
+      toDayOfWeekMap(completionsByDay)
+    );
+    return new HabitStatistics(summary, currentStreak, longestRun, secondHalfCompleted > firstHalfCompleted);
+  }
+  
+  private int resolveCurrentStreak(ExecutionTimeline timeline, LocalDate today, long lastDay, int lastRun) {
+    long todayEpochDay = today.toEpochDay();
+    if (timeline.getEndDate().toEpochDay() < todayEpochDay) {
+      return executionService.getCurrentStreak(timeline.getHabitId());
+    }
+    if (lastDay != todayEpochDay || lastRun == 0) {
+      return 0;
+    }
+    if (lastDay - lastRun + 1 <= timeline.getStartDate().toEpochDay()) {
+      return executionService.getCurrentStreak(timeline.getHabitId());
+    }
+    return lastRun;
+  }
+  
+  private static int dayOfWeekIndex(long epochDay) {
+    return (int) Math.floorMod(epochDay + 3, 7L);
+  }
+  
+  private static Map<DayOfWeek, Long> toDayOfWeekMap(long[] completionsByDay) {
+    Map<DayOfWeek, Long> result = new EnumMap<>(DayOfWeek.class);
+    for (int i = 0; i < completionsByDay.length; i++) {
+      if (completionsByDay[i] > 0) {
+        result.put(DayOfWeek.of(i + 1), completionsByDay[i]);
+      }
+    }
+    return result;
+  }
+}
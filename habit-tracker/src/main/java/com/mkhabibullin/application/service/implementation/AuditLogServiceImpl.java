@@ -4,16 +4,29 @@ import com.mkhabibullin.application.service.AuditLogService;
 import com.mkhabibullin.common.MessageConstants;
 import com.mkhabibullin.domain.exception.ValidationException;
 import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.domain.model.AuditLogCursor;
+import com.mkhabibullin.domain.model.AuditLogFilter;
+import com.mkhabibullin.domain.model.AuditLogPage;
 import com.mkhabibullin.domain.model.AuditStatistics;
+import com.mkhabibullin.domain.model.AuditStatus;
+import com.mkhabibullin.domain.model.AuditSummary;
+import com.mkhabibullin.infrastructure.audit.AuditLogArchive;
+import com.mkhabibullin.infrastructure.audit.AuditLogTail;
+import com.mkhabibullin.infrastructure.audit.AuditTailSubscription;
 import com.mkhabibullin.infrastructure.persistence.repository.AuditLogRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Implementation of AuditLogService that provides audit logging functionality.
@@ -26,15 +39,23 @@ public class AuditLogServiceImpl implements AuditLogService {
   
   
   private final AuditLogRepository auditLogRepository;
+  private final AuditLogTail auditLogTail;
+  private final AuditLogArchive auditLogArchive;
   
   /**
    * Constructs a new AuditLogServiceImpl with the specified repository.
    *
    * @param auditLogRepository the repository for audit log data
+   * @param auditLogTail       the in-memory tail of recently written audit logs
+   * @param auditLogArchive    the local archive of audit logs moved out of the database
    */
-  public AuditLogServiceImpl(AuditLogRepository auditLogRepository) {
+  public AuditLogServiceImpl(AuditLogRepository auditLogRepository,
+                             AuditLogTail auditLogTail,
+                             AuditLogArchive auditLogArchive) {
     this.auditLogRepository = Objects.requireNonNull(auditLogRepository,
       "auditLogRepository must not be null");
+    this.auditLogTail = Objects.requireNonNull(auditLogTail, "auditLogTail must not be null");
+    this.auditLogArchive = Objects.requireNonNull(auditLogArchive, "auditLogArchive must not be null");
   }
   
   /**
@@ -59,32 +80,83 @@ public class AuditLogServiceImpl implements AuditLogService {
     return auditLogRepository.findByOperation(operation);
   }
   
+  /**
+   * Retrieves audit logs for a specific operation with the given status.
+   *
+   * @param operation the operation type to query
+   * @param status    the status of the logs
+   * @return list of audit logs
+   */
+  @Override
+  public List<AuditLog> getOperationLogs(String operation, AuditStatus status) {
+    Objects.requireNonNull(status, "status must not be null");
+    return auditLogRepository.findByOperation(operation, status);
+  }
+  
   /**
    * Retrieves the most recent audit logs.
+   * They are served from the in-memory tail, without a query, whenever it holds enough
+   * entries; the database is only read while the tail could not be warmed or for limits
+   * beyond its capacity.
    *
    * @param limit maximum number of logs to retrieve
    * @return list of recent audit logs
    */
   @Override
+  @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
   public List<AuditLog> getRecentLogs(int limit) {
     if (limit <= 0) {
       throw new ValidationException(MessageConstants.LIMIT_MUST_BE_GREATER_THAN);
     }
+    if (auditLogTail.covers(limit)) {
+      return auditLogTail.recent(limit);
+    }
     return auditLogRepository.findRecentLogs(limit);
   }
   
   /**
    * Retrieves audit logs within a specified time range.
+   * Rows still in the database are merged with the entries the archiver has moved to the local
+   * archive. An entry archived but not yet purged from the database is returned once.
    *
    * @param startDateTime start of the time range
    * @param endDateTime   end of the time range
-   * @return list of audit logs within the range
+   * @return list of audit logs within the range, newest first
    */
   @Override
   public List<AuditLog> getLogsByDateRange(LocalDateTime startDateTime,
                                            LocalDateTime endDateTime) {
     validateDateRange(startDateTime, endDateTime);
-    return auditLogRepository.findByTimestampRange(startDateTime, endDateTime);
+    List<AuditLog> auditLogs = auditLogRepository.findByTimestampRange(startDateTime, endDateTime);
+    List<AuditLog> archivedLogs = auditLogArchive.findByTimestampRange(startDateTime, endDateTime);
+    if (archivedLogs.isEmpty()) {
+      return auditLogs;
+    }
+    Set<Long> storedIds = new HashSet<>();
+    auditLogs.forEach(auditLog -> storedIds.add(auditLog.getId()));
+    List<AuditLog> merged = new ArrayList<>(auditLogs);
+    for (AuditLog archivedLog : archivedLogs) {
+      if (!storedIds.contains(archivedLog.getId())) {
+        merged.add(archivedLog);
+      }
+    }
+    merged.sort(Comparator.comparing(AuditLog::getTimestamp).reversed());
+    return merged;
+  }
+  
+  /**
+   * Streams the audit logs matching a filter to the given action, oldest first.
+   * The export runs outside of a service transaction; the repository reads it through its own
+   * stateless session, so no persistence context grows with the number of exported logs.
+   *
+   * @param filter criteria the audit logs must match
+   * @param action action applied to each matching audit log
+   */
+  @Override
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public void exportLogs(AuditLogFilter filter, Consumer<AuditLog> action) {
+    Objects.requireNonNull(filter, "filter must not be null");
+    auditLogRepository.forEachMatching(filter, action);
   }
   
   /**
@@ -100,6 +172,9 @@ public class AuditLogServiceImpl implements AuditLogService {
   
   /**
    * Generates statistics for audit logs within a specified time range.
+   * Whole minutes of the range are answered from the per-minute rollups; only the partial
+   * minutes at its edges are aggregated from the raw audit logs. The cost therefore depends on
+   * the number of minute buckets in the range, not on the number of audited requests.
    *
    * @param startDateTime start of the time range
    * @param endDateTime   end of the time range
@@ -109,78 +184,87 @@ public class AuditLogServiceImpl implements AuditLogService {
   public AuditStatistics getStatistics(LocalDateTime startDateTime,
                                        LocalDateTime endDateTime) {
     validateDateRange(startDateTime, endDateTime);
-    
-    List<AuditLog> logs = auditLogRepository.findByTimestampRange(startDateTime, endDateTime);
-    
-    Map<String, Long> operationCounts = calculateOperationCounts(logs);
-    Map<String, Long> userActivityCounts = calculateUserActivityCounts(logs);
-    Map<String, Double> averageTimeByOperation = calculateAverageTimeByOperation(logs);
-    String mostActiveUser = findMostActiveUser(userActivityCounts);
-    String mostCommonOperation = findMostCommonOperation(operationCounts);
-    double averageExecutionTime = calculateAverageExecutionTime(logs);
+    AuditSummary summary = summarize(startDateTime, endDateTime);
     return new AuditStatistics(
-      logs.size(),
-      averageExecutionTime,
-      operationCounts,
-      userActivityCounts,
-      averageTimeByOperation,
-      mostActiveUser,
-      mostCommonOperation,
+      summary.getTotalOperations(),
+      summary.getAverageExecutionTime(),
+      summary.getOperationCounts(),
+      summary.getUserActivityCounts(),
+      summary.getAverageTimeByOperation(),
+      summary.getMostActiveUser(),
+      summary.getMostCommonOperation(),
+      summary.getTelemetryByOperation(),
       startDateTime,
       endDateTime
     );
   }
   
-  private void validateDateRange(LocalDateTime startDateTime, LocalDateTime endDateTime) {
-    Objects.requireNonNull(startDateTime, "startDateTime must not be null");
-    Objects.requireNonNull(endDateTime, "endDateTime must not be null");
-    if (startDateTime.isAfter(endDateTime)) {
-      throw new ValidationException(MessageConstants.INVALID_DATE_RANGE);
+  /**
+   * Searches the audit logs matching the filter one page at a time, newest first.
+   * One entry more than the page size is read to learn whether a next page exists.
+   *
+   * @param filter criteria the audit logs must match
+   * @param after  cursor returned with the previous page, or null for the first page
+   * @param limit  maximum number of logs on the page
+   * @return the page of audit logs with the cursor of the next page
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public AuditLogPage searchLogs(AuditLogFilter filter, AuditLogCursor after, int limit) {
+    Objects.requireNonNull(filter, "filter must not be null");
+    if (limit <= 0) {
+      throw new ValidationException(MessageConstants.LIMIT_MUST_BE_GREATER_THAN);
     }
+    if (filter.getStartTimestamp() != null && filter.getEndTimestamp() != null) {
+      validateDateRange(filter.getStartTimestamp(), filter.getEndTimestamp());
+    }
+    List<AuditLog> auditLogs = auditLogRepository.search(filter, after, limit + 1);
+    if (auditLogs.size() <= limit) {
+      return new AuditLogPage(auditLogs, null);
+    }
+    List<AuditLog> page = auditLogs.subList(0, limit);
+    return new AuditLogPage(page, AuditLogCursor.after(page.get(limit - 1)));
   }
   
-  private Map<String, Long> calculateOperationCounts(List<AuditLog> logs) {
-    return logs.stream()
-      .collect(Collectors.groupingBy(
-        AuditLog::getOperation,
-        Collectors.counting()
-      ));
-  }
-  
-  private Map<String, Long> calculateUserActivityCounts(List<AuditLog> logs) {
-    return logs.stream()
-      .collect(Collectors.groupingBy(
-        AuditLog::getUsername,
-        Collectors.counting()
-      ));
+  /**
+   * Subscribes to audit logs as they are written, through the in-memory tail.
+   *
+   * @param consumer receiver of newly written audit logs
+   * @return the subscription, to be cancelled when the subscriber goes away
+   */
+  @Override
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public AuditTailSubscription subscribe(Consumer<List<AuditLog>> consumer) {
+    Objects.requireNonNull(consumer, "consumer must not be null");
+    return auditLogTail.subscribe(consumer);
   }
   
-  private Map<String, Double> calculateAverageTimeByOperation(List<AuditLog> logs) {
-    return logs.stream()
-      .collect(Collectors.groupingBy(
-        AuditLog::getOperation,
-        Collectors.averagingLong(AuditLog::getExecutionTimeMs)
+  private AuditSummary summarize(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    LocalDateTime firstWholeMinute = startDateTime.truncatedTo(ChronoUnit.MINUTES);
+    if (firstWholeMinute.isBefore(startDateTime)) {
+      firstWholeMinute = firstWholeMinute.plusMinutes(1);
+    }
+    LocalDateTime lastMinute = endDateTime.truncatedTo(ChronoUnit.MINUTES);
+    if (!firstWholeMinute.isBefore(lastMinute)) {
+      return auditLogRepository.summarizeByTimestampRange(startDateTime, endDateTime);
+    }
+    AuditSummary summary = auditLogRepository.summarizeRollups(firstWholeMinute, lastMinute);
+    if (startDateTime.isBefore(firstWholeMinute)) {
+      // the raw range is inclusive and timestamps are stored with microsecond precision
+      summary.merge(auditLogRepository.summarizeByTimestampRange(
+        startDateTime,
+        firstWholeMinute.minus(1, ChronoUnit.MICROS)
       ));
+    }
+    summary.merge(auditLogRepository.summarizeByTimestampRange(lastMinute, endDateTime));
+    return summary;
   }
   
-  private String findMostActiveUser(Map<String, Long> userActivityCounts) {
-    return userActivityCounts.entrySet().stream()
-      .max(Map.Entry.comparingByValue())
-      .map(Map.Entry::getKey)
-      .orElse("N/A");
-  }
-  
-  private String findMostCommonOperation(Map<String, Long> operationCounts) {
-    return operationCounts.entrySet().stream()
-      .max(Map.Entry.comparingByValue())
-      .map(Map.Entry::getKey)
-      .orElse("N/A");
-  }
-  
-  private double calculateAverageExecutionTime(List<AuditLog> logs) {
-    return logs.stream()
-      .mapToLong(AuditLog::getExecutionTimeMs)
-      .average()
-      .orElse(0.0);
+  private void validateDateRange(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+    Objects.requireNonNull(startDateTime, "startDateTime must not be null");
+    Objects.requireNonNull(endDateTime, "endDateTime must not be null");
+    if (startDateTime.isAfter(endDateTime)) {
+      throw new ValidationException(MessageConstants.INVALID_DATE_RANGE);
+    }
   }
 }
\ No newline at end of file
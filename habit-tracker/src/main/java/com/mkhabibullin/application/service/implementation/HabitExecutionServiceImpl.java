@@ -3,8 +3,17 @@ package com.mkhabibullin.application.service.implementation;
 import com.mkhabibullin.application.service.HabitExecutionService;
 import com.mkhabibullin.common.MessageConstants;
 import com.mkhabibullin.domain.exception.HabitNotFoundException;
+import com.mkhabibullin.domain.model.ExecutionBatchItemResult;
 import com.mkhabibullin.domain.model.Habit;
+import com.mkhabibullin.domain.model.HabitActivity;
+import com.mkhabibullin.domain.model.HabitCompletionBitmap;
+import com.mkhabibullin.domain.model.HabitCompletionHistory;
+import com.mkhabibullin.domain.model.HabitDashboard;
+import com.mkhabibullin.domain.model.HabitDashboardEntry;
 import com.mkhabibullin.domain.model.HabitExecution;
+import com.mkhabibullin.domain.model.HabitExecutionSummary;
+import com.mkhabibullin.domain.model.StreakSummary;
+import com.mkhabibullin.infrastructure.persistence.repository.HabitCompletionBitmapRepository;
 import com.mkhabibullin.infrastructure.persistence.repository.HabitExecutionRepository;
 import com.mkhabibullin.infrastructure.persistence.repository.HabitRepository;
 import org.springframework.stereotype.Service;
@@ -13,11 +22,14 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Implementation of the HabitExecutionService interface that provides functionality
@@ -28,24 +40,31 @@ import java.util.regex.Pattern;
 @Service
 @Transactional
 public class HabitExecutionServiceImpl implements HabitExecutionService {
+  private static final int DASHBOARD_WEEK_DAYS = 7;
+  private static final int DASHBOARD_MONTH_DAYS = 30;
   private final HabitExecutionRepository executionRepository;
   private final HabitRepository habitRepository;
+  private final HabitCompletionBitmapRepository bitmapRepository;
   
   /**
    * Constructs a new HabitExecutionServiceImpl with the required repositories.
    *
    * @param executionRepository repository for habit execution data operations
    * @param habitRepository     repository for habit data operations
+   * @param bitmapRepository    repository for per-habit completion bitmaps
    */
   
   public HabitExecutionServiceImpl(HabitExecutionRepository executionRepository,
-                                   HabitRepository habitRepository) {
+                                   HabitRepository habitRepository,
+                                   HabitCompletionBitmapRepository bitmapRepository) {
     this.executionRepository = executionRepository;
     this.habitRepository = habitRepository;
+    this.bitmapRepository = bitmapRepository;
   }
   
   /**
    * Marks a habit as executed (completed or not) on a specific date.
+   * Repeated calls for the same habit and date update the existing execution instead of adding a new one.
    *
    * @param habitId   the ID of the habit
    * @param date      the date of execution
@@ -54,7 +73,51 @@ public class HabitExecutionServiceImpl implements HabitExecutionService {
   @Override
   public void markHabitExecution(Long habitId, LocalDate date, boolean completed) {
     HabitExecution execution = new HabitExecution(habitId, date, completed);
-    executionRepository.save(execution);
+    executionRepository.upsert(execution);
+  }
+  
+  /**
+   * Records many habit executions of a user in one transaction.
+   * Ownership is checked against a single lookup of the user's habits, duplicates within the batch
+   * are collapsed so that the last execution for a habit and date wins, and the remaining executions
+   * are written with multi-row upserts.
+   *
+   * @param userId     the ID of the user the habits must belong to
+   * @param executions the executions to record, in client order
+   * @return the outcome of each execution, in the same order
+   */
+  @Override
+  public List<ExecutionBatchItemResult> markHabitExecutions(Long userId, List<HabitExecution> executions) {
+    Set<Long> ownedHabitIds = habitRepository.getByUserId(userId).stream()
+      .map(Habit::getId)
+      .collect(Collectors.toSet());
+    ExecutionBatchItemResult[] results = new ExecutionBatchItemResult[executions.size()];
+    Map<HabitDay, Integer> lastIndexByDay = new LinkedHashMap<>();
+    for (int i = 0; i < executions.size(); i++) {
+      HabitExecution execution = executions.get(i);
+      if (!ownedHabitIds.contains(execution.getHabitId())) {
+        results[i] = ExecutionBatchItemResult.rejected(
+          String.format(MessageConstants.HABIT_NOT_FOUND, execution.getHabitId())
+        );
+        continue;
+      }
+      Integer previous = lastIndexByDay.put(new HabitDay(execution.getHabitId(), execution.getDate()), i);
+      if (previous != null) {
+        results[previous] = new ExecutionBatchItemResult(
+          ExecutionBatchItemResult.Status.SUPERSEDED,
+          MessageConstants.BATCH_ITEM_SUPERSEDED
+        );
+      }
+      results[i] = ExecutionBatchItemResult.recorded();
+    }
+    List<HabitExecution> toRecord = new ArrayList<>(lastIndexByDay.size());
+    for (int index : lastIndexByDay.values()) {
+      toRecord.add(executions.get(index));
+    }
+    if (!toRecord.isEmpty()) {
+      executionRepository.upsertAll(toRecord);
+    }
+    return List.of(results);
   }
   
   /**
@@ -68,34 +131,62 @@ public class HabitExecutionServiceImpl implements HabitExecutionService {
     return executionRepository.getByHabitId(habitId);
   }
   
+  /**
+   * Retrieves one page of the execution history of a habit in date order using keyset pagination.
+   *
+   * @param habitId the ID of the habit
+   * @param after   the date of the last execution of the previous page, or null for the first page
+   * @param limit   the maximum number of executions to return
+   * @return a list of at most {@code limit} HabitExecution objects
+   */
+  @Override
+  public List<HabitExecution> getHistoryPage(Long habitId, LocalDate after, int limit) {
+    return executionRepository.getPageByHabitId(habitId, after, limit);
+  }
+  
+  /**
+   * Passes the complete execution history of a habit to the given action within a read-only
+   * transaction, which keeps the database cursor open while the rows are consumed.
+   *
+   * @param habitId the ID of the habit
+   * @param action  the action invoked for each execution
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public void streamHistory(Long habitId, Consumer<HabitExecution> action) {
+    executionRepository.forEachByHabitId(habitId, action);
+  }
+  
+  /**
+   * Retrieves the execution history for a specific habit within a date range.
+   * The range is applied by the database, so only the requested slice of the history is loaded.
+   *
+   * @param habitId   the ID of the habit
+   * @param startDate the start date of the range (inclusive)
+   * @param endDate   the end date of the range (inclusive)
+   * @return a list of HabitExecution objects ordered by date
+   */
+  @Override
+  public List<HabitExecution> getByDateRange(Long habitId, LocalDate startDate, LocalDate endDate) {
+    return executionRepository.getByHabitAndDateRange(habitId, startDate, endDate);
+  }
+  
   /**
    * Calculates the current streak (consecutive days of completion) for a habit.
+   * The streak is read from the habit's completion bitmaps with word-level bit scans.
    *
    * @param habitId the ID of the habit
    * @return the current streak as an integer
    */
   @Override
   public int getCurrentStreak(Long habitId) {
-    List<HabitExecution> executions = executionRepository.getByHabitId(habitId);
-    executions.sort(Comparator.comparing(HabitExecution::getDate).reversed());
-    int streak = 0;
-    LocalDate currentDate = LocalDate.now();
-    
-    for (HabitExecution execution : executions) {
-      if (execution.getDate().isEqual(currentDate) && execution.isCompleted()) {
-        streak++;
-        currentDate = currentDate.minusDays(1);
-      } else if (execution.getDate().isEqual(currentDate) && !execution.isCompleted()) {
-        break;
-      } else if (execution.getDate().isBefore(currentDate)) {
-        break;
-      }
-    }
-    return streak;
+    return new HabitCompletionHistory(bitmapRepository.getByHabitId(habitId))
+      .currentStreak(LocalDate.now());
   }
   
   /**
    * Calculates the success percentage of a habit within a specified date range.
+   * The percentage is derived from the execution counts aggregated by the database in a single query.
    *
    * @param habitId   the ID of the habit
    * @param startDate the start date of the range
@@ -104,19 +195,97 @@ public class HabitExecutionServiceImpl implements HabitExecutionService {
    */
   @Override
   public double getSuccessPercentage(Long habitId, LocalDate startDate, LocalDate endDate) {
-    List<HabitExecution> executions = executionRepository.getByHabitId(habitId);
-    List<HabitExecution> filteredExecutions = executions.stream()
-      .filter(e -> !e.getDate().isBefore(startDate) && !e.getDate().isAfter(endDate))
-      .toList();
-    
-    if (filteredExecutions.isEmpty()) {
-      return 0.0;
+    return getExecutionSummary(habitId, startDate, endDate).getSuccessPercentage();
+  }
+  
+  /**
+   * Calculates the longest run of consecutive completed days of a habit within a date range.
+   * The run is found with word-level bit scans over the habit's completion bitmaps.
+   *
+   * @param habitId   the ID of the habit
+   * @param startDate the start date of the range (inclusive)
+   * @param endDate   the end date of the range (inclusive)
+   * @return the longest streak in days
+   */
+  @Override
+  public int getLongestStreak(Long habitId, LocalDate startDate, LocalDate endDate) {
+    return completionHistory(habitId, startDate, endDate).longestStreak(startDate, endDate);
+  }
+  
+  /**
+   * Computes the current streak, the longest streak and the longest streak intervals
+   * of a habit within a date range. The streaks are found by the database in a single
+   * gaps-and-islands query over the habit's completed days.
+   *
+   * @param habitId   the ID of the habit
+   * @param startDate the start date of the range (inclusive)
+   * @param endDate   the end date of the range (inclusive)
+   * @param limit     maximum number of streak intervals to return
+   * @return the streak summary for the range
+   */
+  @Override
+  public StreakSummary getStreakSummary(Long habitId, LocalDate startDate, LocalDate endDate, int limit) {
+    return executionRepository.getStreakSummary(habitId, startDate, endDate, LocalDate.now(), limit);
+  }
+  
+  /**
+   * Builds the dashboard of a user with a fixed number of queries, independent of the habit count:
+   * one for the user's habits, one grouped query for the recent execution counts of all habits
+   * and one for the completion bitmaps the current streaks are read from.
+   *
+   * @param userId the ID of the user
+   * @return the user's dashboard
+   */
+  @Override
+  public HabitDashboard getDashboard(Long userId) {
+    LocalDate today = LocalDate.now();
+    List<Habit> habits = habitRepository.getByUserId(userId);
+    Map<Long, HabitActivity> activityByHabit = new HashMap<>();
+    for (HabitActivity activity : executionRepository.getActivityByUserId(
+      userId,
+      today.minusDays(DASHBOARD_WEEK_DAYS - 1),
+      today.minusDays(DASHBOARD_MONTH_DAYS - 1),
+      today)) {
+      activityByHabit.put(activity.getHabitId(), activity);
     }
-    
-    long completedCount = filteredExecutions.stream()
-      .filter(HabitExecution::isCompleted)
-      .count();
-    return (double) completedCount / filteredExecutions.size() * 100;
+    Map<Long, List<HabitCompletionBitmap>> bitmapsByHabit = bitmapRepository
+      .getByHabitIds(habits.stream().map(Habit::getId).toList())
+      .stream()
+      .collect(Collectors.groupingBy(HabitCompletionBitmap::getHabitId));
+    List<HabitDashboardEntry> entries = new ArrayList<>(habits.size());
+    for (Habit habit : habits) {
+      HabitActivity activity = activityByHabit.getOrDefault(
+        habit.getId(),
+        new HabitActivity(habit.getId(), 0, 0, 0, 0, 0, 0)
+      );
+      int currentStreak = new HabitCompletionHistory(bitmapsByHabit.getOrDefault(habit.getId(), List.of()))
+        .currentStreak(today);
+      entries.add(new HabitDashboardEntry(
+        habit.getId(),
+        habit.getName(),
+        habit.getFrequency(),
+        currentStreak,
+        activity.getTodayExecutions() > 0,
+        activity.getTodayCompleted() > 0,
+        HabitExecutionSummary.successPercentage(activity.getWeekCompleted(), activity.getWeekExecutions()),
+        HabitExecutionSummary.successPercentage(activity.getMonthCompleted(), activity.getMonthExecutions())
+      ));
+    }
+    return new HabitDashboard(today, entries);
+  }
+  
+  /**
+   * Aggregates completed, missed and total execution counts of a habit within a date range.
+   * The aggregation is performed by the database in a single query.
+   *
+   * @param habitId   the ID of the habit
+   * @param startDate the start date of the range
+   * @param endDate   the end date of the range
+   * @return the execution summary for the range
+   */
+  @Override
+  public HabitExecutionSummary getExecutionSummary(Long habitId, LocalDate startDate, LocalDate endDate) {
+    return executionRepository.getSummaryByHabitAndDateRange(habitId, startDate, endDate);
   }
   
   /**
@@ -136,10 +305,7 @@ public class HabitExecutionServiceImpl implements HabitExecutionService {
     }
     int currentStreak = getCurrentStreak(habitId);
     double successPercentage = getSuccessPercentage(habitId, startDate, endDate);
-    List<HabitExecution> executions = executionRepository.getByHabitId(habitId).stream()
-      .filter(e -> !e.getDate().isBefore(startDate) && !e.getDate().isAfter(endDate))
-      .sorted(Comparator.comparing(HabitExecution::getDate))
-      .toList();
+    List<HabitExecution> executions = executionRepository.getByHabitAndDateRange(habitId, startDate, endDate);
     StringBuilder history = new StringBuilder();
     executions.forEach(e ->
       history.append(e.getDate()).append(": ")
@@ -182,23 +348,25 @@ public class HabitExecutionServiceImpl implements HabitExecutionService {
   }
   
   /**
-   * Calculates the longest streak of consecutive completed executions in the habit history.
+   * Calculates the longest streak of consecutive completed calendar days in the habit history.
+   * A day counts as completed if any of its executions is completed; a missing date breaks the streak.
    *
    * @param history A list of HabitExecution objects representing the execution history
-   * @return The length of the longest streak of consecutive completed executions
+   * @return The length of the longest streak of consecutive completed days
    */
   @Override
   public int calculateLongestStreak(List<HabitExecution> history) {
+    long[] completedDays = history.stream()
+      .filter(HabitExecution::isCompleted)
+      .mapToLong(execution -> execution.getDate().toEpochDay())
+      .distinct()
+      .sorted()
+      .toArray();
     int longestStreak = 0;
     int currentStreak = 0;
-    
-    for (HabitExecution execution : history) {
-      if (execution.isCompleted()) {
-        currentStreak++;
-        longestStreak = Math.max(longestStreak, currentStreak);
-      } else {
-        currentStreak = 0;
-      }
+    for (int i = 0; i < completedDays.length; i++) {
+      currentStreak = i > 0 && completedDays[i] == completedDays[i - 1] + 1 ? currentStreak + 1 : 1;
+      longestStreak = Math.max(longestStreak, currentStreak);
     }
     return longestStreak;
   }
@@ -214,11 +382,22 @@ public class HabitExecutionServiceImpl implements HabitExecutionService {
    */
   @Override
   public List<String> generateSuggestions(Habit habit, List<HabitExecution> history) {
-    List<String> suggestions = new ArrayList<>();
     double completionRate = history.stream()
                               .filter(HabitExecution::isCompleted)
                               .count() / (double) history.size();
-    
+    return generateSuggestions(habit, completionRate);
+  }
+  
+  /**
+   * Generates personalized suggestions for improving a habit based on an already computed completion rate.
+   *
+   * @param habit The Habit object for which suggestions are being generated
+   * @param completionRate The share of completed executions, between 0 and 1
+   * @return A list of String suggestions for improving the habit
+   */
+  @Override
+  public List<String> generateSuggestions(Habit habit, double completionRate) {
+    List<String> suggestions = new ArrayList<>();
     suggestions.add("Suggestions for improving your '" + habit.getName() + "' habit:");
     List<String> performanceSuggestions = switch (CompletionLevel.fromRate(completionRate)) {
       case LOW -> List.of(
@@ -275,6 +454,15 @@ public class HabitExecutionServiceImpl implements HabitExecutionService {
     return suggestions;
   }
   
+  private HabitCompletionHistory completionHistory(Long habitId, LocalDate startDate, LocalDate endDate) {
+    return new HabitCompletionHistory(
+      bitmapRepository.getByHabitAndYearRange(habitId, startDate.getYear(), endDate.getYear())
+    );
+  }
+  
+  private record HabitDay(Long habitId, LocalDate date) {
+  }
+  
   private enum CompletionLevel {
     LOW(0.0, 0.5),
     MEDIUM(0.5, 0.8),
@@ -289,9 +477,9 @@ public class HabitExecutionServiceImpl implements HabitExecutionService {
     }
     
     public static CompletionLevel fromRate(double rate) {
-      if (rate < 0.5) return LOW;
+      if (Double.isNaN(rate) || rate < 0.5) return LOW;
       if (rate < 0.8) return MEDIUM;
       return HIGH;
     }
   }
-}
\ No newline at end of file
+}
@@ -2,6 +2,8 @@ package com.mkhabibullin.application.validation;
 
 import com.mkhabibullin.common.MessageConstants;
 import com.mkhabibullin.domain.exception.ValidationException;
+import com.mkhabibullin.presentation.dto.habitExecution.BatchExecutionItemDTO;
+import com.mkhabibullin.presentation.dto.habitExecution.BatchExecutionRequestDTO;
 import com.mkhabibullin.presentation.dto.habitExecution.HabitExecutionRequestDTO;
 import org.springframework.stereotype.Component;
 
@@ -13,6 +15,10 @@ import java.time.LocalDate;
  */
 @Component
 public class HabitExecutionValidator {
+  /**
+   * Maximum number of executions accepted in a single batch request.
+   */
+  public static final int MAX_BATCH_SIZE = 1000;
   
   /**
    * Validates a DTO for habit execution tracking.
@@ -29,6 +35,39 @@ public class HabitExecutionValidator {
     validateCompleted(dto.completed());
   }
   
+  /**
+   * Validates the envelope of a batch tracking request: it must contain between 1 and
+   * {@value #MAX_BATCH_SIZE} executions. The individual items are validated separately.
+   *
+   * @param dto The batch request DTO to validate
+   * @throws ValidationException if validation fails
+   */
+  public void validateBatchExecutionRequestDTO(BatchExecutionRequestDTO dto) throws ValidationException {
+    if (dto == null || dto.executions() == null || dto.executions().isEmpty()) {
+      throw new ValidationException(MessageConstants.BATCH_EMPTY);
+    }
+    if (dto.executions().size() > MAX_BATCH_SIZE) {
+      throw new ValidationException(String.format(MessageConstants.BATCH_TOO_LARGE, MAX_BATCH_SIZE));
+    }
+  }
+  
+  /**
+   * Validates a single execution of a batch tracking request.
+   *
+   * @param dto The batch item DTO to validate
+   * @throws ValidationException if validation fails
+   */
+  public void validateBatchExecutionItemDTO(BatchExecutionItemDTO dto) throws ValidationException {
+    if (dto == null) {
+      throw new ValidationException(MessageConstants.HABIT_EXECUTION_NULL);
+    }
+    if (dto.habitId() == null) {
+      throw new ValidationException(MessageConstants.HABIT_ID_REQUIRED);
+    }
+    validateDate(dto.date());
+    validateCompleted(dto.completed());
+  }
+  
   /**
    * Validates a progress report request parameters.
    *
@@ -2,8 +2,15 @@ package com.mkhabibullin.aspect;
 
 import com.mkhabibullin.common.Audited;
 import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.domain.model.AuditStatus;
 import com.mkhabibullin.domain.model.User;
-import com.mkhabibullin.infrastructure.persistence.repository.AuditLogRepository;
+import com.mkhabibullin.infrastructure.audit.AuditLogWriter;
+import com.mkhabibullin.infrastructure.audit.AuditPolicyResolver;
+import com.mkhabibullin.infrastructure.audit.AuditResponseSizeFilter;
+import com.mkhabibullin.infrastructure.audit.AuditRule;
+import com.mkhabibullin.infrastructure.monitoring.LatencyRegistry;
+import com.mkhabibullin.infrastructure.monitoring.SqlStatementCounter;
+import com.mkhabibullin.infrastructure.monitoring.ThreadResources;
 import jakarta.servlet.http.HttpServletRequest;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
@@ -18,8 +25,10 @@ import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Aspect for auditing method executions using Spring AOP.
@@ -31,17 +40,24 @@ import java.time.LocalDateTime;
 @Profile("!test")
 public class AuditedAspect {
   private static final Logger log = LoggerFactory.getLogger(AuditedAspect.class);
-  private final AuditLogRepository auditLogRepository;
+  private final AuditLogWriter auditLogWriter;
+  private final LatencyRegistry latencyRegistry;
+  private final AuditPolicyResolver auditPolicyResolver;
   private final Environment environment;
   
   /**
    * Constructs a new AuditedAspect with required dependencies.
    *
-   * @param auditLogRepository repository for persisting audit logs
-   * @param environment        Spring environment for profile detection
+   * @param auditLogWriter  asynchronous writer for persisting audit logs
+   * @param latencyRegistry     registry of live latency histograms per operation
+   * @param auditPolicyResolver resolver of the audit policy of each operation
+   * @param environment         Spring environment for profile detection
    */
-  public AuditedAspect(AuditLogRepository auditLogRepository, Environment environment) {
-    this.auditLogRepository = auditLogRepository;
+  public AuditedAspect(AuditLogWriter auditLogWriter, LatencyRegistry latencyRegistry,
+                       AuditPolicyResolver auditPolicyResolver, Environment environment) {
+    this.auditLogWriter = auditLogWriter;
+    this.latencyRegistry = latencyRegistry;
+    this.auditPolicyResolver = auditPolicyResolver;
     this.environment = environment;
   }
   
@@ -57,7 +73,21 @@ public class AuditedAspect {
   /**
    * Around advice that handles the audit logging process for annotated methods.
    * Records method execution time, user information, and operation details.
-   * Saves the audit log entry after method execution, including any failure information.
+   * Hands the audit log entry to the asynchronous writer after method execution,
+   * so the request does not wait for the insert. A failed call is recorded under the same
+   * operation with a failure status and the exception class, keeping the set of distinct
+   * operations bounded.
+   * Whether a call is written is decided by the operation's {@link AuditRule}. Under
+   * {@code ALWAYS} and {@code SAMPLED} the rule decides before the call; a {@code SAMPLED} call
+   * left out of the sample is only timed, and is still written without resource telemetry if it
+   * fails or turns out slow. {@code FAILURES_ONLY} and {@code SLOW_ONLY} need the outcome, so their
+   * calls are measured in full and the rule decides afterwards. Every call's duration is recorded
+   * in the live latency histogram of the operation regardless of the policy.
+   * Entries of measured calls carry the resource telemetry of the call: the wall time in nanoseconds,
+   * the CPU time and heap allocation of the calling thread, and the number of SQL statements it
+   * executed. Work the call hands to other threads is not included. Within a request the entry
+   * is deferred to {@link AuditResponseSizeFilter}, which adds the response size once the body
+   * has been written and then submits it.
    *
    * @param joinPoint the join point representing the intercepted method
    * @param audited the Audited annotation instance containing audit configuration
@@ -66,42 +96,80 @@ public class AuditedAspect {
    */
   @Around(value = "@annotation(audited)", argNames = "joinPoint,audited")
   public Object writeAuditLog(ProceedingJoinPoint joinPoint, Audited audited) throws Throwable {
-    log.debug("Starting audit logging for method: {}", joinPoint.getSignature().getName());
-    long startTime = System.currentTimeMillis();
-    MethodSignature signature = (MethodSignature) joinPoint.getSignature();
-    String methodName = signature.getName();
-    HttpServletRequest request = getCurrentRequest();
-    String username = extractUsername(request);
-    Object result = null;
+    AuditRule rule = resolveRule(audited);
+    boolean recordedInAdvance = rule != null && rule.recordsInAdvance();
+    boolean measured = recordedInAdvance || rule != null && rule.decidesAfterCall();
+    HttpServletRequest request = measured ? getCurrentRequest() : null;
+    String username = measured ? extractUsername(request) : null;
+    long startCpuNanos = measured ? ThreadResources.cpuTimeNanos() : -1;
+    long startAllocatedBytes = measured ? ThreadResources.allocatedBytes() : -1;
+    long startSqlStatements = measured ? SqlStatementCounter.currentCount() : 0;
+    long startNanos = System.nanoTime();
     Throwable caughtThrowable = null;
     try {
-      result = joinPoint.proceed();
-      return result;
+      return joinPoint.proceed();
     } catch (Throwable throwable) {
       caughtThrowable = throwable;
       throw throwable;
     } finally {
+      long elapsedNanos = System.nanoTime() - startNanos;
+      long endCpuNanos = measured ? ThreadResources.cpuTimeNanos() : -1;
+      long endAllocatedBytes = measured ? ThreadResources.allocatedBytes() : -1;
+      long sqlStatements = measured ? SqlStatementCounter.currentCount() - startSqlStatements : 0;
+      latencyRegistry.record(audited.audited(), elapsedNanos);
+      long executionTime = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
       try {
-        long executionTime = System.currentTimeMillis() - startTime;
-        String operation = audited.audited();
-        if (caughtThrowable != null) {
-          operation += " (Failed: " + caughtThrowable.getMessage() + ")";
+        if (recordedInAdvance || rule != null && rule.shouldRecord(caughtThrowable != null, executionTime)) {
+          if (!measured) {
+            request = getCurrentRequest();
+            username = extractUsername(request);
+          }
+          String methodName = ((MethodSignature) joinPoint.getSignature()).getName();
+          AuditLog auditLog = createAuditLog(
+            username,
+            methodName,
+            audited.audited(),
+            executionTime,
+            request,
+            caughtThrowable
+          );
+          auditLog.setExecutionTimeNs(elapsedNanos);
+          if (measured) {
+            auditLog.setCpuTimeNs(difference(startCpuNanos, endCpuNanos));
+            auditLog.setAllocatedBytes(difference(startAllocatedBytes, endAllocatedBytes));
+            auditLog.setSqlStatements((int) sqlStatements);
+          }
+          if (!AuditResponseSizeFilter.defer(request, auditLog)) {
+            auditLogWriter.submit(auditLog);
+          }
+          log.debug("Audit log submitted for method: {}", methodName);
         }
-        AuditLog auditLog = createAuditLog(
-          username,
-          methodName,
-          operation,
-          executionTime,
-          request
-        );
-        auditLogRepository.save(auditLog);
-        log.debug("Audit log saved successfully for method: {}", methodName);
       } catch (Exception e) {
         log.error("Error saving audit log: ", e);
       }
     }
   }
   
+  /**
+   * Returns the rule of the operation, or null if it cannot be resolved, so that a broken
+   * audit configuration never fails the audited call.
+   */
+  private AuditRule resolveRule(Audited audited) {
+    try {
+      return auditPolicyResolver.resolve(audited);
+    } catch (Exception e) {
+      log.error("Error resolving audit policy of {}: ", audited.audited(), e);
+      return null;
+    }
+  }
+  
+  /**
+   * Returns the difference of two thread measurements, or null if the JVM does not support them.
+   */
+  private static Long difference(long start, long end) {
+    return start < 0 || end < 0 ? null : end - start;
+  }
+  
   private HttpServletRequest getCurrentRequest() {
     ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
     return attributes != null ? attributes.getRequest() : null;
@@ -126,9 +194,10 @@ public class AuditedAspect {
     String methodName,
     String operation,
     long executionTime,
-    HttpServletRequest request
+    HttpServletRequest request,
+    Throwable throwable
   ) {
-    String requestUri = request != null ? request.getRequestURI() : "N/A";
+    String requestUri = request != null ? getRequestUriTemplate(request) : "N/A";
     String requestMethod = request != null ? request.getMethod() : "N/A";
     return new AuditLog(
       username,
@@ -137,7 +206,19 @@ public class AuditedAspect {
       LocalDateTime.now(),
       executionTime,
       requestUri,
-      requestMethod
+      requestMethod,
+      throwable == null ? AuditStatus.SUCCESS : AuditStatus.FAILURE,
+      throwable == null ? null : throwable.getClass().getName()
     );
   }
+  
+  /**
+   * Returns the handler mapping pattern the request matched, such as {@code /api/habits/{id}},
+   * so requests for different ids share one URI value. Falls back to the concrete URI when
+   * the request was not dispatched through a pattern.
+   */
+  private String getRequestUriTemplate(HttpServletRequest request) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return pattern != null ? pattern.toString() : request.getRequestURI();
+  }
 }
\ No newline at end of file
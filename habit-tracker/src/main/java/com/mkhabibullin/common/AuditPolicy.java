@@ -0,0 +1,24 @@
+package com.mkhabibullin.common;
+
+/**
+ * Decides which calls of an {@link Audited} method are written to the audit log.
+ * Failed calls are written under every policy.
+ */
+public enum AuditPolicy {
+  /**
+   * Every call is written.
+   */
+  ALWAYS,
+  /**
+   * Failed calls, calls reaching the slow threshold and a random sample of the remaining calls are written.
+   */
+  SAMPLED,
+  /**
+   * Only failed calls are written.
+   */
+  FAILURES_ONLY,
+  /**
+   * Failed calls and calls reaching the slow threshold are written.
+   */
+  SLOW_ONLY
+}
@@ -9,9 +9,33 @@ import java.lang.annotation.Target;
  * Annotation used to mark methods for audit logging.
  * Methods annotated with @Audited will have their execution details logged,
  * including timing, user information, and the specified audit operation.
+ * The policy decides which calls are logged; it can be overridden per operation
+ * through the {@code application.audit.policy-overrides} property.
  */
 @Retention(RetentionPolicy.RUNTIME)
 @Target({ElementType.METHOD})
 public @interface Audited {
   String audited();
-}
\ No newline at end of file
+  
+  /**
+   * Policy deciding which calls are written to the audit log.
+   *
+   * @return the audit policy
+   */
+  AuditPolicy policy() default AuditPolicy.ALWAYS;
+  
+  /**
+   * Fraction of ordinary calls written under {@link AuditPolicy#SAMPLED}, between 0 and 1.
+   *
+   * @return the sample rate
+   */
+  double sampleRate() default 1.0;
+  
+  /**
+   * Execution time in milliseconds from which a call counts as slow under
+   * {@link AuditPolicy#SAMPLED} and {@link AuditPolicy#SLOW_ONLY}.
+   *
+   * @return the slow call threshold in milliseconds
+   */
+  long slowThresholdMs() default 1000;
+}
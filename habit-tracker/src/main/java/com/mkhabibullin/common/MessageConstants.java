@@ -51,6 +51,10 @@ public final class MessageConstants {
   public static final String DATE_REQUIRED = "Date is required";
   public static final String DATE_FUTURE = "Cannot record executions for future dates";
   public static final String COMPLETION_STATUS_REQUIRED = "Completion status is required";
+  public static final String HABIT_ID_REQUIRED = "Habit ID is required";
+  public static final String BATCH_EMPTY = "Batch must contain at least one execution";
+  public static final String BATCH_TOO_LARGE = "Batch cannot contain more than %d executions";
+  public static final String BATCH_ITEM_SUPERSEDED = "Superseded by a later execution for the same habit and date";
   
   // Habit validation messages
   public static final String HABIT_NAME_REQUIRED = "Habit name is required";
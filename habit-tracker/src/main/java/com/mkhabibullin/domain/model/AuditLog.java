@@ -2,11 +2,14 @@ package com.mkhabibullin.domain.model;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 
 import java.time.LocalDateTime;
 
@@ -14,46 +17,94 @@ import java.time.LocalDateTime;
  * Represents an audit log entry for tracking system operations.
  * This class encapsulates information about method executions, including user details,
  * timing information, and operation metadata.
+ * The method name, operation, request URI template and error class are stored as ids of
+ * dictionary entries; the repository translates between the ids and the text values.
+ * The resource telemetry of the call (wall and CPU time in nanoseconds, allocated bytes,
+ * SQL statements and response size) is optional and null where it was not measured.
  */
 @Entity
 @Table(name = "audit_logs", schema = "audit")
 public class AuditLog {
   @Id
-  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_seq")
-  @SequenceGenerator(name = "audit_seq", sequenceName = "entity.global_seq", allocationSize = 1)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_logs_seq")
+  @SequenceGenerator(name = "audit_logs_seq", sequenceName = "audit.audit_logs_seq", allocationSize = 50)
   private Long id;
   @Column(nullable = false)
   private String username;
-  @Column(name = "method_name", nullable = false)
+  @Column(name = "method_name_id", nullable = false)
+  private Integer methodNameId;
+  @Transient
   private String methodName;
-  @Column(nullable = false)
+  @Column(name = "operation_id", nullable = false)
+  private Integer operationId;
+  @Transient
   private String operation;
   @Column(nullable = false)
   private LocalDateTime timestamp;
   @Column(name = "execution_time_ms", nullable = false)
   private Long executionTimeMs;
-  @Column(name = "request_uri")
+  @Column(name = "request_uri_id")
+  private Integer requestUriId;
+  @Transient
   private String requestUri;
   @Column(name = "request_method")
   private String requestMethod;
+  @Enumerated(EnumType.ORDINAL)
+  @Column(nullable = false)
+  private AuditStatus status;
+  @Column(name = "error_class_id")
+  private Integer errorClassId;
+  @Transient
+  private String errorClass;
+  @Column(name = "execution_time_ns")
+  private Long executionTimeNs;
+  @Column(name = "cpu_time_ns")
+  private Long cpuTimeNs;
+  @Column(name = "allocated_bytes")
+  private Long allocatedBytes;
+  @Column(name = "sql_statements")
+  private Integer sqlStatements;
+  @Column(name = "response_bytes")
+  private Long responseBytes;
   
   protected AuditLog() {
   }
   
   /**
-   * Constructs a new AuditLog with the specified details.
+   * Constructs a new AuditLog of a successful operation with the specified details.
    *
    * @param username        The user who performed the operation
    * @param methodName      The name of the method that was executed
    * @param operation       The description of the operation performed
    * @param timestamp       When the operation occurred
    * @param executionTimeMs How long the operation took in milliseconds
-   * @param requestUri      The URI of the request
+   * @param requestUri      The URI template of the request
    * @param requestMethod   The HTTP method used
    */
   public AuditLog(String username, String methodName, String operation,
                   LocalDateTime timestamp, Long executionTimeMs,
                   String requestUri, String requestMethod) {
+    this(username, methodName, operation, timestamp, executionTimeMs, requestUri, requestMethod,
+      AuditStatus.SUCCESS, null);
+  }
+  
+  /**
+   * Constructs a new AuditLog with the specified details and outcome.
+   *
+   * @param username        The user who performed the operation
+   * @param methodName      The name of the method that was executed
+   * @param operation       The description of the operation performed
+   * @param timestamp       When the operation occurred
+   * @param executionTimeMs How long the operation took in milliseconds
+   * @param requestUri      The URI template of the request
+   * @param requestMethod   The HTTP method used
+   * @param status          The outcome of the operation
+   * @param errorClass      The class name of the exception that ended the operation, or null on success
+   */
+  public AuditLog(String username, String methodName, String operation,
+                  LocalDateTime timestamp, Long executionTimeMs,
+                  String requestUri, String requestMethod,
+                  AuditStatus status, String errorClass) {
     this.username = username;
     this.methodName = methodName;
     this.operation = operation;
@@ -61,6 +112,8 @@ public class AuditLog {
     this.executionTimeMs = executionTimeMs;
     this.requestUri = requestUri;
     this.requestMethod = requestMethod;
+    this.status = status;
+    this.errorClass = errorClass;
   }
   
   /**
@@ -172,18 +225,18 @@ public class AuditLog {
   }
   
   /**
-   * Gets the URI of the request that triggered the operation.
+   * Gets the URI template of the request that triggered the operation.
    *
-   * @return the request URI
+   * @return the request URI template
    */
   public String getRequestUri() {
     return requestUri;
   }
   
   /**
-   * Sets the URI of the request that triggered the operation.
+   * Sets the URI template of the request that triggered the operation.
    *
-   * @param requestUri the request URI to set
+   * @param requestUri the request URI template to set
    */
   public void setRequestUri(String requestUri) {
     this.requestUri = requestUri;
@@ -206,4 +259,202 @@ public class AuditLog {
   public void setRequestMethod(String requestMethod) {
     this.requestMethod = requestMethod;
   }
+  
+  /**
+   * Gets the outcome of the operation.
+   *
+   * @return the status
+   */
+  public AuditStatus getStatus() {
+    return status;
+  }
+  
+  /**
+   * Sets the outcome of the operation.
+   *
+   * @param status the status to set
+   */
+  public void setStatus(AuditStatus status) {
+    this.status = status;
+  }
+  
+  /**
+   * Gets the class name of the exception that ended the operation.
+   *
+   * @return the error class name, or null if the operation succeeded
+   */
+  public String getErrorClass() {
+    return errorClass;
+  }
+  
+  /**
+   * Sets the class name of the exception that ended the operation.
+   *
+   * @param errorClass the error class name to set
+   */
+  public void setErrorClass(String errorClass) {
+    this.errorClass = errorClass;
+  }
+  
+  /**
+   * Gets the dictionary id of the method name.
+   *
+   * @return the method name id
+   */
+  public Integer getMethodNameId() {
+    return methodNameId;
+  }
+  
+  /**
+   * Sets the dictionary id of the method name.
+   *
+   * @param methodNameId the method name id to set
+   */
+  public void setMethodNameId(Integer methodNameId) {
+    this.methodNameId = methodNameId;
+  }
+  
+  /**
+   * Gets the dictionary id of the operation.
+   *
+   * @return the operation id
+   */
+  public Integer getOperationId() {
+    return operationId;
+  }
+  
+  /**
+   * Sets the dictionary id of the operation.
+   *
+   * @param operationId the operation id to set
+   */
+  public void setOperationId(Integer operationId) {
+    this.operationId = operationId;
+  }
+  
+  /**
+   * Gets the dictionary id of the request URI template.
+   *
+   * @return the request URI id, or null if there is no request URI
+   */
+  public Integer getRequestUriId() {
+    return requestUriId;
+  }
+  
+  /**
+   * Sets the dictionary id of the request URI template.
+   *
+   * @param requestUriId the request URI id to set
+   */
+  public void setRequestUriId(Integer requestUriId) {
+    this.requestUriId = requestUriId;
+  }
+  
+  /**
+   * Gets the dictionary id of the error class.
+   *
+   * @return the error class id, or null if the operation succeeded
+   */
+  public Integer getErrorClassId() {
+    return errorClassId;
+  }
+  
+  /**
+   * Sets the dictionary id of the error class.
+   *
+   * @param errorClassId the error class id to set
+   */
+  public void setErrorClassId(Integer errorClassId) {
+    this.errorClassId = errorClassId;
+  }
+  
+  /**
+   * Gets the wall time of the operation in nanoseconds.
+   *
+   * @return the execution time in nanoseconds, or null if not measured
+   */
+  public Long getExecutionTimeNs() {
+    return executionTimeNs;
+  }
+  
+  /**
+   * Sets the wall time of the operation in nanoseconds.
+   *
+   * @param executionTimeNs the execution time in nanoseconds to set
+   */
+  public void setExecutionTimeNs(Long executionTimeNs) {
+    this.executionTimeNs = executionTimeNs;
+  }
+  
+  /**
+   * Gets the CPU time the request thread spent in the operation.
+   *
+   * @return the CPU time in nanoseconds, or null if not measured
+   */
+  public Long getCpuTimeNs() {
+    return cpuTimeNs;
+  }
+  
+  /**
+   * Sets the CPU time the request thread spent in the operation.
+   *
+   * @param cpuTimeNs the CPU time in nanoseconds to set
+   */
+  public void setCpuTimeNs(Long cpuTimeNs) {
+    this.cpuTimeNs = cpuTimeNs;
+  }
+  
+  /**
+   * Gets the number of heap bytes the request thread allocated during the operation.
+   *
+   * @return the allocated bytes, or null if not measured
+   */
+  public Long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+  
+  /**
+   * Sets the number of heap bytes the request thread allocated during the operation.
+   *
+   * @param allocatedBytes the allocated bytes to set
+   */
+  public void setAllocatedBytes(Long allocatedBytes) {
+    this.allocatedBytes = allocatedBytes;
+  }
+  
+  /**
+   * Gets the number of SQL statements executed by the operation.
+   *
+   * @return the SQL statement count, or null if not measured
+   */
+  public Integer getSqlStatements() {
+    return sqlStatements;
+  }
+  
+  /**
+   * Sets the number of SQL statements executed by the operation.
+   *
+   * @param sqlStatements the SQL statement count to set
+   */
+  public void setSqlStatements(Integer sqlStatements) {
+    this.sqlStatements = sqlStatements;
+  }
+  
+  /**
+   * Gets the size of the response body written for the request.
+   *
+   * @return the response size in bytes, or null if not measured
+   */
+  public Long getResponseBytes() {
+    return responseBytes;
+  }
+  
+  /**
+   * Sets the size of the response body written for the request.
+   *
+   * @param responseBytes the response size in bytes to set
+   */
+  public void setResponseBytes(Long responseBytes) {
+    this.responseBytes = responseBytes;
+  }
 }
\ No newline at end of file
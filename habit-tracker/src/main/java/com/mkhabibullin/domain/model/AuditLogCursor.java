@@ -0,0 +1,53 @@
+package com.mkhabibullin.domain.model;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Represents a position in the audit log ordered by timestamp and id, newest first.
+ * A search continuing from a cursor returns the entries strictly after it in that order,
+ * so pages stay stable while new entries are written.
+ */
+public class AuditLogCursor {
+  private final LocalDateTime timestamp;
+  private final long id;
+  
+  /**
+   * Constructs a new AuditLogCursor.
+   *
+   * @param timestamp timestamp of the last entry of the previous page
+   * @param id        id of the last entry of the previous page
+   */
+  public AuditLogCursor(LocalDateTime timestamp, long id) {
+    this.timestamp = Objects.requireNonNull(timestamp, "timestamp must not be null");
+    this.id = id;
+  }
+  
+  /**
+   * Creates the cursor positioned at the given audit log.
+   *
+   * @param auditLog the last entry of a page
+   * @return the cursor after that entry
+   */
+  public static AuditLogCursor after(AuditLog auditLog) {
+    return new AuditLogCursor(auditLog.getTimestamp(), auditLog.getId());
+  }
+  
+  /**
+   * Gets the timestamp of the position.
+   *
+   * @return the timestamp
+   */
+  public LocalDateTime getTimestamp() {
+    return timestamp;
+  }
+  
+  /**
+   * Gets the id of the position.
+   *
+   * @return the id
+   */
+  public long getId() {
+    return id;
+  }
+}
@@ -0,0 +1,117 @@
+package com.mkhabibullin.domain.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents optional criteria for selecting audit logs.
+ * Criteria left null are not applied, so an empty filter selects every audit log.
+ */
+public class AuditLogFilter {
+  private final LocalDateTime startTimestamp;
+  private final LocalDateTime endTimestamp;
+  private final String username;
+  private final String operation;
+  private final AuditStatus status;
+  private final String requestMethod;
+  private final Long minExecutionTimeMs;
+  
+  /**
+   * Constructs a new AuditLogFilter.
+   *
+   * @param startTimestamp earliest timestamp to include, or null for no lower bound
+   * @param endTimestamp   latest timestamp to include, or null for no upper bound
+   * @param username       username to match, or null for any user
+   * @param operation      operation to match, or null for any operation
+   * @param status         status to match, or null for any status
+   */
+  public AuditLogFilter(LocalDateTime startTimestamp, LocalDateTime endTimestamp,
+                        String username, String operation, AuditStatus status) {
+    this(startTimestamp, endTimestamp, username, operation, status, null, null);
+  }
+  
+  /**
+   * Constructs a new AuditLogFilter that can also restrict the HTTP method and the duration.
+   *
+   * @param startTimestamp     earliest timestamp to include, or null for no lower bound
+   * @param endTimestamp       latest timestamp to include, or null for no upper bound
+   * @param username           username to match, or null for any user
+   * @param operation          operation to match, or null for any operation
+   * @param status             status to match, or null for any status
+   * @param requestMethod      HTTP method to match, or null for any method
+   * @param minExecutionTimeMs minimum execution time in milliseconds, or null for any duration
+   */
+  public AuditLogFilter(LocalDateTime startTimestamp, LocalDateTime endTimestamp,
+                        String username, String operation, AuditStatus status,
+                        String requestMethod, Long minExecutionTimeMs) {
+    this.startTimestamp = startTimestamp;
+    this.endTimestamp = endTimestamp;
+    this.username = username;
+    this.operation = operation;
+    this.status = status;
+    this.requestMethod = requestMethod;
+    this.minExecutionTimeMs = minExecutionTimeMs;
+  }
+  
+  /**
+   * Gets the earliest timestamp to include.
+   *
+   * @return the lower bound, or null if there is none
+   */
+  public LocalDateTime getStartTimestamp() {
+    return startTimestamp;
+  }
+  
+  /**
+   * Gets the latest timestamp to include.
+   *
+   * @return the upper bound, or null if there is none
+   */
+  public LocalDateTime getEndTimestamp() {
+    return endTimestamp;
+  }
+  
+  /**
+   * Gets the username to match.
+   *
+   * @return the username, or null for any user
+   */
+  public String getUsername() {
+    return username;
+  }
+  
+  /**
+   * Gets the operation to match.
+   *
+   * @return the operation, or null for any operation
+   */
+  public String getOperation() {
+    return operation;
+  }
+  
+  /**
+   * Gets the status to match.
+   *
+   * @return the status, or null for any status
+   */
+  public AuditStatus getStatus() {
+    return status;
+  }
+  
+  /**
+   * Gets the HTTP method to match.
+   *
+   * @return the HTTP method, or null for any method
+   */
+  public String getRequestMethod() {
+    return requestMethod;
+  }
+  
+  /**
+   * Gets the minimum execution time to include.
+   *
+   * @return the minimum execution time in milliseconds, or null for any duration
+   */
+  public Long getMinExecutionTimeMs() {
+    return minExecutionTimeMs;
+  }
+}
@@ -0,0 +1,41 @@
+package com.mkhabibullin.domain.model;
+
+import java.util.List;
+
+/**
+ * Represents one page of audit log search results, newest first, together with the
+ * cursor of the next page.
+ */
+public class AuditLogPage {
+  private final List<AuditLog> auditLogs;
+  private final AuditLogCursor nextCursor;
+  
+  /**
+   * Constructs a new AuditLogPage.
+   *
+   * @param auditLogs  the entries of the page
+   * @param nextCursor the cursor of the next page, or null if this is the last page
+   */
+  public AuditLogPage(List<AuditLog> auditLogs, AuditLogCursor nextCursor) {
+    this.auditLogs = auditLogs;
+    this.nextCursor = nextCursor;
+  }
+  
+  /**
+   * Gets the entries of the page.
+   *
+   * @return the audit logs, newest first
+   */
+  public List<AuditLog> getAuditLogs() {
+    return auditLogs;
+  }
+  
+  /**
+   * Gets the cursor of the next page.
+   *
+   * @return the next cursor, or null if this is the last page
+   */
+  public AuditLogCursor getNextCursor() {
+    return nextCursor;
+  }
+}
@@ -15,6 +15,7 @@ public class AuditStatistics {
   private final Map<String, Double> averageTimeByOperation;
   private final String mostActiveUser;
   private final String mostCommonOperation;
+  private final Map<String, OperationTelemetry> telemetryByOperation;
   private final LocalDateTime periodStart;
   private final LocalDateTime periodEnd;
   
@@ -28,6 +29,7 @@ public class AuditStatistics {
    * @param averageTimeByOperation map of operations to their average execution times
    * @param mostActiveUser         username of the most active user
    * @param mostCommonOperation    name of the most frequently performed operation
+   * @param telemetryByOperation   map of operations to their average resource usage
    * @param periodStart            start time of the statistics period
    * @param periodEnd              end time of the statistics period
    */
@@ -38,6 +40,7 @@ public class AuditStatistics {
                          Map<String, Double> averageTimeByOperation,
                          String mostActiveUser,
                          String mostCommonOperation,
+                         Map<String, OperationTelemetry> telemetryByOperation,
                          LocalDateTime periodStart,
                          LocalDateTime periodEnd) {
     this.totalOperations = totalOperations;
@@ -47,6 +50,7 @@ public class AuditStatistics {
     this.averageTimeByOperation = averageTimeByOperation;
     this.mostActiveUser = mostActiveUser;
     this.mostCommonOperation = mostCommonOperation;
+    this.telemetryByOperation = telemetryByOperation;
     this.periodStart = periodStart;
     this.periodEnd = periodEnd;
   }
@@ -114,6 +118,15 @@ public class AuditStatistics {
     return mostCommonOperation;
   }
   
+  /**
+   * Gets the average resource usage of each operation with measured calls.
+   *
+   * @return map of operation names to their average telemetry
+   */
+  public Map<String, OperationTelemetry> getTelemetryByOperation() {
+    return telemetryByOperation;
+  }
+  
   /**
    * Gets the start time of the statistics period.
    *
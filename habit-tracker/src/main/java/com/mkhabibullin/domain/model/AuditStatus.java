@@ -0,0 +1,16 @@
+package com.mkhabibullin.domain.model;
+
+/**
+ * Outcome of an audited operation.
+ * Statuses are stored by ordinal, so new values must only be appended.
+ */
+public enum AuditStatus {
+  /**
+   * The operation completed normally.
+   */
+  SUCCESS,
+  /**
+   * The operation ended with an exception.
+   */
+  FAILURE
+}
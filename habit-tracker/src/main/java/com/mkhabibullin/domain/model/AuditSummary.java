@@ -0,0 +1,171 @@
+package com.mkhabibullin.domain.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Represents pre-aggregated audit log counts: the number of calls and total execution time
+ * per operation, the number of calls per user, and the resource telemetry sums of the calls
+ * of each operation that were measured. Summaries of disjoint periods can be
+ * merged, and every metric of {@link AuditStatistics} can be derived from them without
+ * looking at individual audit logs.
+ */
+public class AuditSummary {
+  private static final String NOT_AVAILABLE = "N/A";
+  private final Map<String, Long> operationCounts = new HashMap<>();
+  private final Map<String, Long> operationTotalTimes = new HashMap<>();
+  private final Map<String, Long> userActivityCounts = new HashMap<>();
+  private final Map<String, long[]> operationTelemetry = new HashMap<>();
+  
+  /**
+   * Adds calls of an operation to the summary.
+   *
+   * @param operation   the operation name
+   * @param count       the number of calls
+   * @param totalTimeMs the summed execution time of those calls in milliseconds
+   */
+  public void addOperation(String operation, long count, long totalTimeMs) {
+    operationCounts.merge(operation, count, Long::sum);
+    operationTotalTimes.merge(operation, totalTimeMs, Long::sum);
+  }
+  
+  /**
+   * Adds the telemetry sums of measured calls of an operation to the summary.
+   *
+   * @param operation           the operation name
+   * @param measuredCount       the number of calls that carried telemetry
+   * @param totalTimeNs         their summed wall time in nanoseconds
+   * @param totalCpuTimeNs      their summed CPU time in nanoseconds
+   * @param totalAllocatedBytes their summed allocated bytes
+   * @param totalSqlStatements  their summed SQL statement counts
+   * @param totalResponseBytes  their summed response sizes in bytes
+   */
+  public void addTelemetry(String operation, long measuredCount, long totalTimeNs, long totalCpuTimeNs,
+                           long totalAllocatedBytes, long totalSqlStatements, long totalResponseBytes) {
+    if (measuredCount == 0) {
+      return;
+    }
+    long[] sums = operationTelemetry.computeIfAbsent(operation, key -> new long[6]);
+    sums[0] += measuredCount;
+    sums[1] += totalTimeNs;
+    sums[2] += totalCpuTimeNs;
+    sums[3] += totalAllocatedBytes;
+    sums[4] += totalSqlStatements;
+    sums[5] += totalResponseBytes;
+  }
+  
+  /**
+   * Adds calls made by a user to the summary.
+   *
+   * @param username the username
+   * @param count    the number of calls
+   */
+  public void addUserActivity(String username, long count) {
+    userActivityCounts.merge(username, count, Long::sum);
+  }
+  
+  /**
+   * Adds all counts of another summary to this one.
+   *
+   * @param other the summary to merge in
+   */
+  public void merge(AuditSummary other) {
+    other.operationCounts.forEach((operation, count) ->
+      addOperation(operation, count, other.operationTotalTimes.getOrDefault(operation, 0L)));
+    other.userActivityCounts.forEach(this::addUserActivity);
+    other.operationTelemetry.forEach((operation, sums) ->
+      addTelemetry(operation, sums[0], sums[1], sums[2], sums[3], sums[4], sums[5]));
+  }
+  
+  /**
+   * Gets the total number of operations.
+   *
+   * @return total operation count
+   */
+  public long getTotalOperations() {
+    return operationCounts.values().stream().mapToLong(Long::longValue).sum();
+  }
+  
+  /**
+   * Gets the average execution time across all operations.
+   *
+   * @return average execution time in milliseconds, or 0 if there are no operations
+   */
+  public double getAverageExecutionTime() {
+    long total = getTotalOperations();
+    if (total == 0) {
+      return 0.0;
+    }
+    return (double) operationTotalTimes.values().stream().mapToLong(Long::longValue).sum() / total;
+  }
+  
+  /**
+   * Gets the number of calls per operation.
+   *
+   * @return map of operation names to call counts
+   */
+  public Map<String, Long> getOperationCounts() {
+    return new HashMap<>(operationCounts);
+  }
+  
+  /**
+   * Gets the number of calls per user.
+   *
+   * @return map of usernames to call counts
+   */
+  public Map<String, Long> getUserActivityCounts() {
+    return new HashMap<>(userActivityCounts);
+  }
+  
+  /**
+   * Gets the average execution time per operation.
+   *
+   * @return map of operation names to average execution times in milliseconds
+   */
+  public Map<String, Double> getAverageTimeByOperation() {
+    Map<String, Double> averages = new HashMap<>();
+    operationCounts.forEach((operation, count) ->
+      averages.put(operation, (double) operationTotalTimes.getOrDefault(operation, 0L) / count));
+    return averages;
+  }
+  
+  /**
+   * Gets the average resource usage per operation, for operations with measured calls.
+   *
+   * @return map of operation names to their average telemetry
+   */
+  public Map<String, OperationTelemetry> getTelemetryByOperation() {
+    Map<String, OperationTelemetry> telemetry = new HashMap<>();
+    operationTelemetry.forEach((operation, sums) -> {
+      double count = sums[0];
+      telemetry.put(operation, new OperationTelemetry(
+        sums[0], sums[1] / count, sums[2] / count, sums[3] / count, sums[4] / count, sums[5] / count));
+    });
+    return telemetry;
+  }
+  
+  /**
+   * Gets the user with the most calls.
+   *
+   * @return the most active username, or "N/A" if there are no calls
+   */
+  public String getMostActiveUser() {
+    return findMax(userActivityCounts);
+  }
+  
+  /**
+   * Gets the operation with the most calls.
+   *
+   * @return the most common operation name, or "N/A" if there are no calls
+   */
+  public String getMostCommonOperation() {
+    return findMax(operationCounts);
+  }
+  
+  private static String findMax(Map<String, Long> counts) {
+    return counts.entrySet().stream()
+      .max(Map.Entry.comparingByValue())
+      .map(Map.Entry::getKey)
+      .orElse(NOT_AVAILABLE);
+  }
+}
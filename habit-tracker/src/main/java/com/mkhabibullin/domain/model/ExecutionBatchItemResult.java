@@ -0,0 +1,75 @@
+package com.mkhabibullin.domain.model;
+
+/**
+ * Represents the outcome of recording a single execution as part of a batch.
+ */
+public class ExecutionBatchItemResult {
+  /**
+   * Possible outcomes of a batch item.
+   */
+  public enum Status {
+    /**
+     * The execution was recorded.
+     */
+    RECORDED,
+    /**
+     * A later item of the same batch targets the same habit and date and was recorded instead.
+     */
+    SUPERSEDED,
+    /**
+     * The execution was not recorded because it is invalid or refers to an unknown habit.
+     */
+    REJECTED
+  }
+  
+  private final Status status;
+  private final String message;
+  
+  /**
+   * Constructs a new ExecutionBatchItemResult.
+   *
+   * @param status  the outcome of the item
+   * @param message explanation of the outcome, or null if the item was recorded
+   */
+  public ExecutionBatchItemResult(Status status, String message) {
+    this.status = status;
+    this.message = message;
+  }
+  
+  /**
+   * Creates a result for a recorded item.
+   *
+   * @return the recorded result
+   */
+  public static ExecutionBatchItemResult recorded() {
+    return new ExecutionBatchItemResult(Status.RECORDED, null);
+  }
+  
+  /**
+   * Creates a result for a rejected item.
+   *
+   * @param message the reason the item was rejected
+   * @return the rejected result
+   */
+  public static ExecutionBatchItemResult rejected(String message) {
+    return new ExecutionBatchItemResult(Status.REJECTED, message);
+  }
+  
+  /**
+   * Gets the outcome of the item.
+   *
+   * @return the status
+   */
+  public Status getStatus() {
+    return status;
+  }
+  
+  /**
+   * Gets the explanation of the outcome.
+   *
+   * @return the message, or null if the item was recorded
+   */
+  public String getMessage() {
+    return message;
+  }
+}
@@ -0,0 +1,103 @@
+package com.mkhabibullin.domain.model;
+
+import java.time.LocalDate;
+
+/**
+ * Represents a compact, date-ordered snapshot of a habit's executions within a date range.
+ * Executions are stored as parallel primitive arrays so that analytics can be computed
+ * in a single pass without hydrating {@link HabitExecution} entities.
+ */
+public class ExecutionTimeline {
+  private final Long habitId;
+  private final LocalDate startDate;
+  private final LocalDate endDate;
+  private final long[] epochDays;
+  private final boolean[] completed;
+  
+  /**
+   * Constructs a new ExecutionTimeline.
+   *
+   * @param habitId   the ID of the habit the executions belong to
+   * @param startDate start of the captured range (inclusive)
+   * @param endDate   end of the captured range (inclusive)
+   * @param epochDays execution dates as epoch days, in ascending order
+   * @param completed completion flags, parallel to {@code epochDays}
+   */
+  public ExecutionTimeline(Long habitId, LocalDate startDate, LocalDate endDate,
+                           long[] epochDays, boolean[] completed) {
+    if (epochDays.length != completed.length) {
+      throw new IllegalArgumentException("Dates and completion flags must have the same length");
+    }
+    this.habitId = habitId;
+    this.startDate = startDate;
+    this.endDate = endDate;
+    this.epochDays = epochDays;
+    this.completed = completed;
+  }
+  
+  /**
+   * Gets the ID of the habit the executions belong to.
+   *
+   * @return the habit ID
+   */
+  public Long getHabitId() {
+    return habitId;
+  }
+  
+  /**
+   * Gets the start of the captured range.
+   *
+   * @return the start date (inclusive)
+   */
+  public LocalDate getStartDate() {
+    return startDate;
+  }
+  
+  /**
+   * Gets the end of the captured range.
+   *
+   * @return the end date (inclusive)
+   */
+  public LocalDate getEndDate() {
+    return endDate;
+  }
+  
+  /**
+   * Gets the number of executions in the timeline.
+   *
+   * @return execution count
+   */
+  public int size() {
+    return epochDays.length;
+  }
+  
+  /**
+   * Gets the date of the execution at the given position as an epoch day.
+   *
+   * @param index position in the timeline
+   * @return the execution date as epoch day
+   */
+  public long epochDayAt(int index) {
+    return epochDays[index];
+  }
+  
+  /**
+   * Gets the date of the execution at the given position.
+   *
+   * @param index position in the timeline
+   * @return the execution date
+   */
+  public LocalDate dateAt(int index) {
+    return LocalDate.ofEpochDay(epochDays[index]);
+  }
+  
+  /**
+   * Checks whether the execution at the given position was completed.
+   *
+   * @param index position in the timeline
+   * @return true if the execution was completed, false otherwise
+   */
+  public boolean isCompletedAt(int index) {
+    return completed[index];
+  }
+}
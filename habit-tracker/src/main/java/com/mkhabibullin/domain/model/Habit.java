@@ -7,6 +7,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 import java.io.Serializable;
@@ -22,7 +23,8 @@ import java.util.Objects;
 @Table(name = "habits", schema = "entity")
 public class Habit implements Serializable {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "habits_seq")
+  @SequenceGenerator(name = "habits_seq", sequenceName = "entity.habits_seq", allocationSize = 50)
   private Long id;
   
   @Column(name = "user_id")
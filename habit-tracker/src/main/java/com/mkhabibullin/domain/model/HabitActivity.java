@@ -0,0 +1,105 @@
+package com.mkhabibullin.domain.model;
+
+/**
+ * Represents the recent execution counts of a single habit:
+ * today's executions and the executions of the trailing week and month.
+ */
+public class HabitActivity {
+  private final Long habitId;
+  private final long todayExecutions;
+  private final long todayCompleted;
+  private final long weekExecutions;
+  private final long weekCompleted;
+  private final long monthExecutions;
+  private final long monthCompleted;
+  
+  /**
+   * Constructs a new HabitActivity.
+   *
+   * @param habitId         the ID of the habit
+   * @param todayExecutions number of executions recorded today
+   * @param todayCompleted  number of completed executions recorded today
+   * @param weekExecutions  number of executions within the trailing week
+   * @param weekCompleted   number of completed executions within the trailing week
+   * @param monthExecutions number of executions within the trailing month
+   * @param monthCompleted  number of completed executions within the trailing month
+   */
+  public HabitActivity(Long habitId,
+                       long todayExecutions,
+                       long todayCompleted,
+                       long weekExecutions,
+                       long weekCompleted,
+                       long monthExecutions,
+                       long monthCompleted) {
+    this.habitId = habitId;
+    this.todayExecutions = todayExecutions;
+    this.todayCompleted = todayCompleted;
+    this.weekExecutions = weekExecutions;
+    this.weekCompleted = weekCompleted;
+    this.monthExecutions = monthExecutions;
+    this.monthCompleted = monthCompleted;
+  }
+  
+  /**
+   * Gets the ID of the habit.
+   *
+   * @return the habit ID
+   */
+  public Long getHabitId() {
+    return habitId;
+  }
+  
+  /**
+   * Gets the number of executions recorded today.
+   *
+   * @return today's executions
+   */
+  public long getTodayExecutions() {
+    return todayExecutions;
+  }
+  
+  /**
+   * Gets the number of completed executions recorded today.
+   *
+   * @return today's completed executions
+   */
+  public long getTodayCompleted() {
+    return todayCompleted;
+  }
+  
+  /**
+   * Gets the number of executions within the trailing week.
+   *
+   * @return the week's executions
+   */
+  public long getWeekExecutions() {
+    return weekExecutions;
+  }
+  
+  /**
+   * Gets the number of completed executions within the trailing week.
+   *
+   * @return the week's completed executions
+   */
+  public long getWeekCompleted() {
+    return weekCompleted;
+  }
+  
+  /**
+   * Gets the number of executions within the trailing month.
+   *
+   * @return the month's executions
+   */
+  public long getMonthExecutions() {
+    return monthExecutions;
+  }
+  
+  /**
+   * Gets the number of completed executions within the trailing month.
+   *
+   * @return the month's completed executions
+   */
+  public long getMonthCompleted() {
+    return monthCompleted;
+  }
+}
@@ -0,0 +1,139 @@
+package com.mkhabibullin.domain.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+
+/**
+ * Represents the completion history of a habit for one calendar year as day-indexed bitmaps.
+ * Bit {@code N} of the bitmaps stands for day of year {@code N + 1}; words are stored
+ * least significant day first, so {@code 6} words cover every day of a leap year.
+ * A day is recorded if it has at least one execution and completed if at least one
+ * of its executions is completed.
+ */
+@Entity
+@Table(name = "habit_completion_bitmaps", schema = "entity")
+public class HabitCompletionBitmap {
+  /**
+   * Number of 64-bit words needed to hold one bit per day of a leap year.
+   */
+  public static final int WORDS_PER_YEAR = 6;
+  
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "habit_completion_bitmaps_seq")
+  @SequenceGenerator(name = "habit_completion_bitmaps_seq", sequenceName = "entity.habit_completion_bitmaps_seq", allocationSize = 50)
+  private Long id;
+  @Column(name = "habit_id", nullable = false)
+  private Long habitId;
+  @Column(name = "calendar_year", nullable = false)
+  private int calendarYear;
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "recorded_words", nullable = false)
+  private long[] recordedWords;
+  @JdbcTypeCode(SqlTypes.ARRAY)
+  @Column(name = "completed_words", nullable = false)
+  private long[] completedWords;
+  
+  protected HabitCompletionBitmap() {
+  }
+  
+  /**
+   * Constructs an empty bitmap for a habit and calendar year.
+   *
+   * @param habitId      the identifier of the associated habit
+   * @param calendarYear the calendar year covered by the bitmap
+   */
+  public HabitCompletionBitmap(Long habitId, int calendarYear) {
+    this.habitId = habitId;
+    this.calendarYear = calendarYear;
+    this.recordedWords = new long[WORDS_PER_YEAR];
+    this.completedWords = new long[WORDS_PER_YEAR];
+  }
+  
+  /**
+   * Returns the bit index of a date within its year's bitmap.
+   *
+   * @param date the date to locate
+   * @return the zero-based day of year
+   */
+  public static int dayIndex(LocalDate date) {
+    return date.getDayOfYear() - 1;
+  }
+  
+  /**
+   * Updates the state of a single day.
+   *
+   * @param date      the date to update, must belong to this bitmap's year
+   * @param recorded  whether the day has at least one execution
+   * @param completed whether the day has at least one completed execution
+   */
+  public void setDay(LocalDate date, boolean recorded, boolean completed) {
+    if (date.getYear() != calendarYear) {
+      throw new IllegalArgumentException("Date " + date + " is outside of bitmap year " + calendarYear);
+    }
+    int index = dayIndex(date);
+    long mask = 1L << (index & 63);
+    int word = index >>> 6;
+    recordedWords[word] = recorded ? recordedWords[word] | mask : recordedWords[word] & ~mask;
+    completedWords[word] = completed ? completedWords[word] | mask : completedWords[word] & ~mask;
+  }
+  
+  /**
+   * Checks whether the given day of this bitmap's year has a completed execution.
+   *
+   * @param date the date to check
+   * @return true if the day is completed, false otherwise
+   */
+  public boolean isCompleted(LocalDate date) {
+    int index = dayIndex(date);
+    return date.getYear() == calendarYear && (completedWords[index >>> 6] & (1L << (index & 63))) != 0;
+  }
+  
+  /**
+   * Gets the unique identifier of this bitmap.
+   * @return the bitmap's ID
+   */
+  public Long getId() {
+    return id;
+  }
+  
+  /**
+   * Gets the identifier of the associated habit.
+   * @return the associated habit's ID
+   */
+  public Long getHabitId() {
+    return habitId;
+  }
+  
+  /**
+   * Gets the calendar year covered by this bitmap.
+   * @return the calendar year
+   */
+  public int getCalendarYear() {
+    return calendarYear;
+  }
+  
+  /**
+   * Gets the words of the recorded-days bitmap.
+   * @return the recorded-days words
+   */
+  public long[] getRecordedWords() {
+    return recordedWords;
+  }
+  
+  /**
+   * Gets the words of the completed-days bitmap.
+   * @return the completed-days words
+   */
+  public long[] getCompletedWords() {
+    return completedWords;
+  }
+}
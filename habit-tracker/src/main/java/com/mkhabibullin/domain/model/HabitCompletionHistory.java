@@ -0,0 +1,107 @@
+package com.mkhabibullin.domain.model;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only view over the yearly {@link HabitCompletionBitmap}s of a single habit.
+ * Streaks are answered with word-level bit operations
+ * (leading and trailing bit scans) instead of iterating executions,
+ * so the cost depends on the number of words in the range rather than on the number of executions.
+ */
+public class HabitCompletionHistory {
+  private static final long[] EMPTY_WORDS = new long[HabitCompletionBitmap.WORDS_PER_YEAR];
+  private final Map<Integer, HabitCompletionBitmap> bitmapsByYear;
+  
+  /**
+   * Constructs a new HabitCompletionHistory from the bitmaps of a habit.
+   *
+   * @param bitmaps the yearly bitmaps of the habit, in any order
+   */
+  public HabitCompletionHistory(List<HabitCompletionBitmap> bitmaps) {
+    this.bitmapsByYear = new HashMap<>(bitmaps.size() * 2);
+    for (HabitCompletionBitmap bitmap : bitmaps) {
+      bitmapsByYear.put(bitmap.getCalendarYear(), bitmap);
+    }
+  }
+  
+  /**
+   * Calculates the number of consecutive completed days ending on the given date.
+   *
+   * @param today the last day of the streak
+   * @return the current streak, or 0 if the given day is not completed
+   */
+  public int currentStreak(LocalDate today) {
+    int streak = 0;
+    int year = today.getYear();
+    int index = HabitCompletionBitmap.dayIndex(today);
+    HabitCompletionBitmap bitmap;
+    while ((bitmap = bitmapsByYear.get(year)) != null) {
+      long[] words = bitmap.getCompletedWords();
+      for (int word = index >>> 6, bit = index & 63; word >= 0; word--, bit = 63) {
+        int ones = Long.numberOfLeadingZeros(~(words[word] << (63 - bit)));
+        streak += ones;
+        if (ones <= bit) {
+          return streak;
+        }
+      }
+      year--;
+      index = Year.of(year).length() - 1;
+    }
+    return streak;
+  }
+  
+  /**
+   * Calculates the longest run of consecutive completed days within a date range.
+   *
+   * @param startDate the start of the range (inclusive)
+   * @param endDate   the end of the range (inclusive)
+   * @return the longest streak within the range
+   */
+  public int longestStreak(LocalDate startDate, LocalDate endDate) {
+    int longest = 0;
+    int run = 0;
+    for (int year = startDate.getYear(); year <= endDate.getYear(); year++) {
+      long[] words = completedWords(year);
+      int first = year == startDate.getYear() ? HabitCompletionBitmap.dayIndex(startDate) : 0;
+      int last = year == endDate.getYear() ? HabitCompletionBitmap.dayIndex(endDate) : Year.of(year).length() - 1;
+      for (int word = first >>> 6; word <= last >>> 6; word++) {
+        int low = Math.max(first, word << 6) - (word << 6);
+        int high = Math.min(last, (word << 6) + 63) - (word << 6);
+        int width = high - low + 1;
+        long full = lowMask(width);
+        long bits = (words[word] >>> low) & full;
+        if (bits == full) {
+          run += width;
+          longest = Math.max(longest, run);
+          continue;
+        }
+        longest = Math.max(longest, run + Long.numberOfTrailingZeros(~bits));
+        longest = Math.max(longest, longestRun(bits));
+        run = Long.numberOfLeadingZeros(~(bits << (64 - width)));
+      }
+    }
+    return longest;
+  }
+  
+  private long[] completedWords(int year) {
+    HabitCompletionBitmap bitmap = bitmapsByYear.get(year);
+    return bitmap != null ? bitmap.getCompletedWords() : EMPTY_WORDS;
+  }
+  
+  private static long lowMask(int width) {
+    return width == 64 ? -1L : (1L << width) - 1;
+  }
+  
+  private static int longestRun(long bits) {
+    int length = 0;
+    while (bits != 0) {
+      bits &= bits << 1;
+      length++;
+    }
+    return length;
+  }
+}
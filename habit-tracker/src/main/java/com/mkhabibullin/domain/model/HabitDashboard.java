@@ -0,0 +1,41 @@
+package com.mkhabibullin.domain.model;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Represents the dashboard of a user: the summaries of all their habits as of a given date.
+ */
+public class HabitDashboard {
+  private final LocalDate date;
+  private final List<HabitDashboardEntry> habits;
+  
+  /**
+   * Constructs a new HabitDashboard.
+   *
+   * @param date   the date the dashboard was computed for
+   * @param habits the summaries of the user's habits
+   */
+  public HabitDashboard(LocalDate date, List<HabitDashboardEntry> habits) {
+    this.date = date;
+    this.habits = habits;
+  }
+  
+  /**
+   * Gets the date the dashboard was computed for.
+   *
+   * @return the dashboard date
+   */
+  public LocalDate getDate() {
+    return date;
+  }
+  
+  /**
+   * Gets the summaries of the user's habits.
+   *
+   * @return the list of habit summaries
+   */
+  public List<HabitDashboardEntry> getHabits() {
+    return habits;
+  }
+}
@@ -0,0 +1,118 @@
+package com.mkhabibullin.domain.model;
+
+/**
+ * Represents the dashboard summary of a single habit:
+ * its current streak, today's status and recent success rates.
+ */
+public class HabitDashboardEntry {
+  private final Long habitId;
+  private final String name;
+  private final Habit.Frequency frequency;
+  private final int currentStreak;
+  private final boolean trackedToday;
+  private final boolean completedToday;
+  private final double weeklySuccessRate;
+  private final double monthlySuccessRate;
+  
+  /**
+   * Constructs a new HabitDashboardEntry.
+   *
+   * @param habitId            the ID of the habit
+   * @param name               the name of the habit
+   * @param frequency          the frequency of the habit
+   * @param currentStreak      number of consecutive completed days ending today
+   * @param trackedToday       whether an execution has been recorded today
+   * @param completedToday     whether the habit has been completed today
+   * @param weeklySuccessRate  success percentage over the last 7 days
+   * @param monthlySuccessRate success percentage over the last 30 days
+   */
+  public HabitDashboardEntry(Long habitId,
+                             String name,
+                             Habit.Frequency frequency,
+                             int currentStreak,
+                             boolean trackedToday,
+                             boolean completedToday,
+                             double weeklySuccessRate,
+                             double monthlySuccessRate) {
+    this.habitId = habitId;
+    this.name = name;
+    this.frequency = frequency;
+    this.currentStreak = currentStreak;
+    this.trackedToday = trackedToday;
+    this.completedToday = completedToday;
+    this.weeklySuccessRate = weeklySuccessRate;
+    this.monthlySuccessRate = monthlySuccessRate;
+  }
+  
+  /**
+   * Gets the ID of the habit.
+   *
+   * @return the habit ID
+   */
+  public Long getHabitId() {
+    return habitId;
+  }
+  
+  /**
+   * Gets the name of the habit.
+   *
+   * @return the habit name
+   */
+  public String getName() {
+    return name;
+  }
+  
+  /**
+   * Gets the frequency of the habit.
+   *
+   * @return the habit frequency
+   */
+  public Habit.Frequency getFrequency() {
+    return frequency;
+  }
+  
+  /**
+   * Gets the number of consecutive completed days ending today.
+   *
+   * @return the current streak
+   */
+  public int getCurrentStreak() {
+    return currentStreak;
+  }
+  
+  /**
+   * Checks whether an execution has been recorded today.
+   *
+   * @return true if the habit has been tracked today, false otherwise
+   */
+  public boolean isTrackedToday() {
+    return trackedToday;
+  }
+  
+  /**
+   * Checks whether the habit has been completed today.
+   *
+   * @return true if the habit has been completed today, false otherwise
+   */
+  public boolean isCompletedToday() {
+    return completedToday;
+  }
+  
+  /**
+   * Gets the success percentage over the last 7 days.
+   *
+   * @return the weekly success rate between 0.0 and 100.0
+   */
+  public double getWeeklySuccessRate() {
+    return weeklySuccessRate;
+  }
+  
+  /**
+   * Gets the success percentage over the last 30 days.
+   *
+   * @return the monthly success rate between 0.0 and 100.0
+   */
+  public double getMonthlySuccessRate() {
+    return monthlySuccessRate;
+  }
+}
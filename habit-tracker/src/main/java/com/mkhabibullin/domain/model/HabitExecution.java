@@ -5,6 +5,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 import java.time.LocalDate;
@@ -17,7 +18,8 @@ import java.time.LocalDate;
 @Table(name = "habit_executions", schema = "entity")
 public class HabitExecution {
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "habit_executions_seq")
+  @SequenceGenerator(name = "habit_executions_seq", sequenceName = "entity.habit_executions_seq", allocationSize = 50)
   private Long id;
   @Column(name = "habit_id", nullable = false)
   private Long habitId;
@@ -0,0 +1,135 @@
+package com.mkhabibullin.domain.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Represents aggregated execution counts of a single habit within a date range.
+ * Produced directly by the database, so no individual execution records have to be loaded.
+ */
+public class HabitExecutionSummary {
+  private final Long habitId;
+  private final LocalDate startDate;
+  private final LocalDate endDate;
+  private final long totalExecutions;
+  private final long completedExecutions;
+  private final long missedExecutions;
+  private final Map<DayOfWeek, Long> completionsByDay;
+  
+  /**
+   * Constructs a new HabitExecutionSummary with the specified counts.
+   *
+   * @param habitId             the ID of the summarized habit
+   * @param startDate           start of the summarized range (inclusive)
+   * @param endDate             end of the summarized range (inclusive)
+   * @param totalExecutions     total number of executions in the range
+   * @param completedExecutions number of completed executions in the range
+   * @param missedExecutions    number of missed executions in the range
+   * @param completionsByDay    completed executions grouped by day of week
+   */
+  public HabitExecutionSummary(Long habitId,
+                               LocalDate startDate,
+                               LocalDate endDate,
+                               long totalExecutions,
+                               long completedExecutions,
+                               long missedExecutions,
+                               Map<DayOfWeek, Long> completionsByDay) {
+    this.habitId = habitId;
+    this.startDate = startDate;
+    this.endDate = endDate;
+    this.totalExecutions = totalExecutions;
+    this.completedExecutions = completedExecutions;
+    this.missedExecutions = missedExecutions;
+    this.completionsByDay = completionsByDay;
+  }
+  
+  /**
+   * Gets the ID of the summarized habit.
+   *
+   * @return the habit ID
+   */
+  public Long getHabitId() {
+    return habitId;
+  }
+  
+  /**
+   * Gets the start of the summarized range.
+   *
+   * @return the start date (inclusive)
+   */
+  public LocalDate getStartDate() {
+    return startDate;
+  }
+  
+  /**
+   * Gets the end of the summarized range.
+   *
+   * @return the end date (inclusive)
+   */
+  public LocalDate getEndDate() {
+    return endDate;
+  }
+  
+  /**
+   * Gets the total number of executions in the range.
+   *
+   * @return total execution count
+   */
+  public long getTotalExecutions() {
+    return totalExecutions;
+  }
+  
+  /**
+   * Gets the number of completed executions in the range.
+   *
+   * @return completed execution count
+   */
+  public long getCompletedExecutions() {
+    return completedExecutions;
+  }
+  
+  /**
+   * Gets the number of missed executions in the range.
+   *
+   * @return missed execution count
+   */
+  public long getMissedExecutions() {
+    return missedExecutions;
+  }
+  
+  /**
+   * Gets the number of completed executions grouped by day of week.
+   * Days without completions are not present in the map.
+   *
+   * @return map of days of week to completion counts
+   */
+  public Map<DayOfWeek, Long> getCompletionsByDay() {
+    return completionsByDay;
+  }
+  
+  /**
+   * Calculates the share of completed executions in the range.
+   *
+   * @return the success percentage between 0.0 and 100.0, or 0.0 if there are no executions
+   * @see #successPercentage(long, long)
+   */
+  public double getSuccessPercentage() {
+    return successPercentage(completedExecutions, totalExecutions);
+  }
+  
+  /**
+   * Calculates a success percentage as completed executions divided by all executions.
+   * Every success rate reported for a habit is computed with this method.
+   *
+   * @param completedExecutions number of completed executions
+   * @param totalExecutions     number of executions
+   * @return the success percentage between 0.0 and 100.0, or 0.0 if there are no executions
+   */
+  public static double successPercentage(long completedExecutions, long totalExecutions) {
+    if (totalExecutions == 0) {
+      return 0.0;
+    }
+    return (double) completedExecutions / totalExecutions * 100;
+  }
+}
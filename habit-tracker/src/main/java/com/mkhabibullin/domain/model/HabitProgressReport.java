@@ -0,0 +1,69 @@
+package com.mkhabibullin.domain.model;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Represents a progress report for a habit within a date range:
+ * the report details together with trend, longest streak and improvement suggestions.
+ */
+public class HabitProgressReport {
+  private final Map<String, String> reportData;
+  private final boolean improvingTrend;
+  private final int longestStreak;
+  private final List<String> suggestions;
+  
+  /**
+   * Constructs a new HabitProgressReport.
+   *
+   * @param reportData     report details keyed by field name
+   * @param improvingTrend whether the second half of the range has more completions than the first
+   * @param longestStreak  longest run of consecutive completed days within the range
+   * @param suggestions    personalized suggestions for improving the habit
+   */
+  public HabitProgressReport(Map<String, String> reportData,
+                             boolean improvingTrend,
+                             int longestStreak,
+                             List<String> suggestions) {
+    this.reportData = reportData;
+    this.improvingTrend = improvingTrend;
+    this.longestStreak = longestStreak;
+    this.suggestions = suggestions;
+  }
+  
+  /**
+   * Gets the report details keyed by field name.
+   *
+   * @return the report data
+   */
+  public Map<String, String> getReportData() {
+    return reportData;
+  }
+  
+  /**
+   * Checks whether the second half of the range has more completions than the first half.
+   *
+   * @return true if the habit shows an improving trend, false otherwise
+   */
+  public boolean isImprovingTrend() {
+    return improvingTrend;
+  }
+  
+  /**
+   * Gets the longest run of consecutive completed days within the range.
+   *
+   * @return the longest streak
+   */
+  public int getLongestStreak() {
+    return longestStreak;
+  }
+  
+  /**
+   * Gets the personalized suggestions for improving the habit.
+   *
+   * @return the list of suggestions
+   */
+  public List<String> getSuggestions() {
+    return suggestions;
+  }
+}
@@ -0,0 +1,66 @@
+package com.mkhabibullin.domain.model;
+
+/**
+ * Represents the analytics computed for a habit within a date range:
+ * execution counts together with streak and trend indicators.
+ */
+public class HabitStatistics {
+  private final HabitExecutionSummary summary;
+  private final int currentStreak;
+  private final int longestStreak;
+  private final boolean improvingTrend;
+  
+  /**
+   * Constructs a new HabitStatistics.
+   *
+   * @param summary        aggregated execution counts within the range
+   * @param currentStreak  number of consecutive completed days ending today
+   * @param longestStreak  longest run of consecutive completed days within the range
+   * @param improvingTrend whether the second half of the range has more completions than the first
+   */
+  public HabitStatistics(HabitExecutionSummary summary,
+                         int currentStreak,
+                         int longestStreak,
+                         boolean improvingTrend) {
+    this.summary = summary;
+    this.currentStreak = currentStreak;
+    this.longestStreak = longestStreak;
+    this.improvingTrend = improvingTrend;
+  }
+  
+  /**
+   * Gets the aggregated execution counts within the range.
+   *
+   * @return the execution summary
+   */
+  public HabitExecutionSummary getSummary() {
+    return summary;
+  }
+  
+  /**
+   * Gets the number of consecutive completed days ending today.
+   *
+   * @return the current streak
+   */
+  public int getCurrentStreak() {
+    return currentStreak;
+  }
+  
+  /**
+   * Gets the longest run of consecutive completed days within the range.
+   *
+   * @return the longest streak
+   */
+  public int getLongestStreak() {
+    return longestStreak;
+  }
+  
+  /**
+   * Checks whether the second half of the range has more completions than the first half.
+   *
+   * @return true if the habit shows an improving trend, false otherwise
+   */
+  public boolean isImprovingTrend() {
+    return improvingTrend;
+  }
+}
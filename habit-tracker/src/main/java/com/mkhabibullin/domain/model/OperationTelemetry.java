@@ -0,0 +1,92 @@
+package com.mkhabibullin.domain.model;
+
+/**
+ * Represents the average resource usage of the calls of one operation.
+ * Averages are taken over the calls that carried telemetry only.
+ */
+public class OperationTelemetry {
+  private final long measuredCalls;
+  private final double averageWallTimeNs;
+  private final double averageCpuTimeNs;
+  private final double averageAllocatedBytes;
+  private final double averageSqlStatements;
+  private final double averageResponseBytes;
+  
+  /**
+   * Constructs a new OperationTelemetry with the specified averages.
+   *
+   * @param measuredCalls         number of calls the averages are taken over
+   * @param averageWallTimeNs     average wall time in nanoseconds
+   * @param averageCpuTimeNs      average CPU time of the request thread in nanoseconds
+   * @param averageAllocatedBytes average heap bytes allocated by the request thread
+   * @param averageSqlStatements  average number of SQL statements executed
+   * @param averageResponseBytes  average size of the response body in bytes
+   */
+  public OperationTelemetry(long measuredCalls,
+                            double averageWallTimeNs,
+                            double averageCpuTimeNs,
+                            double averageAllocatedBytes,
+                            double averageSqlStatements,
+                            double averageResponseBytes) {
+    this.measuredCalls = measuredCalls;
+    this.averageWallTimeNs = averageWallTimeNs;
+    this.averageCpuTimeNs = averageCpuTimeNs;
+    this.averageAllocatedBytes = averageAllocatedBytes;
+    this.averageSqlStatements = averageSqlStatements;
+    this.averageResponseBytes = averageResponseBytes;
+  }
+  
+  /**
+   * Gets the number of calls the averages are taken over.
+   *
+   * @return measured call count
+   */
+  public long getMeasuredCalls() {
+    return measuredCalls;
+  }
+  
+  /**
+   * Gets the average wall time.
+   *
+   * @return average wall time in nanoseconds
+   */
+  public double getAverageWallTimeNs() {
+    return averageWallTimeNs;
+  }
+  
+  /**
+   * Gets the average CPU time of the request thread.
+   *
+   * @return average CPU time in nanoseconds
+   */
+  public double getAverageCpuTimeNs() {
+    return averageCpuTimeNs;
+  }
+  
+  /**
+   * Gets the average number of heap bytes allocated by the request thread.
+   *
+   * @return average allocated bytes
+   */
+  public double getAverageAllocatedBytes() {
+    return averageAllocatedBytes;
+  }
+  
+  /**
+   * Gets the average number of SQL statements executed.
+   *
+   * @return average SQL statement count
+   */
+  public double getAverageSqlStatements() {
+    return averageSqlStatements;
+  }
+  
+  /**
+   * Gets the average size of the response body.
+   *
+   * @return average response size in bytes
+   */
+  public double getAverageResponseBytes() {
+    return averageResponseBytes;
+  }
+}
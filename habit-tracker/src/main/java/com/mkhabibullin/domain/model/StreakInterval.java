@@ -0,0 +1,52 @@
+package com.mkhabibullin.domain.model;
+
+import java.time.LocalDate;
+
+/**
+ * Represents a run of consecutive calendar days on which a habit was completed.
+ */
+public class StreakInterval {
+  private final LocalDate startDate;
+  private final LocalDate endDate;
+  private final int length;
+  
+  /**
+   * Constructs a new StreakInterval.
+   *
+   * @param startDate the first completed day of the run
+   * @param endDate   the last completed day of the run
+   * @param length    the number of days in the run
+   */
+  public StreakInterval(LocalDate startDate, LocalDate endDate, int length) {
+    this.startDate = startDate;
+    this.endDate = endDate;
+    this.length = length;
+  }
+  
+  /**
+   * Gets the first completed day of the run.
+   *
+   * @return the start date
+   */
+  public LocalDate getStartDate() {
+    return startDate;
+  }
+  
+  /**
+   * Gets the last completed day of the run.
+   *
+   * @return the end date
+   */
+  public LocalDate getEndDate() {
+    return endDate;
+  }
+  
+  /**
+   * Gets the number of days in the run.
+   *
+   * @return the streak length in days
+   */
+  public int getLength() {
+    return length;
+  }
+}
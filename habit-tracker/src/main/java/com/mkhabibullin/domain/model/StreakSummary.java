@@ -0,0 +1,53 @@
+package com.mkhabibullin.domain.model;
+
+import java.util.List;
+
+/**
+ * Represents the streaks of a habit within a date range:
+ * the current and longest streak together with the longest streak intervals.
+ */
+public class StreakSummary {
+  private final int currentStreak;
+  private final int longestStreak;
+  private final List<StreakInterval> topStreaks;
+  
+  /**
+   * Constructs a new StreakSummary.
+   *
+   * @param currentStreak length of the streak ending on the reference day, or 0 if there is none
+   * @param longestStreak length of the longest streak within the range
+   * @param topStreaks    the longest streaks within the range, longest first
+   */
+  public StreakSummary(int currentStreak, int longestStreak, List<StreakInterval> topStreaks) {
+    this.currentStreak = currentStreak;
+    this.longestStreak = longestStreak;
+    this.topStreaks = topStreaks;
+  }
+  
+  /**
+   * Gets the length of the streak ending on the reference day.
+   *
+   * @return the current streak
+   */
+  public int getCurrentStreak() {
+    return currentStreak;
+  }
+  
+  /**
+   * Gets the length of the longest streak within the range.
+   *
+   * @return the longest streak
+   */
+  public int getLongestStreak() {
+    return longestStreak;
+  }
+  
+  /**
+   * Gets the longest streak intervals within the range, longest first.
+   *
+   * @return the list of streak intervals
+   */
+  public List<StreakInterval> getTopStreaks() {
+    return topStreaks;
+  }
+}
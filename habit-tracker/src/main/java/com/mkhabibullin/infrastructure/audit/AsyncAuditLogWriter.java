@@ -0,0 +1,392 @@
+package com.mkhabibullin.infrastructure.audit;
+
+import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.infrastructure.persistence.repository.AuditLogRepository;
+import com.mkhabibullin.infrastructure.persistence.repository.CopyFallbackCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Audit log writer that decouples request threads from the database.
+ * Entries are placed on a bounded in-memory queue and a single background thread
+ * drains it, writing up to {@code batchSize} entries with one multi-row insert at
+ * most once per flush interval. When the queue is full the configured
+ * {@link AuditOverflowPolicy} decides whether the caller waits, the entry is dropped
+ * or it is spilled to the local spool.
+ * Batches that fail because the database is unavailable are diverted to the spool as well,
+ * and once the {@link AuditCircuitBreaker} has opened, batches go straight to the spool without
+ * attempting the database. A batch the database rejects for any other reason is written again
+ * one entry at a time, and only the entries that still fail are moved to the dead-letter file.
+ * When writes succeed again, the spool is replayed before any newer batch is written, so
+ * entries reach the database in the order they were submitted.
+ * On shutdown the writer stops accepting entries and drains what is already queued.
+ * Every entry that has been stored is then published to the {@link AuditLogTail}.
+ */
+public class AsyncAuditLogWriter implements AuditLogWriter {
+  private static final Logger log = LoggerFactory.getLogger(AsyncAuditLogWriter.class);
+  private final AuditLogRepository auditLogRepository;
+  private final BlockingQueue<AuditLog> queue;
+  private final int queueCapacity;
+  private final int batchSize;
+  private final long flushIntervalMs;
+  private final AuditOverflowPolicy overflowPolicy;
+  private final long blockTimeoutMs;
+  private final long shutdownTimeoutMs;
+  private final AuditLogSpillFile spillFile;
+  private final AuditLogSpillFile deadLetterFile;
+  private final AuditCircuitBreaker circuitBreaker;
+  private final AuditLogTail auditLogTail;
+  private final AtomicLong submitted = new AtomicLong();
+  private final AtomicLong written = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  private final AtomicLong spilled = new AtomicLong();
+  private final AtomicLong failedFlushes = new AtomicLong();
+  private final AtomicLong replayed = new AtomicLong();
+  private final AtomicLong deadLettered = new AtomicLong();
+  private volatile boolean running;
+  private Thread worker;
+  
+  /**
+   * Creates a new writer. The background thread is started by {@link #start()}.
+   *
+   * @param auditLogRepository repository used for batch inserts
+   * @param queueCapacity      maximum number of entries held in memory
+   * @param batchSize          maximum number of entries written by one insert
+   * @param flushIntervalMs    maximum time an entry waits for its batch to fill
+   * @param overflowPolicy     behaviour when the queue is full
+   * @param blockTimeoutMs     maximum time a caller waits for queue space under {@link AuditOverflowPolicy#BLOCK}
+   * @param shutdownTimeoutMs  maximum time allowed for draining the queue on shutdown
+   * @param spillFile          spool receiving entries that cannot be queued or written
+   * @param deadLetterFile     file receiving entries the database rejects
+   * @param circuitBreaker     breaker deciding whether the database is written to
+   * @param auditLogTail       in-memory tail receiving every stored entry
+   */
+  public AsyncAuditLogWriter(AuditLogRepository auditLogRepository,
+                             int queueCapacity,
+                             int batchSize,
+                             long flushIntervalMs,
+                             AuditOverflowPolicy overflowPolicy,
+                             long blockTimeoutMs,
+                             long shutdownTimeoutMs,
+                             AuditLogSpillFile spillFile,
+                             AuditLogSpillFile deadLetterFile,
+                             AuditCircuitBreaker circuitBreaker,
+                             AuditLogTail auditLogTail) {
+    this.auditLogRepository = auditLogRepository;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.queueCapacity = queueCapacity;
+    this.batchSize = batchSize;
+    this.flushIntervalMs = flushIntervalMs;
+    this.overflowPolicy = overflowPolicy;
+    this.blockTimeoutMs = blockTimeoutMs;
+    this.shutdownTimeoutMs = shutdownTimeoutMs;
+    this.spillFile = spillFile;
+    this.deadLetterFile = deadLetterFile;
+    this.circuitBreaker = circuitBreaker;
+    this.auditLogTail = auditLogTail;
+  }
+  
+  /**
+   * Starts the background writer thread. Entries left in the spool by a previous run are
+   * written before newly queued entries.
+   */
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    worker = new Thread(this::run, "audit-log-writer");
+    worker.setDaemon(true);
+    worker.start();
+    log.info("Audit log writer started: capacity={}, batchSize={}, flushIntervalMs={}, overflowPolicy={}",
+      queueCapacity, batchSize, flushIntervalMs, overflowPolicy);
+  }
+  
+  /**
+   * Stops accepting entries and waits up to the shutdown timeout for the queue to drain.
+   * Entries still queued after the timeout are spilled, or counted as dropped if spilling fails.
+   * The spool is forced to disk before the writer stops.
+   */
+  public synchronized void shutdown() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    try {
+      worker.join(shutdownTimeoutMs);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (worker.isAlive()) {
+      worker.interrupt();
+      List<AuditLog> remaining = new ArrayList<>();
+      queue.drainTo(remaining);
+      if (!remaining.isEmpty()) {
+        log.warn("Audit log writer did not drain in {} ms, spilling {} entries", shutdownTimeoutMs, remaining.size());
+        spill(remaining);
+      }
+    }
+    close(spillFile);
+    close(deadLetterFile);
+    log.info("Audit log writer stopped: written={}, dropped={}, spilled={}, replayed={}, deadLettered={}",
+      written.get(), dropped.get(), spilled.get(), replayed.get(), deadLettered.get());
+  }
+  
+  /**
+   * Queues an audit log entry for writing, applying the overflow policy if the queue is full.
+   *
+   * @param auditLog the audit log entry to write
+   * @return true if the entry was queued or spilled, false if it was dropped
+   */
+  @Override
+  public boolean submit(AuditLog auditLog) {
+    submitted.incrementAndGet();
+    if (running && queue.offer(auditLog)) {
+      return true;
+    }
+    if (running && overflowPolicy == AuditOverflowPolicy.BLOCK) {
+      try {
+        if (queue.offer(auditLog, blockTimeoutMs, TimeUnit.MILLISECONDS)) {
+          return true;
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    if (overflowPolicy == AuditOverflowPolicy.SPILL) {
+      return spill(List.of(auditLog));
+    }
+    dropped.incrementAndGet();
+    log.warn("Audit queue full, dropping entry for operation: {}", auditLog.getOperation());
+    return false;
+  }
+  
+  /**
+   * Returns a snapshot of the queue depth and the pipeline counters.
+   *
+   * @return current pipeline metrics
+   */
+  @Override
+  public AuditPipelineMetrics getMetrics() {
+    return new AuditPipelineMetrics(
+      running,
+      queue.size(),
+      queueCapacity,
+      submitted.get(),
+      written.get(),
+      dropped.get(),
+      spilled.get(),
+      failedFlushes.get(),
+      copyFallbackCount(),
+      replayed.get(),
+      deadLettered.get(),
+      spillFile.getPendingBytes(),
+      circuitBreaker.getState()
+    );
+  }
+  
+  private long copyFallbackCount() {
+    return auditLogRepository instanceof CopyFallbackCounter counter ? counter.getCopyFallbackCount() : 0;
+  }
+  
+  private void run() {
+    List<AuditLog> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        AuditLog first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          if (circuitBreaker.allowRequest()) {
+            replaySpool();
+          }
+          syncSpool();
+          continue;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+          queue.drainTo(batch, batchSize - batch.size());
+          long remaining = deadline - System.nanoTime();
+          if (batch.size() >= batchSize || remaining <= 0 || !running) {
+            break;
+          }
+          AuditLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          batch.add(next);
+        }
+        flush(batch);
+      } catch (InterruptedException e) {
+        flush(batch);
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+  
+  /**
+   * Writes a batch unless the breaker is open or older entries are still spooled; in either
+   * case, or for the entries not written because the database is unavailable, the batch is
+   * appended to the spool instead.
+   */
+  private void flush(List<AuditLog> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    if (!circuitBreaker.allowRequest() || !replaySpool()) {
+      spill(new ArrayList<>(batch));
+      return;
+    }
+    int handled = write(batch);
+    if (handled < batch.size()) {
+      spill(new ArrayList<>(batch.subList(handled, batch.size())));
+    }
+  }
+  
+  /**
+   * Writes entries with one batch insert. If the database rejects the batch for a reason other
+   * than being unavailable, the entries are written one at a time and each entry that still fails
+   * is moved to the dead-letter file, so one bad entry does not hold back the others.
+   *
+   * @param entries the entries to write, oldest first
+   * @return the number of leading entries that were written or dead-lettered; the remaining
+   *         entries were not written because the database is unavailable
+   */
+  private int write(List<AuditLog> entries) {
+    try {
+      auditLogRepository.saveAll(entries);
+      circuitBreaker.recordSuccess();
+      stored(entries);
+      log.debug("Wrote {} audit log entries", entries.size());
+      return entries.size();
+    } catch (Exception e) {
+      failedFlushes.incrementAndGet();
+      if (AuditWriteErrors.isUnavailable(e)) {
+        circuitBreaker.recordFailure();
+        log.error("Error writing audit log batch of {} entries, database unavailable: ", entries.size(), e);
+        return 0;
+      }
+      circuitBreaker.recordSuccess();
+      log.warn("Audit log batch of {} entries rejected, writing the entries one at a time: {}", entries.size(), e.toString());
+    }
+    for (int i = 0; i < entries.size(); i++) {
+      AuditLog entry = entries.get(i);
+      try {
+        auditLogRepository.saveAll(List.of(entry));
+        circuitBreaker.recordSuccess();
+        stored(List.of(entry));
+      } catch (Exception e) {
+        if (AuditWriteErrors.isUnavailable(e)) {
+          circuitBreaker.recordFailure();
+          log.error("Error writing audit log entry, database unavailable: ", e);
+          return i;
+        }
+        deadLetter(entry, e);
+      }
+    }
+    return entries.size();
+  }
+  
+  private void stored(List<AuditLog> entries) {
+    written.addAndGet(entries.size());
+    publish(entries);
+  }
+  
+  private void deadLetter(AuditLog entry, Exception error) {
+    try {
+      deadLetterFile.append(List.of(entry));
+      deadLettered.incrementAndGet();
+      log.error("Audit log entry for operation {} rejected by the database, moved to {}: {}",
+        entry.getOperation(), deadLetterFile.getPath(), error.toString());
+    } catch (IOException e) {
+      dropped.incrementAndGet();
+      log.error("Audit log entry for operation {} rejected by the database ({}) and could not be dead-lettered: ",
+        entry.getOperation(), error, e);
+    }
+  }
+  
+  /**
+   * Writes the spooled entries to the database, oldest first. Spooled entries the database
+   * rejects are moved to the dead-letter file like any other, so they do not hold back the replay.
+   *
+   * @return true if the spool is empty afterwards, false if entries remain because the database is unavailable
+   */
+  private boolean replaySpool() {
+    try {
+      if (!spillFile.hasPending()) {
+        return true;
+      }
+      long replayedBefore = replayed.get();
+      boolean complete = spillFile.replay(batchSize, chunk -> {
+        long writtenBefore = written.get();
+        int handled = write(chunk);
+        replayed.addAndGet(written.get() - writtenBefore);
+        return handled;
+      });
+      log.info("Replayed {} spooled audit log entries", replayed.get() - replayedBefore);
+      if (!complete) {
+        log.warn("Database unavailable, keeping the remaining entries in the audit spool");
+      }
+      return complete;
+    } catch (IOException e) {
+      log.error("Error reading audit spool {}, writing new entries directly: ", spillFile.getPath(), e);
+      return true;
+    } catch (Exception e) {
+      failedFlushes.incrementAndGet();
+      circuitBreaker.recordFailure();
+      log.error("Error replaying spooled audit log entries, keeping them in the spool: ", e);
+      return false;
+    }
+  }
+  
+  private void syncSpool() {
+    try {
+      spillFile.syncIfDue();
+      deadLetterFile.syncIfDue();
+    } catch (IOException e) {
+      log.error("Error forcing audit spool to disk: ", e);
+    }
+  }
+  
+  private void close(AuditLogSpillFile file) {
+    try {
+      file.close();
+    } catch (IOException e) {
+      log.error("Error closing audit spool {}: ", file.getPath(), e);
+    }
+  }
+  
+  private void publish(List<AuditLog> auditLogs) {
+    try {
+      auditLogs.forEach(auditLogTail::publish);
+    } catch (Exception e) {
+      log.error("Error publishing audit log entries to the tail: ", e);
+    }
+  }
+  
+  private boolean spill(List<AuditLog> auditLogs) {
+    try {
+      spillFile.append(auditLogs);
+      spilled.addAndGet(auditLogs.size());
+      return true;
+    } catch (AuditSpoolFullException e) {
+      dropped.addAndGet(auditLogs.size());
+      log.warn("Dropping {} audit log entries: {}", auditLogs.size(), e.getMessage());
+      return false;
+    } catch (IOException e) {
+      dropped.addAndGet(auditLogs.size());
+      log.error("Error spilling {} audit log entries to {}: ", auditLogs.size(), spillFile.getPath(), e);
+      return false;
+    }
+  }
+}
@@ -0,0 +1,355 @@
+package com.mkhabibullin.infrastructure.audit;
+
+import com.mkhabibullin.domain.model.AuditLog;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable segment file of the local audit archive.
+ * A segment holds audit logs in ascending timestamp order, grouped into blocks that are
+ * compressed independently. A sparse index at the end of the file records the offset and
+ * the first and last timestamp of every block, so a range scan only inflates the blocks
+ * overlapping the range. Segments are written once by a {@link Writer} and then read
+ * through a read-only memory mapping.
+ * <p>
+ * Layout: a magic number, the blocks, one index entry per block and a footer holding the
+ * offset of the index, the number of blocks and the magic number again.
+ */
+final class AuditArchiveSegment {
+  private static final int MAGIC = 0x41554441;
+  private static final int BLOCK_HEADER_BYTES = 2 * Integer.BYTES;
+  private static final int INDEX_ENTRY_BYTES = 3 * Long.BYTES + Integer.BYTES;
+  private static final int FOOTER_BYTES = Long.BYTES + 2 * Integer.BYTES;
+  private final Path path;
+  private final MappedByteBuffer buffer;
+  private final long[] blockOffsets;
+  private final long[] blockFirstMicros;
+  private final long[] blockLastMicros;
+  private final int[] blockEntryCounts;
+  
+  private AuditArchiveSegment(Path path, MappedByteBuffer buffer, long[] blockOffsets, long[] blockFirstMicros,
+                              long[] blockLastMicros, int[] blockEntryCounts) {
+    this.path = path;
+    this.buffer = buffer;
+    this.blockOffsets = blockOffsets;
+    this.blockFirstMicros = blockFirstMicros;
+    this.blockLastMicros = blockLastMicros;
+    this.blockEntryCounts = blockEntryCounts;
+  }
+  
+  /**
+   * Maps a complete segment file and reads its index.
+   *
+   * @param path location of the segment
+   * @return the opened segment
+   * @throws IOException if the file cannot be mapped or is not a complete segment
+   */
+  static AuditArchiveSegment open(Path path) throws IOException {
+    MappedByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size < Integer.BYTES + FOOTER_BYTES || size > Integer.MAX_VALUE) {
+        throw new IOException("Invalid audit archive segment size " + size + ": " + path);
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+    }
+    int footer = buffer.capacity() - FOOTER_BYTES;
+    long indexOffset = buffer.getLong(footer);
+    int blockCount = buffer.getInt(footer + Long.BYTES);
+    if (buffer.getInt(0) != MAGIC || buffer.getInt(footer + Long.BYTES + Integer.BYTES) != MAGIC
+      || blockCount < 0 || indexOffset + (long) blockCount * INDEX_ENTRY_BYTES != footer) {
+      throw new IOException("Corrupt audit archive segment: " + path);
+    }
+    long[] blockOffsets = new long[blockCount];
+    long[] blockFirstMicros = new long[blockCount];
+    long[] blockLastMicros = new long[blockCount];
+    int[] blockEntryCounts = new int[blockCount];
+    for (int i = 0; i < blockCount; i++) {
+      int entry = (int) indexOffset + i * INDEX_ENTRY_BYTES;
+      blockOffsets[i] = buffer.getLong(entry);
+      blockFirstMicros[i] = buffer.getLong(entry + Long.BYTES);
+      blockLastMicros[i] = buffer.getLong(entry + 2 * Long.BYTES);
+      blockEntryCounts[i] = buffer.getInt(entry + 3 * Long.BYTES);
+    }
+    return new AuditArchiveSegment(path, buffer, blockOffsets, blockFirstMicros, blockLastMicros, blockEntryCounts);
+  }
+  
+  /**
+   * Passes every entry of the segment with a timestamp in the range to the action, oldest first.
+   * Only the blocks whose timestamps overlap the range are inflated.
+   *
+   * @param startTimestamp the start of the range (inclusive)
+   * @param endTimestamp   the end of the range (inclusive)
+   * @param action         action applied to each entry in the range
+   * @throws IOException if a block cannot be decoded
+   */
+  void scan(LocalDateTime startTimestamp, LocalDateTime endTimestamp, Consumer<AuditLog> action) throws IOException {
+    long startMicros = toMicros(startTimestamp);
+    long endMicros = toMicros(endTimestamp);
+    int block = firstBlockEndingAtOrAfter(startMicros);
+    for (; block < blockOffsets.length && blockFirstMicros[block] <= endMicros; block++) {
+      DataInputStream in = inflate(block);
+      for (int i = 0; i < blockEntryCounts[block]; i++) {
+        AuditLog auditLog = readEntry(in);
+        if (!auditLog.getTimestamp().isBefore(startTimestamp) && !auditLog.getTimestamp().isAfter(endTimestamp)) {
+          action.accept(auditLog);
+        }
+      }
+    }
+  }
+  
+  /**
+   * Passes every entry of the segment to the action, oldest first.
+   *
+   * @param action action applied to each entry
+   * @throws IOException if a block cannot be decoded
+   */
+  void forEach(Consumer<AuditLog> action) throws IOException {
+    for (int block = 0; block < blockOffsets.length; block++) {
+      DataInputStream in = inflate(block);
+      for (int i = 0; i < blockEntryCounts[block]; i++) {
+        action.accept(readEntry(in));
+      }
+    }
+  }
+  
+  /**
+   * Returns whether the segment may hold entries in the range.
+   *
+   * @param startTimestamp the start of the range (inclusive)
+   * @param endTimestamp   the end of the range (inclusive)
+   * @return false if no entry of the segment can be in the range
+   */
+  boolean overlaps(LocalDateTime startTimestamp, LocalDateTime endTimestamp) {
+    return blockOffsets.length > 0
+      && blockFirstMicros[0] <= toMicros(endTimestamp)
+      && blockLastMicros[blockOffsets.length - 1] >= toMicros(startTimestamp);
+  }
+  
+  /**
+   * Returns the location of the segment file.
+   *
+   * @return the segment path
+   */
+  Path getPath() {
+    return path;
+  }
+  
+  private int firstBlockEndingAtOrAfter(long micros) {
+    int low = 0;
+    int high = blockLastMicros.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (blockLastMicros[middle] < micros) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+  
+  private DataInputStream inflate(int block) throws IOException {
+    int offset = (int) blockOffsets[block];
+    int uncompressedLength = buffer.getInt(offset);
+    int compressedLength = buffer.getInt(offset + Integer.BYTES);
+    ByteBuffer compressed = buffer.slice(offset + BLOCK_HEADER_BYTES, compressedLength);
+    byte[] uncompressed = new byte[uncompressedLength];
+    Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(compressed);
+      int length = 0;
+      while (length < uncompressedLength && !inflater.finished()) {
+        int inflated = inflater.inflate(uncompressed, length, uncompressedLength - length);
+        if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        length += inflated;
+      }
+      if (length != uncompressedLength) {
+        throw new IOException("Truncated block " + block + " in audit archive segment: " + path);
+      }
+    } catch (DataFormatException e) {
+      throw new IOException("Corrupt block " + block + " in audit archive segment: " + path, e);
+    } finally {
+      inflater.end();
+    }
+    return new DataInputStream(new ByteArrayInputStream(uncompressed));
+  }
+  
+  private static AuditLog readEntry(DataInputStream in) throws IOException {
+    long id = in.readLong();
+    AuditLog auditLog = AuditLogRecordCodec.read(in);
+    auditLog.setId(id);
+    return auditLog;
+  }
+  
+  /**
+   * Converts a timestamp to microseconds since the epoch, rounding down. Rounding preserves
+   * the order of timestamps, so comparing rounded values never excludes a matching block.
+   */
+  private static long toMicros(LocalDateTime timestamp) {
+    return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+  }
+  
+  /**
+   * Writes a new segment to a temporary file that is moved into place once it is complete,
+   * so a segment file is either absent or whole. Entries must be appended in ascending
+   * timestamp order.
+   */
+  static final class Writer implements Closeable {
+    private final Path path;
+    private final Path temporaryPath;
+    private final int blockEntries;
+    private final FileChannel channel;
+    private final DataOutputStream out;
+    private final ByteArrayOutputStream block = new ByteArrayOutputStream();
+    private final DataOutputStream blockOut = new DataOutputStream(block);
+    private final ByteArrayOutputStream compressedBlock = new ByteArrayOutputStream();
+    private final Deflater deflater = new Deflater();
+    private final ByteArrayOutputStream index = new ByteArrayOutputStream();
+    private final DataOutputStream indexOut = new DataOutputStream(index);
+    private long offset;
+    private int blockCount;
+    private int blockEntryCount;
+    private long blockFirstMicros;
+    private long blockLastMicros;
+    private long entryCount;
+    private boolean finished;
+  
+    /**
+     * Starts a segment at the given location.
+     *
+     * @param path         final location of the segment
+     * @param blockEntries maximum number of entries compressed together
+     * @throws IOException if the temporary file cannot be created
+     */
+    Writer(Path path, int blockEntries) throws IOException {
+      this.path = path;
+      this.temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+      this.blockEntries = blockEntries;
+      this.channel = FileChannel.open(temporaryPath,
+        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+      OutputStream channelOut = Channels.newOutputStream(channel);
+      this.out = new DataOutputStream(new BufferedOutputStream(channelOut));
+      out.writeInt(MAGIC);
+      offset = Integer.BYTES;
+    }
+  
+    /**
+     * Appends an audit log to the segment.
+     *
+     * @param auditLog a stored audit log, not older than the previously appended one
+     * @throws IOException if the segment cannot be written
+     */
+    void append(AuditLog auditLog) throws IOException {
+      long micros = toMicros(auditLog.getTimestamp());
+      if (blockEntryCount == 0) {
+        blockFirstMicros = micros;
+      }
+      blockLastMicros = micros;
+      blockOut.writeLong(auditLog.getId());
+      AuditLogRecordCodec.write(blockOut, auditLog);
+      blockEntryCount++;
+      entryCount++;
+      if (blockEntryCount == blockEntries) {
+        flushBlock();
+      }
+    }
+  
+    /**
+     * Writes the last block and the index, forces the file to disk and moves it into place.
+     *
+     * @throws IOException if the segment cannot be completed
+     */
+    void finish() throws IOException {
+      flushBlock();
+      long indexOffset = offset;
+      index.writeTo(out);
+      out.writeLong(indexOffset);
+      out.writeInt(blockCount);
+      out.writeInt(MAGIC);
+      out.flush();
+      channel.force(true);
+      channel.close();
+      Files.move(temporaryPath, path, StandardCopyOption.ATOMIC_MOVE);
+      finished = true;
+    }
+  
+    /**
+     * Returns the number of entries appended so far.
+     *
+     * @return the entry count
+     */
+    long getEntryCount() {
+      return entryCount;
+    }
+  
+    /**
+     * Returns the final location of the segment.
+     *
+     * @return the segment path
+     */
+    Path getPath() {
+      return path;
+    }
+  
+    /**
+     * Releases the writer. A segment that was not finished is discarded.
+     *
+     * @throws IOException if the temporary file cannot be removed
+     */
+    @Override
+    public void close() throws IOException {
+      deflater.end();
+      if (!finished) {
+        channel.close();
+        Files.deleteIfExists(temporaryPath);
+      }
+    }
+  
+    private void flushBlock() throws IOException {
+      if (blockEntryCount == 0) {
+        return;
+      }
+      compressedBlock.reset();
+      deflater.reset();
+      try (DeflaterOutputStream deflaterOut = new DeflaterOutputStream(compressedBlock, deflater)) {
+        block.writeTo(deflaterOut);
+      }
+      indexOut.writeLong(offset);
+      indexOut.writeLong(blockFirstMicros);
+      indexOut.writeLong(blockLastMicros);
+      indexOut.writeInt(blockEntryCount);
+      out.writeInt(block.size());
+      out.writeInt(compressedBlock.size());
+      compressedBlock.writeTo(out);
+      offset += BLOCK_HEADER_BYTES + compressedBlock.size();
+      blockCount++;
+      block.reset();
+      blockEntryCount = 0;
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.mkhabibullin.infrastructure.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Circuit breaker detecting that the audit database is unavailable.
+ * After the configured number of consecutive failed writes the breaker opens and writes are
+ * not attempted for the open period, so the writer does not wait for a connection timeout on
+ * every batch. Once the period has elapsed one write is let through as a probe: success closes
+ * the breaker, failure opens it again for twice the previous period, up to the maximum.
+ */
+public class AuditCircuitBreaker {
+  private static final Logger log = LoggerFactory.getLogger(AuditCircuitBreaker.class);
+  private final int failureThreshold;
+  private final long openNanos;
+  private final long maxOpenNanos;
+  private volatile AuditCircuitState state = AuditCircuitState.CLOSED;
+  private int consecutiveFailures;
+  private long currentOpenNanos;
+  private long openedAt;
+  
+  /**
+   * Creates a closed circuit breaker.
+   *
+   * @param failureThreshold number of consecutive failures that open the breaker
+   * @param openMs           time the breaker stays open after it first opens
+   * @param maxOpenMs        maximum time the breaker stays open after repeated failed probes
+   */
+  public AuditCircuitBreaker(int failureThreshold, long openMs, long maxOpenMs) {
+    if (failureThreshold <= 0 || openMs <= 0 || maxOpenMs < openMs) {
+      throw new IllegalArgumentException(
+        "Failure threshold and open time must be positive and the maximum open time not below the open time");
+    }
+    this.failureThreshold = failureThreshold;
+    this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMs);
+    this.maxOpenNanos = TimeUnit.MILLISECONDS.toNanos(maxOpenMs);
+    this.currentOpenNanos = openNanos;
+  }
+  
+  /**
+   * Returns whether a write may be attempted now. Moves an open breaker whose open period
+   * has elapsed to half-open.
+   *
+   * @return true if the breaker is closed or a probe is due
+   */
+  public synchronized boolean allowRequest() {
+    if (state == AuditCircuitState.OPEN && System.nanoTime() - openedAt >= currentOpenNanos) {
+      state = AuditCircuitState.HALF_OPEN;
+    }
+    return state != AuditCircuitState.OPEN;
+  }
+  
+  /**
+   * Records a successful write and closes the breaker.
+   */
+  public synchronized void recordSuccess() {
+    if (state != AuditCircuitState.CLOSED) {
+      log.info("Audit database available again, circuit closed");
+    }
+    consecutiveFailures = 0;
+    currentOpenNanos = openNanos;
+    state = AuditCircuitState.CLOSED;
+  }
+  
+  /**
+   * Records a failed write. Opens the breaker once the failure threshold is reached, and
+   * reopens it with a doubled open period if the write was a probe.
+   */
+  public synchronized void recordFailure() {
+    consecutiveFailures++;
+    if (state == AuditCircuitState.HALF_OPEN) {
+      currentOpenNanos = Math.min(currentOpenNanos * 2, maxOpenNanos);
+    } else if (state == AuditCircuitState.OPEN || consecutiveFailures < failureThreshold) {
+      return;
+    }
+    state = AuditCircuitState.OPEN;
+    openedAt = System.nanoTime();
+    log.warn("Audit database unavailable after {} failed writes, circuit open for {} ms",
+      consecutiveFailures, TimeUnit.NANOSECONDS.toMillis(currentOpenNanos));
+  }
+  
+  /**
+   * Returns the current state of the breaker.
+   *
+   * @return the breaker state
+   */
+  public AuditCircuitState getState() {
+    return state;
+  }
+}
@@ -0,0 +1,19 @@
+package com.mkhabibullin.infrastructure.audit;
+
+/**
+ * State of the circuit breaker guarding the audit database.
+ */
+public enum AuditCircuitState {
+  /**
+   * The database is considered available and every batch is written to it.
+   */
+  CLOSED,
+  /**
+   * The database is considered unavailable and batches are diverted to the spool.
+   */
+  OPEN,
+  /**
+   * The open period has elapsed and the next write probes whether the database is back.
+   */
+  HALF_OPEN
+}
@@ -0,0 +1,93 @@
+package com.mkhabibullin.infrastructure.audit;
+
+import com.mkhabibullin.infrastructure.persistence.repository.AuditDictionaryRepository;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory cache of the audit dictionary, translating the text values of audit logs
+ * to the integer ids stored on the log rows and back.
+ * The dictionary only grows and its entries never change, so cached entries are never
+ * invalidated; the database is only consulted for values and ids not seen before.
+ */
+public class AuditDictionary {
+  private final AuditDictionaryRepository dictionaryRepository;
+  private final Map<AuditDictionaryKind, Map<String, Integer>> ids = new EnumMap<>(AuditDictionaryKind.class);
+  private final Map<Integer, String> values = new ConcurrentHashMap<>();
+  
+  /**
+   * Creates a new, empty dictionary cache.
+   *
+   * @param dictionaryRepository repository holding the dictionary entries
+   */
+  public AuditDictionary(AuditDictionaryRepository dictionaryRepository) {
+    this.dictionaryRepository = dictionaryRepository;
+    for (AuditDictionaryKind kind : AuditDictionaryKind.values()) {
+      ids.put(kind, new ConcurrentHashMap<>());
+    }
+  }
+  
+  /**
+   * Returns the id of a value, creating its dictionary entry if it does not exist yet.
+   *
+   * @param kind  the kind of the value
+   * @param value the value, may be null
+   * @return the id of the value, or null if the value is null
+   */
+  public Integer idOf(AuditDictionaryKind kind, String value) {
+    if (value == null) {
+      return null;
+    }
+    Integer id = ids.get(kind).get(value);
+    if (id == null) {
+      id = dictionaryRepository.getOrCreateId(kind, value);
+      cache(kind, value, id);
+    }
+    return id;
+  }
+  
+  /**
+   * Returns the id of a value without creating a dictionary entry.
+   *
+   * @param kind  the kind of the value
+   * @param value the value
+   * @return the id of the value, or null if the value has no dictionary entry
+   */
+  public Integer findId(AuditDictionaryKind kind, String value) {
+    Integer id = ids.get(kind).get(value);
+    if (id == null) {
+      id = dictionaryRepository.findId(kind, value);
+      if (id != null) {
+        cache(kind, value, id);
+      }
+    }
+    return id;
+  }
+  
+  /**
+   * Returns the value of an id.
+   *
+   * @param id the id, may be null
+   * @return the value of the id, or null if the id is null or unknown
+   */
+  public String valueOf(Integer id) {
+    if (id == null) {
+      return null;
+    }
+    String value = values.get(id);
+    if (value == null) {
+      value = dictionaryRepository.findValue(id);
+      if (value != null) {
+        values.put(id, value);
+      }
+    }
+    return value;
+  }
+  
+  private void cache(AuditDictionaryKind kind, String value, int id) {
+    ids.get(kind).put(value, id);
+    values.put(id, value);
+  }
+}
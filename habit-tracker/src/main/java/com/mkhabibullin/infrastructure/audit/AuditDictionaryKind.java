@@ -0,0 +1,23 @@
+package com.mkhabibullin.infrastructure.audit;
+
+/**
+ * Kinds of text values of an audit log that are stored as dictionary entries.
+ */
+public enum AuditDictionaryKind {
+  /**
+   * Name of the audited operation.
+   */
+  OPERATION,
+  /**
+   * Name of the executed method.
+   */
+  METHOD_NAME,
+  /**
+   * URI template of the request.
+   */
+  REQUEST_URI,
+  /**
+   * Class name of the exception that ended a failed operation.
+   */
+  ERROR_CLASS
+}
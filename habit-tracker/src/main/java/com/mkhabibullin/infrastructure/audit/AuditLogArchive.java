@@ -0,0 +1,230 @@
+package com.mkhabibullin.infrastructure.audit;
+
+import com.mkhabibullin.common.MessageConstants;
+import com.mkhabibullin.domain.exception.RepositoryException;
+import com.mkhabibullin.domain.model.AuditLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Local, append-only archive of audit logs moved out of the database.
+ * The archive is a directory of immutable, block-compressed {@link AuditArchiveSegment segments}
+ * and a manifest listing the complete segments in the order they were written. A segment only
+ * becomes part of the archive once the manifest naming it has been forced to disk; files the
+ * manifest does not name are leftovers of an interrupted write and are removed when the archive
+ * is opened. The manifest also records, per segment, whether its rows have been purged from the
+ * database, so a purge interrupted by a crash is finished on the next run.
+ * Segments are memory-mapped and range scans consult their sparse time index, so reading an old
+ * period inflates only the blocks that overlap it.
+ */
+public class AuditLogArchive {
+  private static final Logger log = LoggerFactory.getLogger(AuditLogArchive.class);
+  private static final String ENTITY_NAME = "archived audit logs";
+  private static final String MANIFEST_FILE = "MANIFEST";
+  private static final String SEGMENT_FILE_FORMAT = "segment-%08d.seg";
+  private static final String ARCHIVE_FILE_GLOB = "{segment-*.seg,segment-*.seg.tmp," + MANIFEST_FILE + ".tmp}";
+  private static final String NEXT_SEGMENT_KEY = "next-segment";
+  private static final String SEGMENT_KEY = "segment";
+  private static final String PURGED = "purged";
+  private static final String PENDING = "pending";
+  private final Path directory;
+  private final int blockEntries;
+  private volatile List<ArchivedSegment> segments = List.of();
+  private long nextSegment = 1;
+  
+  /**
+   * Creates an archive in the given directory. The directory is created on the first write.
+   *
+   * @param directory    directory holding the manifest and the segments
+   * @param blockEntries maximum number of entries compressed together in a segment block
+   */
+  public AuditLogArchive(Path directory, int blockEntries) {
+    if (blockEntries <= 0) {
+      throw new IllegalArgumentException("Archive block entries must be positive");
+    }
+    this.directory = directory;
+    this.blockEntries = blockEntries;
+  }
+  
+  /**
+   * Reads the manifest, maps the segments it names and removes files left by interrupted writes.
+   *
+   * @throws IOException if the manifest or a segment it names cannot be read
+   */
+  public synchronized void open() throws IOException {
+    Path manifest = directory.resolve(MANIFEST_FILE);
+    List<ArchivedSegment> opened = new ArrayList<>();
+    if (Files.exists(manifest)) {
+      for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+        String[] fields = line.trim().split(" ");
+        if (fields.length == 2 && NEXT_SEGMENT_KEY.equals(fields[0])) {
+          nextSegment = Long.parseLong(fields[1]);
+        } else if (fields.length == 3 && SEGMENT_KEY.equals(fields[0])) {
+          AuditArchiveSegment segment = AuditArchiveSegment.open(directory.resolve(fields[1]));
+          opened.add(new ArchivedSegment(segment, PURGED.equals(fields[2])));
+        } else if (!line.isBlank()) {
+          throw new IOException("Invalid audit archive manifest line: " + line);
+        }
+      }
+    }
+    segments = Collections.unmodifiableList(opened);
+    removeUnlistedFiles();
+    log.info("Audit log archive opened with {} segments in {}", opened.size(), directory);
+  }
+  
+  /**
+   * Starts writing a new segment. It becomes part of the archive once it is
+   * {@link #commit(AuditArchiveSegment.Writer) committed}.
+   *
+   * @return the writer of the new segment
+   * @throws IOException if the segment file cannot be created
+   */
+  synchronized AuditArchiveSegment.Writer newSegment() throws IOException {
+    Files.createDirectories(directory);
+    Path path = directory.resolve(String.format(SEGMENT_FILE_FORMAT, nextSegment++));
+    return new AuditArchiveSegment.Writer(path, blockEntries);
+  }
+  
+  /**
+   * Completes a segment and adds it to the manifest. Its rows are marked as not yet purged
+   * from the database.
+   *
+   * @param writer the writer of the segment
+   * @return the added segment
+   * @throws IOException if the segment or the manifest cannot be written
+   */
+  synchronized AuditArchiveSegment commit(AuditArchiveSegment.Writer writer) throws IOException {
+    writer.finish();
+    AuditArchiveSegment segment = AuditArchiveSegment.open(writer.getPath());
+    List<ArchivedSegment> updated = new ArrayList<>(segments);
+    updated.add(new ArchivedSegment(segment, false));
+    writeManifest(updated);
+    segments = Collections.unmodifiableList(updated);
+    return segment;
+  }
+  
+  /**
+   * Records that the rows of a segment have been deleted from the database.
+   *
+   * @param segment a committed segment
+   * @throws IOException if the manifest cannot be written
+   */
+  synchronized void markPurged(AuditArchiveSegment segment) throws IOException {
+    List<ArchivedSegment> updated = new ArrayList<>(segments.size());
+    for (ArchivedSegment archived : segments) {
+      updated.add(archived.segment() == segment ? new ArchivedSegment(segment, true) : archived);
+    }
+    writeManifest(updated);
+    segments = Collections.unmodifiableList(updated);
+  }
+  
+  /**
+   * Returns the committed segments whose rows may still be in the database.
+   *
+   * @return segments not yet marked as purged, oldest first
+   */
+  List<AuditArchiveSegment> getUnpurgedSegments() {
+    List<AuditArchiveSegment> unpurged = new ArrayList<>();
+    for (ArchivedSegment archived : segments) {
+      if (!archived.purged()) {
+        unpurged.add(archived.segment());
+      }
+    }
+    return unpurged;
+  }
+  
+  /**
+   * Retrieves the archived audit logs within a time range. Only segments overlapping the
+   * range are scanned, and within them only the overlapping blocks are inflated.
+   *
+   * @param startTimestamp the start of the time range (inclusive)
+   * @param endTimestamp   the end of the time range (inclusive)
+   * @return the archived entries in the range, newest first
+   * @throws RepositoryException if a segment cannot be read
+   */
+  public List<AuditLog> findByTimestampRange(LocalDateTime startTimestamp, LocalDateTime endTimestamp) {
+    List<AuditLog> auditLogs = new ArrayList<>();
+    for (ArchivedSegment archived : segments) {
+      AuditArchiveSegment segment = archived.segment();
+      if (!segment.overlaps(startTimestamp, endTimestamp)) {
+        continue;
+      }
+      try {
+        segment.scan(startTimestamp, endTimestamp, auditLogs::add);
+      } catch (IOException e) {
+        log.error("Error reading audit archive segment {}: ", segment.getPath(), e);
+        throw new RepositoryException(
+          String.format(MessageConstants.ERROR_RETRIEVING_BY_DATE, ENTITY_NAME),
+          e
+        );
+      }
+    }
+    auditLogs.sort((first, second) -> second.getTimestamp().compareTo(first.getTimestamp()));
+    return auditLogs;
+  }
+  
+  /**
+   * Returns the directory of the archive.
+   *
+   * @return the archive directory
+   */
+  public Path getDirectory() {
+    return directory;
+  }
+  
+  /**
+   * Writes the manifest to a temporary file, forces it to disk and moves it over the previous one.
+   */
+  private void writeManifest(List<ArchivedSegment> manifestSegments) throws IOException {
+    StringBuilder manifest = new StringBuilder();
+    manifest.append(NEXT_SEGMENT_KEY).append(' ').append(nextSegment).append('\n');
+    for (ArchivedSegment archived : manifestSegments) {
+      manifest.append(SEGMENT_KEY).append(' ')
+        .append(archived.segment().getPath().getFileName()).append(' ')
+        .append(archived.purged() ? PURGED : PENDING).append('\n');
+    }
+    Path temporary = directory.resolve(MANIFEST_FILE + ".tmp");
+    try (FileChannel channel = FileChannel.open(temporary,
+      StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      OutputStream out = Channels.newOutputStream(channel);
+      out.write(manifest.toString().getBytes(StandardCharsets.UTF_8));
+      channel.force(true);
+    }
+    Files.move(temporary, directory.resolve(MANIFEST_FILE),
+      StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+  }
+  
+  private void removeUnlistedFiles() throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    List<Path> listed = new ArrayList<>();
+    segments.forEach(archived -> listed.add(archived.segment().getPath().getFileName()));
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, ARCHIVE_FILE_GLOB)) {
+      for (Path file : files) {
+        if (!listed.contains(file.getFileName())) {
+          log.warn("Removing incomplete audit archive file {}", file);
+          Files.delete(file);
+        }
+      }
+    }
+  }
+  
+  private record ArchivedSegment(AuditArchiveSegment segment, boolean purged) {
+  }
+}
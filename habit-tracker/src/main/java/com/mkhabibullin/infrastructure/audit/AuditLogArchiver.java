@@ -0,0 +1,124 @@
+package com.mkhabibullin.infrastructure.audit;
+
+import com.mkhabibullin.domain.exception.RepositoryException;
+import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.domain.model.AuditLogCursor;
+import com.mkhabibullin.infrastructure.persistence.repository.AuditLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scheduled job moving audit logs older than the configured number of days from the
+ * database into the local {@link AuditLogArchive}.
+ * Rows are read oldest first in keyset batches and appended to a new segment. Only after the
+ * segment has been committed to the archive manifest are its rows deleted from the database,
+ * so a crash at any point leaves every entry in at least one of the two places. Segments whose
+ * rows were not fully deleted are purged again at the start of the next run.
+ */
+public class AuditLogArchiver {
+  private static final Logger log = LoggerFactory.getLogger(AuditLogArchiver.class);
+  private final AuditLogRepository auditLogRepository;
+  private final AuditLogArchive auditLogArchive;
+  private final int archiveAfterDays;
+  private final int batchSize;
+  private final int segmentEntries;
+  
+  /**
+   * Creates the archiving job.
+   *
+   * @param auditLogRepository repository the audit logs are moved out of
+   * @param auditLogArchive    archive the audit logs are moved into
+   * @param archiveAfterDays   number of full days audit logs stay in the database; 0 disables archiving
+   * @param batchSize          number of audit logs read or deleted at a time
+   * @param segmentEntries     maximum number of audit logs in one segment
+   */
+  public AuditLogArchiver(AuditLogRepository auditLogRepository,
+                          AuditLogArchive auditLogArchive,
+                          int archiveAfterDays,
+                          int batchSize,
+                          int segmentEntries) {
+    if (batchSize <= 0 || segmentEntries <= 0) {
+      throw new IllegalArgumentException("Archive batch size and segment entries must be positive");
+    }
+    this.auditLogRepository = auditLogRepository;
+    this.auditLogArchive = auditLogArchive;
+    this.archiveAfterDays = archiveAfterDays;
+    this.batchSize = batchSize;
+    this.segmentEntries = segmentEntries;
+  }
+  
+  /**
+   * Finishes interrupted purges and moves every audit log older than the threshold into new
+   * archive segments. Runs on the configured schedule. Failures are logged and the remaining
+   * entries are moved on the next run.
+   */
+  @Scheduled(cron = "${application.audit.archive.cron:0 45 3 * * *}")
+  public void archive() {
+    if (archiveAfterDays <= 0) {
+      return;
+    }
+    LocalDateTime before = LocalDate.now().minusDays(archiveAfterDays).atStartOfDay();
+    try {
+      for (AuditArchiveSegment segment : auditLogArchive.getUnpurgedSegments()) {
+        purge(segment);
+      }
+      AuditLogCursor after = null;
+      boolean exhausted = false;
+      while (!exhausted) {
+        try (AuditArchiveSegment.Writer writer = auditLogArchive.newSegment()) {
+          while (writer.getEntryCount() < segmentEntries) {
+            int limit = (int) Math.min(batchSize, segmentEntries - writer.getEntryCount());
+            List<AuditLog> batch = auditLogRepository.findArchivable(before, after, limit);
+            for (AuditLog auditLog : batch) {
+              writer.append(auditLog);
+            }
+            if (!batch.isEmpty()) {
+              after = AuditLogCursor.after(batch.get(batch.size() - 1));
+            }
+            if (batch.size() < limit) {
+              exhausted = true;
+              break;
+            }
+          }
+          long entryCount = writer.getEntryCount();
+          if (entryCount == 0) {
+            return;
+          }
+          AuditArchiveSegment segment = auditLogArchive.commit(writer);
+          log.info("Archived {} audit logs older than {} to {}", entryCount, before, segment.getPath());
+          purge(segment);
+        }
+      }
+    } catch (IOException | UncheckedIOException | RepositoryException e) {
+      log.error("Audit log archiving stopped, remaining entries are moved on the next run: ", e);
+    }
+  }
+  
+  /**
+   * Deletes the rows of a committed segment from the database and records it in the manifest.
+   */
+  private void purge(AuditArchiveSegment segment) throws IOException {
+    List<AuditLog> chunk = new ArrayList<>(batchSize);
+    long[] deleted = new long[1];
+    segment.forEach(auditLog -> {
+      chunk.add(auditLog);
+      if (chunk.size() == batchSize) {
+        deleted[0] += auditLogRepository.deleteArchived(chunk);
+        chunk.clear();
+      }
+    });
+    if (!chunk.isEmpty()) {
+      deleted[0] += auditLogRepository.deleteArchived(chunk);
+    }
+    auditLogArchive.markPurged(segment);
+    log.info("Purged {} archived audit logs of {} from the database", deleted[0], segment.getPath());
+  }
+}
@@ -0,0 +1,97 @@
+package com.mkhabibullin.infrastructure.audit;
+
+import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.domain.model.AuditStatus;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary encoding of a single audit log entry shared by the local audit files.
+ * The dictionary ids and the database id are not part of the record; entries are stored
+ * with their text values so the files stay readable without the database.
+ */
+final class AuditLogRecordCodec {
+  private AuditLogRecordCodec() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+  
+  /**
+   * Writes an audit log entry.
+   *
+   * @param out      the output to write to
+   * @param auditLog the entry to write
+   * @throws IOException if the output cannot be written
+   */
+  static void write(DataOutput out, AuditLog auditLog) throws IOException {
+    out.writeUTF(auditLog.getUsername());
+    out.writeUTF(auditLog.getMethodName());
+    out.writeUTF(auditLog.getOperation());
+    out.writeLong(auditLog.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+    out.writeInt(auditLog.getTimestamp().getNano());
+    out.writeLong(auditLog.getExecutionTimeMs());
+    writeNullable(out, auditLog.getRequestUri());
+    writeNullable(out, auditLog.getRequestMethod());
+    out.writeByte(auditLog.getStatus() == null ? AuditStatus.SUCCESS.ordinal() : auditLog.getStatus().ordinal());
+    writeNullable(out, auditLog.getErrorClass());
+    writeNullableLong(out, auditLog.getExecutionTimeNs());
+    writeNullableLong(out, auditLog.getCpuTimeNs());
+    writeNullableLong(out, auditLog.getAllocatedBytes());
+    writeNullableLong(out, auditLog.getSqlStatements() == null ? null : auditLog.getSqlStatements().longValue());
+    writeNullableLong(out, auditLog.getResponseBytes());
+  }
+  
+  /**
+   * Reads an audit log entry.
+   *
+   * @param in the input to read from
+   * @return the entry, without a database id
+   * @throws java.io.EOFException if the input ends before the record is complete
+   * @throws IOException          if the input cannot be read
+   */
+  static AuditLog read(DataInput in) throws IOException {
+    String username = in.readUTF();
+    String methodName = in.readUTF();
+    String operation = in.readUTF();
+    LocalDateTime timestamp = LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    long executionTimeMs = in.readLong();
+    String requestUri = readNullable(in);
+    String requestMethod = readNullable(in);
+    AuditStatus status = AuditStatus.values()[in.readByte()];
+    String errorClass = readNullable(in);
+    AuditLog auditLog = new AuditLog(username, methodName, operation, timestamp,
+      executionTimeMs, requestUri, requestMethod, status, errorClass);
+    auditLog.setExecutionTimeNs(readNullableLong(in));
+    auditLog.setCpuTimeNs(readNullableLong(in));
+    auditLog.setAllocatedBytes(readNullableLong(in));
+    Long sqlStatements = readNullableLong(in);
+    auditLog.setSqlStatements(sqlStatements == null ? null : sqlStatements.intValue());
+    auditLog.setResponseBytes(readNullableLong(in));
+    return auditLog;
+  }
+  
+  private static void writeNullable(DataOutput out, String value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeUTF(value);
+    }
+  }
+  
+  private static String readNullable(DataInput in) throws IOException {
+    return in.readBoolean() ? in.readUTF() : null;
+  }
+  
+  private static void writeNullableLong(DataOutput out, Long value) throws IOException {
+    out.writeBoolean(value != null);
+    if (value != null) {
+      out.writeLong(value);
+    }
+  }
+  
+  private static Long readNullableLong(DataInput in) throws IOException {
+    return in.readBoolean() ? in.readLong() : null;
+  }
+}
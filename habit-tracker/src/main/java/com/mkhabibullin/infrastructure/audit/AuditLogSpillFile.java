@@ -0,0 +1,360 @@
+package com.mkhabibullin.infrastructure.audit;
+
+import com.mkhabibullin.domain.model.AuditLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only local spool holding audit log entries that could not be written to the database.
+ * Entries are appended through a {@link FileChannel} as frames of a length, a CRC32 checksum and
+ * the compact binary record, and forced to disk at most once per sync interval, so appending
+ * never waits for the disk on every entry. The file never grows beyond its maximum size;
+ * appends that would exceed it are refused. Entries are replayed in the order they were appended,
+ * a chunk at a time; the position after the last replayed entry is kept in a side file, so a
+ * restart resumes the replay where it stopped. A chunk replayed just before a crash may be
+ * replayed again.
+ * When the spool is first used, frames torn by a crash during an append are cut off. A file that
+ * does not start with the spool header is left untouched and every use of the spool fails until
+ * it has been moved aside.
+ */
+public class AuditLogSpillFile {
+  private static final Logger log = LoggerFactory.getLogger(AuditLogSpillFile.class);
+  private static final int FRAMED_FORMAT_MARKER = 0x41554434;
+  private static final int FILE_HEADER_BYTES = Integer.BYTES;
+  private static final int FRAME_HEADER_BYTES = 2 * Integer.BYTES;
+  private static final int MAX_FRAME_BYTES = 1 << 20;
+  private final Path path;
+  private final Path offsetPath;
+  private final long syncIntervalNanos;
+  private final long maxBytes;
+  private FileChannel channel;
+  private long readOffset;
+  private boolean recovered;
+  private boolean unsynced;
+  private long lastSync = System.nanoTime();
+  private volatile long pendingBytes;
+  
+  /**
+   * Creates a spool at the given location. The file is created on the first append.
+   *
+   * @param path           location of the spool file
+   * @param syncIntervalMs maximum time appended entries may stay unforced; 0 forces every append
+   * @param maxBytes       maximum size of the spool file
+   */
+  public AuditLogSpillFile(Path path, long syncIntervalMs, long maxBytes) {
+    if (maxBytes <= FILE_HEADER_BYTES) {
+      throw new IllegalArgumentException("Maximum spool size must exceed the file header");
+    }
+    this.path = path;
+    this.offsetPath = path.resolveSibling(path.getFileName() + ".offset");
+    this.syncIntervalNanos = TimeUnit.MILLISECONDS.toNanos(syncIntervalMs);
+    this.maxBytes = maxBytes;
+  }
+  
+  /**
+   * Appends audit log entries to the end of the spool. Either all of the entries are appended or none.
+   *
+   * @param auditLogs the entries to append
+   * @throws AuditSpoolFullException if the entries would grow the spool beyond its maximum size
+   * @throws IOException             if the spool cannot be written
+   */
+  public synchronized void append(List<AuditLog> auditLogs) throws IOException {
+    FileChannel out = openForAppend();
+    ByteArrayOutputStream frames = new ByteArrayOutputStream();
+    DataOutputStream framesOut = new DataOutputStream(frames);
+    ByteArrayOutputStream record = new ByteArrayOutputStream();
+    DataOutputStream recordOut = new DataOutputStream(record);
+    CRC32 checksum = new CRC32();
+    for (AuditLog auditLog : auditLogs) {
+      record.reset();
+      AuditLogRecordCodec.write(recordOut, auditLog);
+      checksum.reset();
+      checksum.update(record.toByteArray());
+      framesOut.writeInt(record.size());
+      framesOut.writeInt((int) checksum.getValue());
+      record.writeTo(framesOut);
+    }
+    long start = out.size();
+    if (start + frames.size() > maxBytes) {
+      throw new AuditSpoolFullException(String.format(
+        "Audit spool %s is full: %d bytes used, %d bytes requested, %d bytes allowed",
+        path, start, frames.size(), maxBytes));
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(frames.toByteArray());
+    try {
+      while (buffer.hasRemaining()) {
+        out.write(buffer);
+      }
+    } catch (IOException e) {
+      out.truncate(start);
+      out.position(start);
+      throw e;
+    }
+    unsynced = true;
+    pendingBytes = out.size() - readOffset;
+    syncIfDue();
+  }
+  
+  /**
+   * Forces appended entries to disk if the sync interval has elapsed since the last force.
+   *
+   * @throws IOException if the spool cannot be forced
+   */
+  public synchronized void syncIfDue() throws IOException {
+    if (unsynced && System.nanoTime() - lastSync >= syncIntervalNanos) {
+      sync();
+    }
+  }
+  
+  /**
+   * Forces appended entries to disk.
+   *
+   * @throws IOException if the spool cannot be forced
+   */
+  public synchronized void sync() throws IOException {
+    if (channel != null && unsynced) {
+      channel.force(false);
+    }
+    unsynced = false;
+    lastSync = System.nanoTime();
+  }
+  
+  /**
+   * Returns whether the spool holds entries that have not been replayed.
+   *
+   * @return true if entries are waiting to be replayed
+   * @throws IOException if the spool cannot be read
+   */
+  public synchronized boolean hasPending() throws IOException {
+    recover();
+    return channel != null && channel.size() > readOffset;
+  }
+  
+  /**
+   * Passes the entries that have not been replayed to the writer, oldest first, in chunks.
+   * The writer returns how many leading entries of the chunk it has taken care of, and the
+   * position after them is stored before the next chunk is read. If the writer takes fewer
+   * entries than it was given, the replay stops and the remaining entries stay in the spool;
+   * if it throws, the whole chunk stays. Once every entry has been replayed, the spool is removed.
+   * The writer runs without holding the spool, so entries can be appended meanwhile; they are
+   * replayed in the same call.
+   *
+   * @param chunkSize maximum number of entries passed to the writer at once
+   * @param writer    receiver of the chunks, typically writing them to the database
+   * @return true if every entry was replayed, false if the writer stopped the replay
+   * @throws IOException if the spool cannot be read or the position cannot be stored
+   */
+  public boolean replay(int chunkSize, ToIntFunction<List<AuditLog>> writer) throws IOException {
+    long[] entryEnds = new long[chunkSize];
+    while (true) {
+      List<AuditLog> chunk = new ArrayList<>(chunkSize);
+      synchronized (this) {
+        recover();
+        if (channel == null) {
+          return true;
+        }
+        readFrames(readOffset, chunkSize, chunk, entryEnds);
+        if (chunk.isEmpty()) {
+          delete();
+          return true;
+        }
+      }
+      int accepted = Math.min(writer.applyAsInt(chunk), chunk.size());
+      if (accepted > 0) {
+        synchronized (this) {
+          storeReadOffset(entryEnds[accepted - 1]);
+        }
+      }
+      if (accepted < chunk.size()) {
+        return false;
+      }
+    }
+  }
+  
+  /**
+   * Forces appended entries to disk and releases the file. A later use reopens and recovers it.
+   *
+   * @throws IOException if the spool cannot be forced or closed
+   */
+  public synchronized void close() throws IOException {
+    if (channel != null) {
+      sync();
+      channel.close();
+      channel = null;
+    }
+    recovered = false;
+  }
+  
+  /**
+   * Returns the size of the entries waiting to be replayed.
+   *
+   * @return pending bytes, including frame headers
+   */
+  public long getPendingBytes() {
+    return pendingBytes;
+  }
+  
+  /**
+   * Returns the location of the spool file.
+   *
+   * @return the spool file path
+   */
+  public Path getPath() {
+    return path;
+  }
+  
+  private FileChannel openForAppend() throws IOException {
+    recover();
+    if (channel == null) {
+      Path parent = path.toAbsolutePath().getParent();
+      if (parent != null) {
+        Files.createDirectories(parent);
+      }
+      boolean newFile = !Files.exists(path);
+      channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      if (newFile || channel.size() == 0) {
+        channel.truncate(0);
+        channel.write(ByteBuffer.allocate(FILE_HEADER_BYTES).putInt(0, FRAMED_FORMAT_MARKER));
+        Files.deleteIfExists(offsetPath);
+        readOffset = FILE_HEADER_BYTES;
+      }
+      channel.position(channel.size());
+    }
+    return channel;
+  }
+  
+  /**
+   * On first use, checks the file header, restores the replay position and cuts off a frame
+   * torn by a crash during an append. A file shorter than the header was created by an append
+   * that crashed before writing anything and is removed.
+   *
+   * @throws IOException if the file does not start with the spool header or cannot be read
+   */
+  private void recover() throws IOException {
+    if (recovered) {
+      return;
+    }
+    if (!Files.exists(path) || Files.size(path) < FILE_HEADER_BYTES) {
+      Files.deleteIfExists(path);
+      Files.deleteIfExists(offsetPath);
+      recovered = true;
+      return;
+    }
+    int marker = readMarker();
+    if (marker != FRAMED_FORMAT_MARKER) {
+      throw new IOException(String.format(
+        "Audit spool %s starts with unknown header 0x%08X instead of 0x%08X; move it aside to resume spooling",
+        path, marker, FRAMED_FORMAT_MARKER));
+    }
+    channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    readOffset = FILE_HEADER_BYTES;
+    if (Files.exists(offsetPath)) {
+      long storedOffset = ByteBuffer.wrap(Files.readAllBytes(offsetPath)).getLong();
+      if (storedOffset >= FILE_HEADER_BYTES && storedOffset <= channel.size()) {
+        readOffset = storedOffset;
+      }
+    }
+    long validEnd = readFrames(readOffset, Integer.MAX_VALUE, null, null);
+    if (validEnd < channel.size()) {
+      log.warn("Discarding {} bytes of a torn audit spool frame in {}", channel.size() - validEnd, path);
+      channel.truncate(validEnd);
+      channel.force(false);
+    }
+    channel.position(channel.size());
+    pendingBytes = channel.size() - readOffset;
+    recovered = true;
+  }
+  
+  /**
+   * Reads consecutive valid frames starting at the given position.
+   *
+   * @param offset     position of the first frame
+   * @param maxEntries maximum number of frames to read
+   * @param entries    list receiving the decoded entries, or null to only validate the frames
+   * @param entryEnds  array receiving the position after each decoded entry, or null
+   * @return the position after the last valid frame read
+   */
+  private long readFrames(long offset, int maxEntries, List<AuditLog> entries, long[] entryEnds) throws IOException {
+    long size = channel.size();
+    long position = offset;
+    ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_BYTES);
+    CRC32 checksum = new CRC32();
+    for (int read = 0; read < maxEntries && position + FRAME_HEADER_BYTES <= size; read++) {
+      header.clear();
+      readFully(header, position);
+      int length = header.getInt(0);
+      if (length <= 0 || length > MAX_FRAME_BYTES || position + FRAME_HEADER_BYTES + length > size) {
+        break;
+      }
+      byte[] record = new byte[length];
+      readFully(ByteBuffer.wrap(record), position + FRAME_HEADER_BYTES);
+      checksum.reset();
+      checksum.update(record);
+      if ((int) checksum.getValue() != header.getInt(Integer.BYTES)) {
+        break;
+      }
+      if (entries != null) {
+        entries.add(AuditLogRecordCodec.read(new DataInputStream(new ByteArrayInputStream(record))));
+      }
+      position += FRAME_HEADER_BYTES + length;
+      if (entryEnds != null) {
+        entryEnds[read] = position;
+      }
+    }
+    return position;
+  }
+  
+  private void readFully(ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new EOFException("Unexpected end of audit spool " + path);
+      }
+    }
+  }
+  
+  private void storeReadOffset(long offset) throws IOException {
+    Path temporary = offsetPath.resolveSibling(offsetPath.getFileName() + ".tmp");
+    try (FileChannel offsetChannel = FileChannel.open(temporary,
+      StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      offsetChannel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, offset));
+      offsetChannel.force(false);
+    }
+    Files.move(temporary, offsetPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    readOffset = offset;
+    pendingBytes = channel.size() - readOffset;
+  }
+  
+  private void delete() throws IOException {
+    channel.close();
+    channel = null;
+    Files.delete(path);
+    Files.deleteIfExists(offsetPath);
+    readOffset = 0;
+    unsynced = false;
+    pendingBytes = 0;
+  }
+  
+  private int readMarker() throws IOException {
+    try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+      return in.readInt();
+    }
+  }
+}
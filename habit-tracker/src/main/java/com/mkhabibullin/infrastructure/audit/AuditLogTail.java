@@ -0,0 +1,166 @@
+package com.mkhabibullin.infrastructure.audit;
+
+import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.infrastructure.persistence.repository.AuditLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * In-memory tail of the most recently written audit logs.
+ * Entries are kept in a fixed-size ring buffer that is filled by a single publisher, the
+ * audit log writer, once they have been stored. Readers take a snapshot without locking:
+ * they read the published sequence, copy the slots behind it and discard the slots the
+ * publisher may have overwritten meanwhile.
+ * Each published entry is also offered to the live subscribers. Every subscriber has its
+ * own bounded queue drained by a shared pool of stream threads, so a slow subscriber only
+ * loses its own oldest entries and never delays the publisher or other subscribers.
+ */
+public class AuditLogTail {
+  private static final Logger log = LoggerFactory.getLogger(AuditLogTail.class);
+  private final AuditLogRepository auditLogRepository;
+  private final AtomicReferenceArray<AuditLog> slots;
+  private final int capacity;
+  private final int mask;
+  private final int subscriberQueueCapacity;
+  private final AtomicLong published = new AtomicLong();
+  private final List<AuditTailSubscription> subscriptions = new CopyOnWriteArrayList<>();
+  private final ExecutorService streamExecutor;
+  private volatile boolean warm;
+  
+  /**
+   * Creates a new tail. The buffer is filled from the database by {@link #warmUp()}.
+   *
+   * @param auditLogRepository      repository the buffer is warmed from
+   * @param capacity                minimum number of entries kept; rounded up to a power of two
+   * @param subscriberQueueCapacity maximum number of entries waiting for each subscriber
+   * @param streamThreads           number of threads delivering entries to subscribers
+   */
+  public AuditLogTail(AuditLogRepository auditLogRepository,
+                      int capacity,
+                      int subscriberQueueCapacity,
+                      int streamThreads) {
+    if (capacity <= 0 || subscriberQueueCapacity <= 0 || streamThreads <= 0) {
+      throw new IllegalArgumentException("Tail capacity, subscriber queue capacity and stream threads must be positive");
+    }
+    this.auditLogRepository = auditLogRepository;
+    int size = 1;
+    while (size < capacity) {
+      size <<= 1;
+    }
+    this.capacity = size;
+    this.mask = this.capacity - 1;
+    this.slots = new AtomicReferenceArray<>(this.capacity);
+    this.subscriberQueueCapacity = subscriberQueueCapacity;
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.streamExecutor = Executors.newFixedThreadPool(streamThreads, runnable -> {
+      Thread thread = new Thread(runnable, "audit-tail-stream-" + threadNumber.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+  
+  /**
+   * Fills the buffer with the most recent audit logs in the database. Until this succeeds
+   * the buffer does not hold a complete tail and {@link #covers(int)} returns false.
+   */
+  public void warmUp() {
+    try {
+      List<AuditLog> recentLogs = auditLogRepository.findRecentLogs(capacity);
+      for (int i = recentLogs.size() - 1; i >= 0; i--) {
+        publish(recentLogs.get(i));
+      }
+      warm = true;
+      log.info("Audit log tail warmed with {} entries", recentLogs.size());
+    } catch (Exception e) {
+      log.error("Error warming audit log tail, recent logs are read from the database: ", e);
+    }
+  }
+  
+  /**
+   * Cancels every subscription and stops the stream threads.
+   */
+  public void shutdown() {
+    subscriptions.forEach(AuditTailSubscription::cancel);
+    streamExecutor.shutdownNow();
+  }
+  
+  /**
+   * Appends a stored audit log to the buffer and offers it to every subscriber.
+   * Must only be called by one thread at a time.
+   *
+   * @param auditLog the stored audit log
+   */
+  public void publish(AuditLog auditLog) {
+    long sequence = published.get();
+    slots.set((int) (sequence & mask), auditLog);
+    published.set(sequence + 1);
+    for (AuditTailSubscription subscription : subscriptions) {
+      subscription.offer(auditLog);
+    }
+  }
+  
+  /**
+   * Returns whether the buffer can answer a request for the given number of recent entries.
+   *
+   * @param limit the number of entries requested
+   * @return true if the buffer is warm and holds more than that many slots
+   */
+  public boolean covers(int limit) {
+    return warm && limit < capacity;
+  }
+  
+  /**
+   * Returns the most recently published entries, newest first. The oldest slot may be in
+   * the middle of being reused, so at most {@code capacity - 1} entries are returned.
+   *
+   * @param limit maximum number of entries to return
+   * @return up to {@code limit} entries
+   */
+  public List<AuditLog> recent(int limit) {
+    long end = published.get();
+    int count = (int) Math.min(Math.min(limit, capacity), end);
+    List<AuditLog> auditLogs = new ArrayList<>(count);
+    for (long sequence = end - 1; sequence >= end - count; sequence--) {
+      auditLogs.add(slots.get((int) (sequence & mask)));
+    }
+    // slots at or below this sequence may have been reused while they were copied
+    long oldestIntact = published.get() - capacity + 1;
+    int intact = (int) Math.max(0, Math.min(count, end - oldestIntact));
+    return intact == count ? auditLogs : new ArrayList<>(auditLogs.subList(0, intact));
+  }
+  
+  /**
+   * Registers a subscriber receiving every entry published from now on. The consumer is
+   * called on a stream thread with the entries queued since its previous call; if it throws,
+   * the subscription is cancelled.
+   *
+   * @param consumer receiver of published entries
+   * @return the subscription, to be cancelled when the subscriber goes away
+   */
+  public AuditTailSubscription subscribe(Consumer<List<AuditLog>> consumer) {
+    AuditTailSubscription subscription = new AuditTailSubscription(
+      subscriberQueueCapacity, consumer, streamExecutor, subscriptions::remove);
+    subscriptions.add(subscription);
+    log.debug("Audit tail subscriber added, {} active", subscriptions.size());
+    return subscription;
+  }
+  
+  /**
+   * Returns the number of entries the buffer holds when full.
+   *
+   * @return the buffer capacity
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+}
@@ -0,0 +1,25 @@
+package com.mkhabibullin.infrastructure.audit;
+
+import com.mkhabibullin.domain.model.AuditLog;
+
+/**
+ * Accepts audit log entries produced on request threads and persists them
+ * without making the caller wait for the database.
+ */
+public interface AuditLogWriter {
+  
+  /**
+   * Hands an audit log entry to the writer.
+   *
+   * @param auditLog the audit log entry to write
+   * @return true if the entry was accepted for writing or spilled to disk, false if it was dropped
+   */
+  boolean submit(AuditLog auditLog);
+  
+  /**
+   * Returns a snapshot of the writer's queue and throughput counters.
+   *
+   * @return current pipeline metrics
+   */
+  AuditPipelineMetrics getMetrics();
+}
@@ -0,0 +1,19 @@
+package com.mkhabibullin.infrastructure.audit;
+
+/**
+ * Defines what the audit pipeline does with a new entry when its queue is full.
+ */
+public enum AuditOverflowPolicy {
+  /**
+   * Waits for free space in the queue up to the configured timeout, then drops the entry.
+   */
+  BLOCK,
+  /**
+   * Drops the entry immediately.
+   */
+  DROP,
+  /**
+   * Appends the entry to the spill file, which is replayed into the database once the writer catches up.
+   */
+  SPILL
+}
@@ -0,0 +1,89 @@
+package com.mkhabibullin.infrastructure.audit;
+
+import com.mkhabibullin.domain.exception.RepositoryException;
+import com.mkhabibullin.infrastructure.persistence.repository.AuditPartitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Scheduled maintenance of the monthly audit log partitions.
+ * Creates partitions for the current month and the configured number of months ahead,
+ * so new rows never land in the default partition, and drops or detaches partitions
+ * older than the retention period. Expiring a month is a single DDL statement
+ * instead of a row-by-row delete.
+ */
+public class AuditPartitionMaintenance {
+  private static final Logger log = LoggerFactory.getLogger(AuditPartitionMaintenance.class);
+  private final AuditPartitionRepository partitionRepository;
+  private final int precreateMonths;
+  private final int retentionMonths;
+  private final AuditPartitionRetention retention;
+  
+  /**
+   * Creates the maintenance job.
+   *
+   * @param partitionRepository repository managing the partitions
+   * @param precreateMonths     number of months after the current one to create partitions for
+   * @param retentionMonths     number of full months kept before the current one; 0 keeps everything
+   * @param retention           what to do with expired partitions
+   */
+  public AuditPartitionMaintenance(AuditPartitionRepository partitionRepository,
+                                   int precreateMonths,
+                                   int retentionMonths,
+                                   AuditPartitionRetention retention) {
+    this.partitionRepository = partitionRepository;
+    this.precreateMonths = precreateMonths;
+    this.retentionMonths = retentionMonths;
+    this.retention = retention;
+  }
+  
+  /**
+   * Creates missing upcoming partitions and expires old ones. Runs on start-up and then
+   * on the configured schedule. Failures are logged and retried on the next run.
+   */
+  @Scheduled(cron = "${application.audit.partitions.maintenance-cron:0 15 3 * * *}")
+  public void maintain() {
+    List<YearMonth> existing;
+    try {
+      existing = partitionRepository.findPartitionMonths();
+    } catch (RepositoryException e) {
+      log.error("Audit partition maintenance skipped: ", e);
+      return;
+    }
+    YearMonth currentMonth = YearMonth.now();
+    for (int i = 0; i <= precreateMonths; i++) {
+      YearMonth month = currentMonth.plusMonths(i);
+      if (!existing.contains(month)) {
+        try {
+          partitionRepository.createPartition(month);
+          log.info("Created audit log partition for {}", month);
+        } catch (RepositoryException e) {
+          log.warn("Could not create audit log partition for {}: {}", month, e.getMessage());
+        }
+      }
+    }
+    if (retentionMonths <= 0) {
+      return;
+    }
+    YearMonth oldestKept = currentMonth.minusMonths(retentionMonths);
+    for (YearMonth month : existing) {
+      if (!month.isBefore(oldestKept)) {
+        break;
+      }
+      try {
+        if (retention == AuditPartitionRetention.DETACH) {
+          partitionRepository.detachPartition(month);
+        } else {
+          partitionRepository.dropPartition(month);
+        }
+        log.info("Expired audit log partition for {} ({})", month, retention);
+      } catch (RepositoryException e) {
+        log.warn("Could not expire audit log partition for {}: {}", month, e.getMessage());
+      }
+    }
+  }
+}
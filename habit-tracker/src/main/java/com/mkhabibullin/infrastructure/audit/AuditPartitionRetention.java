@@ -0,0 +1,15 @@
+package com.mkhabibullin.infrastructure.audit;
+
+/**
+ * Defines what happens to an audit log partition once it falls outside the retention period.
+ */
+public enum AuditPartitionRetention {
+  /**
+   * Drops the partition and its rows.
+   */
+  DROP,
+  /**
+   * Detaches the partition, keeping its rows in a standalone table for archiving.
+   */
+  DETACH
+}
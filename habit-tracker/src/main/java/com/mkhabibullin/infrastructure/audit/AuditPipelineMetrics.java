@@ -0,0 +1,35 @@
+package com.mkhabibullin.infrastructure.audit;
+
+/**
+ * Point-in-time snapshot of the asynchronous audit pipeline.
+ *
+ * @param running           Whether the background writer is running
+ * @param queueDepth        Number of entries waiting to be written
+ * @param queueCapacity     Maximum number of entries the queue can hold
+ * @param submitted         Total entries handed to the pipeline
+ * @param written           Total entries written to the database, including replayed ones
+ * @param dropped           Total entries lost because of a full queue, a full spool or a failed spool or dead-letter write
+ * @param spilled           Total entries written to the spool
+ * @param failedFlushes     Total batch writes that failed
+ * @param copyFallbacks     Total batches written with multi-row inserts because their bulk COPY failed
+ * @param replayed          Total spooled entries written to the database
+ * @param deadLettered      Total entries rejected by the database and moved to the dead-letter file
+ * @param spoolPendingBytes Size of the spooled entries waiting to be replayed
+ * @param circuitState      State of the breaker guarding database writes
+ */
+public record AuditPipelineMetrics(
+  boolean running,
+  int queueDepth,
+  int queueCapacity,
+  long submitted,
+  long written,
+  long dropped,
+  long spilled,
+  long failedFlushes,
+  long copyFallbacks,
+  long replayed,
+  long deadLettered,
+  long spoolPendingBytes,
+  AuditCircuitState circuitState
+) {
+}
@@ -0,0 +1,111 @@
+package com.mkhabibullin.infrastructure.audit;
+
+import com.mkhabibullin.common.AuditPolicy;
+import com.mkhabibullin.common.Audited;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the effective {@link AuditRule} of an {@link Audited} operation.
+ * The policy declared on the annotation applies unless the configuration overrides it.
+ * Overrides are given as a semicolon-separated list of {@code Operation=POLICY[:value]} entries,
+ * where the value is the sample rate for {@link AuditPolicy#SAMPLED} and the slow threshold in
+ * milliseconds for {@link AuditPolicy#SLOW_ONLY}, for example
+ * {@code Get Current Streak=SAMPLED:0.05; Get Dashboard=SLOW_ONLY:500}.
+ * Values not given by an override are taken from the annotation.
+ * Malformed overrides are rejected when the resolver is created. An operation whose annotation
+ * declares an invalid sample rate or threshold is written on every call, and the problem is logged
+ * once, so a misconfigured annotation never fails the audited call.
+ * Resolved rules are cached per operation, so the lookup on every audited call is a single map read.
+ */
+public class AuditPolicyResolver {
+  private static final Logger log = LoggerFactory.getLogger(AuditPolicyResolver.class);
+  private static final AuditRule FALLBACK_RULE = new AuditRule(AuditPolicy.ALWAYS, 1.0, 0);
+  private final Map<String, PolicyOverride> overrides;
+  private final Map<String, AuditRule> rules = new ConcurrentHashMap<>();
+  
+  /**
+   * Creates a resolver with the given overrides.
+   *
+   * @param overrides override list, may be empty
+   * @throws IllegalArgumentException if an override entry is malformed
+   */
+  public AuditPolicyResolver(String overrides) {
+    this.overrides = parseOverrides(overrides);
+  }
+  
+  /**
+   * Returns the effective rule of an audited operation.
+   *
+   * @param audited the annotation of the audited method
+   * @return the rule deciding which calls of the operation are written, or a rule writing every
+   *         call if the annotation declares invalid values
+   */
+  public AuditRule resolve(Audited audited) {
+    AuditRule rule = rules.get(audited.audited());
+    if (rule == null) {
+      rule = createRule(audited);
+      AuditRule existing = rules.putIfAbsent(audited.audited(), rule);
+      if (existing != null) {
+        rule = existing;
+      }
+    }
+    return rule;
+  }
+  
+  private AuditRule createRule(Audited audited) {
+    PolicyOverride override = overrides.get(audited.audited());
+    try {
+      return override == null
+        ? new AuditRule(audited.policy(), audited.sampleRate(), audited.slowThresholdMs())
+        : new AuditRule(
+            override.policy(),
+            override.sampleRate() != null ? override.sampleRate() : audited.sampleRate(),
+            override.slowThresholdMs() != null ? override.slowThresholdMs() : audited.slowThresholdMs()
+          );
+    } catch (IllegalArgumentException e) {
+      log.error("Invalid audit policy for operation {}, writing every call: {}", audited.audited(), e.getMessage());
+      return FALLBACK_RULE;
+    }
+  }
+  
+  private static Map<String, PolicyOverride> parseOverrides(String overrides) {
+    Map<String, PolicyOverride> parsed = new HashMap<>();
+    if (overrides == null || overrides.isBlank()) {
+      return parsed;
+    }
+    for (String entry : overrides.split(";")) {
+      if (entry.isBlank()) {
+        continue;
+      }
+      int separator = entry.lastIndexOf('=');
+      if (separator <= 0) {
+        throw new IllegalArgumentException("Invalid audit policy override: " + entry.trim());
+      }
+      String operation = entry.substring(0, separator).trim();
+      String[] policyAndValue = entry.substring(separator + 1).trim().split(":", 2);
+      AuditPolicy policy = AuditPolicy.valueOf(policyAndValue[0].trim().toUpperCase(Locale.ROOT));
+      String value = policyAndValue.length > 1 ? policyAndValue[1].trim() : null;
+      Double sampleRate = policy == AuditPolicy.SAMPLED && value != null ? Double.valueOf(value) : null;
+      Long slowThresholdMs = policy == AuditPolicy.SLOW_ONLY && value != null ? Long.valueOf(value) : null;
+      parsed.put(operation, new PolicyOverride(policy, sampleRate, slowThresholdMs));
+    }
+    return parsed;
+  }
+  
+  private record PolicyOverride(AuditPolicy policy, Double sampleRate, Long slowThresholdMs) {
+    private PolicyOverride {
+      if (sampleRate != null && !(sampleRate >= 0.0 && sampleRate <= 1.0)) {
+        throw new IllegalArgumentException("Audit sample rate must be between 0 and 1: " + sampleRate);
+      }
+      if (slowThresholdMs != null && slowThresholdMs < 0) {
+        throw new IllegalArgumentException("Audit slow threshold must not be negative: " + slowThresholdMs);
+      }
+    }
+  }
+}
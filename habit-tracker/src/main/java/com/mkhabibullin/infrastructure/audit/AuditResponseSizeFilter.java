@@ -0,0 +1,218 @@
+package com.mkhabibullin.infrastructure.audit;
+
+import com.mkhabibullin.domain.model.AuditLog;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Servlet filter measuring the size of each response body for the audit log.
+ * The audit aspect finishes before the response is written, so it hands its entries to
+ * {@link #defer(HttpServletRequest, AuditLog)} instead of the writer. Once the response is
+ * complete the filter sets the number of body bytes on every deferred entry and submits
+ * them. For asynchronous requests, such as streamed exports, this happens when the async
+ * processing completes.
+ */
+public class AuditResponseSizeFilter extends OncePerRequestFilter {
+  private static final Logger log = LoggerFactory.getLogger(AuditResponseSizeFilter.class);
+  private static final String PENDING_ATTRIBUTE = AuditResponseSizeFilter.class.getName() + ".PENDING";
+  private final AuditLogWriter auditLogWriter;
+  
+  /**
+   * Creates a new filter.
+   *
+   * @param auditLogWriter writer receiving the entries once the response size is known
+   */
+  public AuditResponseSizeFilter(AuditLogWriter auditLogWriter) {
+    this.auditLogWriter = auditLogWriter;
+  }
+  
+  /**
+   * Holds an audit log entry back until the response of the request is complete.
+   *
+   * @param request  the current request, or null outside of a request
+   * @param auditLog the entry to submit once the response size is known
+   * @return true if the entry was deferred, false if the caller has to submit it itself
+   */
+  public static boolean defer(HttpServletRequest request, AuditLog auditLog) {
+    if (request == null) {
+      return false;
+    }
+    Object pending = request.getAttribute(PENDING_ATTRIBUTE);
+    return pending instanceof PendingAuditLogs pendingAuditLogs && pendingAuditLogs.add(auditLog);
+  }
+  
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+    throws ServletException, IOException {
+    PendingAuditLogs pending = new PendingAuditLogs();
+    CountingResponseWrapper countingResponse = new CountingResponseWrapper(response);
+    request.setAttribute(PENDING_ATTRIBUTE, pending);
+    try {
+      filterChain.doFilter(request, countingResponse);
+      countingResponse.flushWriter();
+    } finally {
+      if (request.isAsyncStarted()) {
+        request.getAsyncContext().addListener(new AsyncListener() {
+          @Override
+          public void onComplete(AsyncEvent event) {
+            submit(pending, countingResponse);
+          }
+  
+          @Override
+          public void onTimeout(AsyncEvent event) {
+          }
+  
+          @Override
+          public void onError(AsyncEvent event) {
+          }
+  
+          @Override
+          public void onStartAsync(AsyncEvent event) {
+          }
+        });
+      } else {
+        submit(pending, countingResponse);
+      }
+    }
+  }
+  
+  private void submit(PendingAuditLogs pending, CountingResponseWrapper countingResponse) {
+    List<AuditLog> auditLogs = pending.close();
+    if (auditLogs.isEmpty()) {
+      return;
+    }
+    long responseBytes = countingResponse.getByteCount();
+    for (AuditLog auditLog : auditLogs) {
+      try {
+        auditLog.setResponseBytes(responseBytes);
+        auditLogWriter.submit(auditLog);
+      } catch (Exception e) {
+        log.error("Error submitting audit log: ", e);
+      }
+    }
+  }
+  
+  /**
+   * Entries deferred by one request. Once closed, further entries are refused so that
+   * the caller submits them directly.
+   */
+  private static final class PendingAuditLogs {
+    private final List<AuditLog> auditLogs = new ArrayList<>();
+    private boolean closed;
+  
+    synchronized boolean add(AuditLog auditLog) {
+      if (closed) {
+        return false;
+      }
+      auditLogs.add(auditLog);
+      return true;
+    }
+  
+    synchronized List<AuditLog> close() {
+      closed = true;
+      return auditLogs;
+    }
+  }
+  
+  /**
+   * Response wrapper counting the bytes written to the body through either the output
+   * stream or the writer.
+   */
+  private static final class CountingResponseWrapper extends HttpServletResponseWrapper {
+    private CountingOutputStream outputStream;
+    private PrintWriter writer;
+  
+    CountingResponseWrapper(HttpServletResponse response) {
+      super(response);
+    }
+  
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+      if (outputStream == null) {
+        outputStream = new CountingOutputStream(super.getOutputStream());
+      }
+      return outputStream;
+    }
+  
+    @Override
+    public PrintWriter getWriter() throws IOException {
+      if (writer == null) {
+        writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+      }
+      return writer;
+    }
+  
+    @Override
+    public void flushBuffer() throws IOException {
+      flushWriter();
+      super.flushBuffer();
+    }
+  
+    void flushWriter() {
+      if (writer != null) {
+        writer.flush();
+      }
+    }
+  
+    long getByteCount() {
+      return outputStream != null ? outputStream.count : 0;
+    }
+  }
+  
+  private static final class CountingOutputStream extends ServletOutputStream {
+    private final ServletOutputStream delegate;
+    private volatile long count;
+  
+    CountingOutputStream(ServletOutputStream delegate) {
+      this.delegate = delegate;
+    }
+  
+    @Override
+    public void write(int b) throws IOException {
+      delegate.write(b);
+      count++;
+    }
+  
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      delegate.write(b, off, len);
+      count += len;
+    }
+  
+    @Override
+    public void flush() throws IOException {
+      delegate.flush();
+    }
+  
+    @Override
+    public void close() throws IOException {
+      delegate.close();
+    }
+  
+    @Override
+    public boolean isReady() {
+      return delegate.isReady();
+    }
+  
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+      delegate.setWriteListener(writeListener);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.mkhabibullin.infrastructure.audit;
+
+import com.mkhabibullin.common.AuditPolicy;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Effective audit policy of one operation, after configuration overrides are applied.
+ *
+ * @param policy          the policy deciding which calls are written
+ * @param sampleRate      fraction of ordinary calls written under {@link AuditPolicy#SAMPLED}
+ * @param slowThresholdMs execution time in milliseconds from which a call counts as slow
+ */
+public record AuditRule(AuditPolicy policy, double sampleRate, long slowThresholdMs) {
+  
+  /**
+   * Validates the rule.
+   *
+   * @throws IllegalArgumentException if the sample rate is outside [0, 1] or the threshold is negative
+   */
+  public AuditRule {
+    if (policy == null) {
+      throw new IllegalArgumentException("Audit policy is required");
+    }
+    if (!(sampleRate >= 0.0 && sampleRate <= 1.0)) {
+      throw new IllegalArgumentException("Audit sample rate must be between 0 and 1: " + sampleRate);
+    }
+    if (slowThresholdMs < 0) {
+      throw new IllegalArgumentException("Audit slow threshold must not be negative: " + slowThresholdMs);
+    }
+  }
+  
+  /**
+   * Makes the part of the decision that does not depend on the outcome, before the call runs.
+   * {@link AuditPolicy#ALWAYS} writes every call and {@link AuditPolicy#SAMPLED} draws the sample here;
+   * the other policies need the outcome and never decide in advance.
+   * Uses only a thread-local random number, so it allocates nothing.
+   *
+   * @return true if the call is written whatever its outcome
+   */
+  public boolean recordsInAdvance() {
+    return switch (policy) {
+      case ALWAYS -> true;
+      case FAILURES_ONLY, SLOW_ONLY -> false;
+      case SAMPLED -> ThreadLocalRandom.current().nextDouble() < sampleRate;
+    };
+  }
+  
+  /**
+   * Returns whether calls are written depending on their outcome only, so every call has to be
+   * measured as if it were written.
+   *
+   * @return true for {@link AuditPolicy#FAILURES_ONLY} and {@link AuditPolicy#SLOW_ONLY}
+   */
+  public boolean decidesAfterCall() {
+    return policy == AuditPolicy.FAILURES_ONLY || policy == AuditPolicy.SLOW_ONLY;
+  }
+  
+  /**
+   * Decides whether a finished call that was not recorded in advance is written.
+   * Failed calls are always written, and slow calls are written under every policy but
+   * {@link AuditPolicy#FAILURES_ONLY}. Allocates nothing.
+   *
+   * @param failed          whether the call ended with an exception
+   * @param executionTimeMs execution time of the call in milliseconds
+   * @return true if the call should be written
+   * @see #recordsInAdvance()
+   */
+  public boolean shouldRecord(boolean failed, long executionTimeMs) {
+    if (failed) {
+      return true;
+    }
+    return switch (policy) {
+      case ALWAYS -> true;
+      case FAILURES_ONLY -> false;
+      case SLOW_ONLY, SAMPLED -> executionTimeMs >= slowThresholdMs;
+    };
+  }
+}
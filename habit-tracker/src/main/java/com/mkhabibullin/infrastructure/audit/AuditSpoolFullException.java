@@ -0,0 +1,12 @@
+package com.mkhabibullin.infrastructure.audit;
+
+import java.io.IOException;
+
+/**
+ * Thrown when appending to an audit spool would grow it beyond its maximum size.
+ */
+public class AuditSpoolFullException extends IOException {
+  public AuditSpoolFullException(String message) {
+    super(message);
+  }
+}
@@ -0,0 +1,105 @@
+package com.mkhabibullin.infrastructure.audit;
+
+import com.mkhabibullin.domain.model.AuditLog;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * A live subscriber of the {@link AuditLogTail}.
+ * Published entries are placed on the subscriber's own bounded queue without blocking;
+ * when it is full the oldest waiting entry is discarded. A drain task on the shared stream
+ * executor hands the queued entries to the subscriber in batches, with at most one task
+ * per subscriber running at a time.
+ */
+public class AuditTailSubscription {
+  private static final Logger log = LoggerFactory.getLogger(AuditTailSubscription.class);
+  private static final int MAX_BATCH_SIZE = 256;
+  private final BlockingQueue<AuditLog> queue;
+  private final Consumer<List<AuditLog>> consumer;
+  private final Executor executor;
+  private final Consumer<AuditTailSubscription> onCancel;
+  private final AtomicBoolean draining = new AtomicBoolean();
+  private final AtomicBoolean cancelled = new AtomicBoolean();
+  private final AtomicLong dropped = new AtomicLong();
+  
+  AuditTailSubscription(int queueCapacity,
+                        Consumer<List<AuditLog>> consumer,
+                        Executor executor,
+                        Consumer<AuditTailSubscription> onCancel) {
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.consumer = consumer;
+    this.executor = executor;
+    this.onCancel = onCancel;
+  }
+  
+  /**
+   * Stops delivery to this subscriber and releases its queue. Safe to call more than once.
+   */
+  public void cancel() {
+    if (cancelled.compareAndSet(false, true)) {
+      onCancel.accept(this);
+      queue.clear();
+      log.debug("Audit tail subscription cancelled, {} entries dropped", dropped.get());
+    }
+  }
+  
+  /**
+   * Returns the number of entries discarded because the subscriber fell behind.
+   *
+   * @return dropped entry count
+   */
+  public long getDropped() {
+    return dropped.get();
+  }
+  
+  void offer(AuditLog auditLog) {
+    if (cancelled.get()) {
+      return;
+    }
+    while (!queue.offer(auditLog)) {
+      if (queue.poll() != null) {
+        dropped.incrementAndGet();
+      }
+    }
+    scheduleDrain();
+  }
+  
+  private void scheduleDrain() {
+    if (!cancelled.get() && draining.compareAndSet(false, true)) {
+      try {
+        executor.execute(this::drain);
+      } catch (RejectedExecutionException e) {
+        draining.set(false);
+        cancel();
+      }
+    }
+  }
+  
+  private void drain() {
+    List<AuditLog> batch = new ArrayList<>(MAX_BATCH_SIZE);
+    try {
+      while (!cancelled.get() && queue.drainTo(batch, MAX_BATCH_SIZE) > 0) {
+        consumer.accept(batch);
+        batch.clear();
+      }
+    } catch (Exception e) {
+      log.debug("Audit tail subscriber failed, cancelling: {}", e.toString());
+      cancel();
+    } finally {
+      draining.set(false);
+    }
+    if (!queue.isEmpty()) {
+      scheduleDrain();
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.mkhabibullin.infrastructure.audit;
+
+import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Classifies failed audit log writes.
+ * A write fails either because the database cannot be reached or is refusing work, in which case
+ * the same entries can be written later, or because the database rejected the entries themselves,
+ * in which case retrying them fails the same way.
+ */
+public final class AuditWriteErrors {
+  private static final String CONNECTION_EXCEPTION_CLASS = "08";
+  private static final String INSUFFICIENT_RESOURCES_CLASS = "53";
+  private static final String OPERATOR_INTERVENTION_CLASS = "57P";
+  
+  private AuditWriteErrors() {
+  }
+  
+  /**
+   * Returns whether a write failed because the database is unavailable rather than because
+   * it rejected the written entries. The whole cause chain is inspected.
+   *
+   * @param error the error thrown by the write
+   * @return true if the database could not be reached, false if the entries were rejected
+   */
+  public static boolean isUnavailable(Throwable error) {
+    for (Throwable cause = error; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+      if (cause instanceof CannotCreateTransactionException
+          || cause instanceof DataAccessResourceFailureException
+          || cause instanceof TransientDataAccessResourceException
+          || cause instanceof JDBCConnectionException
+          || cause instanceof SQLTransientConnectionException
+          || cause instanceof SQLNonTransientConnectionException
+          || cause instanceof SQLRecoverableException) {
+        return true;
+      }
+      if (cause instanceof SQLException sqlException && isUnavailableState(sqlException.getSQLState())) {
+        return true;
+      }
+    }
+    return false;
+  }
+  
+  private static boolean isUnavailableState(String sqlState) {
+    return sqlState != null
+      && (sqlState.startsWith(CONNECTION_EXCEPTION_CLASS)
+      || sqlState.startsWith(INSUFFICIENT_RESOURCES_CLASS)
+      || sqlState.startsWith(OPERATOR_INTERVENTION_CLASS));
+  }
+}
@@ -1,7 +1,9 @@
 package com.mkhabibullin.infrastructure.config;
 
 import com.mkhabibullin.aspect.AuditedAspect;
-import com.mkhabibullin.infrastructure.persistence.repository.AuditLogRepository;
+import com.mkhabibullin.infrastructure.audit.AuditLogWriter;
+import com.mkhabibullin.infrastructure.audit.AuditPolicyResolver;
+import com.mkhabibullin.infrastructure.monitoring.LatencyRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
@@ -16,17 +18,24 @@ import org.springframework.core.env.Environment;
 @EnableAspectJAutoProxy(proxyTargetClass = true)
 public class AspectConfig {
   private final Environment environment;
-  private final AuditLogRepository auditLogRepository;
+  private final AuditLogWriter auditLogWriter;
+  private final LatencyRegistry latencyRegistry;
+  private final AuditPolicyResolver auditPolicyResolver;
   
   /**
    * Constructs a new AspectConfig with required dependencies.
    *
    * @param environment        Spring environment for profile detection
-   * @param auditLogRepository repository for audit log persistence
+   * @param auditLogWriter     asynchronous writer for audit log persistence
+   * @param latencyRegistry    registry of live latency histograms
+   * @param auditPolicyResolver resolver of the per-operation audit policies
    */
-  public AspectConfig(Environment environment, AuditLogRepository auditLogRepository) {
+  public AspectConfig(Environment environment, AuditLogWriter auditLogWriter, LatencyRegistry latencyRegistry,
+                      AuditPolicyResolver auditPolicyResolver) {
     this.environment = environment;
-    this.auditLogRepository = auditLogRepository;
+    this.auditLogWriter = auditLogWriter;
+    this.latencyRegistry = latencyRegistry;
+    this.auditPolicyResolver = auditPolicyResolver;
   }
   
   /**
@@ -38,6 +47,6 @@ public class AspectConfig {
   @Bean
   @Profile("!test")
   public AuditedAspect auditedAspect() {
-    return new AuditedAspect(auditLogRepository, environment);
+    return new AuditedAspect(auditLogWriter, latencyRegistry, auditPolicyResolver, environment);
   }
 }
\ No newline at end of file
@@ -0,0 +1,220 @@
+package com.mkhabibullin.infrastructure.config;
+
+import com.mkhabibullin.infrastructure.audit.AsyncAuditLogWriter;
+import com.mkhabibullin.infrastructure.audit.AuditCircuitBreaker;
+import com.mkhabibullin.infrastructure.audit.AuditDictionary;
+import com.mkhabibullin.infrastructure.audit.AuditLogArchive;
+import com.mkhabibullin.infrastructure.audit.AuditLogArchiver;
+import com.mkhabibullin.infrastructure.audit.AuditLogSpillFile;
+import com.mkhabibullin.infrastructure.audit.AuditLogTail;
+import com.mkhabibullin.infrastructure.audit.AuditOverflowPolicy;
+import com.mkhabibullin.infrastructure.audit.AuditPartitionMaintenance;
+import com.mkhabibullin.infrastructure.audit.AuditPartitionRetention;
+import com.mkhabibullin.infrastructure.audit.AuditPolicyResolver;
+import com.mkhabibullin.infrastructure.audit.AuditResponseSizeFilter;
+import com.mkhabibullin.infrastructure.persistence.repository.AuditDictionaryRepository;
+import com.mkhabibullin.infrastructure.persistence.repository.AuditLogRepository;
+import com.mkhabibullin.infrastructure.persistence.repository.AuditPartitionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration class for the asynchronous audit pipeline.
+ * Sets up the queue-backed writer that persists audit logs off the request thread
+ * the scheduled maintenance of the monthly audit log partitions, the cache of the
+ * dictionary that encodes the text values of audit logs, the filter that adds the
+ * response size to audit logs, the in-memory tail of recently written audit logs and the
+ * local archive that old audit logs are moved to.
+ */
+@Configuration
+@EnableScheduling
+public class AuditConfig {
+  @Value("${application.audit.queue-capacity:10000}")
+  private int queueCapacity;
+  
+  @Value("${application.audit.batch-size:500}")
+  private int batchSize;
+  
+  @Value("${application.audit.flush-interval-ms:200}")
+  private long flushIntervalMs;
+  
+  @Value("${application.audit.overflow-policy:DROP}")
+  private AuditOverflowPolicy overflowPolicy;
+  
+  @Value("${application.audit.block-timeout-ms:50}")
+  private long blockTimeoutMs;
+  
+  @Value("${application.audit.shutdown-timeout-ms:5000}")
+  private long shutdownTimeoutMs;
+  
+  @Value("${application.audit.spill-file:${java.io.tmpdir}/habit-tracker/audit.spill}")
+  private String spillFile;
+  
+  @Value("${application.audit.spill-sync-interval-ms:1000}")
+  private long spillSyncIntervalMs;
+  
+  @Value("${application.audit.spill-max-bytes:268435456}")
+  private long spillMaxBytes;
+  
+  @Value("${application.audit.dead-letter-file:${java.io.tmpdir}/habit-tracker/audit.deadletter}")
+  private String deadLetterFile;
+  
+  @Value("${application.audit.circuit-breaker.failure-threshold:3}")
+  private int circuitFailureThreshold;
+  
+  @Value("${application.audit.circuit-breaker.open-ms:5000}")
+  private long circuitOpenMs;
+  
+  @Value("${application.audit.circuit-breaker.max-open-ms:60000}")
+  private long circuitMaxOpenMs;
+  
+  @Value("${application.audit.tail.capacity:1024}")
+  private int tailCapacity;
+  
+  @Value("${application.audit.tail.subscriber-queue-capacity:256}")
+  private int tailSubscriberQueueCapacity;
+  
+  @Value("${application.audit.tail.stream-threads:2}")
+  private int tailStreamThreads;
+  
+  @Value("${application.audit.policy-overrides:}")
+  private String policyOverrides;
+  
+  @Value("${application.audit.partitions.precreate-months:3}")
+  private int precreateMonths;
+  
+  @Value("${application.audit.partitions.retention-months:12}")
+  private int retentionMonths;
+  
+  @Value("${application.audit.partitions.retention:DROP}")
+  private AuditPartitionRetention retention;
+  
+  @Value("${application.audit.archive.directory:${java.io.tmpdir}/habit-tracker/audit-archive}")
+  private String archiveDirectory;
+  
+  @Value("${application.audit.archive.after-days:0}")
+  private int archiveAfterDays;
+  
+  @Value("${application.audit.archive.batch-size:1000}")
+  private int archiveBatchSize;
+  
+  @Value("${application.audit.archive.segment-entries:100000}")
+  private int archiveSegmentEntries;
+  
+  @Value("${application.audit.archive.block-entries:512}")
+  private int archiveBlockEntries;
+  
+  /**
+   * Creates the resolver of per-operation audit policies, applying the overrides configured
+   * by {@code application.audit.policy-overrides} on top of the {@code @Audited} declarations.
+   *
+   * @return configured AuditPolicyResolver instance
+   */
+  @Bean
+  public AuditPolicyResolver auditPolicyResolver() {
+    return new AuditPolicyResolver(policyOverrides);
+  }
+  
+  /**
+   * Creates the cache of the audit dictionary shared by every reader and writer of audit logs.
+   *
+   * @param dictionaryRepository repository holding the dictionary entries
+   * @return configured AuditDictionary instance
+   */
+  @Bean
+  public AuditDictionary auditDictionary(AuditDictionaryRepository dictionaryRepository) {
+    return new AuditDictionary(dictionaryRepository);
+  }
+  
+  /**
+   * Creates the in-memory tail of recently written audit logs. It is warmed from the database
+   * before the writer starts publishing to it.
+   *
+   * @param auditLogRepository repository the tail is warmed from
+   * @return configured AuditLogTail instance
+   */
+  @Bean(initMethod = "warmUp", destroyMethod = "shutdown")
+  public AuditLogTail auditLogTail(AuditLogRepository auditLogRepository) {
+    return new AuditLogTail(auditLogRepository, tailCapacity, tailSubscriberQueueCapacity, tailStreamThreads);
+  }
+  
+  /**
+   * Creates the asynchronous audit log writer. The writer thread is started with the context
+   * and drains the queue when the context is closed. Batches are diverted to the local spool
+   * while the circuit breaker considers the database unavailable, and entries the database
+   * rejects are moved to the dead-letter file.
+   *
+   * @param auditLogRepository repository used for batch inserts
+   * @param auditLogTail       tail receiving every stored entry
+   * @return configured AsyncAuditLogWriter instance
+   */
+  @Bean(initMethod = "start", destroyMethod = "shutdown")
+  public AsyncAuditLogWriter auditLogWriter(AuditLogRepository auditLogRepository, AuditLogTail auditLogTail) {
+    return new AsyncAuditLogWriter(
+      auditLogRepository,
+      queueCapacity,
+      batchSize,
+      flushIntervalMs,
+      overflowPolicy,
+      blockTimeoutMs,
+      shutdownTimeoutMs,
+      new AuditLogSpillFile(Path.of(spillFile), spillSyncIntervalMs, spillMaxBytes),
+      new AuditLogSpillFile(Path.of(deadLetterFile), spillSyncIntervalMs, spillMaxBytes),
+      new AuditCircuitBreaker(circuitFailureThreshold, circuitOpenMs, circuitMaxOpenMs),
+      auditLogTail
+    );
+  }
+  
+  /**
+   * Creates the filter measuring response sizes for the audit log. It is registered with the
+   * servlet container under the bean name by {@code MainWebAppInitializer}.
+   *
+   * @param auditLogWriter writer receiving the entries once the response size is known
+   * @return configured AuditResponseSizeFilter instance
+   */
+  @Bean
+  public AuditResponseSizeFilter auditResponseSizeFilter(AsyncAuditLogWriter auditLogWriter) {
+    return new AuditResponseSizeFilter(auditLogWriter);
+  }
+  
+  /**
+   * Creates the audit log partition maintenance job. It runs once when the context starts
+   * and then on the schedule configured by {@code application.audit.partitions.maintenance-cron}.
+   *
+   * @param partitionRepository repository managing the partitions
+   * @return configured AuditPartitionMaintenance instance
+   */
+  @Bean(initMethod = "maintain")
+  public AuditPartitionMaintenance auditPartitionMaintenance(AuditPartitionRepository partitionRepository) {
+    return new AuditPartitionMaintenance(partitionRepository, precreateMonths, retentionMonths, retention);
+  }
+  
+  /**
+   * Creates the local archive of audit logs moved out of the database. Its segments are
+   * mapped when the context starts.
+   *
+   * @return configured AuditLogArchive instance
+   */
+  @Bean(initMethod = "open")
+  public AuditLogArchive auditLogArchive() {
+    return new AuditLogArchive(Path.of(archiveDirectory), archiveBlockEntries);
+  }
+  
+  /**
+   * Creates the job moving audit logs older than {@code application.audit.archive.after-days}
+   * into the archive. It runs on the schedule configured by {@code application.audit.archive.cron}.
+   *
+   * @param auditLogRepository repository the audit logs are moved out of
+   * @param auditLogArchive    archive the audit logs are moved into
+   * @return configured AuditLogArchiver instance
+   */
+  @Bean
+  public AuditLogArchiver auditLogArchiver(AuditLogRepository auditLogRepository, AuditLogArchive auditLogArchive) {
+    return new AuditLogArchiver(auditLogRepository, auditLogArchive, archiveAfterDays, archiveBatchSize,
+      archiveSegmentEntries);
+  }
+}
@@ -1,5 +1,6 @@
 package com.mkhabibullin.infrastructure.config;
 
+import com.mkhabibullin.infrastructure.monitoring.SqlStatementCounter;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import jakarta.persistence.EntityManagerFactory;
@@ -74,6 +75,10 @@ DatabaseConfig {
   /**
    * Creates and configures the JPA EntityManagerFactory.
    * Sets up Hibernate as the JPA provider with specific configuration properties.
+   * Identifiers are taken from per-table sequences through the pooled-lo optimizer,
+   * so inserts need no sequence round trip per row and can be grouped into JDBC batches.
+   * Every prepared statement passes through {@link SqlStatementCounter}, which lets the audit
+   * aspect report the number of statements an operation executed.
    *
    * @return configured EntityManagerFactory
    */
@@ -94,6 +99,11 @@ DatabaseConfig {
     props.setProperty("hibernate.implicit_naming_strategy",
       "org.hibernate.boot.model.naming.ImplicitNamingStrategyLegacyJpaImpl");
     props.setProperty("hibernate.format_sql", "true");
+    props.setProperty("hibernate.id.optimizer.pooled.preferred", "pooled-lo");
+    props.setProperty("hibernate.jdbc.batch_size", "50");
+    props.setProperty("hibernate.order_inserts", "true");
+    props.setProperty("hibernate.order_updates", "true");
+    props.setProperty("hibernate.session_factory.statement_inspector", SqlStatementCounter.class.getName());
     em.setJpaProperties(props);
     return em;
   }
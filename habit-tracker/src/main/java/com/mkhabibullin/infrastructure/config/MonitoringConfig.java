@@ -0,0 +1,23 @@
+package com.mkhabibullin.infrastructure.config;
+
+import com.mkhabibullin.infrastructure.monitoring.LatencyRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for in-process monitoring.
+ * Sets up the registry of live latency histograms fed by the audit aspect.
+ */
+@Configuration
+public class MonitoringConfig {
+  
+  /**
+   * Creates the registry holding one rolling latency histogram per audited operation.
+   *
+   * @return LatencyRegistry instance
+   */
+  @Bean
+  public LatencyRegistry latencyRegistry() {
+    return new LatencyRegistry();
+  }
+}
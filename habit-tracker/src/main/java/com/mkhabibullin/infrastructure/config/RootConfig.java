@@ -19,6 +19,8 @@ import org.springframework.context.annotation.Import;
 @Import({
   PropertyConfig.class,
   AspectConfig.class,
+  AuditConfig.class,
+  MonitoringConfig.class,
   DatabaseConfig.class,
   LiquibaseConfig.class,
   WebConfig.class
@@ -0,0 +1,20 @@
+package com.mkhabibullin.infrastructure.monitoring;
+
+/**
+ * Latency distribution of one operation over a time window.
+ * Percentiles are upper bounds of log-linear histogram buckets, accurate to within 1/16 of the value.
+ *
+ * @param count Number of calls recorded in the window
+ * @param p50Ms Median latency in milliseconds
+ * @param p95Ms 95th percentile latency in milliseconds
+ * @param p99Ms 99th percentile latency in milliseconds
+ * @param maxMs Highest latency in milliseconds
+ */
+public record LatencyPercentiles(
+  long count,
+  double p50Ms,
+  double p95Ms,
+  double p99Ms,
+  double maxMs
+) {
+}
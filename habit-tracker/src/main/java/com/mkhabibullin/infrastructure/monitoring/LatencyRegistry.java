@@ -0,0 +1,46 @@
+package com.mkhabibullin.infrastructure.monitoring;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps one rolling latency histogram per audited operation and reports
+ * 1-minute and 15-minute percentiles for each of them.
+ * Histograms cover 31 slots of 30 seconds: the current slot plus 15 minutes of history.
+ */
+public class LatencyRegistry {
+  private static final long SLOT_MILLIS = TimeUnit.SECONDS.toMillis(30);
+  private static final int SLOTS = 31;
+  private static final int ONE_MINUTE_SLOTS = 2;
+  private static final int FIFTEEN_MINUTE_SLOTS = 30;
+  private final ConcurrentMap<String, RollingLatencyHistogram> histograms = new ConcurrentHashMap<>();
+  
+  /**
+   * Records the duration of one call of an operation.
+   *
+   * @param operation     the operation name
+   * @param durationNanos the call duration in nanoseconds
+   */
+  public void record(String operation, long durationNanos) {
+    histograms.computeIfAbsent(operation, key -> new RollingLatencyHistogram(SLOT_MILLIS, SLOTS))
+      .record(TimeUnit.NANOSECONDS.toMicros(durationNanos), System.currentTimeMillis());
+  }
+  
+  /**
+   * Returns the latency percentiles of every recorded operation.
+   *
+   * @return map of operation names, in alphabetical order, to their 1-minute and 15-minute percentiles
+   */
+  public Map<String, OperationLatencySnapshot> snapshot() {
+    long now = System.currentTimeMillis();
+    Map<String, OperationLatencySnapshot> snapshot = new TreeMap<>();
+    histograms.forEach((operation, histogram) -> snapshot.put(operation, new OperationLatencySnapshot(
+      histogram.snapshot(ONE_MINUTE_SLOTS, now),
+      histogram.snapshot(FIFTEEN_MINUTE_SLOTS, now)
+    )));
+    return snapshot;
+  }
+}
@@ -0,0 +1,13 @@
+package com.mkhabibullin.infrastructure.monitoring;
+
+/**
+ * Rolling latency distributions of one operation.
+ *
+ * @param oneMinute      Distribution over roughly the last minute
+ * @param fifteenMinutes Distribution over roughly the last fifteen minutes
+ */
+public record OperationLatencySnapshot(
+  LatencyPercentiles oneMinute,
+  LatencyPercentiles fifteenMinutes
+) {
+}
@@ -0,0 +1,140 @@
+package com.mkhabibullin.infrastructure.monitoring;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free, fixed-memory latency histogram over a rolling time window.
+ * <p>
+ * Values are recorded in microseconds into log-linear buckets: every power of two is split
+ * into {@value #SUB_BUCKETS} linear sub-buckets, which bounds the relative error of a reported
+ * percentile to 1/16 while covering 1 µs to about 18 minutes with {@value #BUCKETS} counters.
+ * Time is divided into slots of fixed length kept in a ring; a slot is cleared by the first
+ * writer that reaches it in a new period. Recording is a handful of atomic increments and never
+ * allocates. Samples racing with a slot reset may be lost, which only affects the slot boundary.
+ */
+public class RollingLatencyHistogram {
+  private static final int SUB_BUCKET_BITS = 4;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int MAX_EXPONENT = 30;
+  private static final int BUCKETS = SUB_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+  private final long slotMillis;
+  private final int slotCount;
+  private final AtomicLongArray counts;
+  private final AtomicLongArray slotPeriods;
+  private final AtomicLongArray slotMaxima;
+  
+  /**
+   * Creates a histogram covering {@code slotCount} slots of {@code slotMillis} each.
+   *
+   * @param slotMillis length of one slot in milliseconds
+   * @param slotCount  number of slots kept in the ring
+   */
+  public RollingLatencyHistogram(long slotMillis, int slotCount) {
+    this.slotMillis = slotMillis;
+    this.slotCount = slotCount;
+    this.counts = new AtomicLongArray(slotCount * BUCKETS);
+    this.slotPeriods = new AtomicLongArray(slotCount);
+    this.slotMaxima = new AtomicLongArray(slotCount);
+    for (int slot = 0; slot < slotCount; slot++) {
+      slotPeriods.set(slot, -1);
+    }
+  }
+  
+  /**
+   * Records one latency sample.
+   *
+   * @param valueMicros the latency in microseconds
+   * @param nowMillis   the current wall-clock time in milliseconds
+   */
+  public void record(long valueMicros, long nowMillis) {
+    long period = nowMillis / slotMillis;
+    int slot = (int) (period % slotCount);
+    long slotPeriod = slotPeriods.get(slot);
+    if (slotPeriod != period) {
+      if (slotPeriod > period) {
+        return;
+      }
+      if (slotPeriods.compareAndSet(slot, slotPeriod, period)) {
+        int base = slot * BUCKETS;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+          counts.set(base + bucket, 0);
+        }
+        slotMaxima.set(slot, 0);
+      }
+    }
+    long value = Math.max(valueMicros, 0);
+    counts.incrementAndGet(slot * BUCKETS + bucketIndex(value));
+    slotMaxima.accumulateAndGet(slot, value, Math::max);
+  }
+  
+  /**
+   * Computes the percentiles of the current slot and the given number of preceding slots.
+   *
+   * @param previousSlots number of completed slots before the current one to include
+   * @param nowMillis     the current wall-clock time in milliseconds
+   * @return the latency distribution of the window
+   */
+  public LatencyPercentiles snapshot(int previousSlots, long nowMillis) {
+    long currentPeriod = nowMillis / slotMillis;
+    long[] merged = new long[BUCKETS];
+    long total = 0;
+    long max = 0;
+    for (int back = 0; back <= previousSlots && back < slotCount; back++) {
+      long period = currentPeriod - back;
+      int slot = (int) Math.floorMod(period, (long) slotCount);
+      if (slotPeriods.get(slot) != period) {
+        continue;
+      }
+      int base = slot * BUCKETS;
+      for (int bucket = 0; bucket < BUCKETS; bucket++) {
+        long count = counts.get(base + bucket);
+        merged[bucket] += count;
+        total += count;
+      }
+      max = Math.max(max, slotMaxima.get(slot));
+    }
+    return new LatencyPercentiles(
+      total,
+      percentile(merged, total, 0.50, max),
+      percentile(merged, total, 0.95, max),
+      percentile(merged, total, 0.99, max),
+      max / 1000.0
+    );
+  }
+  
+  private static double percentile(long[] counts, long total, double quantile, long max) {
+    if (total == 0) {
+      return 0.0;
+    }
+    long rank = (long) Math.ceil(quantile * total);
+    long seen = 0;
+    for (int bucket = 0; bucket < counts.length; bucket++) {
+      seen += counts[bucket];
+      if (seen >= rank) {
+        return Math.min(bucketUpperBound(bucket), max) / 1000.0;
+      }
+    }
+    return max / 1000.0;
+  }
+  
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+    if (exponent > MAX_EXPONENT) {
+      return BUCKETS - 1;
+    }
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+    return SUB_BUCKETS + (exponent - SUB_BUCKET_BITS) * SUB_BUCKETS + subBucket;
+  }
+  
+  static long bucketUpperBound(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+    int shift = (bucket - SUB_BUCKETS) / SUB_BUCKETS;
+    int subBucket = (bucket - SUB_BUCKETS) % SUB_BUCKETS;
+    return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+  }
+}
@@ -0,0 +1,33 @@
+package com.mkhabibullin.infrastructure.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector counting the SQL statements prepared on each thread.
+ * Callers read the count before and after a unit of work and take the difference,
+ * so nested measurements do not interfere. Statements are passed through unchanged.
+ */
+public class SqlStatementCounter implements StatementInspector {
+  private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[1]);
+  
+  /**
+   * Returns the number of statements prepared on the current thread so far.
+   *
+   * @return the statement count of the current thread
+   */
+  public static long currentCount() {
+    return COUNTS.get()[0];
+  }
+  
+  /**
+   * Counts the statement and returns it unchanged.
+   *
+   * @param sql the SQL about to be prepared
+   * @return the same SQL
+   */
+  @Override
+  public String inspect(String sql) {
+    COUNTS.get()[0]++;
+    return sql;
+  }
+}
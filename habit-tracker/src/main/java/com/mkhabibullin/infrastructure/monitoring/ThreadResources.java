@@ -0,0 +1,67 @@
+package com.mkhabibullin.infrastructure.monitoring;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Reads the CPU time and the allocated heap bytes of the current thread through the JVM's
+ * {@link ThreadMXBean}. Measurements the JVM does not support are reported as -1, so callers
+ * can store them as unknown instead of failing.
+ */
+public final class ThreadResources {
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+  private static final com.sun.management.ThreadMXBean EXTENDED_THREADS =
+    THREADS instanceof com.sun.management.ThreadMXBean extended ? extended : null;
+  private static final boolean CPU_TIME_SUPPORTED = enableCpuTime();
+  private static final boolean ALLOCATED_BYTES_SUPPORTED = enableAllocatedBytes();
+  
+  private ThreadResources() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+  
+  /**
+   * Returns the CPU time consumed by the current thread.
+   *
+   * @return CPU time in nanoseconds, or -1 if not supported
+   */
+  public static long cpuTimeNanos() {
+    return CPU_TIME_SUPPORTED ? THREADS.getCurrentThreadCpuTime() : -1;
+  }
+  
+  /**
+   * Returns the number of heap bytes allocated by the current thread since it started.
+   *
+   * @return allocated bytes, or -1 if not supported
+   */
+  public static long allocatedBytes() {
+    return ALLOCATED_BYTES_SUPPORTED ? EXTENDED_THREADS.getCurrentThreadAllocatedBytes() : -1;
+  }
+  
+  private static boolean enableCpuTime() {
+    try {
+      if (!THREADS.isCurrentThreadCpuTimeSupported()) {
+        return false;
+      }
+      if (!THREADS.isThreadCpuTimeEnabled()) {
+        THREADS.setThreadCpuTimeEnabled(true);
+      }
+      return true;
+    } catch (UnsupportedOperationException | SecurityException e) {
+      return false;
+    }
+  }
+  
+  private static boolean enableAllocatedBytes() {
+    try {
+      if (EXTENDED_THREADS == null || !EXTENDED_THREADS.isThreadAllocatedMemorySupported()) {
+        return false;
+      }
+      if (!EXTENDED_THREADS.isThreadAllocatedMemoryEnabled()) {
+        EXTENDED_THREADS.setThreadAllocatedMemoryEnabled(true);
+      }
+      return true;
+    } catch (UnsupportedOperationException | SecurityException e) {
+      return false;
+    }
+  }
+}
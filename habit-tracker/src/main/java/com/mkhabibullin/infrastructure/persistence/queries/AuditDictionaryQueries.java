@@ -0,0 +1,31 @@
+package com.mkhabibullin.infrastructure.persistence.queries;
+/**
+ * Contains native SQL query constants used by the AuditDictionaryRepository.
+ * This class provides centralized storage for all queries related to audit dictionary entries.
+ */
+public final class AuditDictionaryQueries {
+  
+  private AuditDictionaryQueries() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+  
+  /**
+   * Native SQL query for retrieving the id of a dictionary entry by kind and value.
+   */
+  public static final String GET_ID =
+    "SELECT id FROM audit.audit_dictionary WHERE kind = :kind AND value = :value";
+  
+  /**
+   * Native SQL query for retrieving the value of a dictionary entry by id.
+   */
+  public static final String GET_VALUE =
+    "SELECT value FROM audit.audit_dictionary WHERE id = :id";
+  
+  /**
+   * Native SQL statement inserting a dictionary entry; returns the new id, or no row if
+   * the entry already exists.
+   */
+  public static final String INSERT =
+    "INSERT INTO audit.audit_dictionary (kind, value) VALUES (:kind, :value) " +
+    "ON CONFLICT (kind, value) DO NOTHING RETURNING id";
+}
@@ -23,14 +23,184 @@ public final class AuditLogQueries {
     "ORDER BY a.timestamp DESC";
   
   /**
-   * JPQL query for retrieving audit logs by operation.
+   * Native SQL query aggregating the audit logs of a timestamp range in a single scan.
+   * Returns one row per operation, with the username column null, holding the call count,
+   * summed execution time, the number of calls with telemetry and the telemetry sums, and one
+   * row per username, with the operation column null, holding the call count.
+   */
+  public static final String SUMMARIZE_BY_TIMESTAMP_RANGE =
+    "SELECT d.value, a.username, COUNT(*), SUM(a.execution_time_ms), COUNT(a.execution_time_ns), " +
+    "COALESCE(SUM(a.execution_time_ns), 0), COALESCE(SUM(a.cpu_time_ns), 0), COALESCE(SUM(a.allocated_bytes), 0), " +
+    "COALESCE(SUM(a.sql_statements), 0), COALESCE(SUM(a.response_bytes), 0) FROM audit.audit_logs a " +
+    "JOIN audit.audit_dictionary d ON d.id = a.operation_id " +
+    "WHERE a.timestamp BETWEEN :startTimestamp AND :endTimestamp " +
+    "GROUP BY GROUPING SETS ((d.value), (a.username))";
+  
+  /**
+   * Native SQL query aggregating the per-minute rollups of a half-open range of minutes.
+   * Returns rows of the same shape as {@link #SUMMARIZE_BY_TIMESTAMP_RANGE}.
+   */
+  public static final String SUMMARIZE_ROLLUPS =
+    "SELECT operation, username, SUM(call_count), SUM(total_time_ms), SUM(measured_count), SUM(total_time_ns), " +
+    "SUM(total_cpu_time_ns), SUM(total_allocated_bytes), SUM(total_sql_statements), SUM(total_response_bytes) " +
+    "FROM audit.audit_rollups " +
+    "WHERE minute_bucket >= :fromMinute AND minute_bucket < :toMinute " +
+    "GROUP BY GROUPING SETS ((operation), (username))";
+  
+  /**
+   * Native SQL prefix of a multi-row rollup upsert; followed by one
+   * {@code (:minuteN, :operationN, :usernameN, :countN, :totalN, :minN, :maxN, :measuredN, :timeNsN, :cpuTimeNsN,
+   * :allocatedBytesN, :sqlStatementsN, :responseBytesN, CAST(:histogramN AS BIGINT[]))}
+   * tuple per row and {@link #UPSERT_ROLLUPS_SUFFIX}.
+   */
+  public static final String UPSERT_ROLLUPS_PREFIX =
+    "INSERT INTO audit.audit_rollups (minute_bucket, operation, username, call_count, total_time_ms, " +
+    "min_time_ms, max_time_ms, measured_count, total_time_ns, total_cpu_time_ns, total_allocated_bytes, " +
+    "total_sql_statements, total_response_bytes, latency_histogram) VALUES ";
+  
+  /**
+   * Native SQL suffix of a multi-row rollup upsert, adding the new calls to existing buckets.
+   */
+  public static final String UPSERT_ROLLUPS_SUFFIX =
+    " ON CONFLICT (minute_bucket, operation, username) DO UPDATE SET " +
+    "call_count = audit_rollups.call_count + EXCLUDED.call_count, " +
+    "total_time_ms = audit_rollups.total_time_ms + EXCLUDED.total_time_ms, " +
+    "min_time_ms = LEAST(audit_rollups.min_time_ms, EXCLUDED.min_time_ms), " +
+    "max_time_ms = GREATEST(audit_rollups.max_time_ms, EXCLUDED.max_time_ms), " +
+    "measured_count = audit_rollups.measured_count + EXCLUDED.measured_count, " +
+    "total_time_ns = audit_rollups.total_time_ns + EXCLUDED.total_time_ns, " +
+    "total_cpu_time_ns = audit_rollups.total_cpu_time_ns + EXCLUDED.total_cpu_time_ns, " +
+    "total_allocated_bytes = audit_rollups.total_allocated_bytes + EXCLUDED.total_allocated_bytes, " +
+    "total_sql_statements = audit_rollups.total_sql_statements + EXCLUDED.total_sql_statements, " +
+    "total_response_bytes = audit_rollups.total_response_bytes + EXCLUDED.total_response_bytes, " +
+    "latency_histogram = ARRAY(SELECT h.a + h.b FROM unnest(audit_rollups.latency_histogram, " +
+    "EXCLUDED.latency_histogram) WITH ORDINALITY AS h(a, b, i) ORDER BY h.i)";
+  
+  /**
+   * JPQL query for retrieving audit logs by operation dictionary id.
    */
   public static final String GET_BY_OPERATION =
-    "SELECT a FROM AuditLog a WHERE a.operation = :operation ORDER BY a.timestamp DESC";
+    "SELECT a FROM AuditLog a WHERE a.operationId = :operationId ORDER BY a.timestamp DESC";
+  
+  /**
+   * JPQL query for retrieving audit logs by operation dictionary id and status.
+   */
+  public static final String GET_BY_OPERATION_AND_STATUS =
+    "SELECT a FROM AuditLog a WHERE a.operationId = :operationId AND a.status = :status " +
+    "ORDER BY a.timestamp DESC";
   
   /**
    * JPQL query for retrieving recent audit logs.
    */
   public static final String GET_RECENT_LOGS =
     "SELECT a FROM AuditLog a ORDER BY a.timestamp DESC";
+  
+  /**
+   * JPQL prefix of a filtered audit log query; followed by any of the filter conditions
+   * and {@link #EXPORT_ORDER} or {@link #SEARCH_ORDER}.
+   */
+  public static final String FILTER_PREFIX =
+    "SELECT a FROM AuditLog a WHERE 1 = 1";
+  
+  /**
+   * JPQL filter condition restricting the timestamp from below.
+   */
+  public static final String FILTER_START_CONDITION =
+    " AND a.timestamp >= :startTimestamp";
+  
+  /**
+   * JPQL filter condition restricting the timestamp from above.
+   */
+  public static final String FILTER_END_CONDITION =
+    " AND a.timestamp <= :endTimestamp";
+  
+  /**
+   * JPQL filter condition restricting the username.
+   */
+  public static final String FILTER_USERNAME_CONDITION =
+    " AND a.username = :username";
+  
+  /**
+   * JPQL filter condition restricting the operation dictionary id.
+   */
+  public static final String FILTER_OPERATION_CONDITION =
+    " AND a.operationId = :operationId";
+  
+  /**
+   * JPQL filter condition restricting the status.
+   */
+  public static final String FILTER_STATUS_CONDITION =
+    " AND a.status = :status";
+  
+  /**
+   * JPQL filter condition restricting the HTTP method.
+   */
+  public static final String FILTER_REQUEST_METHOD_CONDITION =
+    " AND a.requestMethod = :requestMethod";
+  
+  /**
+   * JPQL filter condition restricting the execution time from below.
+   */
+  public static final String FILTER_MIN_EXECUTION_TIME_CONDITION =
+    " AND a.executionTimeMs >= :minExecutionTimeMs";
+  
+  /**
+   * JPQL search condition continuing after a cursor in {@link #SEARCH_ORDER}. The row value
+   * comparison lets the database start an index range scan directly at the cursor.
+   */
+  public static final String SEARCH_AFTER_CONDITION =
+    " AND (a.timestamp, a.id) < (:cursorTimestamp, :cursorId)";
+  
+  /**
+   * JPQL ordering of an audit log search, newest entry first.
+   */
+  public static final String SEARCH_ORDER =
+    " ORDER BY a.timestamp DESC, a.id DESC";
+  
+  /**
+   * JPQL ordering of an audit log export, oldest entry first.
+   */
+  public static final String EXPORT_ORDER =
+    " ORDER BY a.timestamp, a.id";
+  
+  /**
+   * Native SQL command streaming audit logs in binary COPY format, with the columns in the
+   * order of {@link #INSERT_AUDIT_LOGS_PREFIX}.
+   */
+  public static final String COPY_AUDIT_LOGS =
+    "COPY audit.audit_logs (id, username, method_name_id, operation_id, timestamp, execution_time_ms, " +
+    "request_uri_id, request_method, status, error_class_id, execution_time_ns, cpu_time_ns, allocated_bytes, " +
+    "sql_statements, response_bytes) FROM STDIN (FORMAT BINARY)";
+  
+  /**
+   * JPQL query for retrieving the audit logs older than a timestamp, oldest first, for archiving.
+   */
+  public static final String GET_ARCHIVABLE =
+    "SELECT a FROM AuditLog a WHERE a.timestamp < :before ORDER BY a.timestamp, a.id";
+  
+  /**
+   * JPQL query for retrieving the audit logs older than a timestamp that follow a position,
+   * oldest first, for archiving.
+   */
+  public static final String GET_ARCHIVABLE_AFTER =
+    "SELECT a FROM AuditLog a WHERE a.timestamp < :before " +
+    "AND (a.timestamp, a.id) > (:afterTimestamp, :afterId) ORDER BY a.timestamp, a.id";
+  
+  /**
+   * Native SQL query deleting archived audit logs by id. The timestamp bounds restrict the
+   * delete to the partitions holding the entries.
+   */
+  public static final String DELETE_ARCHIVED =
+    "DELETE FROM audit.audit_logs WHERE timestamp BETWEEN :firstTimestamp AND :lastTimestamp AND id IN (:ids)";
+  
+  /**
+   * Native SQL prefix of a multi-row audit log insert; followed by one
+   * {@code (:idN, :usernameN, :methodNameIdN, :operationIdN, :timestampN, :executionTimeMsN, :requestUriIdN,
+   * :requestMethodN, :statusN, :errorClassIdN, :executionTimeNsN, :cpuTimeNsN, :allocatedBytesN, :sqlStatementsN,
+   * :responseBytesN)} tuple per row.
+   */
+  public static final String INSERT_AUDIT_LOGS_PREFIX =
+    "INSERT INTO audit.audit_logs (id, username, method_name_id, operation_id, timestamp, execution_time_ms, " +
+    "request_uri_id, request_method, status, error_class_id, execution_time_ns, cpu_time_ns, allocated_bytes, " +
+    "sql_statements, response_bytes) VALUES ";
 }
\ No newline at end of file
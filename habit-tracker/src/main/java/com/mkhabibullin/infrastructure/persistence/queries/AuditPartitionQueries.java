@@ -0,0 +1,45 @@
+package com.mkhabibullin.infrastructure.persistence.queries;
+/**
+ * Contains native SQL constants used by the AuditPartitionRepository
+ * to inspect and manage the monthly partitions of {@code audit.audit_logs}.
+ */
+public final class AuditPartitionQueries {
+  
+  private AuditPartitionQueries() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+  
+  /**
+   * Prefix of the name of every monthly partition, followed by the month as {@code yyyyMM}.
+   */
+  public static final String PARTITION_PREFIX = "audit_logs_p";
+  
+  /**
+   * Native SQL query listing the names of all partitions attached to {@code audit.audit_logs}.
+   */
+  public static final String GET_PARTITION_NAMES =
+    "SELECT c.relname FROM pg_inherits i " +
+    "JOIN pg_class c ON c.oid = i.inhrelid " +
+    "JOIN pg_class p ON p.oid = i.inhparent " +
+    "JOIN pg_namespace n ON n.oid = p.relnamespace " +
+    "WHERE n.nspname = 'audit' AND p.relname = 'audit_logs'";
+  
+  /**
+   * Native DDL template creating a monthly partition; takes the partition name and the
+   * inclusive lower and exclusive upper bound dates.
+   */
+  public static final String CREATE_PARTITION =
+    "CREATE TABLE IF NOT EXISTS audit.%s PARTITION OF audit.audit_logs FOR VALUES FROM ('%s') TO ('%s')";
+  
+  /**
+   * Native DDL template detaching a partition, leaving it as a standalone table.
+   */
+  public static final String DETACH_PARTITION =
+    "ALTER TABLE audit.audit_logs DETACH PARTITION audit.%s";
+  
+  /**
+   * Native DDL template dropping a partition together with its rows.
+   */
+  public static final String DROP_PARTITION =
+    "DROP TABLE IF EXISTS audit.%s";
+}
@@ -0,0 +1,63 @@
+package com.mkhabibullin.infrastructure.persistence.queries;
+
+/**
+ * Contains query constants used by the HabitCompletionBitmapRepository.
+ * This class provides centralized storage for all queries related to habit completion bitmap operations.
+ */
+public final class HabitCompletionBitmapRepositoryQueries {
+  
+  private HabitCompletionBitmapRepositoryQueries() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+  
+  /**
+   * JPQL query for retrieving all bitmaps of a habit.
+   */
+  public static final String GET_BY_HABIT_ID =
+    "SELECT b FROM HabitCompletionBitmap b WHERE b.habitId = :habitId ORDER BY b.calendarYear";
+  
+  /**
+   * JPQL query for retrieving all bitmaps of several habits.
+   */
+  public static final String GET_BY_HABIT_IDS =
+    "SELECT b FROM HabitCompletionBitmap b WHERE b.habitId IN :habitIds ORDER BY b.habitId, b.calendarYear";
+  
+  /**
+   * JPQL query for retrieving the bitmaps of a habit within a range of years.
+   */
+  public static final String GET_BY_HABIT_AND_YEAR_RANGE =
+    "SELECT b FROM HabitCompletionBitmap b WHERE b.habitId = :habitId " +
+    "AND b.calendarYear BETWEEN :fromYear AND :toYear ORDER BY b.calendarYear";
+  
+  /**
+   * JPQL query for retrieving the bitmap of a habit for a single year.
+   */
+  public static final String GET_BY_HABIT_AND_YEAR =
+    "SELECT b FROM HabitCompletionBitmap b WHERE b.habitId = :habitId AND b.calendarYear = :calendarYear";
+  
+  /**
+   * Native SQL query creating an empty bitmap for a habit and year unless one already exists.
+   */
+  public static final String INSERT_EMPTY_IF_ABSENT =
+    "INSERT INTO entity.habit_completion_bitmaps (habit_id, calendar_year, recorded_words, completed_words) " +
+    "VALUES (:habitId, :calendarYear, array_fill(CAST(0 AS BIGINT), ARRAY[6]), array_fill(CAST(0 AS BIGINT), ARRAY[6])) " +
+    "ON CONFLICT (habit_id, calendar_year) DO NOTHING";
+  
+  /**
+   * Native SQL query marking the days of one array word as recorded and setting their completion bits in place.
+   * {@code :mask} selects the affected days and {@code :completedMask} the completed ones among them.
+   * Array subscripts are one-based.
+   */
+  public static final String MARK_DAYS =
+    "UPDATE entity.habit_completion_bitmaps " +
+    "SET recorded_words[:word] = recorded_words[:word] | :mask, " +
+    "completed_words[:word] = (completed_words[:word] & ~CAST(:mask AS BIGINT)) | :completedMask " +
+    "WHERE habit_id = :habitId AND calendar_year = :calendarYear";
+  
+  /**
+   * JPQL query for deriving the state of a single day from the habit's executions.
+   */
+  public static final String GET_DAY_STATE =
+    "SELECT COUNT(e), COALESCE(SUM(CASE WHEN e.completed = true THEN 1 ELSE 0 END), 0) " +
+    "FROM HabitExecution e WHERE e.habitId = :habitId AND e.date = :date";
+}
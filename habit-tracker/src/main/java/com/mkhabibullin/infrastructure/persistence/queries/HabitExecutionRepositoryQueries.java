@@ -15,6 +15,35 @@ public final class HabitExecutionRepositoryQueries {
   public static final String GET_BY_HABIT_ID =
     "SELECT e FROM HabitExecution e WHERE e.habitId = :habitId ORDER BY e.date";
   
+  /**
+   * Native SQL query inserting an execution or updating the completion flag of the existing
+   * execution of the same habit and day. Returns the ID of the inserted or updated row.
+   */
+  public static final String UPSERT_EXECUTION =
+    "INSERT INTO entity.habit_executions (habit_id, date, completed) VALUES (:habitId, :date, :completed) " +
+    "ON CONFLICT (habit_id, date) DO UPDATE SET completed = EXCLUDED.completed " +
+    "RETURNING id";
+  
+  /**
+   * Native SQL prefix of a multi-row execution upsert; followed by one
+   * {@code (:idN, :habitIdN, :dateN, :completedN)} tuple per row and {@link #UPSERT_EXECUTIONS_SUFFIX}.
+   */
+  public static final String UPSERT_EXECUTIONS_PREFIX =
+    "INSERT INTO entity.habit_executions (id, habit_id, date, completed) VALUES ";
+  
+  /**
+   * Native SQL suffix of a multi-row execution upsert.
+   */
+  public static final String UPSERT_EXECUTIONS_SUFFIX =
+    " ON CONFLICT (habit_id, date) DO UPDATE SET completed = EXCLUDED.completed";
+  
+  /**
+   * JPQL query for retrieving the executions of a habit that follow a given date, in date order.
+   * Used for keyset pagination over the {@code (habit_id, date)} index.
+   */
+  public static final String GET_BY_HABIT_ID_AFTER_DATE =
+    "SELECT e FROM HabitExecution e WHERE e.habitId = :habitId AND e.date > :after ORDER BY e.date";
+  
   /**
    * JPQL query for updating an execution.
    */
@@ -22,6 +51,12 @@ public final class HabitExecutionRepositoryQueries {
     "UPDATE HabitExecution e SET e.date = :date, e.completed = :completed " +
     "WHERE e.id = :id";
   
+  /**
+   * JPQL query for retrieving the habit ID and date of an execution by ID.
+   */
+  public static final String GET_HABIT_AND_DATE_BY_ID =
+    "SELECT e.habitId, e.date FROM HabitExecution e WHERE e.id = :id";
+  
   /**
    * JPQL query for retrieving an execution by ID.
    */
@@ -34,4 +69,62 @@ public final class HabitExecutionRepositoryQueries {
   public static final String GET_BY_HABIT_AND_DATE_RANGE =
     "SELECT e FROM HabitExecution e WHERE e.habitId = :habitId " +
     "AND e.date BETWEEN :startDate AND :endDate ORDER BY e.date";
-}
\ No newline at end of file
+  
+  /**
+   * JPQL query for retrieving only the dates and completion flags of a habit's executions within a date range.
+   */
+  public static final String GET_TIMELINE_BY_HABIT_AND_DATE_RANGE =
+    "SELECT e.date, e.completed FROM HabitExecution e WHERE e.habitId = :habitId " +
+    "AND e.date BETWEEN :startDate AND :endDate ORDER BY e.date";
+  
+  /**
+   * Native SQL query for aggregating completed and missed executions of a habit within a date range.
+   * Returns one row per ISO day of week (1 = Monday ... 7 = Sunday) with completed and missed counts.
+   */
+  public static final String GET_SUMMARY_BY_HABIT_AND_DATE_RANGE =
+    "SELECT CAST(EXTRACT(ISODOW FROM e.date) AS INTEGER) AS day_of_week, " +
+    "COUNT(*) FILTER (WHERE e.completed) AS completed_count, " +
+    "COUNT(*) FILTER (WHERE NOT e.completed) AS missed_count " +
+    "FROM entity.habit_executions e " +
+    "WHERE e.habit_id = :habitId AND e.date BETWEEN :startDate AND :endDate " +
+    "GROUP BY day_of_week";
+  
+  /**
+   * Native SQL query finding runs of consecutive completed days of a habit within a date range.
+   * Completed days are grouped into islands by {@code date - ROW_NUMBER()}, which is constant
+   * within a run of consecutive dates. Returns the top {@code :limit} islands by length
+   * plus the island ending on {@code :today}, ordered by rank.
+   */
+  public static final String GET_STREAKS_BY_HABIT_AND_DATE_RANGE =
+    "WITH days AS (" +
+    "  SELECT DISTINCT e.date FROM entity.habit_executions e " +
+    "  WHERE e.habit_id = :habitId AND e.date BETWEEN :startDate AND :endDate AND e.completed" +
+    "), islands AS (" +
+    "  SELECT MIN(d.date) AS start_date, MAX(d.date) AS end_date, COUNT(*) AS length " +
+    "  FROM (SELECT date, date - CAST(ROW_NUMBER() OVER (ORDER BY date) AS INTEGER) AS island FROM days) d " +
+    "  GROUP BY d.island" +
+    "), ranked AS (" +
+    "  SELECT start_date, end_date, length, " +
+    "    ROW_NUMBER() OVER (ORDER BY length DESC, end_date DESC) AS streak_rank " +
+    "  FROM islands" +
+    ") " +
+    "SELECT start_date, end_date, length FROM ranked " +
+    "WHERE streak_rank <= :limit OR end_date = :today " +
+    "ORDER BY streak_rank";
+  
+  /**
+   * Native SQL query aggregating today's, the trailing week's and the trailing month's
+   * execution counts for every habit of a user in a single pass.
+   */
+  public static final String GET_ACTIVITY_BY_USER_ID =
+    "SELECT e.habit_id, " +
+    "COUNT(*) FILTER (WHERE e.date = :today) AS today_total, " +
+    "COUNT(*) FILTER (WHERE e.date = :today AND e.completed) AS today_completed, " +
+    "COUNT(*) FILTER (WHERE e.date >= :weekStart) AS week_total, " +
+    "COUNT(*) FILTER (WHERE e.date >= :weekStart AND e.completed) AS week_completed, " +
+    "COUNT(*) AS month_total, " +
+    "COUNT(*) FILTER (WHERE e.completed) AS month_completed " +
+    "FROM entity.habit_executions e JOIN entity.habits h ON h.id = e.habit_id " +
+    "WHERE h.user_id = :userId AND e.date BETWEEN :monthStart AND :today " +
+    "GROUP BY e.habit_id";
+}
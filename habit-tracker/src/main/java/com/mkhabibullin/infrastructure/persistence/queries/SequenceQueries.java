@@ -0,0 +1,16 @@
+package com.mkhabibullin.infrastructure.persistence.queries;
+/**
+ * Contains native SQL query constants for allocating identifiers from database sequences.
+ */
+public final class SequenceQueries {
+  
+  private SequenceQueries() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+  
+  /**
+   * Native SQL query advancing the given sequence {@code :count} times and returning each value.
+   */
+  public static final String NEXT_VALUES =
+    "SELECT nextval(CAST(:sequence AS regclass)) FROM generate_series(1, :count)";
+}
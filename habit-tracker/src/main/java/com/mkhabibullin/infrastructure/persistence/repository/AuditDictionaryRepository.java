@@ -0,0 +1,35 @@
+package com.mkhabibullin.infrastructure.persistence.repository;
+
+import com.mkhabibullin.infrastructure.audit.AuditDictionaryKind;
+
+/**
+ * Repository interface for the dictionary of text values referenced by audit logs.
+ */
+public interface AuditDictionaryRepository {
+  
+  /**
+   * Finds the id of a dictionary entry.
+   *
+   * @param kind  the kind of the value
+   * @param value the value
+   * @return the id of the entry, or null if there is none
+   */
+  Integer findId(AuditDictionaryKind kind, String value);
+  
+  /**
+   * Finds the id of a dictionary entry, creating the entry if it does not exist.
+   *
+   * @param kind  the kind of the value
+   * @param value the value
+   * @return the id of the entry
+   */
+  int getOrCreateId(AuditDictionaryKind kind, String value);
+  
+  /**
+   * Finds the value of a dictionary entry.
+   *
+   * @param id the id of the entry
+   * @return the value of the entry, or null if there is none
+   */
+  String findValue(int id);
+}
@@ -1,9 +1,14 @@
 package com.mkhabibullin.infrastructure.persistence.repository;
 
 import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.domain.model.AuditLogCursor;
+import com.mkhabibullin.domain.model.AuditLogFilter;
+import com.mkhabibullin.domain.model.AuditStatus;
+import com.mkhabibullin.domain.model.AuditSummary;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Repository interface for AuditLog entities.
@@ -11,12 +16,19 @@ import java.util.List;
 public interface AuditLogRepository {
   
   /**
-   * Saves a new audit log entry.
+   * Saves a new audit log entry and adds it to the per-minute rollups.
    *
    * @param auditLog the audit log to save
    */
   void save(AuditLog auditLog);
   
+  /**
+   * Saves a batch of audit log entries using multi-row inserts and adds them to the per-minute rollups.
+   *
+   * @param auditLogs the audit logs to save
+   */
+  void saveAll(List<AuditLog> auditLogs);
+  
   /**
    * Finds an audit log by its ID.
    *
@@ -42,6 +54,26 @@ public interface AuditLogRepository {
    */
   List<AuditLog> findByTimestampRange(LocalDateTime startTimestamp, LocalDateTime endTimestamp);
   
+  /**
+   * Aggregates the audit logs within a timestamp range into per-operation and per-user counts
+   * without loading the logs themselves.
+   *
+   * @param startTimestamp start of the range
+   * @param endTimestamp   end of the range
+   * @return the aggregated counts of the range
+   */
+  AuditSummary summarizeByTimestampRange(LocalDateTime startTimestamp, LocalDateTime endTimestamp);
+  
+  /**
+   * Aggregates the per-minute rollups of the minutes in {@code [fromMinute, toMinute)}.
+   * Both bounds must be whole minutes.
+   *
+   * @param fromMinute first minute of the range
+   * @param toMinute   first minute after the range
+   * @return the aggregated counts of the range
+   */
+  AuditSummary summarizeRollups(LocalDateTime fromMinute, LocalDateTime toMinute);
+  
   /**
    * Finds audit logs by operation.
    *
@@ -50,6 +82,15 @@ public interface AuditLogRepository {
    */
   List<AuditLog> findByOperation(String operation);
   
+  /**
+   * Finds audit logs by operation and status.
+   *
+   * @param operation the operation to search for
+   * @param status    the status to search for
+   * @return list of matching audit logs
+   */
+  List<AuditLog> findByOperation(String operation, AuditStatus status);
+  
   /**
    * Finds the most recent audit logs.
    *
@@ -57,4 +98,41 @@ public interface AuditLogRepository {
    * @return list of recent audit logs
    */
   List<AuditLog> findRecentLogs(int limit);
-}
\ No newline at end of file
+  
+  /**
+   * Passes every audit log matching the filter to the given action, oldest first.
+   * Entries are read through a forward-only cursor and are not attached to any persistence context.
+   *
+   * @param filter criteria the audit logs must match
+   * @param action action applied to each matching audit log
+   */
+  void forEachMatching(AuditLogFilter filter, Consumer<AuditLog> action);
+  
+  /**
+   * Finds one page of the audit logs matching the filter, newest first.
+   *
+   * @param filter criteria the audit logs must match
+   * @param after  position to continue after, or null for the first page
+   * @param limit  maximum number of logs to retrieve
+   * @return the matching audit logs ordered by timestamp and id, descending
+   */
+  List<AuditLog> search(AuditLogFilter filter, AuditLogCursor after, int limit);
+  
+  /**
+   * Finds audit logs older than a timestamp in ascending timestamp and id order, for archiving.
+   *
+   * @param before exclusive upper bound of the timestamps
+   * @param after  position to continue after in ascending order, or null to start at the oldest entry
+   * @param limit  maximum number of logs to retrieve
+   * @return the audit logs ordered by timestamp and id, ascending
+   */
+  List<AuditLog> findArchivable(LocalDateTime before, AuditLogCursor after, int limit);
+  
+  /**
+   * Deletes audit logs that have been moved to the archive. Rollups are kept.
+   *
+   * @param auditLogs stored audit logs, identified by id and timestamp
+   * @return the number of deleted rows
+   */
+  int deleteArchived(List<AuditLog> auditLogs);
+}
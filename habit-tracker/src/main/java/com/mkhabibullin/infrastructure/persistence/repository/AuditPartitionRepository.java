@@ -0,0 +1,38 @@
+package com.mkhabibullin.infrastructure.persistence.repository;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Repository interface for the monthly partitions of the audit log table.
+ */
+public interface AuditPartitionRepository {
+  
+  /**
+   * Lists the months that currently have a partition attached.
+   *
+   * @return partitioned months in ascending order
+   */
+  List<YearMonth> findPartitionMonths();
+  
+  /**
+   * Creates the partition for a month if it does not exist.
+   *
+   * @param month the month to create a partition for
+   */
+  void createPartition(YearMonth month);
+  
+  /**
+   * Detaches the partition of a month, keeping its rows in a standalone table.
+   *
+   * @param month the month whose partition is detached
+   */
+  void detachPartition(YearMonth month);
+  
+  /**
+   * Drops the partition of a month together with its rows.
+   *
+   * @param month the month whose partition is dropped
+   */
+  void dropPartition(YearMonth month);
+}
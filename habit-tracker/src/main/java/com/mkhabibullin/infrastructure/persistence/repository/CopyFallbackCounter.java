@@ -0,0 +1,15 @@
+package com.mkhabibullin.infrastructure.persistence.repository;
+
+/**
+ * Implemented by audit log repositories that write batches with a bulk COPY and fall back to
+ * multi-row inserts when it fails.
+ */
+public interface CopyFallbackCounter {
+  
+  /**
+   * Returns the number of batches written with multi-row inserts because their bulk COPY failed.
+   *
+   * @return the fallback count
+   */
+  long getCopyFallbackCount();
+}
@@ -0,0 +1,70 @@
+package com.mkhabibullin.infrastructure.persistence.repository;
+
+import com.mkhabibullin.domain.model.HabitCompletionBitmap;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for HabitCompletionBitmap entities.
+ * Keeps the day-indexed completion bitmaps of habits in sync with their executions.
+ */
+public interface HabitCompletionBitmapRepository {
+  
+  /**
+   * Re-derives the state of a single day from the habit's executions and stores it in the bitmap.
+   * Creates the bitmap for the date's year if it does not exist yet.
+   *
+   * @param habitId The ID of the habit
+   * @param date    The day to refresh
+   */
+  void refreshDay(Long habitId, LocalDate date);
+  
+  /**
+   * Marks a day as recorded and sets its completion flag without reading the habit's executions.
+   * Only valid when the day has exactly one execution with the given completion flag.
+   *
+   * @param habitId   The ID of the habit
+   * @param date      The day to mark
+   * @param completed Whether the day's execution is completed
+   */
+  void markDay(Long habitId, LocalDate date, boolean completed);
+  
+  /**
+   * Marks several days of one year as recorded and sets their completion flags without reading
+   * the habit's executions. Only valid when each marked day has exactly one execution.
+   *
+   * @param habitId        The ID of the habit
+   * @param calendarYear   The year the days belong to
+   * @param recordedMasks  Per-word masks of the days to mark
+   * @param completedMasks Per-word masks of the completed days among them
+   */
+  void markDays(Long habitId, int calendarYear, long[] recordedMasks, long[] completedMasks);
+  
+  /**
+   * Retrieves all bitmaps of a habit.
+   *
+   * @param habitId The ID of the habit
+   * @return List of yearly bitmaps ordered by year
+   */
+  List<HabitCompletionBitmap> getByHabitId(Long habitId);
+  
+  /**
+   * Retrieves all bitmaps of several habits in a single query.
+   *
+   * @param habitIds The IDs of the habits
+   * @return List of yearly bitmaps ordered by habit and year
+   */
+  List<HabitCompletionBitmap> getByHabitIds(Collection<Long> habitIds);
+  
+  /**
+   * Retrieves the bitmaps of a habit covering a range of years.
+   *
+   * @param habitId  The ID of the habit
+   * @param fromYear The first year (inclusive)
+   * @param toYear   The last year (inclusive)
+   * @return List of yearly bitmaps ordered by year
+   */
+  List<HabitCompletionBitmap> getByHabitAndYearRange(Long habitId, int fromYear, int toYear);
+}
@@ -1,9 +1,14 @@
 package com.mkhabibullin.infrastructure.persistence.repository;
 
+import com.mkhabibullin.domain.model.ExecutionTimeline;
+import com.mkhabibullin.domain.model.HabitActivity;
 import com.mkhabibullin.domain.model.HabitExecution;
+import com.mkhabibullin.domain.model.HabitExecutionSummary;
+import com.mkhabibullin.domain.model.StreakSummary;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Repository interface for HabitExecution entities.
@@ -18,6 +23,22 @@ public interface HabitExecutionRepository {
    */
   void save(HabitExecution execution);
   
+  /**
+   * Records a habit execution, replacing the completion status of an existing
+   * execution of the same habit and day. Sets the ID of the stored row on the given execution.
+   *
+   * @param execution The habit execution to record
+   */
+  void upsert(HabitExecution execution);
+  
+  /**
+   * Records many habit executions with multi-row upserts. The executions must not
+   * contain two entries for the same habit and day.
+   *
+   * @param executions The habit executions to record
+   */
+  void upsertAll(List<HabitExecution> executions);
+  
   /**
    * Retrieves all execution records for a specific habit.
    *
@@ -26,6 +47,25 @@ public interface HabitExecutionRepository {
    */
   List<HabitExecution> getByHabitId(Long habitId);
   
+  /**
+   * Retrieves one page of a habit's executions in date order using keyset pagination.
+   *
+   * @param habitId The ID of the habit
+   * @param after   The date of the last execution of the previous page, or null for the first page
+   * @param limit   Maximum number of executions to return
+   * @return List of at most {@code limit} executions dated after {@code after}
+   */
+  List<HabitExecution> getPageByHabitId(Long habitId, LocalDate after, int limit);
+  
+  /**
+   * Streams all executions of a habit in date order to the given action without
+   * materializing the whole history. Must be called within a transaction.
+   *
+   * @param habitId The ID of the habit
+   * @param action  The action invoked for each execution
+   */
+  void forEachByHabitId(Long habitId, Consumer<HabitExecution> action);
+  
   /**
    * Updates an existing habit execution record.
    *
@@ -57,4 +97,50 @@ public interface HabitExecutionRepository {
    * @return List of executions within the range
    */
   List<HabitExecution> getByHabitAndDateRange(Long habitId, LocalDate startDate, LocalDate endDate);
-}
\ No newline at end of file
+  
+  /**
+   * Aggregates completed and missed executions of a habit within a date range
+   * in a single database round-trip, without loading individual executions.
+   *
+   * @param habitId   The ID of the habit
+   * @param startDate The start date of the range
+   * @param endDate   The end date of the range
+   * @return Summary of execution counts within the range
+   */
+  HabitExecutionSummary getSummaryByHabitAndDateRange(Long habitId, LocalDate startDate, LocalDate endDate);
+  
+  /**
+   * Retrieves a compact, date-ordered snapshot of a habit's executions within a date range.
+   * Only dates and completion flags are loaded; no entities are created.
+   *
+   * @param habitId   The ID of the habit
+   * @param startDate The start date of the range
+   * @param endDate   The end date of the range
+   * @return Timeline of executions within the range
+   */
+  ExecutionTimeline getTimelineByHabitAndDateRange(Long habitId, LocalDate startDate, LocalDate endDate);
+  
+  /**
+   * Computes the streaks of a habit within a date range in a single query.
+   *
+   * @param habitId   The ID of the habit
+   * @param startDate The start date of the range
+   * @param endDate   The end date of the range
+   * @param today     The day the current streak must end on
+   * @param limit     Maximum number of top streak intervals to return
+   * @return Current streak, longest streak and the longest streak intervals within the range
+   */
+  StreakSummary getStreakSummary(Long habitId, LocalDate startDate, LocalDate endDate, LocalDate today, int limit);
+  
+  /**
+   * Aggregates recent execution counts for all habits of a user in a single query.
+   * Habits without executions in the trailing month are not included.
+   *
+   * @param userId     The ID of the user
+   * @param weekStart  The first day of the trailing week
+   * @param monthStart The first day of the trailing month
+   * @param today      The current day
+   * @return List of per-habit activity counts
+   */
+  List<HabitActivity> getActivityByUserId(Long userId, LocalDate weekStart, LocalDate monthStart, LocalDate today);
+}
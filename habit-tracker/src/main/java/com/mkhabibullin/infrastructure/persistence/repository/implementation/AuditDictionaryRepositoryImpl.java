@@ -0,0 +1,116 @@
+package com.mkhabibullin.infrastructure.persistence.repository.implementation;
+
+import com.mkhabibullin.common.MessageConstants;
+import com.mkhabibullin.domain.exception.RepositoryException;
+import com.mkhabibullin.infrastructure.audit.AuditDictionaryKind;
+import com.mkhabibullin.infrastructure.persistence.queries.AuditDictionaryQueries;
+import com.mkhabibullin.infrastructure.persistence.repository.AuditDictionaryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Implementation of AuditDictionaryRepository interface.
+ * Reads and creates entries of {@code audit.audit_dictionary} with native SQL.
+ *
+ * @see AuditDictionaryRepository
+ */
+@Repository
+@Transactional
+public class AuditDictionaryRepositoryImpl implements AuditDictionaryRepository {
+  private static final Logger log = LoggerFactory.getLogger(AuditDictionaryRepositoryImpl.class);
+  private static final String ENTITY_NAME = "audit dictionary entry";
+  
+  @PersistenceContext
+  private EntityManager entityManager;
+  
+  /**
+   * Retrieves the id of a dictionary entry.
+   *
+   * @param kind  the kind of the value
+   * @param value the value
+   * @return the id of the entry, or null if there is none
+   * @throws RepositoryException if there is an error during retrieval
+   */
+  @Override
+  public Integer findId(AuditDictionaryKind kind, String value) {
+    try {
+      return selectId(kind, value);
+    } catch (Exception e) {
+      log.error("Error retrieving audit dictionary id: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_RETRIEVING, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  /**
+   * Retrieves the id of a dictionary entry, inserting the entry if it does not exist.
+   * Runs in its own transaction, so a new entry is committed even if the caller's
+   * transaction rolls back and ids handed out to callers always refer to existing rows.
+   * Concurrent inserts of the same entry are resolved by the unique constraint on kind and value.
+   *
+   * @param kind  the kind of the value
+   * @param value the value
+   * @return the id of the entry
+   * @throws RepositoryException if there is an error during persistence
+   */
+  @Override
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  public int getOrCreateId(AuditDictionaryKind kind, String value) {
+    try {
+      List<?> inserted = entityManager.createNativeQuery(AuditDictionaryQueries.INSERT)
+        .setParameter("kind", kind.name())
+        .setParameter("value", value)
+        .getResultList();
+      if (!inserted.isEmpty()) {
+        return ((Number) inserted.get(0)).intValue();
+      }
+      return selectId(kind, value);
+    } catch (Exception e) {
+      log.error("Error saving audit dictionary entry: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_SAVING, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  /**
+   * Retrieves the value of a dictionary entry.
+   *
+   * @param id the id of the entry
+   * @return the value of the entry, or null if there is none
+   * @throws RepositoryException if there is an error during retrieval
+   */
+  @Override
+  public String findValue(int id) {
+    try {
+      List<?> values = entityManager.createNativeQuery(AuditDictionaryQueries.GET_VALUE)
+        .setParameter("id", id)
+        .getResultList();
+      return values.isEmpty() ? null : (String) values.get(0);
+    } catch (Exception e) {
+      log.error("Error retrieving audit dictionary value: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_RETRIEVING, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  private Integer selectId(AuditDictionaryKind kind, String value) {
+    List<?> ids = entityManager.createNativeQuery(AuditDictionaryQueries.GET_ID)
+      .setParameter("kind", kind.name())
+      .setParameter("value", value)
+      .getResultList();
+    return ids.isEmpty() ? null : ((Number) ids.get(0)).intValue();
+  }
+}
@@ -4,38 +4,91 @@ import com.mkhabibullin.common.MessageConstants;
 import com.mkhabibullin.domain.exception.EntityNotFoundException;
 import com.mkhabibullin.domain.exception.RepositoryException;
 import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.domain.model.AuditLogCursor;
+import com.mkhabibullin.domain.model.AuditLogFilter;
+import com.mkhabibullin.domain.model.AuditStatus;
+import com.mkhabibullin.domain.model.AuditSummary;
+import com.mkhabibullin.infrastructure.audit.AuditDictionary;
+import com.mkhabibullin.infrastructure.audit.AuditDictionaryKind;
 import com.mkhabibullin.infrastructure.persistence.queries.AuditLogQueries;
 import com.mkhabibullin.infrastructure.persistence.repository.AuditLogRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.QueryProducer;
+import org.hibernate.query.SelectionQuery;
+import org.hibernate.query.TypedParameterValue;
+import org.hibernate.type.StandardBasicTypes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 /**
  * Implementation of AuditLogRepository interface.
  * Provides JPA-based implementation for managing audit log entries using EntityManager.
  * This implementation includes error handling and logging for all database operations.
+ * Method names, operations, request URI templates and error classes are translated to and
+ * from their dictionary ids through the shared {@link AuditDictionary}.
  *
  * @see AuditLogRepository
  */
 @Repository
+@Profile("!audit-copy")
 @Transactional
 public class AuditLogRepositoryImpl implements AuditLogRepository {
   private static final Logger log = LoggerFactory.getLogger(AuditLogRepositoryImpl.class);
   private static final String ENTITY_NAME = "audit log";
+  private static final int INSERT_BATCH_SIZE = 100;
+  private static final String ID_SEQUENCE = "audit.audit_logs_seq";
+  private static final int LATENCY_BUCKETS = 13;
+  private static final int ROLLUP_COUNT = 0;
+  private static final int ROLLUP_TOTAL = 1;
+  private static final int ROLLUP_MIN = 2;
+  private static final int ROLLUP_MAX = 3;
+  private static final int ROLLUP_MEASURED = 4;
+  private static final int ROLLUP_TIME_NS = 5;
+  private static final int ROLLUP_CPU_TIME_NS = 6;
+  private static final int ROLLUP_ALLOCATED_BYTES = 7;
+  private static final int ROLLUP_SQL_STATEMENTS = 8;
+  private static final int ROLLUP_RESPONSE_BYTES = 9;
+  private static final int ROLLUP_HISTOGRAM = 10;
+  private static final int EXPORT_FETCH_SIZE = 1000;
   
   @PersistenceContext
   private EntityManager entityManager;
+  private final AuditDictionary auditDictionary;
   
   /**
-   * Persists a new audit log entry to the database.
+   * Constructs a new AuditLogRepositoryImpl.
+   *
+   * @param auditDictionary cache translating the text values of audit logs to dictionary ids
+   */
+  public AuditLogRepositoryImpl(AuditDictionary auditDictionary) {
+    this.auditDictionary = auditDictionary;
+  }
+  
+  /**
+   * Persists a new audit log entry to the database and adds it to its per-minute rollup.
    *
    * @param auditLog the audit log entry to save
    * @throws RepositoryException     if there is an error during persistence
@@ -44,7 +97,9 @@ public class AuditLogRepositoryImpl implements AuditLogRepository {
   public void save(AuditLog auditLog) {
     try {
       Objects.requireNonNull(auditLog, MessageConstants.AUDIT_LOG_REQUIRED);
+      encode(auditLog);
       entityManager.persist(auditLog);
+      upsertRollups(List.of(auditLog));
     } catch (NullPointerException e) {
       throw e;
     } catch (Exception e) {
@@ -56,6 +111,235 @@ public class AuditLogRepositoryImpl implements AuditLogRepository {
     }
   }
   
+  /**
+   * Persists a batch of audit log entries with one multi-row native insert per
+   * {@value #INSERT_BATCH_SIZE} entries, bypassing the persistence context.
+   * Identifiers for the whole batch are reserved from the id sequence in a single round trip.
+   * The entries are then aggregated per minute, operation and user, and each aggregate is added
+   * to its rollup row in the same transaction.
+   *
+   * @param auditLogs the audit log entries to save
+   * @throws RepositoryException if there is an error during persistence
+   */
+  @Override
+  public void saveAll(List<AuditLog> auditLogs) {
+    try {
+      long[] ids = PooledIdAllocator.allocate(entityManager, ID_SEQUENCE, auditLogs.size());
+      for (int i = 0; i < auditLogs.size(); i++) {
+        auditLogs.get(i).setId(ids[i]);
+        encode(auditLogs.get(i));
+      }
+      insertAll(auditLogs);
+      upsertRollups(auditLogs);
+    } catch (Exception e) {
+      log.error("Error saving audit log batch: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_SAVING, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  /**
+   * Inserts encoded audit log entries that already carry their ids, with one multi-row native
+   * insert per {@value #INSERT_BATCH_SIZE} entries, in the caller's transaction.
+   *
+   * @param auditLogs the encoded audit log entries to insert
+   */
+  protected void insertAll(List<AuditLog> auditLogs) {
+    for (int from = 0; from < auditLogs.size(); from += INSERT_BATCH_SIZE) {
+      List<AuditLog> chunk = auditLogs.subList(from, Math.min(from + INSERT_BATCH_SIZE, auditLogs.size()));
+      StringBuilder sql = new StringBuilder(AuditLogQueries.INSERT_AUDIT_LOGS_PREFIX);
+      for (int i = 0; i < chunk.size(); i++) {
+        sql.append(i == 0 ? "" : ", ")
+          .append("(:id").append(i)
+          .append(", :username").append(i)
+          .append(", :methodNameId").append(i)
+          .append(", :operationId").append(i)
+          .append(", :timestamp").append(i)
+          .append(", :executionTimeMs").append(i)
+          .append(", :requestUriId").append(i)
+          .append(", :requestMethod").append(i)
+          .append(", :status").append(i)
+          .append(", :errorClassId").append(i)
+          .append(", :executionTimeNs").append(i)
+          .append(", :cpuTimeNs").append(i)
+          .append(", :allocatedBytes").append(i)
+          .append(", :sqlStatements").append(i)
+          .append(", :responseBytes").append(i).append(')');
+      }
+      Query query = entityManager.createNativeQuery(sql.toString());
+      for (int i = 0; i < chunk.size(); i++) {
+        AuditLog auditLog = chunk.get(i);
+        query.setParameter("id" + i, auditLog.getId())
+          .setParameter("username" + i, auditLog.getUsername())
+          .setParameter("methodNameId" + i, auditLog.getMethodNameId())
+          .setParameter("operationId" + i, auditLog.getOperationId())
+          .setParameter("timestamp" + i, auditLog.getTimestamp())
+          .setParameter("executionTimeMs" + i, auditLog.getExecutionTimeMs())
+          .setParameter("requestUriId" + i, nullableId(auditLog.getRequestUriId()))
+          .setParameter("requestMethod" + i, auditLog.getRequestMethod())
+          .setParameter("status" + i, auditLog.getStatus().ordinal())
+          .setParameter("errorClassId" + i, nullableId(auditLog.getErrorClassId()))
+          .setParameter("executionTimeNs" + i, nullableLong(auditLog.getExecutionTimeNs()))
+          .setParameter("cpuTimeNs" + i, nullableLong(auditLog.getCpuTimeNs()))
+          .setParameter("allocatedBytes" + i, nullableLong(auditLog.getAllocatedBytes()))
+          .setParameter("sqlStatements" + i, nullableId(auditLog.getSqlStatements()))
+          .setParameter("responseBytes" + i, nullableLong(auditLog.getResponseBytes()));
+      }
+      query.executeUpdate();
+    }
+  }
+  
+  /**
+   * Sets the dictionary ids of the text values of an audit log, creating dictionary entries
+   * for values not seen before. A missing status is treated as success.
+   */
+  private void encode(AuditLog auditLog) {
+    if (auditLog.getStatus() == null) {
+      auditLog.setStatus(AuditStatus.SUCCESS);
+    }
+    auditLog.setMethodNameId(auditDictionary.idOf(AuditDictionaryKind.METHOD_NAME, auditLog.getMethodName()));
+    auditLog.setOperationId(auditDictionary.idOf(AuditDictionaryKind.OPERATION, auditLog.getOperation()));
+    auditLog.setRequestUriId(auditDictionary.idOf(AuditDictionaryKind.REQUEST_URI, auditLog.getRequestUri()));
+    auditLog.setErrorClassId(auditDictionary.idOf(AuditDictionaryKind.ERROR_CLASS, auditLog.getErrorClass()));
+  }
+  
+  /**
+   * Sets the text values of a loaded audit log from its dictionary ids.
+   */
+  private AuditLog decode(AuditLog auditLog) {
+    auditLog.setMethodName(auditDictionary.valueOf(auditLog.getMethodNameId()));
+    auditLog.setOperation(auditDictionary.valueOf(auditLog.getOperationId()));
+    auditLog.setRequestUri(auditDictionary.valueOf(auditLog.getRequestUriId()));
+    auditLog.setErrorClass(auditDictionary.valueOf(auditLog.getErrorClassId()));
+    return auditLog;
+  }
+  
+  private List<AuditLog> decodeAll(List<AuditLog> auditLogs) {
+    auditLogs.forEach(this::decode);
+    return auditLogs;
+  }
+  
+  /**
+   * Binds a nullable dictionary id or count with an explicit type, so a null is sent as an integer.
+   */
+  private static TypedParameterValue<Integer> nullableId(Integer id) {
+    return new TypedParameterValue<>(StandardBasicTypes.INTEGER, id);
+  }
+  
+  /**
+   * Binds a nullable measurement with an explicit type, so a null is sent as a bigint.
+   */
+  private static TypedParameterValue<Long> nullableLong(Long value) {
+    return new TypedParameterValue<>(StandardBasicTypes.LONG, value);
+  }
+  
+  private static long valueOrZero(Number value) {
+    return value != null ? value.longValue() : 0;
+  }
+  
+  private void upsertRollups(List<AuditLog> auditLogs) {
+    Map<RollupKey, long[]> rollups = new TreeMap<>();
+    for (AuditLog auditLog : auditLogs) {
+      long executionTime = auditLog.getExecutionTimeMs();
+      long[] values = rollups.computeIfAbsent(
+        new RollupKey(auditLog.getTimestamp().truncatedTo(ChronoUnit.MINUTES), auditLog.getOperation(), auditLog.getUsername()),
+        key -> newRollupValues()
+      );
+      values[ROLLUP_COUNT]++;
+      values[ROLLUP_TOTAL] += executionTime;
+      values[ROLLUP_MIN] = Math.min(values[ROLLUP_MIN], executionTime);
+      values[ROLLUP_MAX] = Math.max(values[ROLLUP_MAX], executionTime);
+      values[ROLLUP_HISTOGRAM + latencyBucket(executionTime)]++;
+      if (auditLog.getExecutionTimeNs() != null) {
+        values[ROLLUP_MEASURED]++;
+        values[ROLLUP_TIME_NS] += auditLog.getExecutionTimeNs();
+        values[ROLLUP_CPU_TIME_NS] += valueOrZero(auditLog.getCpuTimeNs());
+        values[ROLLUP_ALLOCATED_BYTES] += valueOrZero(auditLog.getAllocatedBytes());
+        values[ROLLUP_SQL_STATEMENTS] += valueOrZero(auditLog.getSqlStatements());
+        values[ROLLUP_RESPONSE_BYTES] += valueOrZero(auditLog.getResponseBytes());
+      }
+    }
+    List<RollupKey> keys = new ArrayList<>(rollups.keySet());
+    for (int from = 0; from < keys.size(); from += INSERT_BATCH_SIZE) {
+      List<RollupKey> chunk = keys.subList(from, Math.min(from + INSERT_BATCH_SIZE, keys.size()));
+      StringBuilder sql = new StringBuilder(AuditLogQueries.UPSERT_ROLLUPS_PREFIX);
+      for (int i = 0; i < chunk.size(); i++) {
+        sql.append(i == 0 ? "" : ", ")
+          .append("(:minute").append(i)
+          .append(", :operation").append(i)
+          .append(", :username").append(i)
+          .append(", :count").append(i)
+          .append(", :total").append(i)
+          .append(", :min").append(i)
+          .append(", :max").append(i)
+          .append(", :measured").append(i)
+          .append(", :timeNs").append(i)
+          .append(", :cpuTimeNs").append(i)
+          .append(", :allocatedBytes").append(i)
+          .append(", :sqlStatements").append(i)
+          .append(", :responseBytes").append(i)
+          .append(", CAST(:histogram").append(i).append(" AS BIGINT[]))");
+      }
+      sql.append(AuditLogQueries.UPSERT_ROLLUPS_SUFFIX);
+      Query query = entityManager.createNativeQuery(sql.toString());
+      for (int i = 0; i < chunk.size(); i++) {
+        RollupKey key = chunk.get(i);
+        long[] values = rollups.get(key);
+        query.setParameter("minute" + i, key.minute())
+          .setParameter("operation" + i, key.operation())
+          .setParameter("username" + i, key.username())
+          .setParameter("count" + i, values[ROLLUP_COUNT])
+          .setParameter("total" + i, values[ROLLUP_TOTAL])
+          .setParameter("min" + i, values[ROLLUP_MIN])
+          .setParameter("max" + i, values[ROLLUP_MAX])
+          .setParameter("measured" + i, values[ROLLUP_MEASURED])
+          .setParameter("timeNs" + i, values[ROLLUP_TIME_NS])
+          .setParameter("cpuTimeNs" + i, values[ROLLUP_CPU_TIME_NS])
+          .setParameter("allocatedBytes" + i, values[ROLLUP_ALLOCATED_BYTES])
+          .setParameter("sqlStatements" + i, values[ROLLUP_SQL_STATEMENTS])
+          .setParameter("responseBytes" + i, values[ROLLUP_RESPONSE_BYTES])
+          .setParameter("histogram" + i, histogramLiteral(values));
+      }
+      query.executeUpdate();
+    }
+  }
+  
+  private static long[] newRollupValues() {
+    long[] values = new long[ROLLUP_HISTOGRAM + LATENCY_BUCKETS];
+    values[ROLLUP_MIN] = Long.MAX_VALUE;
+    values[ROLLUP_MAX] = Long.MIN_VALUE;
+    return values;
+  }
+  
+  /**
+   * Maps an execution time to its histogram bucket: 0 for 0 ms, {@code i} for
+   * {@code [2^(i-1), 2^i)} ms and the last bucket for everything above.
+   */
+  private static int latencyBucket(long executionTimeMs) {
+    return Math.min(LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(executionTimeMs, 0)));
+  }
+  
+  private static String histogramLiteral(long[] values) {
+    StringBuilder literal = new StringBuilder("{");
+    for (int i = ROLLUP_HISTOGRAM; i < values.length; i++) {
+      literal.append(i == ROLLUP_HISTOGRAM ? "" : ",").append(values[i]);
+    }
+    return literal.append('}').toString();
+  }
+  
+  private record RollupKey(LocalDateTime minute, String operation, String username) implements Comparable<RollupKey> {
+    @Override
+    public int compareTo(RollupKey other) {
+      int result = minute.compareTo(other.minute);
+      if (result == 0) {
+        result = operation.compareTo(other.operation);
+      }
+      return result != 0 ? result : username.compareTo(other.username);
+    }
+  }
+  
   /**
    * Retrieves an audit log entry by its ID.
    *
@@ -71,7 +355,7 @@ public class AuditLogRepositoryImpl implements AuditLogRepository {
           String.format(MessageConstants.NOT_FOUND_WITH_ID, ENTITY_NAME, id)
         );
       }
-      return auditLog;
+      return decode(auditLog);
     } catch (EntityNotFoundException e) {
       throw e;
     } catch (Exception e) {
@@ -97,7 +381,7 @@ public class AuditLogRepositoryImpl implements AuditLogRepository {
         AuditLog.class
       );
       query.setParameter("username", username);
-      return query.getResultList();
+      return decodeAll(query.getResultList());
     } catch (Exception e) {
       log.error("Error retrieving audit logs by username: ", e);
       throw new RepositoryException(
@@ -123,7 +407,7 @@ public class AuditLogRepositoryImpl implements AuditLogRepository {
       );
       query.setParameter("startTimestamp", startTimestamp);
       query.setParameter("endTimestamp", endTimestamp);
-      return query.getResultList();
+      return decodeAll(query.getResultList());
     } catch (Exception e) {
       log.error("Error retrieving audit logs by timestamp range: ", e);
       throw new RepositoryException(
@@ -133,6 +417,81 @@ public class AuditLogRepositoryImpl implements AuditLogRepository {
     }
   }
   
+  /**
+   * Aggregates the audit log entries within a time range with a single grouped scan.
+   * Only one row per distinct operation and username is transferred, so memory use
+   * does not depend on the number of entries in the range.
+   *
+   * @param startTimestamp the start of the time range (inclusive)
+   * @param endTimestamp   the end of the time range (inclusive)
+   * @return the per-operation and per-user counts of the range
+   * @throws RepositoryException if there is an error during retrieval
+   */
+  @Override
+  public AuditSummary summarizeByTimestampRange(LocalDateTime startTimestamp, LocalDateTime endTimestamp) {
+    try {
+      List<?> rows = entityManager.createNativeQuery(AuditLogQueries.SUMMARIZE_BY_TIMESTAMP_RANGE)
+        .setParameter("startTimestamp", startTimestamp)
+        .setParameter("endTimestamp", endTimestamp)
+        .getResultList();
+      return toSummary(rows);
+    } catch (Exception e) {
+      log.error("Error summarizing audit logs by timestamp range: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_RETRIEVING, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  /**
+   * Aggregates the per-minute rollups of a range of whole minutes. The cost depends on the
+   * number of minute buckets in the range, not on the number of audit log entries.
+   *
+   * @param fromMinute the first minute of the range (inclusive)
+   * @param toMinute   the first minute after the range (exclusive)
+   * @return the per-operation and per-user counts of the range
+   * @throws RepositoryException if there is an error during retrieval
+   */
+  @Override
+  public AuditSummary summarizeRollups(LocalDateTime fromMinute, LocalDateTime toMinute) {
+    try {
+      List<?> rows = entityManager.createNativeQuery(AuditLogQueries.SUMMARIZE_ROLLUPS)
+        .setParameter("fromMinute", fromMinute)
+        .setParameter("toMinute", toMinute)
+        .getResultList();
+      return toSummary(rows);
+    } catch (Exception e) {
+      log.error("Error summarizing audit rollups: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_RETRIEVING, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  private AuditSummary toSummary(List<?> rows) {
+    AuditSummary summary = new AuditSummary();
+    for (Object row : rows) {
+      Object[] columns = (Object[]) row;
+      long count = ((Number) columns[2]).longValue();
+      if (columns[0] != null) {
+        String operation = (String) columns[0];
+        summary.addOperation(operation, count, ((Number) columns[3]).longValue());
+        summary.addTelemetry(operation,
+          valueOrZero((Number) columns[4]),
+          valueOrZero((Number) columns[5]),
+          valueOrZero((Number) columns[6]),
+          valueOrZero((Number) columns[7]),
+          valueOrZero((Number) columns[8]),
+          valueOrZero((Number) columns[9]));
+      } else {
+        summary.addUserActivity((String) columns[1], count);
+      }
+    }
+    return summary;
+  }
+  
   /**
    * Retrieves all audit log entries for a specific operation type.
    *
@@ -142,12 +501,16 @@ public class AuditLogRepositoryImpl implements AuditLogRepository {
   @Override
   public List<AuditLog> findByOperation(String operation) {
     try {
+      Integer operationId = auditDictionary.findId(AuditDictionaryKind.OPERATION, operation);
+      if (operationId == null) {
+        return new ArrayList<>();
+      }
       TypedQuery<AuditLog> query = entityManager.createQuery(
         AuditLogQueries.GET_BY_OPERATION,
         AuditLog.class
       );
-      query.setParameter("operation", operation);
-      return query.getResultList();
+      query.setParameter("operationId", operationId);
+      return decodeAll(query.getResultList());
     } catch (Exception e) {
       log.error("Error retrieving audit logs by operation: ", e);
       throw new RepositoryException(
@@ -157,6 +520,38 @@ public class AuditLogRepositoryImpl implements AuditLogRepository {
     }
   }
   
+  /**
+   * Retrieves the audit log entries of an operation with the given status.
+   * The lookup is served by the index on operation id, status and timestamp.
+   *
+   * @param operation the operation type to search for
+   * @param status    the status to search for
+   * @return a list of matching AuditLog entries, newest first
+   * @throws RepositoryException if there is an error during retrieval
+   */
+  @Override
+  public List<AuditLog> findByOperation(String operation, AuditStatus status) {
+    try {
+      Integer operationId = auditDictionary.findId(AuditDictionaryKind.OPERATION, operation);
+      if (operationId == null) {
+        return new ArrayList<>();
+      }
+      TypedQuery<AuditLog> query = entityManager.createQuery(
+        AuditLogQueries.GET_BY_OPERATION_AND_STATUS,
+        AuditLog.class
+      );
+      query.setParameter("operationId", operationId);
+      query.setParameter("status", status);
+      return decodeAll(query.getResultList());
+    } catch (Exception e) {
+      log.error("Error retrieving audit logs by operation and status: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_RETRIEVING_BY_OPERATION, ENTITY_NAME, operation),
+        e
+      );
+    }
+  }
+  
   /**
    * Retrieves the most recent audit log entries, limited to a specified number.
    * Results are typically ordered by timestamp in descending order.
@@ -172,7 +567,7 @@ public class AuditLogRepositoryImpl implements AuditLogRepository {
         AuditLog.class
       );
       query.setMaxResults(limit);
-      return query.getResultList();
+      return decodeAll(query.getResultList());
     } catch (Exception e) {
       log.error("Error retrieving recent audit logs: ", e);
       throw new RepositoryException(
@@ -181,4 +576,224 @@ public class AuditLogRepositoryImpl implements AuditLogRepository {
       );
     }
   }
-}
\ No newline at end of file
+  
+  /**
+   * Streams the audit log entries matching a filter through a Hibernate {@link StatelessSession}.
+   * The rows are read with a forward-only cursor of {@value #EXPORT_FETCH_SIZE} rows per fetch inside
+   * a read-only transaction of the stateless session, so the PostgreSQL driver keeps only one fetch in
+   * memory and no entity is retained after the action has consumed it. The method does not join the
+   * caller's transaction, which keeps a long export from holding a second pooled connection.
+   *
+   * @param filter criteria the audit log entries must match
+   * @param action action applied to each matching entry, oldest first
+   * @throws RepositoryException if there is an error during retrieval
+   */
+  @Override
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  public void forEachMatching(AuditLogFilter filter, Consumer<AuditLog> action) {
+    Integer operationId = null;
+    if (filter.getOperation() != null) {
+      operationId = auditDictionary.findId(AuditDictionaryKind.OPERATION, filter.getOperation());
+      if (operationId == null) {
+        return;
+      }
+    }
+    SessionFactory sessionFactory = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class);
+    try (StatelessSession session = sessionFactory.openStatelessSession()) {
+      Transaction transaction = session.beginTransaction();
+      try {
+        SelectionQuery<AuditLog> query = createFilterQuery(
+            session, filter, operationId, null, AuditLogQueries.EXPORT_ORDER)
+          .setFetchSize(EXPORT_FETCH_SIZE)
+          .setReadOnly(true);
+        try (ScrollableResults<AuditLog> auditLogs = query.scroll(ScrollMode.FORWARD_ONLY)) {
+          while (auditLogs.next()) {
+            action.accept(decode(auditLogs.get()));
+          }
+        }
+        transaction.commit();
+      } catch (RuntimeException e) {
+        if (transaction.isActive()) {
+          transaction.rollback();
+        }
+        throw e;
+      }
+    } catch (UncheckedIOException e) {
+      throw e;
+    } catch (Exception e) {
+      log.error("Error exporting audit logs: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_RETRIEVING, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  /**
+   * Retrieves one page of the audit logs matching the filter, newest first, continuing after
+   * the cursor. The keyset condition on timestamp and id lets the query read only the rows of
+   * the page from the composite indexes, however deep the page is.
+   *
+   * @param filter criteria the audit logs must match
+   * @param after  position to continue after, or null for the first page
+   * @param limit  maximum number of entries to return
+   * @return the matching entries, newest first
+   * @throws RepositoryException if there is an error during retrieval
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public List<AuditLog> search(AuditLogFilter filter, AuditLogCursor after, int limit) {
+    try {
+      Integer operationId = null;
+      if (filter.getOperation() != null) {
+        operationId = auditDictionary.findId(AuditDictionaryKind.OPERATION, filter.getOperation());
+        if (operationId == null) {
+          return new ArrayList<>();
+        }
+      }
+      return decodeAll(createFilterQuery(entityManager.unwrap(Session.class), filter, operationId, after,
+        AuditLogQueries.SEARCH_ORDER)
+        .setMaxResults(limit)
+        .getResultList());
+    } catch (Exception e) {
+      log.error("Error searching audit logs: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_RETRIEVING, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  /**
+   * Retrieves audit logs older than a timestamp, oldest first, continuing after a position.
+   * The keyset condition lets successive batches start directly at the end of the previous one.
+   *
+   * @param before exclusive upper bound of the timestamps
+   * @param after  position to continue after in ascending order, or null to start at the oldest entry
+   * @param limit  maximum number of entries to return
+   * @return the entries ordered by timestamp and id, ascending
+   * @throws RepositoryException if there is an error during retrieval
+   */
+  @Override
+  @Transactional(readOnly = true)
+  public List<AuditLog> findArchivable(LocalDateTime before, AuditLogCursor after, int limit) {
+    try {
+      TypedQuery<AuditLog> query = entityManager.createQuery(
+        after == null ? AuditLogQueries.GET_ARCHIVABLE : AuditLogQueries.GET_ARCHIVABLE_AFTER,
+        AuditLog.class
+      );
+      query.setParameter("before", before);
+      if (after != null) {
+        query.setParameter("afterTimestamp", after.getTimestamp());
+        query.setParameter("afterId", after.getId());
+      }
+      query.setMaxResults(limit);
+      return decodeAll(query.getResultList());
+    } catch (Exception e) {
+      log.error("Error retrieving archivable audit logs: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_RETRIEVING_BY_DATE, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  /**
+   * Deletes archived audit log entries by id, {@value #INSERT_BATCH_SIZE} ids per statement.
+   * The per-minute rollups are left untouched, so statistics still cover the archived period.
+   *
+   * @param auditLogs stored audit log entries, identified by id and timestamp
+   * @return the number of deleted rows
+   * @throws RepositoryException if there is an error during deletion
+   */
+  @Override
+  public int deleteArchived(List<AuditLog> auditLogs) {
+    try {
+      int deleted = 0;
+      for (int from = 0; from < auditLogs.size(); from += INSERT_BATCH_SIZE) {
+        List<AuditLog> chunk = auditLogs.subList(from, Math.min(from + INSERT_BATCH_SIZE, auditLogs.size()));
+        List<Long> ids = new ArrayList<>(chunk.size());
+        LocalDateTime firstTimestamp = chunk.get(0).getTimestamp();
+        LocalDateTime lastTimestamp = firstTimestamp;
+        for (AuditLog auditLog : chunk) {
+          ids.add(auditLog.getId());
+          if (auditLog.getTimestamp().isBefore(firstTimestamp)) {
+            firstTimestamp = auditLog.getTimestamp();
+          }
+          if (auditLog.getTimestamp().isAfter(lastTimestamp)) {
+            lastTimestamp = auditLog.getTimestamp();
+          }
+        }
+        deleted += entityManager.createNativeQuery(AuditLogQueries.DELETE_ARCHIVED)
+          .setParameter("firstTimestamp", firstTimestamp)
+          .setParameter("lastTimestamp", lastTimestamp)
+          .setParameter("ids", ids)
+          .executeUpdate();
+      }
+      return deleted;
+    } catch (Exception e) {
+      log.error("Error deleting archived audit logs: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_DELETING, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  private SelectionQuery<AuditLog> createFilterQuery(QueryProducer session, AuditLogFilter filter,
+                                                     Integer operationId, AuditLogCursor after, String order) {
+    StringBuilder hql = new StringBuilder(AuditLogQueries.FILTER_PREFIX);
+    if (filter.getStartTimestamp() != null) {
+      hql.append(AuditLogQueries.FILTER_START_CONDITION);
+    }
+    if (filter.getEndTimestamp() != null) {
+      hql.append(AuditLogQueries.FILTER_END_CONDITION);
+    }
+    if (filter.getUsername() != null) {
+      hql.append(AuditLogQueries.FILTER_USERNAME_CONDITION);
+    }
+    if (operationId != null) {
+      hql.append(AuditLogQueries.FILTER_OPERATION_CONDITION);
+    }
+    if (filter.getStatus() != null) {
+      hql.append(AuditLogQueries.FILTER_STATUS_CONDITION);
+    }
+    if (filter.getRequestMethod() != null) {
+      hql.append(AuditLogQueries.FILTER_REQUEST_METHOD_CONDITION);
+    }
+    if (filter.getMinExecutionTimeMs() != null) {
+      hql.append(AuditLogQueries.FILTER_MIN_EXECUTION_TIME_CONDITION);
+    }
+    if (after != null) {
+      hql.append(AuditLogQueries.SEARCH_AFTER_CONDITION);
+    }
+    hql.append(order);
+    SelectionQuery<AuditLog> query = session.createSelectionQuery(hql.toString(), AuditLog.class);
+    if (filter.getStartTimestamp() != null) {
+      query.setParameter("startTimestamp", filter.getStartTimestamp());
+    }
+    if (filter.getEndTimestamp() != null) {
+      query.setParameter("endTimestamp", filter.getEndTimestamp());
+    }
+    if (filter.getUsername() != null) {
+      query.setParameter("username", filter.getUsername());
+    }
+    if (operationId != null) {
+      query.setParameter("operationId", operationId);
+    }
+    if (filter.getStatus() != null) {
+      query.setParameter("status", filter.getStatus());
+    }
+    if (filter.getRequestMethod() != null) {
+      query.setParameter("requestMethod", filter.getRequestMethod());
+    }
+    if (filter.getMinExecutionTimeMs() != null) {
+      query.setParameter("minExecutionTimeMs", filter.getMinExecutionTimeMs());
+    }
+    if (after != null) {
+      query.setParameter("cursorTimestamp", after.getTimestamp());
+      query.setParameter("cursorId", after.getId());
+    }
+    return query;
+  }
+}
@@ -0,0 +1,119 @@
+package com.mkhabibullin.infrastructure.persistence.repository.implementation;
+
+import com.mkhabibullin.common.MessageConstants;
+import com.mkhabibullin.domain.exception.RepositoryException;
+import com.mkhabibullin.infrastructure.persistence.queries.AuditPartitionQueries;
+import com.mkhabibullin.infrastructure.persistence.repository.AuditPartitionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of AuditPartitionRepository interface.
+ * Manages the monthly partitions of {@code audit.audit_logs} with native DDL.
+ * Partition names are derived from the month, never from user input.
+ *
+ * @see AuditPartitionRepository
+ */
+@Repository
+@Transactional
+public class AuditPartitionRepositoryImpl implements AuditPartitionRepository {
+  private static final Logger log = LoggerFactory.getLogger(AuditPartitionRepositoryImpl.class);
+  private static final String ENTITY_NAME = "audit log partition";
+  private static final DateTimeFormatter MONTH_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+  
+  @PersistenceContext
+  private EntityManager entityManager;
+  
+  /**
+   * Lists the months that have a partition attached, ignoring the default partition.
+   *
+   * @return partitioned months in ascending order
+   * @throws RepositoryException if there is an error during retrieval
+   */
+  @Override
+  public List<YearMonth> findPartitionMonths() {
+    try {
+      List<?> names = entityManager.createNativeQuery(AuditPartitionQueries.GET_PARTITION_NAMES)
+        .getResultList();
+      List<YearMonth> months = new ArrayList<>();
+      for (Object name : names) {
+        String partitionName = name.toString();
+        if (partitionName.startsWith(AuditPartitionQueries.PARTITION_PREFIX)) {
+          months.add(YearMonth.parse(
+            partitionName.substring(AuditPartitionQueries.PARTITION_PREFIX.length()),
+            MONTH_SUFFIX
+          ));
+        }
+      }
+      months.sort(null);
+      return months;
+    } catch (Exception e) {
+      log.error("Error retrieving audit log partitions: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_RETRIEVING, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  /**
+   * Creates the partition covering {@code [first day of month, first day of next month)}.
+   *
+   * @param month the month to create a partition for
+   * @throws RepositoryException if the partition cannot be created, for example because
+   *                             the default partition already holds rows of that month
+   */
+  @Override
+  public void createPartition(YearMonth month) {
+    execute(String.format(
+      AuditPartitionQueries.CREATE_PARTITION,
+      partitionName(month),
+      month.atDay(1),
+      month.plusMonths(1).atDay(1)
+    ), MessageConstants.ERROR_SAVING);
+  }
+  
+  /**
+   * Detaches the partition of a month from the audit log table.
+   *
+   * @param month the month whose partition is detached
+   * @throws RepositoryException if there is an error during the operation
+   */
+  @Override
+  public void detachPartition(YearMonth month) {
+    execute(String.format(AuditPartitionQueries.DETACH_PARTITION, partitionName(month)), MessageConstants.ERROR_UPDATING);
+  }
+  
+  /**
+   * Drops the partition of a month.
+   *
+   * @param month the month whose partition is dropped
+   * @throws RepositoryException if there is an error during the operation
+   */
+  @Override
+  public void dropPartition(YearMonth month) {
+    execute(String.format(AuditPartitionQueries.DROP_PARTITION, partitionName(month)), MessageConstants.ERROR_DELETING);
+  }
+  
+  private void execute(String ddl, String errorFormat) {
+    try {
+      entityManager.createNativeQuery(ddl).executeUpdate();
+    } catch (Exception e) {
+      log.error("Error executing audit partition DDL [{}]: ", ddl, e);
+      throw new RepositoryException(String.format(errorFormat, ENTITY_NAME), e);
+    }
+  }
+  
+  private static String partitionName(YearMonth month) {
+    return AuditPartitionQueries.PARTITION_PREFIX + month.format(MONTH_SUFFIX);
+  }
+}
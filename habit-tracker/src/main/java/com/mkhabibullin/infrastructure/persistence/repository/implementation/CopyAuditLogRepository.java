@@ -0,0 +1,193 @@
+package com.mkhabibullin.infrastructure.persistence.repository.implementation;
+
+import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.infrastructure.audit.AuditDictionary;
+import com.mkhabibullin.infrastructure.persistence.queries.AuditLogQueries;
+import com.mkhabibullin.infrastructure.persistence.repository.CopyFallbackCounter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * AuditLogRepository implementation that ingests audit log batches with PostgreSQL's
+ * {@code COPY ... FROM STDIN} in binary format instead of multi-row inserts.
+ * The rows are streamed to the server through the pgjdbc {@link org.postgresql.copy.CopyManager}
+ * on the connection of the current transaction, so the server neither parses a statement nor
+ * binds parameters per row. Every other operation, including the rollup upsert that follows
+ * the insert, is inherited unchanged.
+ * A failed COPY is rolled back to a savepoint and the batch is written with the inherited
+ * multi-row inserts in the same transaction.
+ * Active with the {@code audit-copy} profile.
+ *
+ * @see AuditLogRepositoryImpl
+ */
+@Repository
+@Profile("audit-copy")
+@Transactional
+public class CopyAuditLogRepository extends AuditLogRepositoryImpl implements CopyFallbackCounter {
+  private static final Logger log = LoggerFactory.getLogger(CopyAuditLogRepository.class);
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+  private static final byte[] BINARY_SIGNATURE = "PGCOPY\n\377\r\n\0".getBytes(StandardCharsets.ISO_8859_1);
+  private static final short FIELD_COUNT = 15;
+  private static final LocalDateTime POSTGRES_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+  
+  @PersistenceContext
+  private EntityManager entityManager;
+  private final AtomicLong fallbacks = new AtomicLong();
+  
+  /**
+   * Constructs a new CopyAuditLogRepository.
+   *
+   * @param auditDictionary cache translating the text values of audit logs to dictionary ids
+   */
+  public CopyAuditLogRepository(AuditDictionary auditDictionary) {
+    super(auditDictionary);
+  }
+  
+  /**
+   * Streams the encoded entries to the audit log table with a single binary COPY. If the COPY
+   * fails, the transaction is rolled back to the savepoint taken before it and the entries are
+   * inserted with multi-row inserts instead.
+   *
+   * @param auditLogs the encoded audit log entries to insert
+   */
+  @Override
+  protected void insertAll(List<AuditLog> auditLogs) {
+    boolean copied = entityManager.unwrap(Session.class).doReturningWork(connection -> copy(connection, auditLogs));
+    if (!copied) {
+      super.insertAll(auditLogs);
+    }
+  }
+  
+  /**
+   * Returns the number of batches written with inserts after their COPY failed.
+   *
+   * @return the fallback count
+   */
+  @Override
+  public long getCopyFallbackCount() {
+    return fallbacks.get();
+  }
+  
+  private boolean copy(Connection connection, List<AuditLog> auditLogs) throws SQLException {
+    Savepoint savepoint = connection.setSavepoint();
+    PGCopyOutputStream copyOut = null;
+    try {
+      copyOut = new PGCopyOutputStream(connection.unwrap(PGConnection.class), AuditLogQueries.COPY_AUDIT_LOGS,
+        COPY_BUFFER_SIZE);
+      DataOutputStream out = new DataOutputStream(copyOut);
+      writeCopyData(out, auditLogs);
+      out.close();
+      connection.releaseSavepoint(savepoint);
+      return true;
+    } catch (SQLException | IOException e) {
+      if (copyOut != null && copyOut.isActive()) {
+        try {
+          copyOut.cancelCopy();
+        } catch (SQLException cancelException) {
+          e.addSuppressed(cancelException);
+        }
+      }
+      connection.rollback(savepoint);
+      fallbacks.incrementAndGet();
+      log.warn("COPY of {} audit logs failed, falling back to batched inserts: ", auditLogs.size(), e);
+      return false;
+    }
+  }
+  
+  /**
+   * Encodes audit log entries as PostgreSQL binary COPY data: the file header, one tuple per entry
+   * in the column order of {@link AuditLogQueries#COPY_AUDIT_LOGS} and the file trailer.
+   *
+   * @param out       the stream to write the COPY data to
+   * @param auditLogs the encoded audit log entries
+   * @throws IOException if writing to the stream fails
+   */
+  public static void writeCopyData(DataOutputStream out, List<AuditLog> auditLogs) throws IOException {
+    out.write(BINARY_SIGNATURE);
+    out.writeInt(0);
+    out.writeInt(0);
+    for (AuditLog auditLog : auditLogs) {
+      writeRow(out, auditLog);
+    }
+    out.writeShort(-1);
+  }
+  
+  /**
+   * Writes one tuple in the column order of {@link AuditLogQueries#COPY_AUDIT_LOGS}.
+   */
+  private static void writeRow(DataOutputStream out, AuditLog auditLog) throws IOException {
+    out.writeShort(FIELD_COUNT);
+    writeBigint(out, auditLog.getId());
+    writeText(out, auditLog.getUsername());
+    writeInteger(out, auditLog.getMethodNameId());
+    writeInteger(out, auditLog.getOperationId());
+    writeTimestamp(out, auditLog.getTimestamp());
+    writeBigint(out, auditLog.getExecutionTimeMs());
+    writeInteger(out, auditLog.getRequestUriId());
+    writeText(out, auditLog.getRequestMethod());
+    out.writeInt(Short.BYTES);
+    out.writeShort(auditLog.getStatus().ordinal());
+    writeInteger(out, auditLog.getErrorClassId());
+    writeBigint(out, auditLog.getExecutionTimeNs());
+    writeBigint(out, auditLog.getCpuTimeNs());
+    writeBigint(out, auditLog.getAllocatedBytes());
+    writeInteger(out, auditLog.getSqlStatements());
+    writeBigint(out, auditLog.getResponseBytes());
+  }
+  
+  private static void writeBigint(DataOutputStream out, Long value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    out.writeInt(Long.BYTES);
+    out.writeLong(value);
+  }
+  
+  private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    out.writeInt(Integer.BYTES);
+    out.writeInt(value);
+  }
+  
+  private static void writeText(DataOutputStream out, String value) throws IOException {
+    if (value == null) {
+      out.writeInt(-1);
+      return;
+    }
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+  
+  /**
+   * Writes a timestamp as microseconds since 2000-01-01, rounded to the nearest microsecond
+   * like the driver does for bound parameters.
+   */
+  private static void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+    out.writeInt(Long.BYTES);
+    out.writeLong(ChronoUnit.MICROS.between(POSTGRES_EPOCH, value.plusNanos(500).truncatedTo(ChronoUnit.MICROS)));
+  }
+}
@@ -0,0 +1,216 @@
+package com.mkhabibullin.infrastructure.persistence.repository.implementation;
+
+import com.mkhabibullin.common.MessageConstants;
+import com.mkhabibullin.domain.exception.RepositoryException;
+import com.mkhabibullin.domain.model.HabitCompletionBitmap;
+import com.mkhabibullin.infrastructure.persistence.queries.HabitCompletionBitmapRepositoryQueries;
+import com.mkhabibullin.infrastructure.persistence.repository.HabitCompletionBitmapRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Implementation of HabitCompletionBitmapRepository interface.
+ * Provides JPA-based storage of yearly completion bitmaps using EntityManager.
+ * Day updates lock the affected bitmap row, so concurrent writes to the same habit-year are serialized.
+ *
+ * @see HabitCompletionBitmapRepository
+ */
+@Repository
+@Transactional
+public class HabitCompletionBitmapRepositoryImpl implements HabitCompletionBitmapRepository {
+  private static final Logger log = LoggerFactory.getLogger(HabitCompletionBitmapRepositoryImpl.class);
+  
+  private static final String ENTITY_NAME = "habit completion bitmap";
+  
+  @PersistenceContext
+  private EntityManager entityManager;
+  
+  /**
+   * Re-derives the state of a single day from the habit's executions and stores it in the bitmap.
+   * The bitmap row is created if absent and then locked for the read-modify-write.
+   *
+   * @param habitId the unique identifier of the habit
+   * @param date    the day to refresh
+   * @throws RepositoryException if there is an error during the update
+   */
+  @Override
+  public void refreshDay(Long habitId, LocalDate date) {
+    try {
+      entityManager.createNativeQuery(HabitCompletionBitmapRepositoryQueries.INSERT_EMPTY_IF_ABSENT)
+        .setParameter("habitId", habitId)
+        .setParameter("calendarYear", date.getYear())
+        .executeUpdate();
+      HabitCompletionBitmap bitmap = entityManager.createQuery(
+          HabitCompletionBitmapRepositoryQueries.GET_BY_HABIT_AND_YEAR,
+          HabitCompletionBitmap.class
+        )
+        .setParameter("habitId", habitId)
+        .setParameter("calendarYear", date.getYear())
+        .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+        .getSingleResult();
+      Object[] dayState = entityManager.createQuery(
+          HabitCompletionBitmapRepositoryQueries.GET_DAY_STATE,
+          Object[].class
+        )
+        .setParameter("habitId", habitId)
+        .setParameter("date", date)
+        .getSingleResult();
+      bitmap.setDay(date, ((Number) dayState[0]).longValue() > 0, ((Number) dayState[1]).longValue() > 0);
+      entityManager.flush();
+    } catch (Exception e) {
+      log.error("Error updating habit completion bitmap: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_UPDATING, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  /**
+   * Marks a day as recorded and sets its completion flag with a single atomic update of the
+   * affected array word. The bitmap row is created first if absent.
+   *
+   * @param habitId   the unique identifier of the habit
+   * @param date      the day to mark
+   * @param completed whether the day's execution is completed
+   * @throws RepositoryException if there is an error during the update
+   */
+  @Override
+  public void markDay(Long habitId, LocalDate date, boolean completed) {
+    int index = HabitCompletionBitmap.dayIndex(date);
+    long[] recordedMasks = new long[HabitCompletionBitmap.WORDS_PER_YEAR];
+    long[] completedMasks = new long[HabitCompletionBitmap.WORDS_PER_YEAR];
+    recordedMasks[index >>> 6] = 1L << (index & 63);
+    completedMasks[index >>> 6] = completed ? recordedMasks[index >>> 6] : 0L;
+    markDays(habitId, date.getYear(), recordedMasks, completedMasks);
+  }
+  
+  /**
+   * Marks several days of one year with one atomic update per affected array word.
+   * The bitmap row is created first if absent.
+   *
+   * @param habitId        the unique identifier of the habit
+   * @param calendarYear   the year the days belong to
+   * @param recordedMasks  per-word masks of the days to mark
+   * @param completedMasks per-word masks of the completed days among them
+   * @throws RepositoryException if there is an error during the update
+   */
+  @Override
+  public void markDays(Long habitId, int calendarYear, long[] recordedMasks, long[] completedMasks) {
+    try {
+      entityManager.createNativeQuery(HabitCompletionBitmapRepositoryQueries.INSERT_EMPTY_IF_ABSENT)
+        .setParameter("habitId", habitId)
+        .setParameter("calendarYear", calendarYear)
+        .executeUpdate();
+      for (int word = 0; word < recordedMasks.length; word++) {
+        if (recordedMasks[word] == 0) {
+          continue;
+        }
+        entityManager.createNativeQuery(HabitCompletionBitmapRepositoryQueries.MARK_DAYS)
+          .setParameter("word", word + 1)
+          .setParameter("mask", recordedMasks[word])
+          .setParameter("completedMask", completedMasks[word])
+          .setParameter("habitId", habitId)
+          .setParameter("calendarYear", calendarYear)
+          .executeUpdate();
+      }
+    } catch (Exception e) {
+      log.error("Error updating habit completion bitmap: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_UPDATING, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  /**
+   * Retrieves all bitmaps of a habit.
+   *
+   * @param habitId the unique identifier of the habit
+   * @return a list of yearly bitmaps ordered by year
+   * @throws RepositoryException if there is an error during retrieval
+   */
+  @Override
+  public List<HabitCompletionBitmap> getByHabitId(Long habitId) {
+    try {
+      return entityManager.createQuery(
+          HabitCompletionBitmapRepositoryQueries.GET_BY_HABIT_ID,
+          HabitCompletionBitmap.class
+        )
+        .setParameter("habitId", habitId)
+        .getResultList();
+    } catch (Exception e) {
+      log.error("Error retrieving habit completion bitmaps: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_RETRIEVING, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  /**
+   * Retrieves all bitmaps of several habits in a single query.
+   *
+   * @param habitIds the unique identifiers of the habits
+   * @return a list of yearly bitmaps ordered by habit and year, or an empty list if no IDs are given
+   * @throws RepositoryException if there is an error during retrieval
+   */
+  @Override
+  public List<HabitCompletionBitmap> getByHabitIds(Collection<Long> habitIds) {
+    if (habitIds.isEmpty()) {
+      return List.of();
+    }
+    try {
+      return entityManager.createQuery(
+          HabitCompletionBitmapRepositoryQueries.GET_BY_HABIT_IDS,
+          HabitCompletionBitmap.class
+        )
+        .setParameter("habitIds", habitIds)
+        .getResultList();
+    } catch (Exception e) {
+      log.error("Error retrieving habit completion bitmaps: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_RETRIEVING, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  /**
+   * Retrieves the bitmaps of a habit covering a range of years.
+   *
+   * @param habitId  the unique identifier of the habit
+   * @param fromYear the first year (inclusive)
+   * @param toYear   the last year (inclusive)
+   * @return a list of yearly bitmaps ordered by year
+   * @throws RepositoryException if there is an error during retrieval
+   */
+  @Override
+  public List<HabitCompletionBitmap> getByHabitAndYearRange(Long habitId, int fromYear, int toYear) {
+    try {
+      return entityManager.createQuery(
+          HabitCompletionBitmapRepositoryQueries.GET_BY_HABIT_AND_YEAR_RANGE,
+          HabitCompletionBitmap.class
+        )
+        .setParameter("habitId", habitId)
+        .setParameter("fromYear", fromYear)
+        .setParameter("toYear", toYear)
+        .getResultList();
+    } catch (Exception e) {
+      log.error("Error retrieving habit completion bitmaps: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_RETRIEVING_BY_DATE, ENTITY_NAME),
+        e
+      );
+    }
+  }
+}
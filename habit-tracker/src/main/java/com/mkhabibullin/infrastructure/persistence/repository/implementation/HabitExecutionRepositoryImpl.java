@@ -4,24 +4,40 @@ package com.mkhabibullin.infrastructure.persistence.repository.implementation;
 import com.mkhabibullin.common.MessageConstants;
 import com.mkhabibullin.domain.exception.EntityNotFoundException;
 import com.mkhabibullin.domain.exception.RepositoryException;
+import com.mkhabibullin.domain.model.ExecutionTimeline;
+import com.mkhabibullin.domain.model.HabitActivity;
+import com.mkhabibullin.domain.model.HabitCompletionBitmap;
 import com.mkhabibullin.domain.model.HabitExecution;
+import com.mkhabibullin.domain.model.HabitExecutionSummary;
+import com.mkhabibullin.domain.model.StreakInterval;
+import com.mkhabibullin.domain.model.StreakSummary;
 import com.mkhabibullin.infrastructure.persistence.queries.HabitExecutionRepositoryQueries;
+import com.mkhabibullin.infrastructure.persistence.repository.HabitCompletionBitmapRepository;
 import com.mkhabibullin.infrastructure.persistence.repository.HabitExecutionRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implementation of HabitExecutionRepository interface.
  * Provides JPA-based implementation for managing habit execution entries using EntityManager.
  * Handles CRUD operations for habit execution records with error handling and logging.
+ * Every write also refreshes the affected days in the habit's completion bitmaps.
  *
  * @see HabitExecutionRepository
  */
@@ -31,10 +47,24 @@ public class HabitExecutionRepositoryImpl implements HabitExecutionRepository {
   private static final Logger log = LoggerFactory.getLogger(HabitExecutionRepositoryImpl.class);
   
   private static final String ENTITY_NAME = "habit execution";
+  private static final int UPSERT_BATCH_SIZE = 100;
+  private static final String ID_SEQUENCE = "entity.habit_executions_seq";
+  private static final int STREAM_FETCH_SIZE = 500;
   
   @PersistenceContext
   private EntityManager entityManager;
   
+  private final HabitCompletionBitmapRepository bitmapRepository;
+  
+  /**
+   * Constructs a new HabitExecutionRepositoryImpl.
+   *
+   * @param bitmapRepository repository keeping completion bitmaps in sync with executions
+   */
+  public HabitExecutionRepositoryImpl(HabitCompletionBitmapRepository bitmapRepository) {
+    this.bitmapRepository = bitmapRepository;
+  }
+  
   /**
    * Persists a new habit execution record to the database.
    * Performs a flush operation to retrieve the generated ID.
@@ -47,6 +77,7 @@ public class HabitExecutionRepositoryImpl implements HabitExecutionRepository {
     try {
       entityManager.persist(execution);
       entityManager.flush();
+      bitmapRepository.refreshDay(execution.getHabitId(), execution.getDate());
     } catch (Exception e) {
       log.error("Error saving habit execution: ", e);
       throw new RepositoryException(
@@ -56,6 +87,95 @@ public class HabitExecutionRepositoryImpl implements HabitExecutionRepository {
     }
   }
   
+  /**
+   * Records a habit execution in a single round-trip using {@code INSERT ... ON CONFLICT DO UPDATE}.
+   * Concurrent calls for the same habit and day are serialized by the unique constraint,
+   * so exactly one row remains and it holds the completion status of the last call.
+   * The day's bit in the completion bitmap is set directly from the recorded status.
+   *
+   * @param execution the habit execution to record; its ID is set to the stored row's ID
+   * @throws RepositoryException if there is an error during persistence
+   */
+  @Override
+  public void upsert(HabitExecution execution) {
+    try {
+      Number id = (Number) entityManager.createNativeQuery(HabitExecutionRepositoryQueries.UPSERT_EXECUTION)
+        .setParameter("habitId", execution.getHabitId())
+        .setParameter("date", execution.getDate())
+        .setParameter("completed", execution.isCompleted())
+        .getSingleResult();
+      execution.setId(id.longValue());
+      bitmapRepository.markDay(execution.getHabitId(), execution.getDate(), execution.isCompleted());
+    } catch (Exception e) {
+      log.error("Error upserting habit execution: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_SAVING, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  /**
+   * Records many habit executions with multi-row {@code INSERT ... ON CONFLICT DO UPDATE} statements
+   * of up to {@value #UPSERT_BATCH_SIZE} rows each. Completion bitmaps are then updated once per
+   * affected habit, year and array word instead of once per execution.
+   *
+   * @param executions the habit executions to record, without duplicate habit and day pairs
+   * @throws RepositoryException if there is an error during persistence
+   */
+  @Override
+  public void upsertAll(List<HabitExecution> executions) {
+    try {
+      long[] ids = PooledIdAllocator.allocate(entityManager, ID_SEQUENCE, executions.size());
+      for (int from = 0; from < executions.size(); from += UPSERT_BATCH_SIZE) {
+        List<HabitExecution> chunk = executions.subList(from, Math.min(from + UPSERT_BATCH_SIZE, executions.size()));
+        StringBuilder sql = new StringBuilder(HabitExecutionRepositoryQueries.UPSERT_EXECUTIONS_PREFIX);
+        for (int i = 0; i < chunk.size(); i++) {
+          sql.append(i == 0 ? "" : ", ")
+            .append("(:id").append(i)
+            .append(", :habitId").append(i)
+            .append(", :date").append(i)
+            .append(", :completed").append(i).append(')');
+        }
+        sql.append(HabitExecutionRepositoryQueries.UPSERT_EXECUTIONS_SUFFIX);
+        Query query = entityManager.createNativeQuery(sql.toString());
+        for (int i = 0; i < chunk.size(); i++) {
+          HabitExecution execution = chunk.get(i);
+          query.setParameter("id" + i, ids[from + i])
+            .setParameter("habitId" + i, execution.getHabitId())
+            .setParameter("date" + i, execution.getDate())
+            .setParameter("completed" + i, execution.isCompleted());
+        }
+        query.executeUpdate();
+      }
+      markBitmaps(executions);
+    } catch (Exception e) {
+      log.error("Error upserting habit executions: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_SAVING, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  private void markBitmaps(List<HabitExecution> executions) {
+    Map<Long, Map<Integer, long[][]>> masksByHabitAndYear = new HashMap<>();
+    for (HabitExecution execution : executions) {
+      long[][] masks = masksByHabitAndYear
+        .computeIfAbsent(execution.getHabitId(), habitId -> new HashMap<>())
+        .computeIfAbsent(execution.getDate().getYear(), year -> new long[2][HabitCompletionBitmap.WORDS_PER_YEAR]);
+      int index = HabitCompletionBitmap.dayIndex(execution.getDate());
+      long bit = 1L << (index & 63);
+      masks[0][index >>> 6] |= bit;
+      if (execution.isCompleted()) {
+        masks[1][index >>> 6] |= bit;
+      }
+    }
+    masksByHabitAndYear.forEach((habitId, masksByYear) ->
+      masksByYear.forEach((year, masks) -> bitmapRepository.markDays(habitId, year, masks[0], masks[1]))
+    );
+  }
+  
   /**
    * Retrieves all execution records for a specific habit.
    *
@@ -80,6 +200,71 @@ public class HabitExecutionRepositoryImpl implements HabitExecutionRepository {
     }
   }
   
+  /**
+   * Retrieves one page of a habit's executions in date order.
+   * Pages are addressed by the date of the previous page's last execution, so each page is
+   * a bounded range scan of the {@code (habit_id, date)} index regardless of its position.
+   *
+   * @param habitId the unique identifier of the habit
+   * @param after   the date of the previous page's last execution, or null for the first page
+   * @param limit   the maximum number of executions to return
+   * @return a list of at most {@code limit} habit execution records
+   * @throws RepositoryException if there is an error during retrieval
+   */
+  @Override
+  public List<HabitExecution> getPageByHabitId(Long habitId, LocalDate after, int limit) {
+    try {
+      TypedQuery<HabitExecution> query;
+      if (after == null) {
+        query = entityManager.createQuery(HabitExecutionRepositoryQueries.GET_BY_HABIT_ID, HabitExecution.class);
+      } else {
+        query = entityManager.createQuery(HabitExecutionRepositoryQueries.GET_BY_HABIT_ID_AFTER_DATE, HabitExecution.class)
+          .setParameter("after", after);
+      }
+      return query.setParameter("habitId", habitId)
+        .setMaxResults(limit)
+        .getResultList();
+    } catch (Exception e) {
+      log.error("Error retrieving habit execution page: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_RETRIEVING, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  /**
+   * Streams all executions of a habit in date order. Rows are fetched from the database
+   * {@value #STREAM_FETCH_SIZE} at a time and every entity is detached once the action has
+   * processed it, so memory use does not grow with the length of the history.
+   *
+   * @param habitId the unique identifier of the habit
+   * @param action  the action invoked for each execution
+   * @throws RepositoryException if there is an error during retrieval
+   */
+  @Override
+  public void forEachByHabitId(Long habitId, Consumer<HabitExecution> action) {
+    try (Stream<HabitExecution> executions = entityManager.createQuery(
+        HabitExecutionRepositoryQueries.GET_BY_HABIT_ID,
+        HabitExecution.class
+      )
+      .setParameter("habitId", habitId)
+      .setHint("org.hibernate.fetchSize", STREAM_FETCH_SIZE)
+      .setHint("org.hibernate.readOnly", true)
+      .getResultStream()) {
+      executions.forEach(execution -> {
+        action.accept(execution);
+        entityManager.detach(execution);
+      });
+    } catch (RuntimeException e) {
+      log.error("Error streaming habit executions: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_RETRIEVING, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
   /**
    * Updates an existing habit execution record.
    * If no record is found with the given ID, a warning is logged.
@@ -90,6 +275,12 @@ public class HabitExecutionRepositoryImpl implements HabitExecutionRepository {
   @Override
   public void update(HabitExecution execution) {
     try {
+      List<Object[]> previous = entityManager.createQuery(
+          HabitExecutionRepositoryQueries.GET_HABIT_AND_DATE_BY_ID,
+          Object[].class
+        )
+        .setParameter("id", execution.getId())
+        .getResultList();
       TypedQuery<HabitExecution> query = entityManager.createQuery(
         HabitExecutionRepositoryQueries.UPDATE_EXECUTION,
         HabitExecution.class
@@ -98,11 +289,17 @@ public class HabitExecutionRepositoryImpl implements HabitExecutionRepository {
       query.setParameter("completed", execution.isCompleted());
       query.setParameter("id", execution.getId());
       int rowsAffected = query.executeUpdate();
-      if (rowsAffected == 0) {
+      if (rowsAffected == 0 || previous.isEmpty()) {
         throw new EntityNotFoundException(
           String.format(MessageConstants.NOT_FOUND_WITH_ID, ENTITY_NAME, execution.getId())
         );
       }
+      Long habitId = (Long) previous.get(0)[0];
+      LocalDate previousDate = (LocalDate) previous.get(0)[1];
+      bitmapRepository.refreshDay(habitId, execution.getDate());
+      if (!previousDate.equals(execution.getDate())) {
+        bitmapRepository.refreshDay(habitId, previousDate);
+      }
     } catch (EntityNotFoundException e) {
       throw e;
     } catch (Exception e) {
@@ -127,6 +324,7 @@ public class HabitExecutionRepositoryImpl implements HabitExecutionRepository {
       HabitExecution execution = entityManager.find(HabitExecution.class, executionId);
       if (execution != null) {
         entityManager.remove(execution);
+        bitmapRepository.refreshDay(execution.getHabitId(), execution.getDate());
       } else {
         throw new EntityNotFoundException(
           String.format(MessageConstants.NOT_FOUND_WITH_ID, ENTITY_NAME, executionId)
@@ -202,4 +400,196 @@ public class HabitExecutionRepositoryImpl implements HabitExecutionRepository {
       );
     }
   }
-}
\ No newline at end of file
+  
+  /**
+   * Aggregates execution counts of a habit within a date range using a single grouped query.
+   * Only one row per day of week is transferred from the database.
+   *
+   * @param habitId   the unique identifier of the habit
+   * @param startDate the start date of the range (inclusive)
+   * @param endDate   the end date of the range (inclusive)
+   * @return the execution summary for the range
+   * @throws RepositoryException if there is an error during aggregation
+   */
+  @Override
+  public HabitExecutionSummary getSummaryByHabitAndDateRange(Long habitId, LocalDate startDate, LocalDate endDate) {
+    try {
+      @SuppressWarnings("unchecked")
+      List<Object[]> rows = entityManager.createNativeQuery(
+          HabitExecutionRepositoryQueries.GET_SUMMARY_BY_HABIT_AND_DATE_RANGE
+        )
+        .setParameter("habitId", habitId)
+        .setParameter("startDate", startDate)
+        .setParameter("endDate", endDate)
+        .getResultList();
+      long completed = 0;
+      long missed = 0;
+      Map<DayOfWeek, Long> completionsByDay = new EnumMap<>(DayOfWeek.class);
+      for (Object[] row : rows) {
+        long dayCompleted = ((Number) row[1]).longValue();
+        completed += dayCompleted;
+        missed += ((Number) row[2]).longValue();
+        if (dayCompleted > 0) {
+          completionsByDay.put(DayOfWeek.of(((Number) row[0]).intValue()), dayCompleted);
+        }
+      }
+      return new HabitExecutionSummary(
+        habitId,
+        startDate,
+        endDate,
+        completed + missed,
+        completed,
+        missed,
+        completionsByDay
+      );
+    } catch (Exception e) {
+      log.error("Error aggregating habit executions by date range: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_RETRIEVING_BY_DATE, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  /**
+   * Retrieves the dates and completion flags of a habit's executions within a date range
+   * as a compact timeline. The rows are read as scalar projections, so no entities are
+   * hydrated or attached to the persistence context.
+   *
+   * @param habitId   the unique identifier of the habit
+   * @param startDate the start date of the range (inclusive)
+   * @param endDate   the end date of the range (inclusive)
+   * @return the execution timeline ordered by date
+   * @throws RepositoryException if there is an error during retrieval
+   */
+  @Override
+  public ExecutionTimeline getTimelineByHabitAndDateRange(Long habitId, LocalDate startDate, LocalDate endDate) {
+    try {
+      List<Object[]> rows = entityManager.createQuery(
+          HabitExecutionRepositoryQueries.GET_TIMELINE_BY_HABIT_AND_DATE_RANGE,
+          Object[].class
+        )
+        .setParameter("habitId", habitId)
+        .setParameter("startDate", startDate)
+        .setParameter("endDate", endDate)
+        .getResultList();
+      long[] epochDays = new long[rows.size()];
+      boolean[] completed = new boolean[rows.size()];
+      for (int i = 0; i < rows.size(); i++) {
+        Object[] row = rows.get(i);
+        epochDays[i] = ((LocalDate) row[0]).toEpochDay();
+        completed[i] = (Boolean) row[1];
+      }
+      return new ExecutionTimeline(habitId, startDate, endDate, epochDays, completed);
+    } catch (Exception e) {
+      log.error("Error retrieving habit execution timeline: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_RETRIEVING_BY_DATE, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  /**
+   * Computes the streaks of a habit within a date range with a single gaps-and-islands query.
+   * Only completed days are considered and several executions on the same day count once.
+   *
+   * @param habitId   the unique identifier of the habit
+   * @param startDate the start date of the range (inclusive)
+   * @param endDate   the end date of the range (inclusive)
+   * @param today     the day the current streak must end on
+   * @param limit     maximum number of top streak intervals to return
+   * @return the streak summary for the range
+   * @throws RepositoryException if there is an error during retrieval
+   */
+  @Override
+  public StreakSummary getStreakSummary(Long habitId, LocalDate startDate, LocalDate endDate,
+                                        LocalDate today, int limit) {
+    try {
+      @SuppressWarnings("unchecked")
+      List<Object[]> rows = entityManager.createNativeQuery(
+          HabitExecutionRepositoryQueries.GET_STREAKS_BY_HABIT_AND_DATE_RANGE
+        )
+        .setParameter("habitId", habitId)
+        .setParameter("startDate", startDate)
+        .setParameter("endDate", endDate)
+        .setParameter("today", today)
+        .setParameter("limit", limit)
+        .getResultList();
+      List<StreakInterval> topStreaks = new ArrayList<>(rows.size());
+      int currentStreak = 0;
+      for (int i = 0; i < rows.size(); i++) {
+        Object[] row = rows.get(i);
+        StreakInterval interval = new StreakInterval(
+          toLocalDate(row[0]),
+          toLocalDate(row[1]),
+          ((Number) row[2]).intValue()
+        );
+        if (interval.getEndDate().equals(today)) {
+          currentStreak = interval.getLength();
+        }
+        if (i < limit) {
+          topStreaks.add(interval);
+        }
+      }
+      int longestStreak = topStreaks.isEmpty() ? 0 : topStreaks.get(0).getLength();
+      return new StreakSummary(currentStreak, longestStreak, topStreaks);
+    } catch (Exception e) {
+      log.error("Error retrieving habit execution streaks: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_RETRIEVING_BY_DATE, ENTITY_NAME),
+        e
+      );
+    }
+  }
+  
+  /**
+   * Aggregates today's, the trailing week's and the trailing month's execution counts
+   * for all habits of a user with a single grouped query.
+   *
+   * @param userId     the unique identifier of the user
+   * @param weekStart  the first day of the trailing week (inclusive)
+   * @param monthStart the first day of the trailing month (inclusive)
+   * @param today      the current day
+   * @return a list of per-habit activity counts
+   * @throws RepositoryException if there is an error during retrieval
+   */
+  @Override
+  public List<HabitActivity> getActivityByUserId(Long userId, LocalDate weekStart,
+                                                 LocalDate monthStart, LocalDate today) {
+    try {
+      @SuppressWarnings("unchecked")
+      List<Object[]> rows = entityManager.createNativeQuery(
+          HabitExecutionRepositoryQueries.GET_ACTIVITY_BY_USER_ID
+        )
+        .setParameter("userId", userId)
+        .setParameter("weekStart", weekStart)
+        .setParameter("monthStart", monthStart)
+        .setParameter("today", today)
+        .getResultList();
+      List<HabitActivity> activities = new ArrayList<>(rows.size());
+      for (Object[] row : rows) {
+        activities.add(new HabitActivity(
+          ((Number) row[0]).longValue(),
+          ((Number) row[1]).longValue(),
+          ((Number) row[2]).longValue(),
+          ((Number) row[3]).longValue(),
+          ((Number) row[4]).longValue(),
+          ((Number) row[5]).longValue(),
+          ((Number) row[6]).longValue()
+        ));
+      }
+      return activities;
+    } catch (Exception e) {
+      log.error("Error retrieving habit activity: ", e);
+      throw new RepositoryException(
+        String.format(MessageConstants.ERROR_RETRIEVING_BY_USER, ENTITY_NAME, userId),
+        e
+      );
+    }
+  }
+  
+  private static LocalDate toLocalDate(Object value) {
+    return value instanceof java.sql.Date date ? date.toLocalDate() : (LocalDate) value;
+  }
+}
@@ -0,0 +1,47 @@
+package com.mkhabibullin.infrastructure.persistence.repository.implementation;
+
+import com.mkhabibullin.infrastructure.persistence.queries.SequenceQueries;
+import jakarta.persistence.EntityManager;
+
+import java.util.List;
+
+/**
+ * Allocates identifiers for native multi-row inserts from the per-table sequences
+ * using the same pooled-lo scheme as the entity generators: every value returned by
+ * the sequence reserves itself and the following {@code INCREMENT - 1} values.
+ * Identifiers handed out here therefore never overlap those assigned by Hibernate.
+ */
+final class PooledIdAllocator {
+  /**
+   * Increment of every per-table id sequence; must match the entities' {@code allocationSize}.
+   */
+  static final int INCREMENT = 50;
+  
+  private PooledIdAllocator() {
+    throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+  }
+  
+  /**
+   * Reserves identifiers for the given number of rows with one sequence round trip.
+   *
+   * @param entityManager the entity manager of the current transaction
+   * @param sequence      the schema-qualified sequence name
+   * @param count         the number of identifiers needed
+   * @return {@code count} distinct identifiers
+   */
+  static long[] allocate(EntityManager entityManager, String sequence, int count) {
+    long[] ids = new long[count];
+    if (count == 0) {
+      return ids;
+    }
+    int blocks = (count + INCREMENT - 1) / INCREMENT;
+    List<?> blockStarts = entityManager.createNativeQuery(SequenceQueries.NEXT_VALUES)
+      .setParameter("sequence", sequence)
+      .setParameter("count", blocks)
+      .getResultList();
+    for (int i = 0; i < count; i++) {
+      ids[i] = ((Number) blockStarts.get(i / INCREMENT)).longValue() + i % INCREMENT;
+    }
+    return ids;
+  }
+}
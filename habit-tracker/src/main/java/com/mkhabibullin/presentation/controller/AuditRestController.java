@@ -1,11 +1,20 @@
 package com.mkhabibullin.presentation.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.mkhabibullin.application.mapper.AuditMapper;
 import com.mkhabibullin.application.service.AuditLogService;
 import com.mkhabibullin.application.validation.AuditValidator;
 import com.mkhabibullin.domain.exception.ValidationException;
+import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.domain.model.AuditLogCursor;
+import com.mkhabibullin.domain.model.AuditLogFilter;
+import com.mkhabibullin.domain.model.AuditLogPage;
+import com.mkhabibullin.domain.model.AuditStatus;
 import com.mkhabibullin.domain.model.User;
+import com.mkhabibullin.infrastructure.audit.AuditTailSubscription;
 import com.mkhabibullin.presentation.dto.ErrorDTO;
+import com.mkhabibullin.presentation.dto.audit.AuditLogPageDTO;
 import com.mkhabibullin.presentation.dto.audit.AuditLogResponseDTO;
 import com.mkhabibullin.presentation.dto.audit.AuditStatisticsDTO;
 import io.swagger.v3.oas.annotations.Operation;
@@ -17,6 +26,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -26,10 +37,21 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.SessionAttribute;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
 import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST Controller for managing audit logs in the application.
@@ -37,9 +59,12 @@ import java.util.List;
  *
  * This controller handles various audit log related operations including:
  * - Retrieving recent audit logs
+ * - Streaming newly written audit logs as Server-Sent Events
  * - Fetching user-specific audit logs
  * - Getting operation-specific audit logs
+ * - Searching audit logs by several filters at once, one keyset-paginated page at a time
  * - Generating audit statistics for specified time periods
+ * - Exporting filtered audit logs as compressed CSV or NDJSON files
  *
  * All endpoints require user authentication and include appropriate validation
  * for input parameters.
@@ -50,9 +75,19 @@ import java.util.List;
 @Validated
 public class AuditRestController {
   private static final Logger log = LoggerFactory.getLogger(AuditRestController.class);
+  private static final String FORMAT_CSV = "csv";
+  private static final String FORMAT_NDJSON = "ndjson";
+  private static final String CSV_HEADER =
+    "id,username,methodName,operation,timestamp,executionTimeMs,requestUri,requestMethod,status,errorClass";
+  private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+  private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+  private static final long STREAM_TIMEOUT_MS = 30 * 60 * 1000L;
+  private static final String STREAM_EVENT_NAME = "audit-log";
+  private static final char CURSOR_SEPARATOR = '~';
   private final AuditLogService auditLogService;
   private final AuditMapper auditMapper;
   private final AuditValidator auditValidator;
+  private final ObjectMapper objectMapper;
   
   /**
    * Constructs a new AuditRestController with required dependencies.
@@ -60,13 +95,16 @@ public class AuditRestController {
    * @param auditLogService Service for handling audit log operations
    * @param auditMapper     Mapper for converting between domain models and DTOs
    * @param auditValidator  Validator for ensuring audit log data integrity
+   * @param objectMapper    Mapper used to serialize exported audit logs
    */
   public AuditRestController(AuditLogService auditLogService,
                              AuditMapper auditMapper,
-                             AuditValidator auditValidator) {
+                             AuditValidator auditValidator,
+                             ObjectMapper objectMapper) {
     this.auditLogService = auditLogService;
     this.auditMapper = auditMapper;
     this.auditValidator = auditValidator;
+    this.objectMapper = objectMapper;
   }
   
   /**
@@ -126,6 +164,64 @@ public class AuditRestController {
     return ResponseEntity.ok(responseDtos);
   }
   
+  /**
+   * Streams audit logs to the client as Server-Sent Events as soon as they are written.
+   * Each event is named {@value #STREAM_EVENT_NAME} and carries one audit log as JSON. Events are
+   * delivered from a per-client buffer on a background thread; a client that reads too slowly
+   * misses the oldest buffered events instead of slowing down the application. The stream ends
+   * after {@value #STREAM_TIMEOUT_MS} ms, after which the client is expected to reconnect.
+   *
+   * @param currentUser Currently authenticated user making the request
+   * @return the event stream
+   */
+  @Operation(
+    summary = "Stream audit logs",
+    description = "Pushes newly written audit logs as Server-Sent Events named 'audit-log'"
+  )
+  @ApiResponses(value = {
+    @ApiResponse(
+      responseCode = "200",
+      description = "Stream opened successfully",
+      content = @Content(
+        mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+        schema = @Schema(implementation = AuditLogResponseDTO.class)
+      )
+    ),
+    @ApiResponse(
+      responseCode = "401",
+      description = "User not authenticated",
+      content = @Content(
+        mediaType = MediaType.APPLICATION_JSON_VALUE,
+        schema = @Schema(implementation = ErrorDTO.class)
+      )
+    )
+  })
+  @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamLogs(
+    @Parameter(hidden = true) @SessionAttribute("user") User currentUser) {
+    SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+    AuditTailSubscription subscription = auditLogService.subscribe(auditLogs -> sendEvents(emitter, auditLogs));
+    emitter.onCompletion(subscription::cancel);
+    emitter.onTimeout(subscription::cancel);
+    emitter.onError(error -> subscription.cancel());
+    log.info("Audit log stream opened for user {}", currentUser.getId());
+    return emitter;
+  }
+  
+  private void sendEvents(SseEmitter emitter, List<AuditLog> auditLogs) {
+    try {
+      for (AuditLog auditLog : auditLogs) {
+        emitter.send(SseEmitter.event()
+          .name(STREAM_EVENT_NAME)
+          .id(String.valueOf(auditLog.getId()))
+          .data(auditMapper.auditLogToResponseDto(auditLog), MediaType.APPLICATION_JSON));
+      }
+    } catch (IOException e) {
+      emitter.completeWithError(e);
+      throw new UncheckedIOException(e);
+    }
+  }
+  
   /**
    * Retrieves all audit logs associated with the specified username.
    *
@@ -185,9 +281,10 @@ public class AuditRestController {
   }
   
   /**
-   * Retrieves all audit logs for the specified operation type.
+   * Retrieves all audit logs for the specified operation type, optionally only those with a given status.
    *
    * @param operation Operation type to retrieve logs for
+   * @param status Status of the logs to retrieve, or null for every status
    * @param currentUser Currently authenticated user making the request
    * @return ResponseEntity containing a list of audit logs for the specified operation
    * @throws ValidationException if the operation parameter is invalid or empty
@@ -195,7 +292,7 @@ public class AuditRestController {
    */
   @Operation(
     summary = "Get audit logs for specific operation",
-    description = "Retrieves all audit logs for the specified operation type"
+    description = "Retrieves all audit logs for the specified operation type, optionally filtered by status"
   )
   @ApiResponses(value = {
     @ApiResponse(
@@ -227,12 +324,16 @@ public class AuditRestController {
   public ResponseEntity<List<AuditLogResponseDTO>> getOperationLogs(
     @Parameter(description = "Operation to retrieve logs for", example = "Create Habit", required = true)
     @PathVariable("operation") String operation,
+    @Parameter(description = "Status of the logs to retrieve", example = "FAILURE")
+    @RequestParam(required = false) AuditStatus status,
     @Parameter(hidden = true) @SessionAttribute("user") User currentUser) throws ValidationException, IOException {
     log.debug("Retrieving audit logs for operation {}", operation);
     if (operation == null || operation.trim().isEmpty()) {
       throw new ValidationException("Operation cannot be empty");
     }
-    var logs = auditLogService.getOperationLogs(operation);
+    var logs = status == null
+      ? auditLogService.getOperationLogs(operation)
+      : auditLogService.getOperationLogs(operation, status);
     var responseDtos = auditMapper.auditLogsToResponseDtos(logs);
     log.info("Retrieved {} audit logs for operation {} by user {}",
       responseDtos.size(), operation, currentUser.getId());
@@ -296,6 +397,257 @@ public class AuditRestController {
     return ResponseEntity.ok(statisticsDto);
   }
   
+  /**
+   * Searches audit logs by any combination of filters, newest first, one page at a time.
+   * Pages are keyset-paginated on timestamp and id: the response carries an opaque cursor
+   * which, passed back with the same filters, continues exactly after the last entry, so a
+   * page costs the same however deep it is and entries written meanwhile do not shift pages.
+   *
+   * @param username Username to search logs for, optional
+   * @param operation Operation to search logs for, optional
+   * @param startDateTime Earliest timestamp to include (ISO-8601 format), optional
+   * @param endDateTime Latest timestamp to include (ISO-8601 format), optional
+   * @param method HTTP method to search logs for, optional
+   * @param minDurationMs Minimum execution time in milliseconds, optional
+   * @param status Status of the logs to search for, optional
+   * @param cursor Cursor returned with the previous page, optional
+   * @param limit Maximum number of logs on the page (must be between 1 and 100)
+   * @param currentUser Currently authenticated user making the request
+   * @return ResponseEntity containing the page of audit logs and the cursor of the next page
+   * @throws ValidationException if a parameter or the cursor is invalid
+   */
+  @Operation(
+    summary = "Search audit logs",
+    description = "Retrieves the audit logs matching all given filters, newest first, with keyset pagination"
+  )
+  @ApiResponses(value = {
+    @ApiResponse(
+      responseCode = "200",
+      description = "Page retrieved successfully",
+      content = @Content(
+        mediaType = MediaType.APPLICATION_JSON_VALUE,
+        schema = @Schema(implementation = AuditLogPageDTO.class)
+      )
+    ),
+    @ApiResponse(
+      responseCode = "400",
+      description = "Invalid filter, limit or cursor",
+      content = @Content(
+        mediaType = MediaType.APPLICATION_JSON_VALUE,
+        schema = @Schema(implementation = ErrorDTO.class)
+      )
+    ),
+    @ApiResponse(
+      responseCode = "401",
+      description = "User not authenticated",
+      content = @Content(
+        mediaType = MediaType.APPLICATION_JSON_VALUE,
+        schema = @Schema(implementation = ErrorDTO.class)
+      )
+    )
+  })
+  @GetMapping(value = "/search", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<AuditLogPageDTO> searchLogs(
+    @Parameter(description = "Username to search logs for", example = "john.doe")
+    @RequestParam(required = false) String username,
+    @Parameter(description = "Operation to search logs for", example = "Create Habit")
+    @RequestParam(required = false) String operation,
+    @Parameter(description = "Start date-time (ISO-8601 format)", example = "2024-03-01T00:00:00")
+    @RequestParam(required = false) LocalDateTime startDateTime,
+    @Parameter(description = "End date-time (ISO-8601 format)", example = "2024-03-31T23:59:59")
+    @RequestParam(required = false) LocalDateTime endDateTime,
+    @Parameter(description = "HTTP method to search logs for", example = "POST")
+    @RequestParam(required = false) String method,
+    @Parameter(description = "Minimum execution time in milliseconds", example = "500")
+    @RequestParam(required = false) Long minDurationMs,
+    @Parameter(description = "Status of the logs to search for", example = "FAILURE")
+    @RequestParam(required = false) AuditStatus status,
+    @Parameter(description = "Cursor returned with the previous page")
+    @RequestParam(required = false) String cursor,
+    @Parameter(description = "Maximum number of logs to retrieve (1-100)", example = "50")
+    @RequestParam(defaultValue = "50") Integer limit,
+    @Parameter(hidden = true) @SessionAttribute("user") User currentUser) throws ValidationException {
+    if (limit <= 0 || limit > 100) {
+      throw new ValidationException("Limit must be between 1 and 100");
+    }
+    if (minDurationMs != null && minDurationMs < 0) {
+      throw new ValidationException("Minimum duration cannot be negative");
+    }
+    if (startDateTime != null && endDateTime != null && endDateTime.isBefore(startDateTime)) {
+      throw new ValidationException("End date-time cannot be before start date-time");
+    }
+    String requestMethod = blankToNull(method);
+    AuditLogFilter filter = new AuditLogFilter(
+      startDateTime, endDateTime, blankToNull(username), blankToNull(operation), status,
+      requestMethod == null ? null : requestMethod.toUpperCase(Locale.ROOT), minDurationMs);
+    AuditLogPage page = auditLogService.searchLogs(filter, decodeCursor(blankToNull(cursor)), limit);
+    var responseDtos = auditMapper.auditLogsToResponseDtos(page.getAuditLogs());
+    log.debug("Found {} audit logs for search by user {}", responseDtos.size(), currentUser.getId());
+    return ResponseEntity.ok(new AuditLogPageDTO(responseDtos, encodeCursor(page.getNextCursor())));
+  }
+  
+  /**
+   * Exports the audit logs matching the given filters as a gzip-compressed file.
+   * Logs are read from the database through a forward-only cursor and written to the
+   * compressed response one row at a time, so memory use does not grow with the size of the export.
+   *
+   * @param format Output format, either "csv" or "ndjson"
+   * @param startDateTime Earliest timestamp to export (ISO-8601 format), optional
+   * @param endDateTime Latest timestamp to export (ISO-8601 format), optional
+   * @param username Username to export logs for, optional
+   * @param operation Operation to export logs for, optional
+   * @param status Status of the logs to export, optional
+   * @param currentUser Currently authenticated user making the request
+   * @return ResponseEntity containing the streamed, compressed export
+   * @throws ValidationException if the format or the date range is invalid
+   */
+  @Operation(
+    summary = "Export audit logs",
+    description = "Streams the audit logs matching the optional filters as a gzip-compressed CSV or NDJSON file, oldest first"
+  )
+  @ApiResponses(value = {
+    @ApiResponse(
+      responseCode = "200",
+      description = "Export streamed successfully",
+      content = @Content(mediaType = "application/gzip")
+    ),
+    @ApiResponse(
+      responseCode = "400",
+      description = "Invalid format or date range",
+      content = @Content(
+        mediaType = MediaType.APPLICATION_JSON_VALUE,
+        schema = @Schema(implementation = ErrorDTO.class)
+      )
+    ),
+    @ApiResponse(
+      responseCode = "401",
+      description = "User not authenticated",
+      content = @Content(
+        mediaType = MediaType.APPLICATION_JSON_VALUE,
+        schema = @Schema(implementation = ErrorDTO.class)
+      )
+    )
+  })
+  @GetMapping(value = "/export")
+  public ResponseEntity<StreamingResponseBody> exportLogs(
+    @Parameter(description = "Output format (csv or ndjson)", example = "csv")
+    @RequestParam(defaultValue = FORMAT_CSV) String format,
+    @Parameter(description = "Start date-time (ISO-8601 format)", example = "2024-03-01T00:00:00")
+    @RequestParam(required = false) LocalDateTime startDateTime,
+    @Parameter(description = "End date-time (ISO-8601 format)", example = "2024-03-31T23:59:59")
+    @RequestParam(required = false) LocalDateTime endDateTime,
+    @Parameter(description = "Username to export logs for", example = "john.doe")
+    @RequestParam(required = false) String username,
+    @Parameter(description = "Operation to export logs for", example = "Create Habit")
+    @RequestParam(required = false) String operation,
+    @Parameter(description = "Status of the logs to export", example = "FAILURE")
+    @RequestParam(required = false) AuditStatus status,
+    @Parameter(hidden = true) @SessionAttribute("user") User currentUser) throws ValidationException {
+    String exportFormat = format.trim().toLowerCase(Locale.ROOT);
+    if (!FORMAT_CSV.equals(exportFormat) && !FORMAT_NDJSON.equals(exportFormat)) {
+      throw new ValidationException("Format must be csv or ndjson");
+    }
+    if (startDateTime != null && endDateTime != null && endDateTime.isBefore(startDateTime)) {
+      throw new ValidationException("End date-time cannot be before start date-time");
+    }
+    AuditLogFilter filter = new AuditLogFilter(
+      startDateTime, endDateTime, blankToNull(username), blankToNull(operation), status);
+    log.debug("Exporting audit logs as {} by user {}", exportFormat, currentUser.getId());
+    StreamingResponseBody body = outputStream -> {
+      ObjectWriter writer = objectMapper.writerFor(AuditLogResponseDTO.class);
+      try (Writer out = new BufferedWriter(new OutputStreamWriter(
+        new GZIPOutputStream(outputStream, EXPORT_BUFFER_SIZE), StandardCharsets.UTF_8), EXPORT_BUFFER_SIZE)) {
+        if (FORMAT_CSV.equals(exportFormat)) {
+          out.write(CSV_HEADER);
+          out.write('\n');
+        }
+        auditLogService.exportLogs(filter, auditLog -> {
+          try {
+            if (FORMAT_CSV.equals(exportFormat)) {
+              writeCsvRow(out, auditLog);
+            } else {
+              out.write(writer.writeValueAsString(auditMapper.auditLogToResponseDto(auditLog)));
+            }
+            out.write('\n');
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+      log.info("Exported audit logs as {} to user {}", exportFormat, currentUser.getId());
+    };
+    String filename = "audit-logs." + exportFormat + ".gz";
+    return ResponseEntity.ok()
+      .contentType(APPLICATION_GZIP)
+      .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+      .body(body);
+  }
+  
+  private static void writeCsvRow(Writer out, AuditLog auditLog) throws IOException {
+    out.write(String.valueOf(auditLog.getId()));
+    out.write(',');
+    writeCsvValue(out, auditLog.getUsername());
+    out.write(',');
+    writeCsvValue(out, auditLog.getMethodName());
+    out.write(',');
+    writeCsvValue(out, auditLog.getOperation());
+    out.write(',');
+    writeCsvValue(out, String.valueOf(auditLog.getTimestamp()));
+    out.write(',');
+    out.write(String.valueOf(auditLog.getExecutionTimeMs()));
+    out.write(',');
+    writeCsvValue(out, auditLog.getRequestUri());
+    out.write(',');
+    writeCsvValue(out, auditLog.getRequestMethod());
+    out.write(',');
+    writeCsvValue(out, auditLog.getStatus() == null ? null : auditLog.getStatus().name());
+    out.write(',');
+    writeCsvValue(out, auditLog.getErrorClass());
+  }
+  
+  private static void writeCsvValue(Writer out, String value) throws IOException {
+    if (value == null) {
+      return;
+    }
+    if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+      out.write(value);
+      return;
+    }
+    out.write('"');
+    out.write(value.replace("\"", "\"\""));
+    out.write('"');
+  }
+  
+  private static String encodeCursor(AuditLogCursor cursor) {
+    if (cursor == null) {
+      return null;
+    }
+    String value = cursor.getTimestamp().toString() + CURSOR_SEPARATOR + cursor.getId();
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+  
+  private static AuditLogCursor decodeCursor(String cursor) throws ValidationException {
+    if (cursor == null) {
+      return null;
+    }
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = value.lastIndexOf(CURSOR_SEPARATOR);
+      return new AuditLogCursor(
+        LocalDateTime.parse(value.substring(0, separator)),
+        Long.parseLong(value.substring(separator + 1))
+      );
+    } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+      throw new ValidationException("Invalid cursor");
+    }
+  }
+  
+  private static String blankToNull(String value) {
+    return value == null || value.isBlank() ? null : value.trim();
+  }
+  
   private void validateDateTimeRange(LocalDateTime startDateTime, LocalDateTime endDateTime)
     throws ValidationException {
     if (startDateTime == null || endDateTime == null) {
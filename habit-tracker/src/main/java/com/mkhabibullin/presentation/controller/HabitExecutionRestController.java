@@ -1,24 +1,36 @@
 package com.mkhabibullin.presentation.controller;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.mkhabibullin.application.mapper.HabitExecutionMapper;
 import com.mkhabibullin.application.service.HabitExecutionService;
+import com.mkhabibullin.application.service.HabitProgressReportEngine;
 import com.mkhabibullin.application.validation.HabitExecutionValidator;
+import com.mkhabibullin.common.AuditPolicy;
 import com.mkhabibullin.common.Audited;
 import com.mkhabibullin.common.MessageConstants;
-import com.mkhabibullin.domain.exception.HabitNotFoundException;
 import com.mkhabibullin.domain.exception.InvalidDateRangeException;
 import com.mkhabibullin.domain.exception.ValidationException;
-import com.mkhabibullin.domain.model.Habit;
+import com.mkhabibullin.domain.model.ExecutionBatchItemResult;
+import com.mkhabibullin.domain.model.HabitDashboard;
 import com.mkhabibullin.domain.model.HabitExecution;
+import com.mkhabibullin.domain.model.HabitExecutionSummary;
+import com.mkhabibullin.domain.model.HabitProgressReport;
+import com.mkhabibullin.domain.model.StreakSummary;
 import com.mkhabibullin.domain.model.User;
-import com.mkhabibullin.infrastructure.persistence.repository.HabitRepository;
 import com.mkhabibullin.presentation.dto.ErrorDTO;
 import com.mkhabibullin.presentation.dto.MessageDTO;
+import com.mkhabibullin.presentation.dto.habitExecution.BatchExecutionItemDTO;
+import com.mkhabibullin.presentation.dto.habitExecution.BatchExecutionItemResultDTO;
+import com.mkhabibullin.presentation.dto.habitExecution.BatchExecutionRequestDTO;
+import com.mkhabibullin.presentation.dto.habitExecution.BatchExecutionResponseDTO;
+import com.mkhabibullin.presentation.dto.habitExecution.HabitDashboardDTO;
 import com.mkhabibullin.presentation.dto.habitExecution.HabitExecutionRequestDTO;
 import com.mkhabibullin.presentation.dto.habitExecution.HabitExecutionResponseDTO;
 import com.mkhabibullin.presentation.dto.habitExecution.HabitProgressReportDTO;
 import com.mkhabibullin.presentation.dto.habitExecution.HabitStatisticsDTO;
+import com.mkhabibullin.presentation.dto.habitExecution.StreakSummaryDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -28,6 +40,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -41,13 +54,19 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.SessionAttribute;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.time.DayOfWeek;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * REST Controller for managing habit execution tracking and analysis.
@@ -67,10 +86,12 @@ import java.util.stream.Collectors;
 @Validated
 public class HabitExecutionRestController {
   private static final Logger log = LoggerFactory.getLogger(HabitExecutionRestController.class);
+  private static final int MAX_HISTORY_PAGE_SIZE = 1000;
   private final HabitExecutionService executionService;
   private final HabitExecutionMapper executionMapper;
   private final HabitExecutionValidator executionValidator;
-  private final HabitRepository habitRepository;
+  private final HabitProgressReportEngine progressReportEngine;
+  private final ObjectMapper objectMapper;
   
   /**
    * Constructs a new HabitExecutionRestController with required dependencies.
@@ -78,15 +99,19 @@ public class HabitExecutionRestController {
    * @param executionService   Service for handling habit execution operations
    * @param executionMapper    Mapper for converting between domain models and DTOs
    * @param executionValidator Validator for ensuring execution data integrity
+   * @param progressReportEngine Engine building progress reports from a single history read
+   * @param objectMapper         Mapper used to serialize streamed history records
    */
   public HabitExecutionRestController(HabitExecutionService executionService,
                                       HabitExecutionMapper executionMapper,
                                       HabitExecutionValidator executionValidator,
-                                      HabitRepository habitRepository) {
+                                      HabitProgressReportEngine progressReportEngine,
+                                      ObjectMapper objectMapper) {
     this.executionService = executionService;
     this.executionMapper = executionMapper;
     this.executionValidator = executionValidator;
-    this.habitRepository = habitRepository;
+    this.progressReportEngine = progressReportEngine;
+    this.objectMapper = objectMapper;
   }
   
   
@@ -155,15 +180,99 @@ public class HabitExecutionRestController {
   }
   
   /**
-   * Retrieves the complete execution history for a specific habit.
+   * Records a batch of habit executions, possibly across habits, in a single request.
+   * Each item is validated on its own; invalid items and items for habits the user does not own
+   * are rejected without affecting the rest of the batch.
+   *
+   * @param batchDTO Executions to record
+   * @param currentUser Currently authenticated user
+   * @return ResponseEntity containing per-item outcomes in request order
+   * @throws ValidationException if the batch is empty or too large
+   */
+  @Operation(
+    summary = "Track habit executions in bulk",
+    description = "Records many habit executions across habits in one transaction and reports the outcome of each item"
+  )
+  @ApiResponses(value = {
+    @ApiResponse(
+      responseCode = "200",
+      description = "Batch processed",
+      content = @Content(
+        mediaType = MediaType.APPLICATION_JSON_VALUE,
+        schema = @Schema(implementation = BatchExecutionResponseDTO.class)
+      )
+    ),
+    @ApiResponse(
+      responseCode = "400",
+      description = "Batch is empty or too large",
+      content = @Content(
+        mediaType = MediaType.APPLICATION_JSON_VALUE,
+        schema = @Schema(implementation = ErrorDTO.class)
+      )
+    ),
+    @ApiResponse(
+      responseCode = "401",
+      description = "User not authenticated",
+      content = @Content(
+        mediaType = MediaType.APPLICATION_JSON_VALUE,
+        schema = @Schema(implementation = ErrorDTO.class)
+      )
+    )
+  })
+  @PostMapping(value = "/track/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+  @Audited(audited = "Track Habit Executions Batch")
+  public ResponseEntity<BatchExecutionResponseDTO> trackExecutions(
+    @RequestBody BatchExecutionRequestDTO batchDTO,
+    @Parameter(hidden = true) @SessionAttribute("user") User currentUser) throws ValidationException {
+    executionValidator.validateBatchExecutionRequestDTO(batchDTO);
+    List<BatchExecutionItemDTO> items = batchDTO.executions();
+    log.debug("Recording batch of {} executions by user {}", items.size(), currentUser.getEmail());
+    BatchExecutionItemResultDTO[] results = new BatchExecutionItemResultDTO[items.size()];
+    List<Integer> acceptedIndexes = new ArrayList<>(items.size());
+    List<HabitExecution> executions = new ArrayList<>(items.size());
+    for (int i = 0; i < items.size(); i++) {
+      try {
+        executionValidator.validateBatchExecutionItemDTO(items.get(i));
+        executions.add(executionMapper.batchItemDtoToExecution(items.get(i)));
+        acceptedIndexes.add(i);
+      } catch (ValidationException e) {
+        results[i] = new BatchExecutionItemResultDTO(i, ExecutionBatchItemResult.Status.REJECTED, e.getMessage());
+      }
+    }
+    List<ExecutionBatchItemResult> outcomes = executions.isEmpty()
+      ? List.of()
+      : executionService.markHabitExecutions(currentUser.getId(), executions);
+    for (int i = 0; i < outcomes.size(); i++) {
+      int index = acceptedIndexes.get(i);
+      results[index] = new BatchExecutionItemResultDTO(index, outcomes.get(i).getStatus(), outcomes.get(i).getMessage());
+    }
+    int recorded = (int) Arrays.stream(results)
+      .filter(result -> result.status() == ExecutionBatchItemResult.Status.RECORDED)
+      .count();
+    int rejected = (int) Arrays.stream(results)
+      .filter(result -> result.status() == ExecutionBatchItemResult.Status.REJECTED)
+      .count();
+    log.info("Recorded {} of {} batch executions by user {}", recorded, items.size(), currentUser.getEmail());
+    return ResponseEntity.ok(new BatchExecutionResponseDTO(recorded, rejected, List.of(results)));
+  }
+  
+  /**
+   * Retrieves one page of the execution history for a specific habit, ordered by date.
+   * The next page is requested by passing the date of the last returned record as {@code after};
+   * when more records exist, its URL is returned in a {@code Link} header with {@code rel="next"}.
    *
    * @param habitId ID of the habit to retrieve history for
+   * @param after Date of the last record of the previous page, omitted for the first page
+   * @param limit Maximum number of records to return
    * @param currentUser Currently authenticated user
    * @return ResponseEntity containing list of execution records
+   * @throws ValidationException if the limit is out of range
    */
   @Operation(
     summary = "Get execution history",
-    description = "Retrieves the complete execution history for a specific habit"
+    description = "Retrieves one page of the execution history for a specific habit, ordered by date. " +
+      "Pass the date of the last returned record as 'after' to get the next page. " +
+      "When more records exist, the response carries a 'Link' header with rel=\"next\""
   )
   @ApiResponses(value = {
     @ApiResponse(
@@ -174,6 +283,14 @@ public class HabitExecutionRestController {
         schema = @Schema(implementation = HabitExecutionResponseDTO.class)
       )
     ),
+    @ApiResponse(
+      responseCode = "400",
+      description = "Invalid limit",
+      content = @Content(
+        mediaType = MediaType.APPLICATION_JSON_VALUE,
+        schema = @Schema(implementation = ErrorDTO.class)
+      )
+    ),
     @ApiResponse(
       responseCode = "401",
       description = "User not authenticated",
@@ -192,17 +309,95 @@ public class HabitExecutionRestController {
     )
   })
   @GetMapping(value = "/history/{habitId}", produces = MediaType.APPLICATION_JSON_VALUE)
-  @Audited(audited = "Get Execution History")
+  @Audited(audited = "Get Execution History", policy = AuditPolicy.SAMPLED, sampleRate = 0.1)
   public ResponseEntity<List<HabitExecutionResponseDTO>> getExecutionHistory(
     @Parameter(description = "Habit ID", required = true)
     @PathVariable("habitId") Long habitId,
+    @Parameter(description = "Date of the last record of the previous page (YYYY-MM-DD)")
+    @RequestParam(required = false) LocalDate after,
+    @Parameter(description = "Maximum number of records to return (1-" + MAX_HISTORY_PAGE_SIZE + ")", example = "100")
+    @RequestParam(defaultValue = "100") Integer limit,
     @Parameter(hidden = true) @SessionAttribute("user") User currentUser) {
-    log.debug("Retrieving execution history for habit {} by user {}", habitId, currentUser.getEmail());
-    List<HabitExecution> history = executionService.getAll(habitId);
+    log.debug("Retrieving execution history for habit {} after {} by user {}", habitId, after, currentUser.getEmail());
+    if (limit <= 0 || limit > MAX_HISTORY_PAGE_SIZE) {
+      throw new ValidationException("Limit must be between 1 and " + MAX_HISTORY_PAGE_SIZE);
+    }
+    List<HabitExecution> history = executionService.getHistoryPage(habitId, after, limit + 1);
+    boolean hasNextPage = history.size() > limit;
+    if (hasNextPage) {
+      history = history.subList(0, limit);
+    }
     List<HabitExecutionResponseDTO> historyDTOs = executionMapper.executionsToResponseDtos(history);
     log.info("Retrieved {} execution records for habit {} by user {}",
       historyDTOs.size(), habitId, currentUser.getEmail());
-    return ResponseEntity.ok(historyDTOs);
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+    if (hasNextPage) {
+      String nextPage = ServletUriComponentsBuilder.fromCurrentRequest()
+        .replaceQueryParam("after", history.get(limit - 1).getDate())
+        .replaceQueryParam("limit", limit)
+        .toUriString();
+      response.header(HttpHeaders.LINK, "<" + nextPage + ">; rel=\"next\"");
+    }
+    return response.body(historyDTOs);
+  }
+  
+  /**
+   * Streams the complete execution history for a specific habit as newline-delimited JSON.
+   * Records are read from the database in fetch-sized chunks and written to the response
+   * one per line, so the history is never held in memory as a whole.
+   *
+   * @param habitId ID of the habit to retrieve history for
+   * @param currentUser Currently authenticated user
+   * @return ResponseEntity containing the streamed execution records
+   */
+  @Operation(
+    summary = "Stream execution history",
+    description = "Streams the complete execution history for a specific habit as newline-delimited JSON, ordered by date"
+  )
+  @ApiResponses(value = {
+    @ApiResponse(
+      responseCode = "200",
+      description = "History streamed successfully",
+      content = @Content(
+        mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+        schema = @Schema(implementation = HabitExecutionResponseDTO.class)
+      )
+    ),
+    @ApiResponse(
+      responseCode = "401",
+      description = "User not authenticated",
+      content = @Content(
+        mediaType = MediaType.APPLICATION_JSON_VALUE,
+        schema = @Schema(implementation = ErrorDTO.class)
+      )
+    )
+  })
+  @GetMapping(value = "/history/{habitId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @Audited(audited = "Stream Execution History")
+  public ResponseEntity<StreamingResponseBody> streamExecutionHistory(
+    @Parameter(description = "Habit ID", required = true)
+    @PathVariable("habitId") Long habitId,
+    @Parameter(hidden = true) @SessionAttribute("user") User currentUser) {
+    log.debug("Streaming execution history for habit {} by user {}", habitId, currentUser.getEmail());
+    StreamingResponseBody body = outputStream -> {
+      ObjectWriter writer = objectMapper.writerFor(HabitExecutionResponseDTO.class);
+      try (Writer out = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+        executionService.streamHistory(habitId, execution -> {
+          try {
+            out.write(writer.writeValueAsString(executionMapper.executionToResponseDto(execution)));
+            out.write('\n');
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+      log.info("Streamed execution history for habit {} to user {}", habitId, currentUser.getEmail());
+    };
+    return ResponseEntity.ok()
+      .contentType(MediaType.APPLICATION_NDJSON)
+      .body(body);
   }
   
   /**
@@ -253,7 +448,7 @@ public class HabitExecutionRestController {
     )
   })
   @GetMapping(value = "/statistics/{habitId}", produces = MediaType.APPLICATION_JSON_VALUE)
-  @Audited(audited = "Get Statistics")
+  @Audited(audited = "Get Statistics", policy = AuditPolicy.SAMPLED, sampleRate = 0.1)
   public ResponseEntity<HabitStatisticsDTO> getStatistics(
     @Parameter(description = "Habit ID", required = true)
     @PathVariable("habitId") Long habitId,
@@ -265,18 +460,15 @@ public class HabitExecutionRestController {
     log.debug("Retrieving statistics for habit {} by user {} from {} to {}",
       habitId, currentUser.getEmail(), startDate, endDate);
     validateDateRange(startDate, endDate);
-    List<HabitExecution> history = executionService.getAll(habitId);
-    List<HabitExecution> filteredHistory = filterHistoryByDateRange(history, startDate, endDate);
+    HabitExecutionSummary summary = executionService.getExecutionSummary(habitId, startDate, endDate);
     int currentStreak = executionService.getCurrentStreak(habitId);
-    double successPercentage = executionService.getSuccessPercentage(habitId, startDate, endDate);
-    Map<DayOfWeek, Long> completionsByDay = calculateCompletionsByDay(filteredHistory);
     HabitStatisticsDTO statistics = executionMapper.createStatisticsDto(
       currentStreak,
-      successPercentage,
-      filteredHistory.size(),
-      filteredHistory.stream().filter(HabitExecution::isCompleted).count(),
-      filteredHistory.stream().filter(e -> !e.isCompleted()).count(),
-      completionsByDay
+      summary.getSuccessPercentage(),
+      summary.getTotalExecutions(),
+      summary.getCompletedExecutions(),
+      summary.getMissedExecutions(),
+      summary.getCompletionsByDay()
     );
     log.info("Retrieved statistics for habit {} by user {}", habitId, currentUser.getEmail());
     return ResponseEntity.ok(statistics);
@@ -330,7 +522,7 @@ public class HabitExecutionRestController {
     )
   })
   @GetMapping(value = "/progress/{habitId}", produces = MediaType.APPLICATION_JSON_VALUE)
-  @Audited(audited = "Get Progress Report")
+  @Audited(audited = "Get Progress Report", policy = AuditPolicy.SAMPLED, sampleRate = 0.1)
   public ResponseEntity<HabitProgressReportDTO> getProgressReport(
     @Parameter(description = "Habit ID", required = true)
     @PathVariable("habitId") Long habitId,
@@ -342,21 +534,12 @@ public class HabitExecutionRestController {
     log.debug("Generating progress report for habit {} by user {} from {} to {}",
       habitId, currentUser.getEmail(), startDate, endDate);
     executionValidator.validateProgressReportRequest(startDate, endDate);
-    Habit habit = habitRepository.getById(habitId);
-    if (habit == null) {
-      throw new HabitNotFoundException(String.format(MessageConstants.HABIT_NOT_FOUND, habitId));
-    }
-    List<HabitExecution> history = executionService.getAll(habitId);
-    List<HabitExecution> filteredHistory = filterHistoryByDateRange(history, startDate, endDate);
-    Map<String, String> detailedReport = executionService.generateProgressReport(habitId, startDate, endDate);
-    boolean improving = executionService.isImprovingTrend(filteredHistory);
-    int longestStreak = executionService.calculateLongestStreak(filteredHistory);
-    List<String> suggestions = executionService.generateSuggestions(null, filteredHistory);
+    HabitProgressReport report = progressReportEngine.generate(habitId, startDate, endDate);
     HabitProgressReportDTO progressReport = executionMapper.createProgressReportDto(
-      detailedReport,
-      improving,
-      longestStreak,
-      suggestions
+      report.getReportData(),
+      report.isImprovingTrend(),
+      report.getLongestStreak(),
+      report.getSuggestions()
     );
     log.info("Generated progress report for habit {} by user {}", habitId, currentUser.getEmail());
     return ResponseEntity.ok(progressReport);
@@ -400,7 +583,7 @@ public class HabitExecutionRestController {
     )
   })
   @GetMapping(value = "/{habitId}/streak", produces = MediaType.APPLICATION_JSON_VALUE)
-  @Audited(audited = "Get Current Streak")
+  @Audited(audited = "Get Current Streak", policy = AuditPolicy.SAMPLED, sampleRate = 0.1)
   public ResponseEntity<Integer> getCurrentStreak(
     @Parameter(description = "Habit ID", required = true)
     @PathVariable("habitId") Long habitId,
@@ -412,6 +595,111 @@ public class HabitExecutionRestController {
     return ResponseEntity.ok(currentStreak);
   }
   
+  /**
+   * Retrieves the current streak, the longest streak and the longest streak intervals
+   * of a habit within a specified date range.
+   *
+   * @param habitId ID of the habit to analyze
+   * @param startDate Beginning of the date range
+   * @param endDate End of the date range
+   * @param limit Maximum number of streak intervals to return
+   * @param currentUser Currently authenticated user
+   * @return ResponseEntity containing the streak summary
+   */
+  @Operation(
+    summary = "Get habit streaks",
+    description = "Retrieves the current streak, the longest streak and the longest streak intervals within a date range"
+  )
+  @ApiResponses(value = {
+    @ApiResponse(
+      responseCode = "200",
+      description = "Streaks retrieved successfully",
+      content = @Content(
+        mediaType = MediaType.APPLICATION_JSON_VALUE,
+        schema = @Schema(implementation = StreakSummaryDTO.class)
+      )
+    ),
+    @ApiResponse(
+      responseCode = "400",
+      description = "Invalid date range or limit",
+      content = @Content(
+        mediaType = MediaType.APPLICATION_JSON_VALUE,
+        schema = @Schema(implementation = ErrorDTO.class)
+      )
+    ),
+    @ApiResponse(
+      responseCode = "401",
+      description = "User not authenticated",
+      content = @Content(
+        mediaType = MediaType.APPLICATION_JSON_VALUE,
+        schema = @Schema(implementation = ErrorDTO.class)
+      )
+    )
+  })
+  @GetMapping(value = "/{habitId}/streaks", produces = MediaType.APPLICATION_JSON_VALUE)
+  @Audited(audited = "Get Streaks", policy = AuditPolicy.SAMPLED, sampleRate = 0.1)
+  public ResponseEntity<StreakSummaryDTO> getStreaks(
+    @Parameter(description = "Habit ID", required = true)
+    @PathVariable("habitId") Long habitId,
+    @Parameter(description = "Start date (YYYY-MM-DD)", required = true)
+    @RequestParam LocalDate startDate,
+    @Parameter(description = "End date (YYYY-MM-DD)", required = true)
+    @RequestParam LocalDate endDate,
+    @Parameter(description = "Maximum number of streak intervals to return (1-100)", example = "5")
+    @RequestParam(defaultValue = "5") Integer limit,
+    @Parameter(hidden = true) @SessionAttribute("user") User currentUser) {
+    log.debug("Retrieving streaks for habit {} by user {} from {} to {}",
+      habitId, currentUser.getEmail(), startDate, endDate);
+    validateDateRange(startDate, endDate);
+    if (limit <= 0 || limit > 100) {
+      throw new ValidationException("Limit must be between 1 and 100");
+    }
+    StreakSummary streakSummary = executionService.getStreakSummary(habitId, startDate, endDate, limit);
+    StreakSummaryDTO streaks = executionMapper.streakSummaryToDto(streakSummary);
+    log.info("Retrieved streaks for habit {} by user {}", habitId, currentUser.getEmail());
+    return ResponseEntity.ok(streaks);
+  }
+  
+  /**
+   * Retrieves the dashboard of the current user: the current streak, today's status
+   * and the 7 and 30-day success rates of all the user's habits in a single response.
+   *
+   * @param currentUser Currently authenticated user
+   * @return ResponseEntity containing the user's dashboard
+   */
+  @Operation(
+    summary = "Get habit dashboard",
+    description = "Retrieves streaks, today's status and 7/30-day success rates for all habits of the current user"
+  )
+  @ApiResponses(value = {
+    @ApiResponse(
+      responseCode = "200",
+      description = "Dashboard retrieved successfully",
+      content = @Content(
+        mediaType = MediaType.APPLICATION_JSON_VALUE,
+        schema = @Schema(implementation = HabitDashboardDTO.class)
+      )
+    ),
+    @ApiResponse(
+      responseCode = "401",
+      description = "User not authenticated",
+      content = @Content(
+        mediaType = MediaType.APPLICATION_JSON_VALUE,
+        schema = @Schema(implementation = ErrorDTO.class)
+      )
+    )
+  })
+  @GetMapping(value = "/dashboard", produces = MediaType.APPLICATION_JSON_VALUE)
+  @Audited(audited = "Get Dashboard", policy = AuditPolicy.SAMPLED, sampleRate = 0.1)
+  public ResponseEntity<HabitDashboardDTO> getDashboard(
+    @Parameter(hidden = true) @SessionAttribute("user") User currentUser) {
+    log.debug("Retrieving dashboard for user {}", currentUser.getEmail());
+    HabitDashboard dashboard = executionService.getDashboard(currentUser.getId());
+    HabitDashboardDTO dashboardDTO = executionMapper.dashboardToDto(dashboard);
+    log.info("Retrieved dashboard with {} habits for user {}", dashboard.getHabits().size(), currentUser.getEmail());
+    return ResponseEntity.ok(dashboardDTO);
+  }
+  
   /**
    * Calculates the success rate for a habit within a specified date range.
    *
@@ -460,7 +748,7 @@ public class HabitExecutionRestController {
     )
   })
   @GetMapping(value = "/{habitId}/success-rate", produces = MediaType.APPLICATION_JSON_VALUE)
-  @Audited(audited = "Get Success Rate")
+  @Audited(audited = "Get Success Rate", policy = AuditPolicy.SAMPLED, sampleRate = 0.1)
   public ResponseEntity<Double> getSuccessRate(
     @Parameter(description = "Habit ID", required = true)
     @PathVariable("habitId") Long habitId,
@@ -486,22 +774,4 @@ public class HabitExecutionRestController {
       throw new InvalidDateRangeException(MessageConstants.INVALID_DATE_RANGE);
     }
   }
-  private List<HabitExecution> filterHistoryByDateRange(
-    List<HabitExecution> history,
-    LocalDate startDate,
-    LocalDate endDate) {
-    return history.stream()
-      .filter(e -> !e.getDate().isBefore(startDate) && !e.getDate().isAfter(endDate))
-      .sorted(Comparator.comparing(HabitExecution::getDate))
-      .collect(Collectors.toList());
-  }
-  
-  private Map<DayOfWeek, Long> calculateCompletionsByDay(List<HabitExecution> history) {
-    return history.stream()
-      .filter(HabitExecution::isCompleted)
-      .collect(Collectors.groupingBy(
-        e -> e.getDate().getDayOfWeek(),
-        Collectors.counting()
-      ));
-  }
 }
\ No newline at end of file
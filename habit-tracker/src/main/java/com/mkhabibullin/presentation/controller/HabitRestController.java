@@ -3,6 +3,7 @@ package com.mkhabibullin.presentation.controller;
 import com.mkhabibullin.application.mapper.HabitMapper;
 import com.mkhabibullin.application.service.HabitService;
 import com.mkhabibullin.application.validation.HabitValidator;
+import com.mkhabibullin.common.AuditPolicy;
 import com.mkhabibullin.common.Audited;
 import com.mkhabibullin.domain.exception.ValidationException;
 import com.mkhabibullin.domain.model.Habit;
@@ -171,7 +172,7 @@ public class HabitRestController {
     )
   })
   @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-  @Audited(audited = "View Habits")
+  @Audited(audited = "View Habits", policy = AuditPolicy.SAMPLED, sampleRate = 0.1)
   public ResponseEntity<List<HabitResponseDTO>> getHabits(
     @Parameter(description = "Filter by date (YYYY-MM-DD)")
     @RequestParam(required = false)
@@ -1,10 +1,18 @@
 package com.mkhabibullin.presentation.controller;
 
 import com.mkhabibullin.domain.model.User;
+import com.mkhabibullin.infrastructure.audit.AuditCircuitState;
+import com.mkhabibullin.infrastructure.audit.AuditLogWriter;
+import com.mkhabibullin.infrastructure.audit.AuditPipelineMetrics;
+import com.mkhabibullin.infrastructure.monitoring.LatencyPercentiles;
+import com.mkhabibullin.infrastructure.monitoring.LatencyRegistry;
 import com.mkhabibullin.presentation.dto.ErrorDTO;
 import com.mkhabibullin.presentation.dto.system.ApplicationInfo;
 import com.mkhabibullin.presentation.dto.system.ComponentHealth;
 import com.mkhabibullin.presentation.dto.system.HealthResponse;
+import com.mkhabibullin.presentation.dto.system.LatencyResponse;
+import com.mkhabibullin.presentation.dto.system.LatencyWindow;
+import com.mkhabibullin.presentation.dto.system.OperationLatency;
 import com.mkhabibullin.presentation.dto.system.SystemStatusResponse;
 import com.mkhabibullin.presentation.dto.system.UptimeInfo;
 import com.mkhabibullin.presentation.dto.system.UserInfo;
@@ -28,6 +36,7 @@ import org.springframework.web.bind.annotation.SessionAttribute;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -38,6 +47,7 @@ import java.util.Map;
  * - Overall system status monitoring
  * - Component-level health checks
  * - Application information retrieval
+ * - Live latency percentiles of audited operations
  * <p>
  * System monitoring is available to both authenticated and unauthenticated users,
  * though authenticated users receive additional information.
@@ -50,13 +60,20 @@ import java.util.Map;
 public class SystemRestController {
   private static final Logger log = LoggerFactory.getLogger(SystemRestController.class);
   private final LocalDateTime startupTime;
+  private final AuditLogWriter auditLogWriter;
+  private final LatencyRegistry latencyRegistry;
   
   /**
    * Constructs a new SystemRestController.
    * Initializes the system startup time for uptime tracking.
+   *
+   * @param auditLogWriter  asynchronous audit writer whose pipeline metrics are reported in health checks
+   * @param latencyRegistry registry of live latency histograms per audited operation
    */
-  public SystemRestController() {
+  public SystemRestController(AuditLogWriter auditLogWriter, LatencyRegistry latencyRegistry) {
     this.startupTime = LocalDateTime.now();
+    this.auditLogWriter = auditLogWriter;
+    this.latencyRegistry = latencyRegistry;
   }
   
   /**
@@ -120,6 +137,7 @@ public class SystemRestController {
    * - Database connectivity
    * - Session management
    * - Memory usage
+   * - Audit pipeline queue depth and dropped records
    *
    * @return ResponseEntity containing health status of all components
    * Returns HTTP 200 if all components are healthy
@@ -127,7 +145,8 @@ public class SystemRestController {
    */
   @Operation(
     summary = "Get system health status",
-    description = "Checks the health of various system components including database, session, and memory usage",
+    description = "Checks the health of various system components including database, session, memory usage " +
+      "and the audit pipeline",
     responses = {
       @ApiResponse(
         responseCode = "200",
@@ -192,6 +211,30 @@ public class SystemRestController {
         "max", runtime.maxMemory()
       )
     ));
+    AuditPipelineMetrics auditMetrics = auditLogWriter.getMetrics();
+    Map<String, Object> auditDetails = new HashMap<>();
+    auditDetails.put("queueDepth", auditMetrics.queueDepth());
+    auditDetails.put("queueCapacity", auditMetrics.queueCapacity());
+    auditDetails.put("submitted", auditMetrics.submitted());
+    auditDetails.put("written", auditMetrics.written());
+    auditDetails.put("dropped", auditMetrics.dropped());
+    auditDetails.put("spilled", auditMetrics.spilled());
+    auditDetails.put("failedFlushes", auditMetrics.failedFlushes());
+    auditDetails.put("copyFallbacks", auditMetrics.copyFallbacks());
+    auditDetails.put("replayed", auditMetrics.replayed());
+    auditDetails.put("deadLettered", auditMetrics.deadLettered());
+    auditDetails.put("spoolPendingBytes", auditMetrics.spoolPendingBytes());
+    auditDetails.put("circuitState", auditMetrics.circuitState());
+    boolean spooling = auditMetrics.circuitState() != AuditCircuitState.CLOSED;
+    components.put("auditPipeline", new ComponentHealth(
+      !auditMetrics.running() ? "down" : spooling ? "degraded" : "up",
+      !auditMetrics.running() ? "Audit log writer is not running"
+        : spooling ? "Audit database unavailable, entries are spooled locally" : null,
+      auditDetails
+    ));
+    if (!auditMetrics.running()) {
+      isHealthy = false;
+    }
     HealthResponse health = new HealthResponse(
       isHealthy ? "healthy" : "unhealthy",
       LocalDateTime.now(),
@@ -240,6 +283,47 @@ public class SystemRestController {
     return ResponseEntity.ok(info);
   }
   
+  /**
+   * Retrieves live latency percentiles of every audited operation.
+   * Values come from in-memory histograms fed by the audit aspect, so the audit table is not queried.
+   *
+   * @return ResponseEntity containing rolling 1-minute and 15-minute percentiles per operation
+   */
+  @Operation(
+    summary = "Get live operation latency",
+    description = "Retrieves rolling 1-minute and 15-minute p50/p95/p99/max latency for every audited operation",
+    responses = {
+      @ApiResponse(
+        responseCode = "200",
+        description = "Latency retrieved successfully",
+        content = @Content(
+          mediaType = MediaType.APPLICATION_JSON_VALUE,
+          schema = @Schema(implementation = LatencyResponse.class)
+        )
+      )
+    }
+  )
+  @GetMapping(value = "/latency", produces = MediaType.APPLICATION_JSON_VALUE)
+  public ResponseEntity<LatencyResponse> getLatency() {
+    log.debug("Processing latency request");
+    Map<String, OperationLatency> operations = new LinkedHashMap<>();
+    latencyRegistry.snapshot().forEach((operation, latency) -> operations.put(operation, new OperationLatency(
+      toLatencyWindow(latency.oneMinute()),
+      toLatencyWindow(latency.fifteenMinutes())
+    )));
+    return ResponseEntity.ok(new LatencyResponse(LocalDateTime.now(), operations));
+  }
+  
+  private LatencyWindow toLatencyWindow(LatencyPercentiles percentiles) {
+    return new LatencyWindow(
+      percentiles.count(),
+      percentiles.p50Ms(),
+      percentiles.p95Ms(),
+      percentiles.p99Ms(),
+      percentiles.maxMs()
+    );
+  }
+  
   private UptimeInfo calculateUptime() {
     Duration duration = Duration.between(startupTime, LocalDateTime.now());
     return new UptimeInfo(
@@ -0,0 +1,21 @@
+package com.mkhabibullin.presentation.dto.audit;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO for one page of audit log search results.
+ *
+ * @param items Audit log entries of the page, newest first
+ * @param nextCursor Opaque cursor to pass to get the next page, or null on the last page
+ */
+@Schema(description = "Page of audit log search results")
+public record AuditLogPageDTO(
+  @Schema(description = "Audit log entries of the page, newest first")
+  List<AuditLogResponseDTO> items,
+  
+  @Schema(description = "Cursor of the next page, absent on the last page", example = "MjAyNC0wMy0xNVQxNDozMDowMC4xMjNafjQy")
+  String nextCursor
+) {
+}
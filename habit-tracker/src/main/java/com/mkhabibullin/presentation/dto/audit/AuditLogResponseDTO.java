@@ -17,6 +17,8 @@ import java.time.LocalDateTime;
  * @param executionTimeMs Time taken to execute the operation in milliseconds
  * @param requestUri The URI of the HTTP request
  * @param requestMethod The HTTP method used (GET, POST, PUT, DELETE, etc.)
+ * @param status Outcome of the operation (SUCCESS or FAILURE)
+ * @param errorClass Class name of the exception that ended a failed operation
  */
 @Schema(description = "Audit log entry details")
 public record AuditLogResponseDTO(
@@ -38,10 +40,17 @@ public record AuditLogResponseDTO(
   @Schema(description = "Execution time in milliseconds", example = "150")
   Long executionTimeMs,
   
-  @Schema(description = "URI of the request", example = "/api/habits")
+  @Schema(description = "URI template of the request", example = "/api/habits/{id}")
   String requestUri,
   
   @Schema(description = "HTTP method of the request", example = "POST")
-  String requestMethod
+  String requestMethod,
+  
+  @Schema(description = "Outcome of the operation", example = "FAILURE")
+  String status,
+  
+  @Schema(description = "Class name of the exception that ended a failed operation",
+    example = "com.mkhabibullin.domain.exception.ValidationException")
+  String errorClass
 ) {
 }
@@ -17,6 +17,7 @@ import java.util.Map;
  * @param averageTimeByOperation Map of operation types to their average execution time
  * @param mostActiveUser Username of the user with the most operations
  * @param mostCommonOperation The most frequently performed operation type
+ * @param telemetryByOperation Map of operation types to their average resource usage
  * @param periodStart Start of the time period for these statistics
  * @param periodEnd End of the time period for these statistics
  */
@@ -46,6 +47,9 @@ public record AuditStatisticsDTO(
   @Schema(description = "Most frequently performed operation", example = "Create Habit")
   String mostCommonOperation,
   
+  @Schema(description = "Average wall time, CPU time, allocation, SQL statements and response size by operation type")
+  Map<String, OperationTelemetryDTO> telemetryByOperation,
+  
   @Schema(description = "Start of the analysis period", example = "2024-03-01T00:00:00")
   LocalDateTime periodStart,
   
@@ -0,0 +1,36 @@
+package com.mkhabibullin.presentation.dto.audit;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO for the average resource usage of one operation.
+ * Averages are taken over the calls that carried telemetry.
+ *
+ * @param measuredCalls Number of calls the averages are taken over
+ * @param averageWallTimeNs Average wall time in nanoseconds
+ * @param averageCpuTimeNs Average CPU time of the request thread in nanoseconds
+ * @param averageAllocatedBytes Average heap bytes allocated by the request thread
+ * @param averageSqlStatements Average number of SQL statements executed
+ * @param averageResponseBytes Average size of the response body in bytes
+ */
+@Schema(description = "Average resource usage of an operation")
+public record OperationTelemetryDTO(
+  @Schema(description = "Number of calls the averages are taken over", example = "120")
+  long measuredCalls,
+  
+  @Schema(description = "Average wall time in nanoseconds", example = "4250000.0")
+  double averageWallTimeNs,
+  
+  @Schema(description = "Average CPU time of the request thread in nanoseconds", example = "1830000.0")
+  double averageCpuTimeNs,
+  
+  @Schema(description = "Average heap bytes allocated by the request thread", example = "524288.0")
+  double averageAllocatedBytes,
+  
+  @Schema(description = "Average number of SQL statements executed", example = "3.0")
+  double averageSqlStatements,
+  
+  @Schema(description = "Average size of the response body in bytes", example = "2048.0")
+  double averageResponseBytes
+) {
+}
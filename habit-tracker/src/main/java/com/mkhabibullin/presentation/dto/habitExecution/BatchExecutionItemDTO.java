@@ -0,0 +1,29 @@
+package com.mkhabibullin.presentation.dto.habitExecution;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object for a single execution within a batch tracking request.
+ *
+ * @param habitId   The ID of the habit being tracked. Must not be null.
+ * @param date      The date for which the habit execution is being recorded. Must not be null.
+ * @param completed Indicates whether the habit was completed. Must not be null.
+ */
+@Schema(description = "Single habit execution within a batch")
+public record BatchExecutionItemDTO(
+  @Schema(description = "ID of the habit being tracked", example = "1")
+  @NotNull(message = "Habit ID is required")
+  Long habitId,
+  
+  @Schema(description = "Date of the habit execution", example = "2024-03-15")
+  @NotNull(message = "Date is required")
+  LocalDate date,
+  
+  @Schema(description = "Whether the habit was completed successfully", example = "true")
+  @NotNull(message = "Completion status is required")
+  Boolean completed
+) {
+}
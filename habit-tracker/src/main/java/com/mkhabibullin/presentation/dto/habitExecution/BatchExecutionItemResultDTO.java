@@ -0,0 +1,24 @@
+package com.mkhabibullin.presentation.dto.habitExecution;
+
+import com.mkhabibullin.domain.model.ExecutionBatchItemResult;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object describing the outcome of a single batch item.
+ *
+ * @param index   Position of the item in the request
+ * @param status  Outcome of the item
+ * @param message Reason the item was not recorded, or null if it was recorded
+ */
+@Schema(description = "Outcome of a single batch item")
+public record BatchExecutionItemResultDTO(
+  @Schema(description = "Position of the item in the request", example = "0")
+  int index,
+  
+  @Schema(description = "Outcome of the item", example = "RECORDED")
+  ExecutionBatchItemResult.Status status,
+  
+  @Schema(description = "Reason the item was not recorded", example = "Cannot record executions for future dates")
+  String message
+) {
+}
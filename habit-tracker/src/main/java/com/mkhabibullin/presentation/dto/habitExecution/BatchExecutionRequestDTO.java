@@ -0,0 +1,17 @@
+package com.mkhabibullin.presentation.dto.habitExecution;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for recording many habit executions, possibly across habits, in one request.
+ *
+ * @param executions The executions to record, in the order they were made on the client
+ */
+@Schema(description = "Request to record a batch of habit executions")
+public record BatchExecutionRequestDTO(
+  @Schema(description = "Executions to record; for the same habit and date the last one wins")
+  List<BatchExecutionItemDTO> executions
+) {
+}
@@ -0,0 +1,25 @@
+package com.mkhabibullin.presentation.dto.habitExecution;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object summarizing the outcome of a batch tracking request.
+ *
+ * @param recorded Number of items that were recorded
+ * @param rejected Number of items that were rejected
+ * @param results  Per-item outcomes, in request order
+ */
+@Schema(description = "Outcome of a batch of habit executions")
+public record BatchExecutionResponseDTO(
+  @Schema(description = "Number of recorded items", example = "498")
+  int recorded,
+  
+  @Schema(description = "Number of rejected items", example = "2")
+  int rejected,
+  
+  @Schema(description = "Per-item outcomes in request order")
+  List<BatchExecutionItemResultDTO> results
+) {
+}
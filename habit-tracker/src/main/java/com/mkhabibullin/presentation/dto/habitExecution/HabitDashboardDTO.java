@@ -0,0 +1,22 @@
+package com.mkhabibullin.presentation.dto.habitExecution;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Data Transfer Object containing the dashboard of the current user.
+ *
+ * @param date   The date the dashboard was computed for
+ * @param habits Summaries of all the user's habits
+ */
+@Schema(description = "Dashboard with streaks, today's status and success rates of all the user's habits")
+public record HabitDashboardDTO(
+  @Schema(description = "Date the dashboard was computed for", example = "2024-01-15")
+  LocalDate date,
+  
+  @Schema(description = "Summaries of the user's habits")
+  List<HabitDashboardEntryDTO> habits
+) {
+}
@@ -0,0 +1,44 @@
+package com.mkhabibullin.presentation.dto.habitExecution;
+
+import com.mkhabibullin.domain.model.Habit;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object summarizing a single habit on the user's dashboard.
+ *
+ * @param habitId            The ID of the habit
+ * @param name               The name of the habit
+ * @param frequency          The frequency of the habit
+ * @param currentStreak      Number of consecutive completed days ending today
+ * @param trackedToday       Whether an execution has been recorded today
+ * @param completedToday     Whether the habit has been completed today
+ * @param weeklySuccessRate  Success percentage over the last 7 days
+ * @param monthlySuccessRate Success percentage over the last 30 days
+ */
+@Schema(description = "Dashboard summary of a single habit")
+public record HabitDashboardEntryDTO(
+  @Schema(description = "Habit ID", example = "1")
+  Long habitId,
+  
+  @Schema(description = "Habit name", example = "Morning Exercise")
+  String name,
+  
+  @Schema(description = "Habit frequency", example = "DAILY")
+  Habit.Frequency frequency,
+  
+  @Schema(description = "Current streak of successful completions", example = "4")
+  int currentStreak,
+  
+  @Schema(description = "Whether an execution has been recorded today")
+  boolean trackedToday,
+  
+  @Schema(description = "Whether the habit has been completed today")
+  boolean completedToday,
+  
+  @Schema(description = "Success percentage over the last 7 days", example = "85.7")
+  double weeklySuccessRate,
+  
+  @Schema(description = "Success percentage over the last 30 days", example = "76.6")
+  double monthlySuccessRate
+) {
+}
@@ -0,0 +1,25 @@
+package com.mkhabibullin.presentation.dto.habitExecution;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDate;
+
+/**
+ * Data Transfer Object representing a run of consecutive completed days.
+ *
+ * @param startDate The first completed day of the run
+ * @param endDate   The last completed day of the run
+ * @param length    The number of days in the run
+ */
+@Schema(description = "Run of consecutive completed days")
+public record StreakIntervalDTO(
+  @Schema(description = "First completed day of the run", example = "2024-01-01")
+  LocalDate startDate,
+  
+  @Schema(description = "Last completed day of the run", example = "2024-01-07")
+  LocalDate endDate,
+  
+  @Schema(description = "Number of days in the run", example = "7")
+  int length
+) {
+}
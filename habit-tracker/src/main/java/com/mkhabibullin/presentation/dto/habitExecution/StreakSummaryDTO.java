@@ -0,0 +1,25 @@
+package com.mkhabibullin.presentation.dto.habitExecution;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object containing the streaks of a habit within a date range.
+ *
+ * @param currentStreak The streak ending today, or 0 if today is not completed
+ * @param longestStreak The longest streak within the range
+ * @param topStreaks    The longest streak intervals within the range, longest first
+ */
+@Schema(description = "Streaks of a habit within a date range")
+public record StreakSummaryDTO(
+  @Schema(description = "Streak ending today", example = "3")
+  int currentStreak,
+  
+  @Schema(description = "Longest streak within the range", example = "12")
+  int longestStreak,
+  
+  @Schema(description = "Longest streak intervals within the range, longest first")
+  List<StreakIntervalDTO> topStreaks
+) {
+}
@@ -0,0 +1,21 @@
+package com.mkhabibullin.presentation.dto.system;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Data Transfer Object representing the live latency of all audited operations.
+ *
+ * @param timestamp  Time when the percentiles were computed
+ * @param operations Rolling latency per audited operation name
+ */
+@Schema(description = "Live latency percentiles per audited operation")
+public record LatencyResponse(
+  @Schema(description = "Snapshot timestamp")
+  LocalDateTime timestamp,
+  @Schema(description = "Latency per operation")
+  Map<String, OperationLatency> operations
+) {
+}
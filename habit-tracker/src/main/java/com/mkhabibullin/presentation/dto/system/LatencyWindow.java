@@ -0,0 +1,27 @@
+package com.mkhabibullin.presentation.dto.system;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object representing the latency distribution of an operation over a time window.
+ *
+ * @param count Number of calls in the window
+ * @param p50Ms Median latency in milliseconds
+ * @param p95Ms 95th percentile latency in milliseconds
+ * @param p99Ms 99th percentile latency in milliseconds
+ * @param maxMs Highest latency in milliseconds
+ */
+@Schema(description = "Latency percentiles over a time window")
+public record LatencyWindow(
+  @Schema(description = "Number of calls", example = "1240")
+  long count,
+  @Schema(description = "Median latency in milliseconds", example = "12.5")
+  double p50Ms,
+  @Schema(description = "95th percentile latency in milliseconds", example = "48.0")
+  double p95Ms,
+  @Schema(description = "99th percentile latency in milliseconds", example = "110.0")
+  double p99Ms,
+  @Schema(description = "Highest latency in milliseconds", example = "340.2")
+  double maxMs
+) {
+}
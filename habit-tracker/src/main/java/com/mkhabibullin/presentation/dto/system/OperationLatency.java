@@ -0,0 +1,18 @@
+package com.mkhabibullin.presentation.dto.system;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object representing the rolling latency of one audited operation.
+ *
+ * @param oneMinute      Percentiles over roughly the last minute
+ * @param fifteenMinutes Percentiles over roughly the last fifteen minutes
+ */
+@Schema(description = "Rolling latency of an audited operation")
+public record OperationLatency(
+  @Schema(description = "Percentiles over the last minute")
+  LatencyWindow oneMinute,
+  @Schema(description = "Percentiles over the last fifteen minutes")
+  LatencyWindow fifteenMinutes
+) {
+}
@@ -2,6 +2,7 @@ package com.mkhabibullin.aspect;
 
 import com.mkhabibullin.common.Audited;
 import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.domain.model.AuditStatus;
 import com.mkhabibullin.domain.model.User;
 import com.mkhabibullin.infrastructure.persistence.repository.AuditLogRepository;
 import jakarta.servlet.http.HttpServletRequest;
@@ -117,9 +118,6 @@ public class TestAuditedAspect {
     Throwable throwable
   ) {
     try {
-      if (throwable != null) {
-        operation += " (Failed: " + throwable.getMessage() + ")";
-      }
       AuditLog auditLog = new AuditLog(
         username,
         methodName,
@@ -127,7 +125,9 @@ public class TestAuditedAspect {
         LocalDateTime.now(),
         executionTime,
         request != null ? request.getRequestURI() : "test-uri",
-        request != null ? request.getMethod() : "TEST"
+        request != null ? request.getMethod() : "TEST",
+        throwable == null ? AuditStatus.SUCCESS : AuditStatus.FAILURE,
+        throwable == null ? null : throwable.getClass().getName()
       );
       auditLogRepository.save(auditLog);
       log.debug("Test audit log saved successfully for method: {}", methodName);
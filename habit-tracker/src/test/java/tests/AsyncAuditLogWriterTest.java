@@ -0,0 +1,310 @@
+package tests;
+
+import com.mkhabibullin.domain.exception.RepositoryException;
+import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.infrastructure.audit.AsyncAuditLogWriter;
+import com.mkhabibullin.infrastructure.audit.AuditCircuitBreaker;
+import com.mkhabibullin.infrastructure.audit.AuditCircuitState;
+import com.mkhabibullin.infrastructure.audit.AuditLogSpillFile;
+import com.mkhabibullin.infrastructure.audit.AuditLogTail;
+import com.mkhabibullin.infrastructure.audit.AuditOverflowPolicy;
+import com.mkhabibullin.infrastructure.audit.AuditPipelineMetrics;
+import com.mkhabibullin.infrastructure.persistence.repository.AuditLogRepository;
+import com.mkhabibullin.infrastructure.persistence.repository.CopyFallbackCounter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+class AsyncAuditLogWriterTest {
+  private static final long SPOOL_MAX_BYTES = 1 << 20;
+  
+  @TempDir
+  Path directory;
+  
+  private AuditLogRepository repository;
+  private AuditLogTail tail;
+  private AsyncAuditLogWriter writer;
+  private final List<List<AuditLog>> batches = Collections.synchronizedList(new ArrayList<>());
+  
+  @BeforeEach
+  void setUp() {
+    repository = mock(AuditLogRepository.class);
+    given(repository.findRecentLogs(anyInt())).willReturn(List.of());
+    willAnswer(invocation -> {
+      batches.add(new ArrayList<>(invocation.<List<AuditLog>>getArgument(0)));
+      return null;
+    }).given(repository).saveAll(anyList());
+    tail = new AuditLogTail(repository, 64, 16, 1);
+  }
+  
+  @AfterEach
+  void tearDown() {
+    if (writer != null) {
+      writer.shutdown();
+    }
+    tail.shutdown();
+  }
+  
+  @Test
+  void writerShouldGroupQueuedEntriesIntoBatchesOfAtMostBatchSize() {
+    writer = writer(100, 3, 200, AuditOverflowPolicy.DROP, 5000);
+    writer.start();
+    for (int i = 0; i < 7; i++) {
+      assertThat(writer.submit(entry("op" + i))).isTrue();
+    }
+    writer.shutdown();
+    assertThat(batches).allSatisfy(batch -> assertThat(batch).hasSizeBetween(1, 3));
+    assertThat(batches.stream().flatMap(List::stream).map(AuditLog::getOperation))
+      .containsExactly("op0", "op1", "op2", "op3", "op4", "op5", "op6");
+    AuditPipelineMetrics metrics = writer.getMetrics();
+    assertThat(metrics.submitted()).isEqualTo(7);
+    assertThat(metrics.written()).isEqualTo(7);
+    assertThat(metrics.dropped()).isZero();
+    assertThat(tail.recent(10)).extracting(AuditLog::getOperation).first().isEqualTo("op6");
+  }
+  
+  @Test
+  void dropPolicyShouldDropEntriesWhileQueueIsFull() throws Exception {
+    CountDownLatch release = blockFirstWrite();
+    writer = writer(1, 1, 10, AuditOverflowPolicy.DROP, 5000);
+    writer.start();
+    fillQueueBehindBlockedWrite();
+    assertThat(writer.submit(entry("overflow"))).isFalse();
+    assertThat(writer.getMetrics().dropped()).isEqualTo(1);
+    release.countDown();
+    writer.shutdown();
+    assertThat(writer.getMetrics().written()).isEqualTo(2);
+  }
+  
+  @Test
+  void blockPolicyShouldDropEntryAfterWaitingForTimeout() throws Exception {
+    CountDownLatch release = blockFirstWrite();
+    writer = writer(1, 1, 10, AuditOverflowPolicy.BLOCK, 5000);
+    writer.start();
+    fillQueueBehindBlockedWrite();
+    long start = System.nanoTime();
+    assertThat(writer.submit(entry("overflow"))).isFalse();
+    assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(40);
+    assertThat(writer.getMetrics().dropped()).isEqualTo(1);
+    release.countDown();
+  }
+  
+  @Test
+  void blockPolicyShouldQueueEntryWhenSpaceFreesUpInTime() throws Exception {
+    CountDownLatch release = blockFirstWrite();
+    writer = new AsyncAuditLogWriter(repository, 1, 1, 10, AuditOverflowPolicy.BLOCK, 5000, 5000,
+      spillFile("audit.spill"), spillFile("audit.deadletter"), new AuditCircuitBreaker(3, 1000, 1000), tail);
+    writer.start();
+    fillQueueBehindBlockedWrite();
+    Thread releaser = new Thread(() -> {
+      sleep(100);
+      release.countDown();
+    });
+    releaser.start();
+    assertThat(writer.submit(entry("waited"))).isTrue();
+    releaser.join();
+    writer.shutdown();
+    assertThat(writer.getMetrics().dropped()).isZero();
+    assertThat(writer.getMetrics().written()).isEqualTo(3);
+  }
+  
+  @Test
+  void spillPolicyShouldSpoolOverflowAndReplayItOnceWriterCatchesUp() throws Exception {
+    CountDownLatch release = blockFirstWrite();
+    writer = writer(1, 1, 10, AuditOverflowPolicy.SPILL, 5000);
+    writer.start();
+    fillQueueBehindBlockedWrite();
+    assertThat(writer.submit(entry("spilled"))).isTrue();
+    assertThat(writer.getMetrics().spilled()).isEqualTo(1);
+    assertThat(writer.getMetrics().spoolPendingBytes()).isPositive();
+    release.countDown();
+    awaitUntil(() -> writer.getMetrics().written() == 3 && writer.getMetrics().spoolPendingBytes() == 0);
+    assertThat(writer.getMetrics().replayed()).isEqualTo(1);
+    assertThat(batches.stream().flatMap(List::stream).map(AuditLog::getOperation)).contains("spilled");
+  }
+  
+  @Test
+  void shutdownShouldDrainQueuedEntriesAndRejectLaterOnes() {
+    writer = writer(1000, 50, 200, AuditOverflowPolicy.DROP, 5000);
+    writer.start();
+    for (int i = 0; i < 120; i++) {
+      writer.submit(entry("op" + i));
+    }
+    writer.shutdown();
+    assertThat(writer.getMetrics().written()).isEqualTo(120);
+    assertThat(writer.getMetrics().running()).isFalse();
+    assertThat(writer.submit(entry("late"))).isFalse();
+    assertThat(writer.getMetrics().dropped()).isEqualTo(1);
+  }
+  
+  @Test
+  void shutdownShouldSpillEntriesStillQueuedAfterTimeout() throws Exception {
+    CountDownLatch release = blockFirstWrite();
+    writer = writer(10, 1, 10, AuditOverflowPolicy.DROP, 100);
+    writer.start();
+    writer.submit(entry("blocked"));
+    awaitUntil(() -> !batches.isEmpty());
+    writer.submit(entry("queued1"));
+    writer.submit(entry("queued2"));
+    writer.shutdown();
+    assertThat(writer.getMetrics().spilled()).isEqualTo(2);
+    release.countDown();
+    assertThat(replayAll(spillFile("audit.spill"))).extracting(AuditLog::getOperation)
+      .containsExactly("queued1", "queued2");
+  }
+  
+  @Test
+  void unavailableDatabaseShouldSpoolBatchAndOpenCircuit() throws Exception {
+    willAnswer(invocation -> {
+      throw new RepositoryException("save failed", new SQLTransientConnectionException("pool exhausted"));
+    }).given(repository).saveAll(anyList());
+    writer = new AsyncAuditLogWriter(repository, 10, 10, 10, AuditOverflowPolicy.DROP, 50, 5000,
+      spillFile("audit.spill"), spillFile("audit.deadletter"), new AuditCircuitBreaker(1, 60000, 60000), tail);
+    writer.start();
+    writer.submit(entry("op"));
+    awaitUntil(() -> writer.getMetrics().spilled() == 1);
+    AuditPipelineMetrics metrics = writer.getMetrics();
+    assertThat(metrics.circuitState()).isEqualTo(AuditCircuitState.OPEN);
+    assertThat(metrics.failedFlushes()).isEqualTo(1);
+    assertThat(metrics.deadLettered()).isZero();
+    assertThat(metrics.written()).isZero();
+  }
+  
+  @Test
+  void rejectedBatchShouldBeWrittenRowByRowAndDeadLetterOnlyFailingRows() throws Exception {
+    willAnswer(invocation -> {
+      List<AuditLog> batch = invocation.getArgument(0);
+      if (batch.stream().anyMatch(auditLog -> auditLog.getOperation().equals("bad"))) {
+        throw new RepositoryException("save failed", new SQLException("value too long", "22001"));
+      }
+      batches.add(new ArrayList<>(batch));
+      return null;
+    }).given(repository).saveAll(anyList());
+    writer = writer(10, 10, 200, AuditOverflowPolicy.DROP, 5000);
+    writer.start();
+    writer.submit(entry("good1"));
+    writer.submit(entry("bad"));
+    writer.submit(entry("good2"));
+    writer.shutdown();
+    AuditPipelineMetrics metrics = writer.getMetrics();
+    assertThat(metrics.written()).isEqualTo(2);
+    assertThat(metrics.deadLettered()).isEqualTo(1);
+    assertThat(metrics.spilled()).isZero();
+    assertThat(metrics.circuitState()).isEqualTo(AuditCircuitState.CLOSED);
+    assertThat(batches.stream().flatMap(List::stream).map(AuditLog::getOperation))
+      .containsExactly("good1", "good2");
+    assertThat(replayAll(spillFile("audit.deadletter"))).extracting(AuditLog::getOperation)
+      .containsExactly("bad");
+  }
+  
+  @Test
+  void metricsShouldReportCopyFallbacksOnlyForRepositoriesWritingWithCopy() {
+    writer = writer(10, 10, 10, AuditOverflowPolicy.DROP, 5000);
+    assertThat(writer.getMetrics().copyFallbacks()).isZero();
+    
+    repository = mock(AuditLogRepository.class, withSettings().extraInterfaces(CopyFallbackCounter.class));
+    given(((CopyFallbackCounter) repository).getCopyFallbackCount()).willReturn(3L);
+    writer = writer(10, 10, 10, AuditOverflowPolicy.DROP, 5000);
+    assertThat(writer.getMetrics().copyFallbacks()).isEqualTo(3);
+  }
+  
+  private AsyncAuditLogWriter writer(int capacity, int batchSize, long flushIntervalMs,
+                                     AuditOverflowPolicy policy, long shutdownTimeoutMs) {
+    return new AsyncAuditLogWriter(repository, capacity, batchSize, flushIntervalMs, policy, 50, shutdownTimeoutMs,
+      spillFile("audit.spill"), spillFile("audit.deadletter"), new AuditCircuitBreaker(3, 1000, 1000), tail);
+  }
+  
+  private AuditLogSpillFile spillFile(String name) {
+    return new AuditLogSpillFile(directory.resolve(name), 0, SPOOL_MAX_BYTES);
+  }
+  
+  /**
+   * Makes the first batch write wait until the returned latch is released, ignoring interrupts
+   * so the writer thread cannot take more entries from the queue in the meantime.
+   */
+  private CountDownLatch blockFirstWrite() {
+    CountDownLatch release = new CountDownLatch(1);
+    willAnswer(invocation -> {
+      batches.add(new ArrayList<>(invocation.<List<AuditLog>>getArgument(0)));
+      if (batches.size() == 1) {
+        awaitUninterruptibly(release);
+      }
+      return null;
+    }).given(repository).saveAll(anyList());
+    return release;
+  }
+  
+  /**
+   * Submits one entry that the worker takes and blocks on, then one that fills the queue of capacity 1.
+   */
+  private void fillQueueBehindBlockedWrite() throws InterruptedException {
+    assertThat(writer.submit(entry("first"))).isTrue();
+    awaitUntil(() -> !batches.isEmpty());
+    assertThat(writer.submit(entry("queued"))).isTrue();
+  }
+  
+  private static List<AuditLog> replayAll(AuditLogSpillFile file) throws IOException {
+    List<AuditLog> entries = new ArrayList<>();
+    file.replay(100, chunk -> {
+      entries.addAll(chunk);
+      return chunk.size();
+    });
+    return entries;
+  }
+  
+  private static AuditLog entry(String operation) {
+    return new AuditLog("user", "method", operation, LocalDateTime.now(), 1L, "/api/test", "GET");
+  }
+  
+  private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!condition.getAsBoolean()) {
+      assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+      Thread.sleep(5);
+    }
+  }
+  
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    boolean interrupted = false;
+    while (true) {
+      try {
+        latch.await(10, TimeUnit.SECONDS);
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+  
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package tests;
+
+import com.mkhabibullin.infrastructure.audit.AuditCircuitBreaker;
+import com.mkhabibullin.infrastructure.audit.AuditCircuitState;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditCircuitBreakerTest {
+  private static final long OPEN_MS = 100;
+  private static final long MAX_OPEN_MS = 150;
+  
+  @Test
+  void breakerShouldOpenOnlyAfterThresholdOfConsecutiveFailures() {
+    AuditCircuitBreaker breaker = new AuditCircuitBreaker(3, OPEN_MS, MAX_OPEN_MS);
+    breaker.recordFailure();
+    breaker.recordFailure();
+    assertThat(breaker.getState()).isEqualTo(AuditCircuitState.CLOSED);
+    assertThat(breaker.allowRequest()).isTrue();
+    breaker.recordFailure();
+    assertThat(breaker.getState()).isEqualTo(AuditCircuitState.OPEN);
+    assertThat(breaker.allowRequest()).isFalse();
+  }
+  
+  @Test
+  void successShouldResetConsecutiveFailureCount() {
+    AuditCircuitBreaker breaker = new AuditCircuitBreaker(2, OPEN_MS, MAX_OPEN_MS);
+    breaker.recordFailure();
+    breaker.recordSuccess();
+    breaker.recordFailure();
+    assertThat(breaker.getState()).isEqualTo(AuditCircuitState.CLOSED);
+  }
+  
+  @Test
+  void openBreakerShouldLetOneProbeThroughAfterOpenPeriod() throws InterruptedException {
+    AuditCircuitBreaker breaker = new AuditCircuitBreaker(1, OPEN_MS, MAX_OPEN_MS);
+    long openedAt = System.nanoTime();
+    breaker.recordFailure();
+    assertThat(millisUntilAllowed(breaker, openedAt)).isGreaterThanOrEqualTo(OPEN_MS);
+    assertThat(breaker.getState()).isEqualTo(AuditCircuitState.HALF_OPEN);
+    breaker.recordSuccess();
+    assertThat(breaker.getState()).isEqualTo(AuditCircuitState.CLOSED);
+    assertThat(breaker.allowRequest()).isTrue();
+  }
+  
+  @Test
+  void failedProbeShouldDoubleOpenPeriodUpToMaximum() throws InterruptedException {
+    AuditCircuitBreaker breaker = new AuditCircuitBreaker(1, OPEN_MS, MAX_OPEN_MS);
+    long openedAt = System.nanoTime();
+    breaker.recordFailure();
+    millisUntilAllowed(breaker, openedAt);
+    
+    openedAt = System.nanoTime();
+    breaker.recordFailure();
+    assertThat(breaker.getState()).isEqualTo(AuditCircuitState.OPEN);
+    assertThat(breaker.allowRequest()).isFalse();
+    assertThat(millisUntilAllowed(breaker, openedAt)).isGreaterThanOrEqualTo(MAX_OPEN_MS);
+    
+    openedAt = System.nanoTime();
+    breaker.recordFailure();
+    assertThat(millisUntilAllowed(breaker, openedAt)).isBetween(MAX_OPEN_MS, 2 * MAX_OPEN_MS - 1);
+  }
+  
+  @Test
+  void successfulProbeShouldRestoreInitialOpenPeriod() throws InterruptedException {
+    AuditCircuitBreaker breaker = new AuditCircuitBreaker(1, OPEN_MS, 10 * OPEN_MS);
+    long openedAt = System.nanoTime();
+    breaker.recordFailure();
+    millisUntilAllowed(breaker, openedAt);
+    openedAt = System.nanoTime();
+    breaker.recordFailure();
+    millisUntilAllowed(breaker, openedAt);
+    breaker.recordSuccess();
+    
+    openedAt = System.nanoTime();
+    breaker.recordFailure();
+    assertThat(millisUntilAllowed(breaker, openedAt)).isBetween(OPEN_MS, 2 * OPEN_MS - 1);
+  }
+  
+  @Test
+  void constructorShouldRejectInvalidSettings() {
+    assertThatThrownBy(() -> new AuditCircuitBreaker(0, OPEN_MS, MAX_OPEN_MS))
+      .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new AuditCircuitBreaker(1, 0, MAX_OPEN_MS))
+      .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new AuditCircuitBreaker(1, OPEN_MS, OPEN_MS - 1))
+      .isInstanceOf(IllegalArgumentException.class);
+  }
+  
+  /**
+   * Polls the breaker until it lets a request through and returns the time since it was opened.
+   */
+  private static long millisUntilAllowed(AuditCircuitBreaker breaker, long openedAt) throws InterruptedException {
+    long deadline = openedAt + TimeUnit.SECONDS.toNanos(10);
+    while (!breaker.allowRequest()) {
+      assertThat(System.nanoTime()).as("breaker did not let a probe through in time").isLessThan(deadline);
+      Thread.sleep(2);
+    }
+    assertThat(breaker.getState()).isEqualTo(AuditCircuitState.HALF_OPEN);
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - openedAt);
+  }
+}
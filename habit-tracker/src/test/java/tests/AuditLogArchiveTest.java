@@ -0,0 +1,217 @@
+package tests;
+
+import com.mkhabibullin.domain.exception.RepositoryException;
+import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.domain.model.AuditLogCursor;
+import com.mkhabibullin.domain.model.AuditStatus;
+import com.mkhabibullin.infrastructure.audit.AuditLogArchive;
+import com.mkhabibullin.infrastructure.audit.AuditLogArchiver;
+import com.mkhabibullin.infrastructure.persistence.repository.AuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class AuditLogArchiveTest {
+  private static final int ARCHIVE_AFTER_DAYS = 30;
+  private static final LocalDateTime OLD = LocalDate.now().minusDays(40).atTime(10, 0);
+  
+  @TempDir
+  Path directory;
+  
+  private final List<AuditLog> database = new ArrayList<>();
+  private final AtomicBoolean deleteFails = new AtomicBoolean();
+  private AuditLogRepository repository;
+  
+  @BeforeEach
+  void setUp() {
+    repository = mock(AuditLogRepository.class);
+    given(repository.findArchivable(any(LocalDateTime.class), any(), anyInt())).willAnswer(invocation -> {
+      LocalDateTime before = invocation.getArgument(0);
+      AuditLogCursor after = invocation.getArgument(1);
+      int limit = invocation.getArgument(2);
+      return database.stream()
+        .filter(auditLog -> auditLog.getTimestamp().isBefore(before))
+        .filter(auditLog -> after == null || isAfter(auditLog, after))
+        .sorted(Comparator.comparing(AuditLog::getTimestamp).thenComparing(AuditLog::getId))
+        .limit(limit)
+        .toList();
+    });
+    willAnswer(invocation -> {
+      if (deleteFails.get()) {
+        throw new RepositoryException("connection lost");
+      }
+      List<AuditLog> archived = invocation.getArgument(0);
+      int before = database.size();
+      database.removeIf(stored -> archived.stream().anyMatch(auditLog -> auditLog.getId().equals(stored.getId())));
+      return before - database.size();
+    }).given(repository).deleteArchived(anyList());
+  }
+  
+  @Test
+  void archiveShouldMoveOldEntriesIntoSegmentsAndKeepRecentOnes() throws IOException {
+    storeOldEntries(10);
+    AuditLog recent = stored(100, LocalDateTime.now().minusDays(1));
+    database.add(recent);
+    AuditLogArchive archive = openArchive(3);
+    
+    new AuditLogArchiver(repository, archive, ARCHIVE_AFTER_DAYS, 3, 4).archive();
+    
+    assertThat(database).containsExactly(recent);
+    try (Stream<Path> segments = Files.list(directory)) {
+      assertThat(segments.map(path -> path.getFileName().toString()))
+        .containsExactlyInAnyOrder("MANIFEST", "segment-00000001.seg", "segment-00000002.seg", "segment-00000003.seg");
+    }
+    assertThat(ids(archive.findByTimestampRange(OLD.minusDays(1), LocalDateTime.now())))
+      .containsExactly(10L, 9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L, 1L);
+  }
+  
+  @Test
+  void reopenedArchiveShouldScanRangesAcrossBlockAndSegmentEdges() throws IOException {
+    storeOldEntries(10);
+    new AuditLogArchiver(repository, openArchive(3), ARCHIVE_AFTER_DAYS, 3, 4).archive();
+    
+    AuditLogArchive reopened = openArchive(3);
+    
+    assertThat(ids(reopened.findByTimestampRange(minute(2), minute(7)))).containsExactly(8L, 7L, 6L, 5L, 4L, 3L);
+    assertThat(ids(reopened.findByTimestampRange(minute(3), minute(3)))).containsExactly(4L);
+    assertThat(ids(reopened.findByTimestampRange(minute(2).plusSeconds(1), minute(3).minusSeconds(1)))).isEmpty();
+    assertThat(ids(reopened.findByTimestampRange(minute(9), minute(20)))).containsExactly(10L);
+    assertThat(reopened.findByTimestampRange(OLD.minusDays(2), OLD.minusDays(1))).isEmpty();
+  }
+  
+  @Test
+  void scanShouldReturnEveryEntryWithTimestampSpreadOverSeveralBlocks() throws IOException {
+    for (long id = 1; id <= 7; id++) {
+      database.add(stored(id, id <= 2 ? OLD : minute(1)));
+    }
+    new AuditLogArchiver(repository, openArchive(2), ARCHIVE_AFTER_DAYS, 10, 100).archive();
+    
+    AuditLogArchive reopened = openArchive(2);
+    
+    assertThat(ids(reopened.findByTimestampRange(minute(1), minute(1)))).containsExactlyInAnyOrder(3L, 4L, 5L, 6L, 7L);
+    assertThat(ids(reopened.findByTimestampRange(OLD, OLD))).containsExactlyInAnyOrder(1L, 2L);
+  }
+  
+  @Test
+  void archivedEntriesShouldKeepEveryField() throws IOException {
+    AuditLog failed = new AuditLog("alice", "deleteHabit", "Delete Habit", OLD.withNano(123_456_000), 17L,
+      "/api/habits/{id}", "DELETE", AuditStatus.FAILURE, "java.lang.IllegalStateException");
+    failed.setId(42L);
+    failed.setExecutionTimeNs(17_000_123L);
+    failed.setCpuTimeNs(5_000L);
+    failed.setAllocatedBytes(2048L);
+    failed.setSqlStatements(4);
+    failed.setResponseBytes(512L);
+    database.add(failed);
+    new AuditLogArchiver(repository, openArchive(3), ARCHIVE_AFTER_DAYS, 3, 4).archive();
+    
+    AuditLog archived = openArchive(3).findByTimestampRange(OLD, OLD.plusSeconds(1)).get(0);
+    
+    assertThat(archived).usingRecursiveComparison().isEqualTo(failed);
+  }
+  
+  @Test
+  void openShouldRemoveFilesNotListedInManifest() throws IOException {
+    storeOldEntries(5);
+    new AuditLogArchiver(repository, openArchive(3), ARCHIVE_AFTER_DAYS, 3, 4).archive();
+    Files.write(directory.resolve("segment-00000003.seg.tmp"), new byte[]{1, 2, 3});
+    Files.write(directory.resolve("segment-00000009.seg"), new byte[]{1, 2, 3});
+    Files.write(directory.resolve("MANIFEST.tmp"), new byte[]{1, 2, 3});
+    Files.write(directory.resolve("notes.txt"), new byte[]{1, 2, 3});
+    
+    AuditLogArchive reopened = openArchive(3);
+    
+    try (Stream<Path> files = Files.list(directory)) {
+      assertThat(files.map(path -> path.getFileName().toString()))
+        .containsExactlyInAnyOrder("MANIFEST", "segment-00000001.seg", "segment-00000002.seg", "notes.txt");
+    }
+    assertThat(ids(reopened.findByTimestampRange(OLD, minute(10)))).containsExactly(5L, 4L, 3L, 2L, 1L);
+  }
+  
+  @Test
+  void openShouldStartEmptyWithoutManifest() throws IOException {
+    AuditLogArchive archive = openArchive(3);
+    assertThat(archive.findByTimestampRange(OLD, LocalDateTime.now())).isEmpty();
+    assertThat(directory.resolve("MANIFEST")).doesNotExist();
+  }
+  
+  @Test
+  void nextRunShouldFinishPurgeInterruptedAfterSegmentWasCommitted() throws IOException {
+    storeOldEntries(6);
+    deleteFails.set(true);
+    new AuditLogArchiver(repository, openArchive(3), ARCHIVE_AFTER_DAYS, 4, 100).archive();
+    assertThat(database).hasSize(6);
+    assertThat(Files.readString(directory.resolve("MANIFEST"))).contains("segment-00000001.seg pending");
+    
+    deleteFails.set(false);
+    AuditLogArchive restarted = openArchive(3);
+    new AuditLogArchiver(repository, restarted, ARCHIVE_AFTER_DAYS, 4, 100).archive();
+    
+    assertThat(database).isEmpty();
+    assertThat(Files.readString(directory.resolve("MANIFEST"))).contains("segment-00000001.seg purged");
+    assertThat(directory.resolve("segment-00000002.seg")).doesNotExist();
+    assertThat(ids(restarted.findByTimestampRange(OLD, minute(10)))).containsExactly(6L, 5L, 4L, 3L, 2L, 1L);
+  }
+  
+  @Test
+  void archiveShouldDoNothingWhenDisabled() throws IOException {
+    storeOldEntries(3);
+    
+    new AuditLogArchiver(repository, openArchive(3), 0, 3, 4).archive();
+    
+    assertThat(database).hasSize(3);
+    verify(repository, never()).findArchivable(any(), any(), anyInt());
+  }
+  
+  private AuditLogArchive openArchive(int blockEntries) throws IOException {
+    AuditLogArchive archive = new AuditLogArchive(directory, blockEntries);
+    archive.open();
+    return archive;
+  }
+  
+  private void storeOldEntries(int count) {
+    for (int i = 0; i < count; i++) {
+      database.add(stored(i + 1, minute(i)));
+    }
+  }
+  
+  private static LocalDateTime minute(int minute) {
+    return OLD.plusMinutes(minute);
+  }
+  
+  private static AuditLog stored(long id, LocalDateTime timestamp) {
+    AuditLog auditLog = new AuditLog("user", "method", "Operation " + id, timestamp, 1L, "/api/test", "GET");
+    auditLog.setId(id);
+    return auditLog;
+  }
+  
+  private static boolean isAfter(AuditLog auditLog, AuditLogCursor cursor) {
+    int byTimestamp = auditLog.getTimestamp().compareTo(cursor.getTimestamp());
+    return byTimestamp > 0 || byTimestamp == 0 && auditLog.getId() > cursor.getId();
+  }
+  
+  private static List<Long> ids(List<AuditLog> auditLogs) {
+    return auditLogs.stream().map(AuditLog::getId).toList();
+  }
+}
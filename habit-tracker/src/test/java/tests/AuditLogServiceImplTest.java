@@ -0,0 +1,79 @@
+package tests;
+
+import com.mkhabibullin.application.service.implementation.AuditLogServiceImpl;
+import com.mkhabibullin.domain.exception.ValidationException;
+import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.infrastructure.audit.AuditLogArchive;
+import com.mkhabibullin.infrastructure.audit.AuditLogTail;
+import com.mkhabibullin.infrastructure.persistence.repository.AuditLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class AuditLogServiceImplTest {
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+  private static final LocalDateTime END = LocalDateTime.of(2024, 1, 31, 23, 59);
+  
+  private AuditLogRepository repository;
+  private AuditLogArchive archive;
+  private AuditLogServiceImpl service;
+  
+  @BeforeEach
+  void setUp() {
+    repository = mock(AuditLogRepository.class);
+    archive = mock(AuditLogArchive.class);
+    service = new AuditLogServiceImpl(repository, mock(AuditLogTail.class), archive);
+  }
+  
+  @Test
+  void getLogsByDateRangeShouldMergeArchiveNewestFirstWithoutDuplicates() {
+    AuditLog storedNewest = stored(5, 20);
+    AuditLog storedDuplicate = stored(3, 10);
+    given(repository.findByTimestampRange(START, END)).willReturn(List.of(storedNewest, storedDuplicate));
+    given(archive.findByTimestampRange(START, END))
+      .willReturn(List.of(stored(4, 15), stored(3, 10), stored(2, 10), stored(1, 5)));
+    
+    List<AuditLog> logs = service.getLogsByDateRange(START, END);
+    
+    assertThat(logs).extracting(AuditLog::getId).containsExactly(5L, 4L, 3L, 2L, 1L);
+    assertThat(logs.get(0)).isSameAs(storedNewest);
+    assertThat(logs.get(2)).isSameAs(storedDuplicate);
+  }
+  
+  @Test
+  void getLogsByDateRangeShouldReturnDatabaseLogsWhenArchiveHasNone() {
+    List<AuditLog> stored = List.of(stored(2, 20), stored(1, 10));
+    given(repository.findByTimestampRange(START, END)).willReturn(stored);
+    given(archive.findByTimestampRange(START, END)).willReturn(List.of());
+    
+    assertThat(service.getLogsByDateRange(START, END)).isSameAs(stored);
+  }
+  
+  @Test
+  void getLogsByDateRangeShouldReturnArchivedLogsWhenDatabaseHasNone() {
+    given(repository.findByTimestampRange(START, END)).willReturn(List.of());
+    given(archive.findByTimestampRange(START, END)).willReturn(List.of(stored(2, 20), stored(1, 10)));
+    
+    assertThat(service.getLogsByDateRange(START, END)).extracting(AuditLog::getId).containsExactly(2L, 1L);
+  }
+  
+  @Test
+  void getLogsByDateRangeShouldRejectReversedRange() {
+    assertThatThrownBy(() -> service.getLogsByDateRange(END, START)).isInstanceOf(ValidationException.class);
+    verifyNoInteractions(repository, archive);
+  }
+  
+  private static AuditLog stored(long id, int day) {
+    AuditLog auditLog = new AuditLog("user", "method", "Operation", START.plusDays(day), 1L, "/api/test", "GET");
+    auditLog.setId(id);
+    return auditLog;
+  }
+}
@@ -0,0 +1,217 @@
+package tests;
+
+import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.domain.model.AuditStatus;
+import com.mkhabibullin.infrastructure.audit.AuditLogSpillFile;
+import com.mkhabibullin.infrastructure.audit.AuditSpoolFullException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditLogSpillFileTest {
+  private static final LocalDateTime TIMESTAMP = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000);
+  
+  @TempDir
+  Path directory;
+  
+  @Test
+  void replayShouldReturnAppendedEntriesInOrderAndRemoveSpool() throws IOException {
+    Path path = directory.resolve("audit.spill");
+    AuditLogSpillFile spillFile = new AuditLogSpillFile(path, 0, 1 << 20);
+    AuditLog failed = new AuditLog("user", "method", "op2", TIMESTAMP, 5L, null, null,
+      AuditStatus.FAILURE, "java.lang.IllegalStateException");
+    failed.setCpuTimeNs(42L);
+    failed.setSqlStatements(3);
+    spillFile.append(List.of(entry("op0"), entry("op1")));
+    spillFile.append(List.of(failed));
+    assertThat(spillFile.hasPending()).isTrue();
+    assertThat(spillFile.getPendingBytes()).isPositive();
+    
+    List<List<AuditLog>> chunks = new ArrayList<>();
+    assertThat(spillFile.replay(2, chunk -> {
+      chunks.add(chunk);
+      return chunk.size();
+    })).isTrue();
+    
+    assertThat(chunks).extracting(List::size).containsExactly(2, 1);
+    AuditLog replayed = chunks.get(1).get(0);
+    assertThat(replayed.getOperation()).isEqualTo("op2");
+    assertThat(replayed.getTimestamp()).isEqualTo(TIMESTAMP);
+    assertThat(replayed.getStatus()).isEqualTo(AuditStatus.FAILURE);
+    assertThat(replayed.getErrorClass()).isEqualTo("java.lang.IllegalStateException");
+    assertThat(replayed.getCpuTimeNs()).isEqualTo(42L);
+    assertThat(replayed.getSqlStatements()).isEqualTo(3);
+    assertThat(replayed.getRequestUri()).isNull();
+    assertThat(spillFile.hasPending()).isFalse();
+    assertThat(spillFile.getPendingBytes()).isZero();
+    assertThat(path).doesNotExist();
+    assertThat(offsetPath(path)).doesNotExist();
+  }
+  
+  @Test
+  void recoveryShouldCutOffTornFinalFrame() throws IOException {
+    Path path = directory.resolve("audit.spill");
+    AuditLogSpillFile spillFile = new AuditLogSpillFile(path, 0, 1 << 20);
+    spillFile.append(List.of(entry("op0"), entry("op1")));
+    spillFile.close();
+    long size = Files.size(path);
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+      channel.truncate(size - 3);
+    }
+    
+    AuditLogSpillFile reopened = new AuditLogSpillFile(path, 0, 1 << 20);
+    reopened.append(List.of(entry("op2")));
+    assertThat(replayAll(reopened)).extracting(AuditLog::getOperation).containsExactly("op0", "op2");
+  }
+  
+  @Test
+  void recoveryShouldCutOffFrameWithCorruptChecksum() throws IOException {
+    Path path = directory.resolve("audit.spill");
+    AuditLogSpillFile spillFile = new AuditLogSpillFile(path, 0, 1 << 20);
+    spillFile.append(List.of(entry("op0")));
+    long firstEnd = Files.size(path);
+    spillFile.append(List.of(entry("op1")));
+    spillFile.close();
+    flipLastByte(path);
+    
+    AuditLogSpillFile reopened = new AuditLogSpillFile(path, 0, 1 << 20);
+    assertThat(reopened.hasPending()).isTrue();
+    assertThat(Files.size(path)).isEqualTo(firstEnd);
+    assertThat(replayAll(reopened)).extracting(AuditLog::getOperation).containsExactly("op0");
+  }
+  
+  @Test
+  void replayShouldStopAtFirstEntryWriterDidNotTakeAndResumeThereAfterRestart() throws IOException {
+    Path path = directory.resolve("audit.spill");
+    AuditLogSpillFile spillFile = new AuditLogSpillFile(path, 0, 1 << 20);
+    spillFile.append(List.of(entry("op0"), entry("op1"), entry("op2"), entry("op3")));
+    List<String> written = new ArrayList<>();
+    
+    assertThat(spillFile.replay(3, chunk -> {
+      written.add(chunk.get(0).getOperation());
+      return 1;
+    })).isFalse();
+    assertThat(written).containsExactly("op0");
+    assertThat(offsetPath(path)).exists();
+    spillFile.close();
+    
+    AuditLogSpillFile reopened = new AuditLogSpillFile(path, 0, 1 << 20);
+    assertThat(replayAll(reopened)).extracting(AuditLog::getOperation).containsExactly("op1", "op2", "op3");
+  }
+  
+  @Test
+  void replayShouldKeepWholeChunkWhenWriterThrows() throws IOException {
+    Path path = directory.resolve("audit.spill");
+    AuditLogSpillFile spillFile = new AuditLogSpillFile(path, 0, 1 << 20);
+    spillFile.append(List.of(entry("op0"), entry("op1")));
+    
+    assertThatThrownBy(() -> spillFile.replay(10, chunk -> {
+      throw new IllegalStateException("database down");
+    })).isInstanceOf(IllegalStateException.class);
+    
+    assertThat(replayAll(spillFile)).extracting(AuditLog::getOperation).containsExactly("op0", "op1");
+  }
+  
+  @Test
+  void recoveryShouldIgnoreStoredOffsetBeyondEndOfFile() throws IOException {
+    Path path = directory.resolve("audit.spill");
+    AuditLogSpillFile spillFile = new AuditLogSpillFile(path, 0, 1 << 20);
+    spillFile.append(List.of(entry("op0")));
+    spillFile.close();
+    Files.write(offsetPath(path), ByteBuffer.allocate(Long.BYTES).putLong(0, Files.size(path) + 100).array());
+    
+    AuditLogSpillFile reopened = new AuditLogSpillFile(path, 0, 1 << 20);
+    assertThat(replayAll(reopened)).extracting(AuditLog::getOperation).containsExactly("op0");
+  }
+  
+  @Test
+  void appendShouldRefuseEntriesBeyondMaximumSizeAndKeepSpoolIntact() throws IOException {
+    Path probePath = directory.resolve("probe.spill");
+    AuditLogSpillFile probe = new AuditLogSpillFile(probePath, 0, 1 << 20);
+    probe.append(List.of(entry("op0")));
+    probe.close();
+    long oneEntrySize = Files.size(probePath);
+    
+    Path path = directory.resolve("audit.spill");
+    AuditLogSpillFile spillFile = new AuditLogSpillFile(path, 0, oneEntrySize + 10);
+    spillFile.append(List.of(entry("op0")));
+    assertThatThrownBy(() -> spillFile.append(List.of(entry("op1"))))
+      .isInstanceOf(AuditSpoolFullException.class);
+    assertThatThrownBy(() -> spillFile.append(List.of(entry("op1"), entry("op2"))))
+      .isInstanceOf(AuditSpoolFullException.class);
+    assertThat(Files.size(path)).isEqualTo(oneEntrySize);
+    assertThat(replayAll(spillFile)).extracting(AuditLog::getOperation).containsExactly("op0");
+    
+    spillFile.append(List.of(entry("op1")));
+    assertThat(replayAll(spillFile)).extracting(AuditLog::getOperation).containsExactly("op1");
+  }
+  
+  @Test
+  void constructorShouldRejectMaximumSizeNotAboveFileHeader() {
+    assertThatThrownBy(() -> new AuditLogSpillFile(directory.resolve("audit.spill"), 0, 4))
+      .isInstanceOf(IllegalArgumentException.class);
+  }
+  
+  @Test
+  void spoolWithUnknownHeaderShouldFailEveryUseAndStayUntouched() throws IOException {
+    Path path = directory.resolve("audit.spill");
+    byte[] content = {0x41, 0x55, 0x44, 0x33, 1, 2, 3};
+    Files.write(path, content);
+    AuditLogSpillFile spillFile = new AuditLogSpillFile(path, 0, 1 << 20);
+    
+    assertThatThrownBy(spillFile::hasPending)
+      .isInstanceOf(IOException.class)
+      .hasMessageContaining("unknown header 0x41554433");
+    assertThatThrownBy(() -> spillFile.append(List.of(entry("op0"))))
+      .isInstanceOf(IOException.class)
+      .hasMessageContaining("move it aside");
+    assertThat(Files.readAllBytes(path)).isEqualTo(content);
+  }
+  
+  @Test
+  void recoveryShouldRemoveFileCrashedBeforeHeaderWasWritten() throws IOException {
+    Path path = directory.resolve("audit.spill");
+    Files.write(path, new byte[]{0x41, 0x55});
+    AuditLogSpillFile spillFile = new AuditLogSpillFile(path, 0, 1 << 20);
+    
+    assertThat(spillFile.hasPending()).isFalse();
+    assertThat(path).doesNotExist();
+    spillFile.append(List.of(entry("op0")));
+    assertThat(replayAll(spillFile)).extracting(AuditLog::getOperation).containsExactly("op0");
+  }
+  
+  private static List<AuditLog> replayAll(AuditLogSpillFile spillFile) throws IOException {
+    List<AuditLog> entries = new ArrayList<>();
+    assertThat(spillFile.replay(100, chunk -> {
+      entries.addAll(chunk);
+      return chunk.size();
+    })).isTrue();
+    return entries;
+  }
+  
+  private static void flipLastByte(Path path) throws IOException {
+    byte[] content = Files.readAllBytes(path);
+    content[content.length - 1] ^= 0x01;
+    Files.write(path, content);
+  }
+  
+  private static Path offsetPath(Path path) {
+    return path.resolveSibling(path.getFileName() + ".offset");
+  }
+  
+  private static AuditLog entry(String operation) {
+    return new AuditLog("user", "method", operation, TIMESTAMP, 1L, "/api/test", "GET");
+  }
+}
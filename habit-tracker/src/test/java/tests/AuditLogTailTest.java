@@ -0,0 +1,238 @@
+package tests;
+
+import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.infrastructure.audit.AuditLogTail;
+import com.mkhabibullin.infrastructure.audit.AuditTailSubscription;
+import com.mkhabibullin.infrastructure.persistence.repository.AuditLogRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+class AuditLogTailTest {
+  private AuditLogRepository repository;
+  private final List<AuditLogTail> tails = new ArrayList<>();
+  
+  @BeforeEach
+  void setUp() {
+    repository = mock(AuditLogRepository.class);
+  }
+  
+  @AfterEach
+  void tearDown() {
+    tails.forEach(AuditLogTail::shutdown);
+  }
+  
+  @Test
+  void capacityShouldBeRoundedUpToPowerOfTwo() {
+    assertThat(tail(5, 4, 1).getCapacity()).isEqualTo(8);
+    assertThat(tail(8, 4, 1).getCapacity()).isEqualTo(8);
+    assertThat(tail(1, 4, 1).getCapacity()).isEqualTo(1);
+  }
+  
+  @Test
+  void recentShouldReturnNewestFirstBeforeBufferWraps() {
+    AuditLogTail tail = tail(8, 4, 1);
+    publish(tail, 0, 3);
+    assertThat(operations(tail.recent(10))).containsExactly("op2", "op1", "op0");
+    assertThat(operations(tail.recent(2))).containsExactly("op2", "op1");
+    assertThat(tail.recent(0)).isEmpty();
+  }
+  
+  @Test
+  void recentShouldReturnAtMostCapacityMinusOneEntriesAfterWrapAround() {
+    AuditLogTail tail = tail(4, 4, 1);
+    publish(tail, 0, 10);
+    assertThat(operations(tail.recent(10))).containsExactly("op9", "op8", "op7");
+    assertThat(operations(tail.recent(2))).containsExactly("op9", "op8");
+  }
+  
+  @Test
+  void recentShouldNeverReturnSlotsReusedWhileCopying() throws Exception {
+    AuditLogTail tail = tail(8, 4, 1);
+    AtomicBoolean running = new AtomicBoolean(true);
+    Thread publisher = new Thread(() -> {
+      for (int i = 0; running.get(); i++) {
+        tail.publish(entry("op" + i));
+      }
+    });
+    publisher.start();
+    try {
+      long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+      int snapshots = 0;
+      while (System.nanoTime() < deadline) {
+        List<AuditLog> recent = tail.recent(8);
+        assertThat(recent.size()).isLessThanOrEqualTo(7);
+        for (int i = 1; i < recent.size(); i++) {
+          assertThat(sequence(recent.get(i))).isEqualTo(sequence(recent.get(i - 1)) - 1);
+        }
+        snapshots++;
+      }
+      assertThat(snapshots).isPositive();
+    } finally {
+      running.set(false);
+      publisher.join();
+    }
+  }
+  
+  @Test
+  void coversShouldRequireWarmBufferAndLimitBelowCapacity() {
+    given(repository.findRecentLogs(anyInt())).willReturn(List.of(entry("op2"), entry("op1"), entry("op0")));
+    AuditLogTail tail = tail(8, 4, 1);
+    assertThat(tail.covers(1)).isFalse();
+    
+    tail.warmUp();
+    
+    assertThat(tail.covers(7)).isTrue();
+    assertThat(tail.covers(8)).isFalse();
+    assertThat(operations(tail.recent(7))).containsExactly("op2", "op1", "op0");
+    tail.publish(entry("op3"));
+    assertThat(operations(tail.recent(2))).containsExactly("op3", "op2");
+  }
+  
+  @Test
+  void coversShouldStayFalseWhenWarmUpFails() {
+    given(repository.findRecentLogs(anyInt())).willThrow(new IllegalStateException("database down"));
+    AuditLogTail tail = tail(8, 4, 1);
+    
+    tail.warmUp();
+    
+    assertThat(tail.covers(1)).isFalse();
+  }
+  
+  @Test
+  void subscriberShouldReceiveEveryEntryPublishedAfterSubscribing() throws Exception {
+    AuditLogTail tail = tail(8, 16, 1);
+    tail.publish(entry("before"));
+    List<AuditLog> received = Collections.synchronizedList(new ArrayList<>());
+    AuditTailSubscription subscription = tail.subscribe(received::addAll);
+    
+    publish(tail, 0, 10);
+    
+    awaitUntil(() -> received.size() == 10);
+    assertThat(operations(received)).containsExactly("op0", "op1", "op2", "op3", "op4", "op5", "op6", "op7", "op8", "op9");
+    assertThat(subscription.getDropped()).isZero();
+  }
+  
+  @Test
+  void slowSubscriberShouldLoseOnlyItsOwnOldestEntries() throws Exception {
+    AuditLogTail tail = tail(16, 4, 2);
+    CountDownLatch slowEntered = new CountDownLatch(1);
+    CountDownLatch releaseSlow = new CountDownLatch(1);
+    List<AuditLog> slowReceived = Collections.synchronizedList(new ArrayList<>());
+    AuditTailSubscription slow = tail.subscribe(batch -> {
+      slowReceived.addAll(batch);
+      slowEntered.countDown();
+      await(releaseSlow);
+    });
+    List<AuditLog> fastReceived = Collections.synchronizedList(new ArrayList<>());
+    AuditTailSubscription fast = tail.subscribe(fastReceived::addAll);
+    
+    tail.publish(entry("op0"));
+    assertThat(slowEntered.await(10, TimeUnit.SECONDS)).isTrue();
+    for (int i = 1; i <= 10; i++) {
+      tail.publish(entry("op" + i));
+      int expected = i + 1;
+      awaitUntil(() -> fastReceived.size() == expected);
+    }
+    releaseSlow.countDown();
+    
+    awaitUntil(() -> slowReceived.size() == 5);
+    assertThat(operations(slowReceived)).containsExactly("op0", "op7", "op8", "op9", "op10");
+    assertThat(slow.getDropped()).isEqualTo(6);
+    assertThat(fastReceived).hasSize(11);
+    assertThat(fast.getDropped()).isZero();
+  }
+  
+  @Test
+  void subscriptionShouldBeCancelledWhenConsumerThrows() throws Exception {
+    AuditLogTail tail = tail(8, 4, 1);
+    AtomicInteger calls = new AtomicInteger();
+    tail.subscribe(batch -> {
+      calls.incrementAndGet();
+      throw new IllegalStateException("client disconnected");
+    });
+    List<AuditLog> other = Collections.synchronizedList(new ArrayList<>());
+    tail.subscribe(other::addAll);
+    
+    tail.publish(entry("op0"));
+    awaitUntil(() -> calls.get() == 1 && other.size() == 1);
+    tail.publish(entry("op1"));
+    tail.publish(entry("op2"));
+    
+    awaitUntil(() -> other.size() == 3);
+    assertThat(calls.get()).isEqualTo(1);
+  }
+  
+  @Test
+  void cancelledSubscriptionShouldReceiveNothing() throws Exception {
+    AuditLogTail tail = tail(8, 4, 1);
+    List<AuditLog> cancelledReceived = Collections.synchronizedList(new ArrayList<>());
+    AuditTailSubscription subscription = tail.subscribe(cancelledReceived::addAll);
+    List<AuditLog> activeReceived = Collections.synchronizedList(new ArrayList<>());
+    tail.subscribe(activeReceived::addAll);
+    
+    subscription.cancel();
+    subscription.cancel();
+    tail.publish(entry("op0"));
+    
+    awaitUntil(() -> activeReceived.size() == 1);
+    assertThat(cancelledReceived).isEmpty();
+  }
+  
+  private AuditLogTail tail(int capacity, int subscriberQueueCapacity, int streamThreads) {
+    AuditLogTail tail = new AuditLogTail(repository, capacity, subscriberQueueCapacity, streamThreads);
+    tails.add(tail);
+    return tail;
+  }
+  
+  private static void publish(AuditLogTail tail, int from, int to) {
+    for (int i = from; i < to; i++) {
+      tail.publish(entry("op" + i));
+    }
+  }
+  
+  private static List<String> operations(List<AuditLog> auditLogs) {
+    synchronized (auditLogs) {
+      return auditLogs.stream().map(AuditLog::getOperation).toList();
+    }
+  }
+  
+  private static long sequence(AuditLog auditLog) {
+    return Long.parseLong(auditLog.getOperation().substring(2));
+  }
+  
+  private static AuditLog entry(String operation) {
+    return new AuditLog("user", "method", operation, LocalDateTime.now(), 1L, "/api/test", "GET");
+  }
+  
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+  
+  private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!condition.getAsBoolean()) {
+      assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+      Thread.sleep(5);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package tests;
+
+import com.mkhabibullin.common.AuditPolicy;
+import com.mkhabibullin.common.Audited;
+import com.mkhabibullin.infrastructure.audit.AuditPolicyResolver;
+import com.mkhabibullin.infrastructure.audit.AuditRule;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditPolicyResolverTest {
+  @Test
+  void resolveShouldUseAnnotationWhenNoOverrideIsConfigured() {
+    AuditPolicyResolver resolver = new AuditPolicyResolver("");
+    assertThat(resolver.resolve(audited("sampled")))
+      .isEqualTo(new AuditRule(AuditPolicy.SAMPLED, 0.1, 200));
+    assertThat(resolver.resolve(audited("plain")))
+      .isEqualTo(new AuditRule(AuditPolicy.ALWAYS, 1.0, 1000));
+  }
+  
+  @Test
+  void resolveShouldApplyOverridesAndTakeMissingValuesFromAnnotation() {
+    AuditPolicyResolver resolver = new AuditPolicyResolver(
+      " Sampled Operation = slow_only:750 ;; Plain Operation=SAMPLED:0.05; Slow Operation=FAILURES_ONLY");
+    assertThat(resolver.resolve(audited("sampled")))
+      .isEqualTo(new AuditRule(AuditPolicy.SLOW_ONLY, 0.1, 750));
+    assertThat(resolver.resolve(audited("plain")))
+      .isEqualTo(new AuditRule(AuditPolicy.SAMPLED, 0.05, 1000));
+    assertThat(resolver.resolve(audited("slow")))
+      .isEqualTo(new AuditRule(AuditPolicy.FAILURES_ONLY, 1.0, 300));
+  }
+  
+  @Test
+  void resolveShouldAllowEqualsSignInOperationName() {
+    AuditPolicyResolver resolver = new AuditPolicyResolver("Key=Value Operation=FAILURES_ONLY");
+    assertThat(resolver.resolve(audited("keyValue")).policy()).isEqualTo(AuditPolicy.FAILURES_ONLY);
+  }
+  
+  @Test
+  void resolveShouldCacheRulePerOperation() {
+    AuditPolicyResolver resolver = new AuditPolicyResolver(null);
+    assertThat(resolver.resolve(audited("sampled"))).isSameAs(resolver.resolve(audited("sampled")));
+  }
+  
+  @Test
+  void resolveShouldFallBackToAlwaysWhenAnnotationDeclaresInvalidValues() {
+    AuditPolicyResolver resolver = new AuditPolicyResolver("");
+    AuditRule rule = resolver.resolve(audited("invalidRate"));
+    assertThat(rule.policy()).isEqualTo(AuditPolicy.ALWAYS);
+    assertThat(rule.shouldRecord(false, 0)).isTrue();
+    assertThat(resolver.resolve(audited("invalidThreshold")).policy()).isEqualTo(AuditPolicy.ALWAYS);
+  }
+  
+  @Test
+  void resolveShouldUseValidOverrideForAnnotationWithInvalidValue() {
+    AuditPolicyResolver resolver = new AuditPolicyResolver("Invalid Rate Operation=SAMPLED:0.5");
+    assertThat(resolver.resolve(audited("invalidRate")))
+      .isEqualTo(new AuditRule(AuditPolicy.SAMPLED, 0.5, 1000));
+  }
+  
+  @Test
+  void constructorShouldRejectMalformedOverrides() {
+    assertThatThrownBy(() -> new AuditPolicyResolver("Operation"))
+      .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new AuditPolicyResolver("=ALWAYS"))
+      .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new AuditPolicyResolver("Operation=SOMETIMES"))
+      .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new AuditPolicyResolver("Operation=SAMPLED:often"))
+      .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new AuditPolicyResolver("Operation=SAMPLED:2"))
+      .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new AuditPolicyResolver("Operation=SLOW_ONLY:-5"))
+      .isInstanceOf(IllegalArgumentException.class);
+  }
+  
+  private static Audited audited(String methodName) {
+    try {
+      return AnnotatedOperations.class.getDeclaredMethod(methodName).getAnnotation(Audited.class);
+    } catch (NoSuchMethodException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+  
+  @SuppressWarnings("unused")
+  private static class AnnotatedOperations {
+    @Audited(audited = "Plain Operation")
+    void plain() {
+    }
+    
+    @Audited(audited = "Sampled Operation", policy = AuditPolicy.SAMPLED, sampleRate = 0.1, slowThresholdMs = 200)
+    void sampled() {
+    }
+    
+    @Audited(audited = "Slow Operation", policy = AuditPolicy.SLOW_ONLY, slowThresholdMs = 300)
+    void slow() {
+    }
+    
+    @Audited(audited = "Key=Value Operation")
+    void keyValue() {
+    }
+    
+    @Audited(audited = "Invalid Rate Operation", policy = AuditPolicy.SAMPLED, sampleRate = 1.5)
+    void invalidRate() {
+    }
+    
+    @Audited(audited = "Invalid Threshold Operation", policy = AuditPolicy.SLOW_ONLY, slowThresholdMs = -1)
+    void invalidThreshold() {
+    }
+  }
+}
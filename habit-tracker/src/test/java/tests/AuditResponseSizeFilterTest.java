@@ -0,0 +1,167 @@
+package tests;
+
+import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.infrastructure.audit.AuditLogWriter;
+import com.mkhabibullin.infrastructure.audit.AuditResponseSizeFilter;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class AuditResponseSizeFilterTest {
+  private AuditLogWriter auditLogWriter;
+  private AuditResponseSizeFilter filter;
+  private HttpServletRequest request;
+  private HttpServletResponse response;
+  private ByteArrayOutputStream body;
+  
+  @BeforeEach
+  void setUp() throws Exception {
+    auditLogWriter = mock(AuditLogWriter.class);
+    filter = new AuditResponseSizeFilter(auditLogWriter);
+    Map<String, Object> attributes = new HashMap<>();
+    request = mock(HttpServletRequest.class);
+    given(request.getAttribute(anyString())).willAnswer(invocation -> attributes.get(invocation.<String>getArgument(0)));
+    willAnswer(invocation -> attributes.put(invocation.getArgument(0), invocation.getArgument(1)))
+      .given(request).setAttribute(anyString(), any());
+    body = new ByteArrayOutputStream();
+    response = mock(HttpServletResponse.class);
+    given(response.getOutputStream()).willReturn(new BufferServletOutputStream(body));
+    given(response.getCharacterEncoding()).willReturn(StandardCharsets.UTF_8.name());
+  }
+  
+  @Test
+  void filterShouldSubmitDeferredEntriesWithBytesWrittenToOutputStreamAfterChainCompletes() throws Exception {
+    AuditLog auditLog = entry();
+    FilterChain chain = (req, res) -> {
+      assertThat(AuditResponseSizeFilter.defer(request, auditLog)).isTrue();
+      res.getOutputStream().write(new byte[]{1, 2, 3});
+      verifyNoInteractions(auditLogWriter);
+      res.getOutputStream().write(new byte[10], 2, 5);
+      res.getOutputStream().write(7);
+    };
+    
+    filter.doFilter(request, response, chain);
+    
+    verify(auditLogWriter).submit(auditLog);
+    assertThat(auditLog.getResponseBytes()).isEqualTo(9);
+    assertThat(body.size()).isEqualTo(9);
+  }
+  
+  @Test
+  void filterShouldCountEncodedBytesWrittenThroughUnflushedWriter() throws Exception {
+    AuditLog first = entry();
+    AuditLog second = entry();
+    FilterChain chain = (req, res) -> {
+      AuditResponseSizeFilter.defer(request, first);
+      AuditResponseSizeFilter.defer(request, second);
+      res.getWriter().write("héllo €");
+    };
+    
+    filter.doFilter(request, response, chain);
+    
+    verify(auditLogWriter, times(2)).submit(any(AuditLog.class));
+    assertThat(first.getResponseBytes()).isEqualTo(10);
+    assertThat(second.getResponseBytes()).isEqualTo(10);
+    assertThat(body.toString(StandardCharsets.UTF_8)).isEqualTo("héllo €");
+  }
+  
+  @Test
+  void filterShouldReportZeroBytesForEmptyBody() throws Exception {
+    AuditLog auditLog = entry();
+    
+    filter.doFilter(request, response, (req, res) -> AuditResponseSizeFilter.defer(request, auditLog));
+    
+    verify(auditLogWriter).submit(auditLog);
+    assertThat(auditLog.getResponseBytes()).isZero();
+  }
+  
+  @Test
+  void filterShouldSubmitNothingWhenNoEntryWasDeferred() throws Exception {
+    filter.doFilter(request, response, (req, res) -> res.getOutputStream().write(1));
+    
+    verifyNoInteractions(auditLogWriter);
+  }
+  
+  @Test
+  void deferShouldRefuseEntriesAfterResponseCompletedOrOutsideFilteredRequest() throws Exception {
+    filter.doFilter(request, response, (req, res) -> {
+    });
+    
+    assertThat(AuditResponseSizeFilter.defer(request, entry())).isFalse();
+    assertThat(AuditResponseSizeFilter.defer(null, entry())).isFalse();
+    assertThat(AuditResponseSizeFilter.defer(mock(HttpServletRequest.class), entry())).isFalse();
+  }
+  
+  @Test
+  void filterShouldSubmitEntriesOfAsyncRequestWhenAsyncProcessingCompletes() throws Exception {
+    AsyncContext asyncContext = mock(AsyncContext.class);
+    given(request.isAsyncStarted()).willReturn(true);
+    given(request.getAsyncContext()).willReturn(asyncContext);
+    AuditLog auditLog = entry();
+    ServletOutputStream[] asyncOutput = new ServletOutputStream[1];
+    FilterChain chain = (req, res) -> {
+      AuditResponseSizeFilter.defer(request, auditLog);
+      asyncOutput[0] = res.getOutputStream();
+    };
+    
+    filter.doFilter(request, response, chain);
+    
+    verify(auditLogWriter, never()).submit(any());
+    ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+    verify(asyncContext).addListener(listener.capture());
+    asyncOutput[0].write(new byte[42]);
+    listener.getValue().onComplete(null);
+    verify(auditLogWriter).submit(auditLog);
+    assertThat(auditLog.getResponseBytes()).isEqualTo(42);
+  }
+  
+  private static AuditLog entry() {
+    return new AuditLog("user", "method", "Export", LocalDateTime.now(), 1L, "/api/audit/export", "GET");
+  }
+  
+  private static final class BufferServletOutputStream extends ServletOutputStream {
+    private final ByteArrayOutputStream buffer;
+    
+    BufferServletOutputStream(ByteArrayOutputStream buffer) {
+      this.buffer = buffer;
+    }
+    
+    @Override
+    public void write(int b) {
+      buffer.write(b);
+    }
+    
+    @Override
+    public boolean isReady() {
+      return true;
+    }
+    
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+    }
+  }
+}
@@ -4,23 +4,46 @@ import com.mkhabibullin.application.mapper.AuditMapper;
 import com.mkhabibullin.application.service.AuditLogService;
 import com.mkhabibullin.application.validation.AuditValidator;
 import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.domain.model.AuditLogCursor;
+import com.mkhabibullin.domain.model.AuditLogFilter;
+import com.mkhabibullin.domain.model.AuditLogPage;
 import com.mkhabibullin.domain.model.AuditStatistics;
+import com.mkhabibullin.domain.model.AuditStatus;
+import com.mkhabibullin.domain.model.OperationTelemetry;
+import com.mkhabibullin.infrastructure.audit.AuditTailSubscription;
 import com.mkhabibullin.presentation.controller.AuditRestController;
 import com.mkhabibullin.presentation.dto.audit.AuditLogResponseDTO;
 import com.mkhabibullin.presentation.dto.audit.AuditStatisticsDTO;
+import com.mkhabibullin.presentation.dto.audit.OperationTelemetryDTO;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 class AuditRestControllerTest extends BaseTest {
@@ -34,7 +57,7 @@ class AuditRestControllerTest extends BaseTest {
   
   @Override
   protected void setupMockMvc() {
-    auditController = new AuditRestController(auditLogService, auditMapper, auditValidator);
+    auditController = new AuditRestController(auditLogService, auditMapper, auditValidator, objectMapper);
     mockMvc = buildMockMvc(auditController);
   }
   
@@ -70,6 +93,29 @@ class AuditRestControllerTest extends BaseTest {
       .andExpect(jsonPath("$.message").value("Limit must be between 1 and 100"));
   }
   
+  @Test
+  @SuppressWarnings("unchecked")
+  void streamLogsShouldPushWrittenLogsAsEvents() throws Exception {
+    AuditLog auditLog = createTestAuditLog("Create Habit");
+    auditLog.setId(5L);
+    AuditLogResponseDTO responseDTO = createTestAuditLogDTO(5L, "Create Habit");
+    AuditTailSubscription subscription = mock(AuditTailSubscription.class);
+    given(auditLogService.subscribe(any(Consumer.class))).willReturn(subscription);
+    given(auditMapper.auditLogToResponseDto(auditLog)).willReturn(responseDTO);
+    MvcResult result = mockMvc.perform(get("/api/audit-logs/stream")
+        .accept(MediaType.TEXT_EVENT_STREAM)
+        .sessionAttr("user", createTestUser()))
+      .andExpect(request().asyncStarted())
+      .andReturn();
+    ArgumentCaptor<Consumer<List<AuditLog>>> consumer = ArgumentCaptor.forClass(Consumer.class);
+    verify(auditLogService).subscribe(consumer.capture());
+    consumer.getValue().accept(List.of(auditLog));
+    assertThat(result.getResponse().getContentAsString())
+      .contains("event:audit-log")
+      .contains("id:5")
+      .contains("\"operation\":\"Create Habit\"");
+  }
+  
   @Test
   void getUserLogsShouldReturnUserSpecificLogs() throws Exception {
     String username = "testuser";
@@ -114,6 +160,33 @@ class AuditRestControllerTest extends BaseTest {
     verify(auditMapper).auditLogsToResponseDtos(auditLogs);
   }
   
+  @Test
+  void getOperationLogsWithStatusShouldReturnMatchingLogs() throws Exception {
+    String operation = "Create Habit";
+    List<AuditLog> auditLogs = List.of(createTestAuditLog(operation));
+    List<AuditLogResponseDTO> responseDTOs = List.of(new AuditLogResponseDTO(
+      1L,
+      TEST_USER_EMAIL,
+      "testMethod",
+      operation,
+      LocalDateTime.now(),
+      100L,
+      "/api/test",
+      "GET",
+      "FAILURE",
+      "java.lang.IllegalStateException"
+    ));
+    given(auditLogService.getOperationLogs(operation, AuditStatus.FAILURE)).willReturn(auditLogs);
+    given(auditMapper.auditLogsToResponseDtos(auditLogs)).willReturn(responseDTOs);
+    performRequest(get("/api/audit-logs/operation/" + operation)
+      .param("status", "FAILURE"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.length()").value(1))
+      .andExpect(jsonPath("$[0].status").value("FAILURE"))
+      .andExpect(jsonPath("$[0].errorClass").value("java.lang.IllegalStateException"));
+    verify(auditLogService).getOperationLogs(operation, AuditStatus.FAILURE);
+  }
+  
   @Test
   void getStatisticsShouldReturnAuditStatistics() throws Exception {
     LocalDateTime startDateTime = LocalDateTime.now().minusDays(7);
@@ -127,6 +200,8 @@ class AuditRestControllerTest extends BaseTest {
     Map<String, Double> averageTimeByOperation = new HashMap<>();
     averageTimeByOperation.put("Create Habit", 150.0);
     averageTimeByOperation.put("Update Habit", 120.0);
+    OperationTelemetry telemetry = new OperationTelemetry(5L, 150_000_000.0, 40_000_000.0, 262_144.0, 3.0, 512.0);
+    OperationTelemetryDTO telemetryDTO = new OperationTelemetryDTO(5L, 150_000_000.0, 40_000_000.0, 262_144.0, 3.0, 512.0);
     AuditStatistics statistics = new AuditStatistics(
       8L,
       135.0,
@@ -135,6 +210,7 @@ class AuditRestControllerTest extends BaseTest {
       averageTimeByOperation,
       "user1",
       "Create Habit",
+      Map.of("Create Habit", telemetry),
       startDateTime,
       endDateTime
     );
@@ -146,6 +222,7 @@ class AuditRestControllerTest extends BaseTest {
       averageTimeByOperation,
       "user1",
       "Create Habit",
+      Map.of("Create Habit", telemetryDTO),
       startDateTime,
       endDateTime
     );
@@ -162,7 +239,9 @@ class AuditRestControllerTest extends BaseTest {
       .andExpect(jsonPath("$.mostActiveUser").value("user1"))
       .andExpect(jsonPath("$.mostCommonOperation").value("Create Habit"))
       .andExpect(jsonPath("$.operationCounts['Create Habit']").value(5))
-      .andExpect(jsonPath("$.userActivityCounts['user1']").value(4));
+      .andExpect(jsonPath("$.userActivityCounts['user1']").value(4))
+      .andExpect(jsonPath("$.telemetryByOperation['Create Habit'].averageSqlStatements").value(3.0))
+      .andExpect(jsonPath("$.telemetryByOperation['Create Habit'].averageResponseBytes").value(512.0));
     verify(auditLogService).getStatistics(startDateTime, endDateTime);
     verify(auditMapper).statisticsToDto(statistics);
   }
@@ -178,6 +257,104 @@ class AuditRestControllerTest extends BaseTest {
       .andExpect(jsonPath("$.message").value("End date-time cannot be before start date-time"));
   }
   
+  @Test
+  void searchLogsShouldReturnPageWithNextCursor() throws Exception {
+    AuditLog auditLog = createTestAuditLog("Create Habit");
+    auditLog.setId(42L);
+    auditLog.setTimestamp(LocalDateTime.of(2024, 3, 15, 14, 30, 0, 123_000_000));
+    List<AuditLog> auditLogs = List.of(auditLog);
+    List<AuditLogResponseDTO> responseDTOs = List.of(createTestAuditLogDTO(42L, "Create Habit"));
+    given(auditLogService.searchLogs(any(AuditLogFilter.class), isNull(), eq(1)))
+      .willReturn(new AuditLogPage(auditLogs, AuditLogCursor.after(auditLog)));
+    given(auditMapper.auditLogsToResponseDtos(auditLogs)).willReturn(responseDTOs);
+    String nextCursor = performRequest(get("/api/audit-logs/search")
+      .param("username", TEST_USER_EMAIL)
+      .param("method", "post")
+      .param("minDurationMs", "50")
+      .param("limit", "1"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.items.length()").value(1))
+      .andExpect(jsonPath("$.items[0].id").value(42))
+      .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+      .andReturn().getResponse().getContentAsString()
+      .replaceAll(".*\"nextCursor\":\"([^\"]+)\".*", "$1");
+    ArgumentCaptor<AuditLogFilter> filter = ArgumentCaptor.forClass(AuditLogFilter.class);
+    verify(auditLogService).searchLogs(filter.capture(), isNull(), eq(1));
+    assertThat(filter.getValue().getUsername()).isEqualTo(TEST_USER_EMAIL);
+    assertThat(filter.getValue().getRequestMethod()).isEqualTo("POST");
+    assertThat(filter.getValue().getMinExecutionTimeMs()).isEqualTo(50L);
+    
+    given(auditLogService.searchLogs(any(AuditLogFilter.class), any(AuditLogCursor.class), eq(1)))
+      .willReturn(new AuditLogPage(List.of(), null));
+    given(auditMapper.auditLogsToResponseDtos(List.of())).willReturn(List.of());
+    performRequest(get("/api/audit-logs/search")
+      .param("cursor", nextCursor)
+      .param("limit", "1"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.items.length()").value(0));
+    ArgumentCaptor<AuditLogCursor> cursor = ArgumentCaptor.forClass(AuditLogCursor.class);
+    verify(auditLogService).searchLogs(any(AuditLogFilter.class), cursor.capture(), eq(1));
+    assertThat(cursor.getValue().getTimestamp()).isEqualTo(auditLog.getTimestamp());
+    assertThat(cursor.getValue().getId()).isEqualTo(42L);
+  }
+  
+  @Test
+  void searchLogsWithInvalidCursorShouldReturnBadRequest() throws Exception {
+    performRequest(get("/api/audit-logs/search")
+      .param("cursor", "not-a-cursor"))
+      .andExpect(status().isBadRequest())
+      .andExpect(jsonPath("$.message").value("Invalid cursor"));
+  }
+  
+  @Test
+  @SuppressWarnings("unchecked")
+  void exportLogsShouldStreamGzippedCsv() throws Exception {
+    AuditLog auditLog = new AuditLog(
+      TEST_USER_EMAIL,
+      "createHabit",
+      "Create Habit, daily",
+      LocalDateTime.of(2024, 3, 15, 14, 30),
+      150L,
+      "/api/habits",
+      "POST",
+      AuditStatus.FAILURE,
+      "com.mkhabibullin.domain.exception.ValidationException"
+    );
+    auditLog.setId(7L);
+    willAnswer(invocation -> {
+      ((Consumer<AuditLog>) invocation.getArgument(1)).accept(auditLog);
+      return null;
+    }).given(auditLogService).exportLogs(any(AuditLogFilter.class), any(Consumer.class));
+    MvcResult result = performRequest(get("/api/audit-logs/export")
+      .param("username", TEST_USER_EMAIL))
+      .andExpect(request().asyncStarted())
+      .andReturn();
+    byte[] body = mockMvc.perform(asyncDispatch(result))
+      .andExpect(status().isOk())
+      .andExpect(header().string("Content-Type", "application/gzip"))
+      .andExpect(header().string("Content-Disposition", "attachment; filename=\"audit-logs.csv.gz\""))
+      .andReturn().getResponse().getContentAsByteArray();
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+      assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(
+        "id,username,methodName,operation,timestamp,executionTimeMs,requestUri,requestMethod,status,errorClass\n" +
+        "7," + TEST_USER_EMAIL + ",createHabit,\"Create Habit, daily\",2024-03-15T14:30,150,/api/habits,POST," +
+        "FAILURE,com.mkhabibullin.domain.exception.ValidationException\n"
+      );
+    }
+    ArgumentCaptor<AuditLogFilter> filter = ArgumentCaptor.forClass(AuditLogFilter.class);
+    verify(auditLogService).exportLogs(filter.capture(), any(Consumer.class));
+    assertThat(filter.getValue().getUsername()).isEqualTo(TEST_USER_EMAIL);
+    assertThat(filter.getValue().getOperation()).isNull();
+  }
+  
+  @Test
+  void exportLogsWithInvalidFormatShouldReturnBadRequest() throws Exception {
+    performRequest(get("/api/audit-logs/export")
+      .param("format", "xml"))
+      .andExpect(status().isBadRequest())
+      .andExpect(jsonPath("$.message").value("Format must be csv or ndjson"));
+  }
+  
   private AuditLog createTestAuditLog(String operation) {
     return new AuditLog(
       TEST_USER_EMAIL,
@@ -199,7 +376,9 @@ class AuditRestControllerTest extends BaseTest {
       LocalDateTime.now(),
       100L,
       "/api/test",
-      "GET"
+      "GET",
+      "SUCCESS",
+      null
     );
   }
 }
\ No newline at end of file
@@ -0,0 +1,68 @@
+package tests;
+
+import com.mkhabibullin.common.AuditPolicy;
+import com.mkhabibullin.infrastructure.audit.AuditRule;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditRuleTest {
+  @Test
+  void alwaysShouldRecordEveryCallInAdvance() {
+    AuditRule rule = new AuditRule(AuditPolicy.ALWAYS, 0.0, 1000);
+    assertThat(rule.recordsInAdvance()).isTrue();
+    assertThat(rule.decidesAfterCall()).isFalse();
+    assertThat(rule.shouldRecord(false, 0)).isTrue();
+    assertThat(rule.shouldRecord(true, 0)).isTrue();
+  }
+  
+  @Test
+  void failuresOnlyShouldRecordOnlyFailedCalls() {
+    AuditRule rule = new AuditRule(AuditPolicy.FAILURES_ONLY, 1.0, 0);
+    assertThat(rule.recordsInAdvance()).isFalse();
+    assertThat(rule.decidesAfterCall()).isTrue();
+    assertThat(rule.shouldRecord(false, 5000)).isFalse();
+    assertThat(rule.shouldRecord(true, 0)).isTrue();
+  }
+  
+  @Test
+  void slowOnlyShouldRecordCallsFromThresholdAndFailures() {
+    AuditRule rule = new AuditRule(AuditPolicy.SLOW_ONLY, 1.0, 500);
+    assertThat(rule.recordsInAdvance()).isFalse();
+    assertThat(rule.decidesAfterCall()).isTrue();
+    assertThat(rule.shouldRecord(false, 499)).isFalse();
+    assertThat(rule.shouldRecord(false, 500)).isTrue();
+    assertThat(rule.shouldRecord(true, 1)).isTrue();
+  }
+  
+  @Test
+  void sampledShouldStillRecordSlowCallsAndFailuresLeftOutOfSample() {
+    AuditRule rule = new AuditRule(AuditPolicy.SAMPLED, 0.0, 500);
+    assertThat(IntStream.range(0, 1000).noneMatch(i -> rule.recordsInAdvance())).isTrue();
+    assertThat(rule.decidesAfterCall()).isFalse();
+    assertThat(rule.shouldRecord(false, 10)).isFalse();
+    assertThat(rule.shouldRecord(false, 500)).isTrue();
+    assertThat(rule.shouldRecord(true, 10)).isTrue();
+  }
+  
+  @Test
+  void sampledShouldRecordRoughlySampleRateOfCallsInAdvance() {
+    AuditRule all = new AuditRule(AuditPolicy.SAMPLED, 1.0, 500);
+    assertThat(IntStream.range(0, 1000).allMatch(i -> all.recordsInAdvance())).isTrue();
+    AuditRule quarter = new AuditRule(AuditPolicy.SAMPLED, 0.25, 500);
+    long recorded = IntStream.range(0, 20_000).filter(i -> quarter.recordsInAdvance()).count();
+    assertThat(recorded).isBetween(4_000L, 6_000L);
+  }
+  
+  @Test
+  void constructorShouldRejectInvalidValues() {
+    assertThatThrownBy(() -> new AuditRule(null, 1.0, 0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new AuditRule(AuditPolicy.SAMPLED, 1.5, 0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new AuditRule(AuditPolicy.SAMPLED, -0.1, 0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new AuditRule(AuditPolicy.SAMPLED, Double.NaN, 0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new AuditRule(AuditPolicy.SLOW_ONLY, 1.0, -1)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,167 @@
+package tests;
+
+import com.mkhabibullin.domain.model.AuditLog;
+import com.mkhabibullin.domain.model.AuditStatus;
+import com.mkhabibullin.infrastructure.persistence.repository.implementation.CopyAuditLogRepository;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CopyAuditLogRepositoryTest {
+  private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+  private static final LocalDateTime POSTGRES_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+  
+  @Test
+  void writeCopyDataShouldWriteHeaderAndTrailerAroundEmptyBatch() throws IOException {
+    DataInputStream in = encode(List.of());
+    
+    assertThat(in.readNBytes(SIGNATURE.length)).isEqualTo(SIGNATURE);
+    assertThat(in.readInt()).as("flags").isZero();
+    assertThat(in.readInt()).as("header extension length").isZero();
+    assertThat(in.readShort()).as("trailer").isEqualTo((short) -1);
+    assertThat(in.available()).isZero();
+  }
+  
+  @Test
+  void writeCopyDataShouldEncodeEveryColumnOfFailedEntry() throws IOException {
+    AuditLog failed = new AuditLog("alice", "deleteHabit", "Delete Habit", LocalDateTime.of(2024, 3, 1, 12, 30, 15),
+      17L, "/api/habits/{id}", "DELETE", AuditStatus.FAILURE, "java.lang.IllegalStateException");
+    failed.setId(42L);
+    failed.setMethodNameId(3);
+    failed.setOperationId(4);
+    failed.setRequestUriId(5);
+    failed.setErrorClassId(6);
+    failed.setExecutionTimeNs(17_000_123L);
+    failed.setCpuTimeNs(5_000L);
+    failed.setAllocatedBytes(2048L);
+    failed.setSqlStatements(7);
+    failed.setResponseBytes(512L);
+    
+    DataInputStream in = encode(List.of(failed));
+    in.skipNBytes(SIGNATURE.length + 2 * Integer.BYTES);
+    
+    assertThat(in.readShort()).as("field count").isEqualTo((short) 15);
+    assertBigint(in, 42L);
+    assertText(in, "alice");
+    assertInteger(in, 3);
+    assertInteger(in, 4);
+    assertBigint(in, 762_611_415_000_000L);
+    assertBigint(in, 17L);
+    assertInteger(in, 5);
+    assertText(in, "DELETE");
+    assertThat(in.readInt()).as("status length").isEqualTo(Short.BYTES);
+    assertThat(in.readShort()).as("status").isEqualTo((short) AuditStatus.FAILURE.ordinal());
+    assertInteger(in, 6);
+    assertBigint(in, 17_000_123L);
+    assertBigint(in, 5_000L);
+    assertBigint(in, 2048L);
+    assertInteger(in, 7);
+    assertBigint(in, 512L);
+    assertThat(in.readShort()).as("trailer").isEqualTo((short) -1);
+    assertThat(in.available()).isZero();
+  }
+  
+  @Test
+  void writeCopyDataShouldWriteMissingValuesAsNull() throws IOException {
+    AuditLog success = new AuditLog("bob", "getHabits", "Get Habits", POSTGRES_EPOCH, 1L, "/api/habits", "GET");
+    success.setId(1L);
+    
+    DataInputStream in = encode(List.of(success));
+    in.skipNBytes(SIGNATURE.length + 2 * Integer.BYTES);
+    
+    assertThat(in.readShort()).isEqualTo((short) 15);
+    assertBigint(in, 1L);
+    assertText(in, "bob");
+    assertNull(in);
+    assertNull(in);
+    assertBigint(in, 0L);
+    assertBigint(in, 1L);
+    assertNull(in);
+    assertText(in, "GET");
+    assertThat(in.readInt()).isEqualTo(Short.BYTES);
+    assertThat(in.readShort()).isEqualTo((short) AuditStatus.SUCCESS.ordinal());
+    for (int column = 0; column < 6; column++) {
+      assertNull(in);
+    }
+    assertThat(in.readShort()).isEqualTo((short) -1);
+  }
+  
+  @Test
+  void writeCopyDataShouldRoundTimestampsToNearestMicrosecond() throws IOException {
+    List<LocalDateTime> timestamps = List.of(
+      POSTGRES_EPOCH.plusNanos(1_499),
+      POSTGRES_EPOCH.plusNanos(1_500),
+      POSTGRES_EPOCH.minusNanos(1_500),
+      LocalDateTime.of(1999, 12, 31, 23, 59, 59));
+    List<AuditLog> auditLogs = timestamps.stream()
+      .map(timestamp -> new AuditLog("user", "method", "Operation", timestamp, 1L, "/api/test", "GET"))
+      .toList();
+    
+    DataInputStream in = encode(auditLogs);
+    in.skipNBytes(SIGNATURE.length + 2 * Integer.BYTES);
+    
+    assertThat(readTimestamps(in, auditLogs.size())).containsExactly(1L, 2L, -1L, -1_000_000L);
+  }
+  
+  private static DataInputStream encode(List<AuditLog> auditLogs) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(bytes)) {
+      CopyAuditLogRepository.writeCopyData(out, auditLogs);
+    }
+    return new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+  }
+  
+  private static List<Long> readTimestamps(DataInputStream in, int rows) throws IOException {
+    List<Long> timestamps = new ArrayList<>();
+    for (int row = 0; row < rows; row++) {
+      assertThat(in.readShort()).isEqualTo((short) 15);
+      skipField(in);
+      skipField(in);
+      skipField(in);
+      skipField(in);
+      assertThat(in.readInt()).isEqualTo(Long.BYTES);
+      timestamps.add(in.readLong());
+      for (int column = 5; column < 15; column++) {
+        skipField(in);
+      }
+    }
+    return timestamps;
+  }
+  
+  private static void skipField(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length > 0) {
+      in.skipNBytes(length);
+    }
+  }
+  
+  private static void assertBigint(DataInputStream in, long expected) throws IOException {
+    assertThat(in.readInt()).isEqualTo(Long.BYTES);
+    assertThat(in.readLong()).isEqualTo(expected);
+  }
+  
+  private static void assertInteger(DataInputStream in, int expected) throws IOException {
+    assertThat(in.readInt()).isEqualTo(Integer.BYTES);
+    assertThat(in.readInt()).isEqualTo(expected);
+  }
+  
+  private static void assertText(DataInputStream in, String expected) throws IOException {
+    byte[] bytes = expected.getBytes(StandardCharsets.UTF_8);
+    assertThat(in.readInt()).isEqualTo(bytes.length);
+    assertThat(in.readNBytes(bytes.length)).isEqualTo(bytes);
+  }
+  
+  private static void assertNull(DataInputStream in) throws IOException {
+    assertThat(in.readInt()).as("null length").isEqualTo(-1);
+  }
+}
@@ -0,0 +1,116 @@
+package tests;
+
+import com.mkhabibullin.domain.model.HabitCompletionBitmap;
+import com.mkhabibullin.domain.model.HabitCompletionHistory;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HabitCompletionHistoryTest {
+  private static final Long HABIT_ID = 1L;
+  
+  @Test
+  void currentStreakShouldCountConsecutiveDaysAcrossYearBoundary() {
+    HabitCompletionHistory history = historyOf(
+      completedRange(LocalDate.of(2023, 12, 28), LocalDate.of(2024, 1, 3)));
+    assertThat(history.currentStreak(LocalDate.of(2024, 1, 3))).isEqualTo(7);
+    assertThat(history.currentStreak(LocalDate.of(2024, 1, 1))).isEqualTo(5);
+  }
+  
+  @Test
+  void currentStreakShouldStopAtFirstGap() {
+    Map<Integer, HabitCompletionBitmap> bitmaps = completedRange(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 10));
+    bitmaps.get(2024).setDay(LocalDate.of(2024, 3, 5), true, false);
+    HabitCompletionHistory history = historyOf(bitmaps);
+    assertThat(history.currentStreak(LocalDate.of(2024, 3, 10))).isEqualTo(5);
+    assertThat(history.currentStreak(LocalDate.of(2024, 3, 5))).isZero();
+    assertThat(history.currentStreak(LocalDate.of(2024, 3, 11))).isZero();
+  }
+  
+  @Test
+  void currentStreakShouldCrossWordBoundaries() {
+    HabitCompletionHistory history = historyOf(
+      completedRange(LocalDate.ofYearDay(2024, 60), LocalDate.ofYearDay(2024, 140)));
+    assertThat(history.currentStreak(LocalDate.ofYearDay(2024, 140))).isEqualTo(81);
+    assertThat(history.currentStreak(LocalDate.ofYearDay(2024, 64))).isEqualTo(5);
+    assertThat(history.currentStreak(LocalDate.ofYearDay(2024, 65))).isEqualTo(6);
+  }
+  
+  @Test
+  void currentStreakShouldStopWhenPreviousYearHasNoBitmap() {
+    HabitCompletionHistory history = historyOf(
+      completedRange(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 4)));
+    assertThat(history.currentStreak(LocalDate.of(2024, 1, 4))).isEqualTo(4);
+  }
+  
+  @Test
+  void longestStreakShouldPickLongestRunAcrossGaps() {
+    Map<Integer, HabitCompletionBitmap> bitmaps = completedRange(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 3));
+    bitmaps.putAll(merge(bitmaps, completedRange(LocalDate.of(2024, 2, 10), LocalDate.of(2024, 2, 14))));
+    bitmaps.putAll(merge(bitmaps, completedRange(LocalDate.of(2024, 2, 20), LocalDate.of(2024, 2, 21))));
+    HabitCompletionHistory history = historyOf(bitmaps);
+    assertThat(history.longestStreak(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31))).isEqualTo(5);
+    assertThat(history.longestStreak(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 9))).isEqualTo(3);
+  }
+  
+  @Test
+  void longestStreakShouldJoinRunsAcrossWordAndYearBoundaries() {
+    Map<Integer, HabitCompletionBitmap> bitmaps = completedRange(LocalDate.ofYearDay(2023, 300), LocalDate.of(2023, 12, 31));
+    bitmaps.putAll(merge(bitmaps, completedRange(LocalDate.of(2024, 1, 1), LocalDate.ofYearDay(2024, 130))));
+    HabitCompletionHistory history = historyOf(bitmaps);
+    assertThat(history.longestStreak(LocalDate.of(2023, 1, 1), LocalDate.of(2024, 12, 31))).isEqualTo(66 + 130);
+    assertThat(history.longestStreak(LocalDate.ofYearDay(2024, 60), LocalDate.ofYearDay(2024, 129))).isEqualTo(70);
+  }
+  
+  @Test
+  void longestStreakShouldTreatMissingYearsAsGaps() {
+    Map<Integer, HabitCompletionBitmap> bitmaps = completedRange(LocalDate.of(2022, 12, 30), LocalDate.of(2022, 12, 31));
+    bitmaps.putAll(merge(bitmaps, completedRange(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1))));
+    HabitCompletionHistory history = historyOf(bitmaps);
+    assertThat(history.longestStreak(LocalDate.of(2022, 1, 1), LocalDate.of(2024, 12, 31))).isEqualTo(2);
+  }
+  
+  @Test
+  void emptyHistoryShouldReturnZeroForEveryQuery() {
+    HabitCompletionHistory history = new HabitCompletionHistory(List.of());
+    LocalDate start = LocalDate.of(2024, 1, 1);
+    LocalDate end = LocalDate.of(2024, 12, 31);
+    assertThat(history.currentStreak(end)).isZero();
+    assertThat(history.longestStreak(start, end)).isZero();
+  }
+  
+  private static Map<Integer, HabitCompletionBitmap> completedRange(LocalDate from, LocalDate to) {
+    Map<Integer, HabitCompletionBitmap> bitmaps = new HashMap<>();
+    for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+      bitmaps.computeIfAbsent(day.getYear(), year -> new HabitCompletionBitmap(HABIT_ID, year))
+        .setDay(day, true, true);
+    }
+    return bitmaps;
+  }
+  
+  private static Map<Integer, HabitCompletionBitmap> merge(Map<Integer, HabitCompletionBitmap> target,
+                                                           Map<Integer, HabitCompletionBitmap> source) {
+    Map<Integer, HabitCompletionBitmap> merged = new HashMap<>(target);
+    source.forEach((year, bitmap) -> {
+      HabitCompletionBitmap existing = merged.get(year);
+      if (existing == null) {
+        merged.put(year, bitmap);
+        return;
+      }
+      for (int i = 0; i < HabitCompletionBitmap.WORDS_PER_YEAR; i++) {
+        existing.getRecordedWords()[i] |= bitmap.getRecordedWords()[i];
+        existing.getCompletedWords()[i] |= bitmap.getCompletedWords()[i];
+      }
+    });
+    return merged;
+  }
+  
+  private static HabitCompletionHistory historyOf(Map<Integer, HabitCompletionBitmap> bitmaps) {
+    return new HabitCompletionHistory(List.copyOf(bitmaps.values()));
+  }
+}
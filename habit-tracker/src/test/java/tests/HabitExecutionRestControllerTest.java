@@ -2,18 +2,33 @@ package tests;
 
 import com.mkhabibullin.application.mapper.HabitExecutionMapper;
 import com.mkhabibullin.application.service.HabitExecutionService;
+import com.mkhabibullin.application.service.HabitProgressReportEngine;
 import com.mkhabibullin.application.validation.HabitExecutionValidator;
 import com.mkhabibullin.domain.exception.ValidationException;
+import com.mkhabibullin.domain.model.ExecutionBatchItemResult;
+import com.mkhabibullin.domain.model.Habit;
+import com.mkhabibullin.domain.model.HabitDashboard;
+import com.mkhabibullin.domain.model.HabitDashboardEntry;
 import com.mkhabibullin.domain.model.HabitExecution;
-import com.mkhabibullin.infrastructure.persistence.repository.HabitRepository;
+import com.mkhabibullin.domain.model.HabitExecutionSummary;
+import com.mkhabibullin.domain.model.HabitProgressReport;
+import com.mkhabibullin.domain.model.StreakInterval;
+import com.mkhabibullin.domain.model.StreakSummary;
 import com.mkhabibullin.presentation.controller.HabitExecutionRestController;
+import com.mkhabibullin.presentation.dto.habitExecution.BatchExecutionItemDTO;
+import com.mkhabibullin.presentation.dto.habitExecution.BatchExecutionRequestDTO;
+import com.mkhabibullin.presentation.dto.habitExecution.HabitDashboardDTO;
+import com.mkhabibullin.presentation.dto.habitExecution.HabitDashboardEntryDTO;
 import com.mkhabibullin.presentation.dto.habitExecution.HabitExecutionRequestDTO;
 import com.mkhabibullin.presentation.dto.habitExecution.HabitExecutionResponseDTO;
 import com.mkhabibullin.presentation.dto.habitExecution.HabitProgressReportDTO;
 import com.mkhabibullin.presentation.dto.habitExecution.HabitStatisticsDTO;
+import com.mkhabibullin.presentation.dto.habitExecution.StreakIntervalDTO;
+import com.mkhabibullin.presentation.dto.habitExecution.StreakSummaryDTO;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.mockito.Mock;
+import org.springframework.http.HttpHeaders;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
@@ -23,12 +38,14 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -40,7 +57,7 @@ class HabitExecutionRestControllerTest extends BaseTest {
   @Mock
   private HabitExecutionValidator executionValidator;
   @Mock
-  private HabitRepository habitRepository;
+  private HabitProgressReportEngine progressReportEngine;
   
   @Override
   protected void setupMockMvc() {
@@ -48,7 +65,8 @@ class HabitExecutionRestControllerTest extends BaseTest {
       executionService,
       executionMapper,
       executionValidator,
-      habitRepository
+      progressReportEngine,
+      objectMapper
     );
     mockMvc = buildMockMvc(executionController);
   }
@@ -75,6 +93,36 @@ class HabitExecutionRestControllerTest extends BaseTest {
     );
   }
   
+  @Test
+  void trackExecutionsShouldReportPerItemResults() throws Exception {
+    LocalDate today = LocalDate.now();
+    BatchExecutionItemDTO validItem = new BatchExecutionItemDTO(1L, today, true);
+    BatchExecutionItemDTO futureItem = new BatchExecutionItemDTO(1L, today.plusDays(1), true);
+    BatchExecutionItemDTO foreignItem = new BatchExecutionItemDTO(2L, today, false);
+    BatchExecutionRequestDTO requestDTO = new BatchExecutionRequestDTO(List.of(validItem, futureItem, foreignItem));
+    doThrow(new ValidationException("Cannot record executions for future dates"))
+      .when(executionValidator).validateBatchExecutionItemDTO(futureItem);
+    HabitExecution validExecution = new HabitExecution(1L, today, true);
+    HabitExecution foreignExecution = new HabitExecution(2L, today, false);
+    given(executionMapper.batchItemDtoToExecution(validItem)).willReturn(validExecution);
+    given(executionMapper.batchItemDtoToExecution(foreignItem)).willReturn(foreignExecution);
+    given(executionService.markHabitExecutions(TEST_USER_ID, List.of(validExecution, foreignExecution)))
+      .willReturn(List.of(
+        ExecutionBatchItemResult.recorded(),
+        ExecutionBatchItemResult.rejected("Habit not found with id: 2")
+      ));
+    performRequest(post("/api/habit-executions/track/batch")
+      .content(toJson(requestDTO)))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.recorded").value(1))
+      .andExpect(jsonPath("$.rejected").value(2))
+      .andExpect(jsonPath("$.results[0].status").value("RECORDED"))
+      .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+      .andExpect(jsonPath("$.results[1].message").value("Cannot record executions for future dates"))
+      .andExpect(jsonPath("$.results[2].index").value(2))
+      .andExpect(jsonPath("$.results[2].status").value("REJECTED"));
+  }
+  
   @Test
   void getExecutionHistoryShouldReturnHistory() throws Exception {
     Long habitId = 1L;
@@ -86,7 +134,7 @@ class HabitExecutionRestControllerTest extends BaseTest {
       createTestExecutionDTO(1L, habitId, true),
       createTestExecutionDTO(2L, habitId, false)
     );
-    given(executionService.getAll(habitId))
+    given(executionService.getHistoryPage(habitId, null, 101))
       .willReturn(executions);
     given(executionMapper.executionsToResponseDtos(executions))
       .willReturn(responseDTOs);
@@ -94,7 +142,40 @@ class HabitExecutionRestControllerTest extends BaseTest {
       .andExpect(status().isOk())
       .andExpect(jsonPath("$").isArray())
       .andExpect(jsonPath("$[0].completed").value(true))
-      .andExpect(jsonPath("$[1].completed").value(false));
+      .andExpect(jsonPath("$[1].completed").value(false))
+      .andExpect(header().doesNotExist(HttpHeaders.LINK));
+  }
+  
+  @Test
+  void getExecutionHistoryWithKeysetShouldReturnNextPage() throws Exception {
+    Long habitId = 1L;
+    LocalDate after = LocalDate.now().minusDays(10);
+    List<HabitExecution> executions = List.of(
+      new HabitExecution(habitId, after.plusDays(1), true),
+      new HabitExecution(habitId, after.plusDays(2), false)
+    );
+    List<HabitExecutionResponseDTO> responseDTOs = List.of(
+      createTestExecutionDTO(3L, habitId, true)
+    );
+    given(executionService.getHistoryPage(habitId, after, 2))
+      .willReturn(executions);
+    given(executionMapper.executionsToResponseDtos(executions.subList(0, 1)))
+      .willReturn(responseDTOs);
+    performRequest(get("/api/habit-executions/history/" + habitId)
+      .param("after", after.toString())
+      .param("limit", "1"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.length()").value(1))
+      .andExpect(jsonPath("$[0].id").value(3))
+      .andExpect(header().string(HttpHeaders.LINK, containsString(
+        "after=" + after.plusDays(1) + "&limit=1>; rel=\"next\"")));
+  }
+  
+  @Test
+  void getExecutionHistoryWithInvalidLimitShouldReturnBadRequest() throws Exception {
+    performRequest(get("/api/habit-executions/history/1")
+      .param("limit", "1001"))
+      .andExpect(status().isBadRequest());
   }
   
   @Test
@@ -105,31 +186,40 @@ class HabitExecutionRestControllerTest extends BaseTest {
     Map<DayOfWeek, Long> completionsByDay = new HashMap<>();
     completionsByDay.put(DayOfWeek.MONDAY, 2L);
     completionsByDay.put(DayOfWeek.TUESDAY, 1L);
+    HabitExecutionSummary summary = new HabitExecutionSummary(
+      habitId,
+      startDate,
+      endDate,
+      10L,
+      8L,
+      2L,
+      completionsByDay
+    );
     HabitStatisticsDTO statisticsDTO = new HabitStatisticsDTO(
       5,
-      75.0,
+      80.0,
       10L,
       8L,
       2L,
       completionsByDay
     );
     given(executionService.getCurrentStreak(habitId)).willReturn(5);
-    given(executionService.getSuccessPercentage(eq(habitId), any(), any()))
-      .willReturn(75.0);
+    given(executionService.getExecutionSummary(habitId, startDate, endDate))
+      .willReturn(summary);
     given(executionMapper.createStatisticsDto(
       eq(5),
-      eq(75.0),
+      eq(80.0),
       eq(10L),
       eq(8L),
       eq(2L),
-      any()))
+      eq(completionsByDay)))
       .willReturn(statisticsDTO);
     performRequest(get("/api/habit-executions/statistics/" + habitId)
       .param("startDate", startDate.toString())
       .param("endDate", endDate.toString()))
       .andExpect(status().isOk())
       .andExpect(jsonPath("$.currentStreak").value(5))
-      .andExpect(jsonPath("$.successPercentage").value(75.0))
+      .andExpect(jsonPath("$.successPercentage").value(80.0))
       .andExpect(jsonPath("$.totalExecutions").value(10))
       .andExpect(jsonPath("$.completedExecutions").value(8))
       .andExpect(jsonPath("$.missedExecutions").value(2));
@@ -146,6 +236,56 @@ class HabitExecutionRestControllerTest extends BaseTest {
       .andExpect(jsonPath("$").value(expectedStreak));
   }
   
+  @Test
+  void getStreaksShouldReturnStreakSummary() throws Exception {
+    Long habitId = 1L;
+    LocalDate startDate = LocalDate.now().minusDays(30);
+    LocalDate endDate = LocalDate.now();
+    StreakSummary streakSummary = new StreakSummary(3, 7, List.of(
+      new StreakInterval(startDate.plusDays(2), startDate.plusDays(8), 7),
+      new StreakInterval(endDate.minusDays(2), endDate, 3)
+    ));
+    StreakSummaryDTO streakSummaryDTO = new StreakSummaryDTO(3, 7, List.of(
+      new StreakIntervalDTO(startDate.plusDays(2), startDate.plusDays(8), 7),
+      new StreakIntervalDTO(endDate.minusDays(2), endDate, 3)
+    ));
+    given(executionService.getStreakSummary(habitId, startDate, endDate, 2))
+      .willReturn(streakSummary);
+    given(executionMapper.streakSummaryToDto(streakSummary))
+      .willReturn(streakSummaryDTO);
+    performRequest(get("/api/habit-executions/" + habitId + "/streaks")
+      .param("startDate", startDate.toString())
+      .param("endDate", endDate.toString())
+      .param("limit", "2"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.currentStreak").value(3))
+      .andExpect(jsonPath("$.longestStreak").value(7))
+      .andExpect(jsonPath("$.topStreaks[0].length").value(7))
+      .andExpect(jsonPath("$.topStreaks[1].length").value(3));
+  }
+  
+  @Test
+  void getDashboardShouldReturnAllHabitsOfCurrentUser() throws Exception {
+    LocalDate today = LocalDate.now();
+    HabitDashboard dashboard = new HabitDashboard(today, List.of(
+      new HabitDashboardEntry(1L, "Morning Exercise", Habit.Frequency.DAILY, 4, true, true, 85.7, 76.6),
+      new HabitDashboardEntry(2L, "Read", Habit.Frequency.WEEKLY, 0, false, false, 0.0, 50.0)
+    ));
+    HabitDashboardDTO dashboardDTO = new HabitDashboardDTO(today, List.of(
+      new HabitDashboardEntryDTO(1L, "Morning Exercise", Habit.Frequency.DAILY, 4, true, true, 85.7, 76.6),
+      new HabitDashboardEntryDTO(2L, "Read", Habit.Frequency.WEEKLY, 0, false, false, 0.0, 50.0)
+    ));
+    given(executionService.getDashboard(TEST_USER_ID)).willReturn(dashboard);
+    given(executionMapper.dashboardToDto(dashboard)).willReturn(dashboardDTO);
+    performRequest(get("/api/habit-executions/dashboard"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.habits.length()").value(2))
+      .andExpect(jsonPath("$.habits[0].currentStreak").value(4))
+      .andExpect(jsonPath("$.habits[0].completedToday").value(true))
+      .andExpect(jsonPath("$.habits[1].monthlySuccessRate").value(50.0));
+    verify(executionService).getDashboard(TEST_USER_ID);
+  }
+  
   @Test
   void getSuccessRateShouldReturnSuccessRate() throws Exception {
     Long habitId = 1L;
@@ -180,12 +320,8 @@ class HabitExecutionRestControllerTest extends BaseTest {
       7,
       suggestions
     );
-    given(executionService.generateProgressReport(habitId, startDate, endDate))
-      .willReturn(reportData);
-    given(executionService.isImprovingTrend(any())).willReturn(true);
-    given(executionService.calculateLongestStreak(any())).willReturn(7);
-    given(executionService.generateSuggestions(any(), any()))
-      .willReturn(suggestions);
+    given(progressReportEngine.generate(habitId, startDate, endDate))
+      .willReturn(new HabitProgressReport(reportData, true, 7, suggestions));
     given(executionMapper.createProgressReportDto(
       ArgumentMatchers.any(),
       anyBoolean(),
@@ -207,10 +343,7 @@ class HabitExecutionRestControllerTest extends BaseTest {
         .value("Try setting a reminder"))
       .andExpect(jsonPath("$.suggestions.performanceSuggestions[1]")
         .value("Start with smaller goals"));
-    verify(executionService).generateProgressReport(habitId, startDate, endDate);
-    verify(executionService).isImprovingTrend(any());
-    verify(executionService).calculateLongestStreak(any());
-    verify(executionService).generateSuggestions(any(), any());
+    verify(progressReportEngine).generate(habitId, startDate, endDate);
     verify(executionMapper).createProgressReportDto(
       eq(reportData),
       eq(true),
@@ -0,0 +1,118 @@
+package tests;
+
+import com.mkhabibullin.application.service.HabitExecutionService;
+import com.mkhabibullin.application.service.HabitProgressReportEngine;
+import com.mkhabibullin.application.service.HabitStatisticsCalculator;
+import com.mkhabibullin.domain.exception.HabitNotFoundException;
+import com.mkhabibullin.domain.model.ExecutionTimeline;
+import com.mkhabibullin.domain.model.Habit;
+import com.mkhabibullin.domain.model.HabitProgressReport;
+import com.mkhabibullin.infrastructure.persistence.repository.HabitExecutionRepository;
+import com.mkhabibullin.infrastructure.persistence.repository.HabitRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.doubleThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class HabitProgressReportEngineTest {
+  private static final Long HABIT_ID = 1L;
+  private static final LocalDate START = LocalDate.of(2024, 3, 1);
+  private static final LocalDate END = LocalDate.of(2024, 3, 6);
+  
+  private HabitRepository habitRepository;
+  private HabitExecutionRepository executionRepository;
+  private HabitExecutionService executionService;
+  private HabitProgressReportEngine engine;
+  
+  @BeforeEach
+  void setUp() {
+    habitRepository = mock(HabitRepository.class);
+    executionRepository = mock(HabitExecutionRepository.class);
+    executionService = mock(HabitExecutionService.class);
+    HabitStatisticsCalculator calculator = new HabitStatisticsCalculator(executionService);
+    engine = new HabitProgressReportEngine(habitRepository, executionRepository, calculator, executionService);
+  }
+  
+  @Test
+  void generateShouldBuildReportFromOneTimeline() {
+    Habit habit = new Habit();
+    habit.setId(HABIT_ID);
+    habit.setName("Read");
+    given(habitRepository.getById(HABIT_ID)).willReturn(habit);
+    given(executionRepository.getTimelineByHabitAndDateRange(HABIT_ID, START, END)).willReturn(new ExecutionTimeline(
+      HABIT_ID, START, END,
+      new long[]{epochDay(1), epochDay(2), epochDay(3), epochDay(4), epochDay(5), epochDay(6)},
+      new boolean[]{false, true, true, false, true, true}));
+    given(executionService.getCurrentStreak(HABIT_ID)).willReturn(4);
+    given(executionService.generateSuggestions(eq(habit), anyDouble())).willReturn(List.of("Keep going"));
+    HabitProgressReport report = engine.generate(HABIT_ID, START, END);
+    assertThat(report.getReportData())
+      .containsEntry("habitName", "Read")
+      .containsEntry("startDate", "2024-03-01")
+      .containsEntry("endDate", "2024-03-06")
+      .containsEntry("currentStreak", "4 days")
+      .containsEntry("successRate", String.format("%.2f%%", 400.0 / 6));
+    assertThat(report.getReportData().get("executionHistory")).isEqualTo(
+      "2024-03-01: Not completed\n2024-03-02: Completed\n2024-03-03: Completed\n"
+        + "2024-03-04: Not completed\n2024-03-05: Completed\n2024-03-06: Completed\n");
+    assertThat(report.isImprovingTrend()).isFalse();
+    assertThat(report.getLongestStreak()).isEqualTo(2);
+    assertThat(report.getSuggestions()).containsExactly("Keep going");
+    verify(executionService).generateSuggestions(eq(habit), doubleThat(rate -> Math.abs(rate - 4.0 / 6) < 1e-9));
+  }
+  
+  @Test
+  void generateShouldReportImprovingTrendWhenSecondHalfCompletesMore() {
+    Habit habit = new Habit();
+    habit.setName("Run");
+    given(habitRepository.getById(HABIT_ID)).willReturn(habit);
+    given(executionRepository.getTimelineByHabitAndDateRange(HABIT_ID, START, END)).willReturn(new ExecutionTimeline(
+      HABIT_ID, START, END,
+      new long[]{epochDay(1), epochDay(2), epochDay(3), epochDay(4)},
+      new boolean[]{false, false, true, true}));
+    HabitProgressReport report = engine.generate(HABIT_ID, START, END);
+    assertThat(report.isImprovingTrend()).isTrue();
+    assertThat(report.getLongestStreak()).isEqualTo(2);
+    assertThat(report.getReportData()).containsEntry("successRate", String.format("%.2f%%", 50.0));
+  }
+  
+  @Test
+  void generateShouldUseZeroCompletionRateForEmptyRange() {
+    Habit habit = new Habit();
+    habit.setName("Meditate");
+    given(habitRepository.getById(HABIT_ID)).willReturn(habit);
+    given(executionRepository.getTimelineByHabitAndDateRange(HABIT_ID, START, END))
+      .willReturn(new ExecutionTimeline(HABIT_ID, START, END, new long[0], new boolean[0]));
+    HabitProgressReport report = engine.generate(HABIT_ID, START, END);
+    assertThat(report.getReportData())
+      .containsEntry("successRate", String.format("%.2f%%", 0.0))
+      .containsEntry("executionHistory", "");
+    assertThat(report.isImprovingTrend()).isFalse();
+    assertThat(report.getLongestStreak()).isZero();
+    verify(executionService).generateSuggestions(habit, 0.0);
+  }
+  
+  @Test
+  void generateShouldFailWithoutReadingHistoryWhenHabitIsMissing() {
+    given(habitRepository.getById(HABIT_ID)).willReturn(null);
+    assertThatThrownBy(() -> engine.generate(HABIT_ID, START, END))
+      .isInstanceOf(HabitNotFoundException.class);
+    verify(executionRepository, never()).getTimelineByHabitAndDateRange(any(), any(), any());
+  }
+  
+  private static long epochDay(int dayOfMonth) {
+    return START.withDayOfMonth(dayOfMonth).toEpochDay();
+  }
+}
@@ -0,0 +1,127 @@
+package tests;
+
+import com.mkhabibullin.application.service.HabitExecutionService;
+import com.mkhabibullin.application.service.HabitStatisticsCalculator;
+import com.mkhabibullin.domain.model.ExecutionTimeline;
+import com.mkhabibullin.domain.model.HabitStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class HabitStatisticsCalculatorTest {
+  private static final Long HABIT_ID = 1L;
+  private static final LocalDate START = LocalDate.of(2024, 3, 1);
+  
+  private HabitExecutionService executionService;
+  private HabitStatisticsCalculator calculator;
+  
+  @BeforeEach
+  void setUp() {
+    executionService = mock(HabitExecutionService.class);
+    calculator = new HabitStatisticsCalculator(executionService);
+  }
+  
+  @Test
+  void calculateShouldDeriveCountsStreaksAndTrendInOnePass() {
+    ExecutionTimeline timeline = timeline(START, LocalDate.of(2024, 3, 6),
+      day(1, true), day(2, true), day(3, true), day(4, false), day(5, true), day(5, false), day(6, true));
+    HabitStatistics statistics = calculator.calculate(timeline, LocalDate.of(2024, 3, 6));
+    assertThat(statistics.getSummary().getTotalExecutions()).isEqualTo(7);
+    assertThat(statistics.getSummary().getCompletedExecutions()).isEqualTo(5);
+    assertThat(statistics.getSummary().getMissedExecutions()).isEqualTo(2);
+    assertThat(statistics.getSummary().getSuccessPercentage()).isCloseTo(500.0 / 7, within(1e-9));
+    assertThat(statistics.getSummary().getCompletionsByDay()).isEqualTo(Map.of(
+      DayOfWeek.FRIDAY, 1L, DayOfWeek.SATURDAY, 1L, DayOfWeek.SUNDAY, 1L,
+      DayOfWeek.TUESDAY, 1L, DayOfWeek.WEDNESDAY, 1L));
+    assertThat(statistics.getCurrentStreak()).isEqualTo(2);
+    assertThat(statistics.getLongestStreak()).isEqualTo(3);
+    assertThat(statistics.isImprovingTrend()).isFalse();
+    verify(executionService, never()).getCurrentStreak(anyLong());
+  }
+  
+  @Test
+  void calculateShouldReportImprovingTrendWhenSecondHalfHasMoreCompletions() {
+    ExecutionTimeline timeline = timeline(START, LocalDate.of(2024, 3, 4),
+      day(1, false), day(2, true), day(3, true), day(4, true));
+    HabitStatistics statistics = calculator.calculate(timeline, LocalDate.of(2024, 3, 4));
+    assertThat(statistics.isImprovingTrend()).isTrue();
+    assertThat(statistics.getCurrentStreak()).isEqualTo(3);
+    assertThat(statistics.getLongestStreak()).isEqualTo(3);
+  }
+  
+  @Test
+  void calculateShouldNotCountDaysSeparatedByMissingDatesAsOneStreak() {
+    ExecutionTimeline timeline = timeline(START, LocalDate.of(2024, 3, 10),
+      day(1, true), day(2, true), day(5, true), day(9, true), day(10, true));
+    HabitStatistics statistics = calculator.calculate(timeline, LocalDate.of(2024, 3, 10));
+    assertThat(statistics.getCurrentStreak()).isEqualTo(2);
+    assertThat(statistics.getLongestStreak()).isEqualTo(2);
+  }
+  
+  @Test
+  void calculateShouldReturnZerosForEmptyRange() {
+    ExecutionTimeline timeline = timeline(START, LocalDate.of(2024, 3, 31));
+    HabitStatistics statistics = calculator.calculate(timeline, LocalDate.of(2024, 3, 31));
+    assertThat(statistics.getSummary().getTotalExecutions()).isZero();
+    assertThat(statistics.getSummary().getSuccessPercentage()).isZero();
+    assertThat(statistics.getSummary().getCompletionsByDay()).isEmpty();
+    assertThat(statistics.getCurrentStreak()).isZero();
+    assertThat(statistics.getLongestStreak()).isZero();
+    assertThat(statistics.isImprovingTrend()).isFalse();
+  }
+  
+  @Test
+  void calculateShouldAskServiceWhenStreakReachesRangeStart() {
+    ExecutionTimeline timeline = timeline(START, LocalDate.of(2024, 3, 3),
+      day(1, true), day(2, true), day(3, true));
+    given(executionService.getCurrentStreak(HABIT_ID)).willReturn(12);
+    HabitStatistics statistics = calculator.calculate(timeline, LocalDate.of(2024, 3, 3));
+    assertThat(statistics.getCurrentStreak()).isEqualTo(12);
+    assertThat(statistics.getLongestStreak()).isEqualTo(3);
+  }
+  
+  @Test
+  void calculateShouldAskServiceWhenRangeEndsBeforeToday() {
+    ExecutionTimeline timeline = timeline(START, LocalDate.of(2024, 3, 2),
+      day(1, false), day(2, true));
+    given(executionService.getCurrentStreak(HABIT_ID)).willReturn(0);
+    HabitStatistics statistics = calculator.calculate(timeline, LocalDate.of(2024, 3, 20));
+    assertThat(statistics.getCurrentStreak()).isZero();
+    verify(executionService).getCurrentStreak(HABIT_ID);
+  }
+  
+  @Test
+  void calculateShouldReturnZeroCurrentStreakWhenTodayIsNotCompleted() {
+    ExecutionTimeline timeline = timeline(START, LocalDate.of(2024, 3, 3),
+      day(1, true), day(2, true), day(3, false));
+    HabitStatistics statistics = calculator.calculate(timeline, LocalDate.of(2024, 3, 3));
+    assertThat(statistics.getCurrentStreak()).isZero();
+    assertThat(statistics.getLongestStreak()).isEqualTo(2);
+    verify(executionService, never()).getCurrentStreak(anyLong());
+  }
+  
+  private static Object[] day(int dayOfMonth, boolean completed) {
+    return new Object[]{START.withDayOfMonth(dayOfMonth), completed};
+  }
+  
+  private static ExecutionTimeline timeline(LocalDate startDate, LocalDate endDate, Object[]... executions) {
+    long[] epochDays = new long[executions.length];
+    boolean[] completed = new boolean[executions.length];
+    for (int i = 0; i < executions.length; i++) {
+      epochDays[i] = ((LocalDate) executions[i][0]).toEpochDay();
+      completed[i] = (Boolean) executions[i][1];
+    }
+    return new ExecutionTimeline(HABIT_ID, startDate, endDate, epochDays, completed);
+  }
+}
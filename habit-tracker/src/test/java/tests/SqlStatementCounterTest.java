@@ -0,0 +1,35 @@
+package tests;
+
+import com.mkhabibullin.infrastructure.monitoring.SqlStatementCounter;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlStatementCounterTest {
+  private final SqlStatementCounter counter = new SqlStatementCounter();
+  
+  @Test
+  void inspectShouldCountStatementsAndReturnThemUnchanged() {
+    long before = SqlStatementCounter.currentCount();
+    String sql = "select * from entity.habits where id = ?";
+    assertThat(counter.inspect(sql)).isSameAs(sql);
+    counter.inspect("update entity.habits set name = ? where id = ?");
+    assertThat(SqlStatementCounter.currentCount() - before).isEqualTo(2);
+  }
+  
+  @Test
+  void countShouldOnlyIncludeStatementsOfCurrentThread() throws Exception {
+    long before = SqlStatementCounter.currentCount();
+    long otherThreadCount = CompletableFuture.supplyAsync(() -> {
+      long start = SqlStatementCounter.currentCount();
+      for (int i = 0; i < 5; i++) {
+        counter.inspect("select 1");
+      }
+      return SqlStatementCounter.currentCount() - start;
+    }).get();
+    assertThat(otherThreadCount).isEqualTo(5);
+    assertThat(SqlStatementCounter.currentCount()).isEqualTo(before);
+  }
+}
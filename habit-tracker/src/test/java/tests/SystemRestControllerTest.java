@@ -1,23 +1,37 @@
 package tests;
 
 import com.mkhabibullin.domain.model.User;
+import com.mkhabibullin.infrastructure.audit.AuditCircuitState;
+import com.mkhabibullin.infrastructure.audit.AuditLogWriter;
+import com.mkhabibullin.infrastructure.audit.AuditPipelineMetrics;
+import com.mkhabibullin.infrastructure.monitoring.LatencyRegistry;
 import com.mkhabibullin.presentation.controller.SystemRestController;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 class SystemRestControllerTest extends BaseTest {
+  @Mock
+  private AuditLogWriter auditLogWriter;
+  
+  private LatencyRegistry latencyRegistry;
   
   private SystemRestController systemController;
   
   @Override
   protected void setupMockMvc() {
-    systemController = new SystemRestController();
+    latencyRegistry = new LatencyRegistry();
+    systemController = new SystemRestController(auditLogWriter, latencyRegistry);
     mockMvc = buildMockMvc(systemController);
   }
   
@@ -58,6 +72,8 @@ class SystemRestControllerTest extends BaseTest {
   
   @Test
   void getHealthShouldReturnHealthStatus() throws Exception {
+    given(auditLogWriter.getMetrics())
+      .willReturn(new AuditPipelineMetrics(true, 3, 10000, 120, 115, 2, 0, 1, 1, 0, 1, 0, AuditCircuitState.CLOSED));
     performRequest(get("/api/system/health"))
       .andExpect(status().isOk())
       .andExpect(content().contentType(MediaType.APPLICATION_JSON))
@@ -68,7 +84,51 @@ class SystemRestControllerTest extends BaseTest {
       .andExpect(jsonPath("$.components.memory.status", is("up")))
       .andExpect(jsonPath("$.components.memory.details.total", notNullValue()))
       .andExpect(jsonPath("$.components.memory.details.free", notNullValue()))
-      .andExpect(jsonPath("$.components.memory.details.max", notNullValue()));
+      .andExpect(jsonPath("$.components.memory.details.max", notNullValue()))
+      .andExpect(jsonPath("$.components.auditPipeline.status", is("up")))
+      .andExpect(jsonPath("$.components.auditPipeline.details.queueDepth", is(3)))
+      .andExpect(jsonPath("$.components.auditPipeline.details.dropped", is(2)))
+      .andExpect(jsonPath("$.components.auditPipeline.details.copyFallbacks", is(1)))
+      .andExpect(jsonPath("$.components.auditPipeline.details.deadLettered", is(1)))
+      .andExpect(jsonPath("$.components.auditPipeline.details.circuitState", is("CLOSED")));
+  }
+  
+  @Test
+  void getHealthWithOpenAuditCircuitShouldReportDegradedPipeline() throws Exception {
+    given(auditLogWriter.getMetrics())
+      .willReturn(new AuditPipelineMetrics(true, 0, 10000, 50, 20, 0, 30, 4, 0, 0, 0, 2048, AuditCircuitState.OPEN));
+    performRequest(get("/api/system/health"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.status", is("healthy")))
+      .andExpect(jsonPath("$.components.auditPipeline.status", is("degraded")))
+      .andExpect(jsonPath("$.components.auditPipeline.details.circuitState", is("OPEN")))
+      .andExpect(jsonPath("$.components.auditPipeline.details.spoolPendingBytes", is(2048)));
+  }
+  
+  @Test
+  void getHealthWithStoppedAuditWriterShouldReturnServiceUnavailable() throws Exception {
+    given(auditLogWriter.getMetrics())
+      .willReturn(new AuditPipelineMetrics(false, 0, 10000, 0, 0, 0, 0, 0, 0, 0, 0, 0, AuditCircuitState.CLOSED));
+    performRequest(get("/api/system/health"))
+      .andExpect(status().isServiceUnavailable())
+      .andExpect(jsonPath("$.status", is("unhealthy")))
+      .andExpect(jsonPath("$.components.auditPipeline.status", is("down")));
+  }
+  
+  @Test
+  void getLatencyShouldReturnPercentilesPerOperation() throws Exception {
+    for (int i = 1; i <= 100; i++) {
+      latencyRegistry.record("Get Habits", TimeUnit.MILLISECONDS.toNanos(i));
+    }
+    performRequest(get("/api/system/latency"))
+      .andExpect(status().isOk())
+      .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+      .andExpect(jsonPath("$.timestamp", notNullValue()))
+      .andExpect(jsonPath("$.operations['Get Habits'].oneMinute.count", is(100)))
+      .andExpect(jsonPath("$.operations['Get Habits'].oneMinute.p50Ms", closeTo(50.0, 3.2)))
+      .andExpect(jsonPath("$.operations['Get Habits'].oneMinute.p99Ms", closeTo(99.0, 6.2)))
+      .andExpect(jsonPath("$.operations['Get Habits'].oneMinute.maxMs", is(100.0)))
+      .andExpect(jsonPath("$.operations['Get Habits'].fifteenMinutes.count", is(100)));
   }
   
   @Test
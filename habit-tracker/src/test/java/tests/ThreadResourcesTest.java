@@ -0,0 +1,48 @@
+package tests;
+
+import com.mkhabibullin.infrastructure.monitoring.ThreadResources;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class ThreadResourcesTest {
+  @Test
+  void cpuTimeShouldGrowWhileCurrentThreadWorks() {
+    long start = ThreadResources.cpuTimeNanos();
+    assumeTrue(start >= 0, "thread CPU time not supported by this JVM");
+    long deadline = System.nanoTime() + 50_000_000L;
+    long sum = 0;
+    while (System.nanoTime() < deadline) {
+      sum += Long.numberOfTrailingZeros(sum + System.nanoTime());
+    }
+    assertThat(sum).isPositive();
+    assertThat(ThreadResources.cpuTimeNanos()).isGreaterThan(start);
+  }
+  
+  @Test
+  void allocatedBytesShouldIncludeAllocationsOfCurrentThreadOnly() throws Exception {
+    long start = ThreadResources.allocatedBytes();
+    assumeTrue(start >= 0, "thread allocation counting not supported by this JVM");
+    CompletableFuture.runAsync(() -> {
+      List<byte[]> chunks = new ArrayList<>();
+      for (int i = 0; i < 64; i++) {
+        chunks.add(new byte[64 * 1024]);
+      }
+      assertThat(chunks).hasSize(64);
+    }).get();
+    long afterOtherThread = ThreadResources.allocatedBytes();
+    assertThat(afterOtherThread - start).isLessThan(1024 * 1024);
+    
+    byte[][] chunks = new byte[64][];
+    for (int i = 0; i < chunks.length; i++) {
+      chunks[i] = new byte[64 * 1024];
+    }
+    assertThat(chunks[63]).hasSize(64 * 1024);
+    assertThat(ThreadResources.allocatedBytes() - afterOtherThread).isGreaterThanOrEqualTo(64L * 64 * 1024);
+  }
+}